@@ -0,0 +1,191 @@
+package br.ifsp.demo.components;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+public class AlocadorDeVagas {
+
+    private final int capacidade;
+    private final AtomicLongArray vagasOcupadas;
+    private final AtomicLongArray reservasPendentes;
+    private final AtomicLongArray alteradasDuranteLeitura;
+    private final AtomicInteger totalOcupadas = new AtomicInteger();
+    private BitSet divergencias = new BitSet();
+
+    public AlocadorDeVagas(int capacidade) {
+        if (capacidade <= 0)
+            throw new IllegalArgumentException("Capacidade do estacionamento precisa ser maior que zero");
+
+        this.capacidade = capacidade;
+        this.vagasOcupadas = new AtomicLongArray((capacidade + 63) / 64);
+        this.reservasPendentes = new AtomicLongArray(vagasOcupadas.length());
+        this.alteradasDuranteLeitura = new AtomicLongArray(vagasOcupadas.length());
+    }
+
+    public void reconstruir(Collection<Integer> vagas) {
+        if (vagas == null)
+            throw new IllegalArgumentException("Lista de vagas não pode ser nula");
+
+        for (int i = 0; i < vagasOcupadas.length(); i++) {
+            vagasOcupadas.set(i, 0L);
+        }
+        totalOcupadas.set(0);
+        vagas.forEach(this::ocupar);
+    }
+
+    /**
+     * Compara o mapa com as vagas gravadas no banco. A leitura é feita aqui dentro para que reservas ainda
+     * não confirmadas, e as confirmadas ou liberadas depois do início da leitura, fiquem de fora da comparação:
+     * o banco ainda não as enxerga. As demais divergências só são corrigidas quando vistas em duas reconciliações
+     * seguidas, dando tempo de uma saída já confirmada liberar a vaga pelo caminho normal.
+     */
+    public synchronized int reconciliar(Supplier<? extends Collection<Integer>> leitura) {
+        if (leitura == null)
+            throw new IllegalArgumentException("Leitura das vagas não pode ser nula");
+
+        for (int i = 0; i < alteradasDuranteLeitura.length(); i++)
+            alteradasDuranteLeitura.set(i, 0L);
+        Collection<Integer> vagasRegistradas = leitura.get();
+        if (vagasRegistradas == null)
+            throw new IllegalArgumentException("Lista de vagas não pode ser nula");
+
+        BitSet registradas = new BitSet(capacidade + 1);
+        vagasRegistradas.forEach(vaga -> {
+            validarVaga(vaga);
+            registradas.set(vaga);
+        });
+
+        BitSet novasDivergencias = new BitSet(capacidade + 1);
+        int correcoes = 0;
+        for (int vaga = 1; vaga <= capacidade; vaga++) {
+            if (registradas.get(vaga) == estaOcupada(vaga) || emTransito(vaga))
+                continue;
+
+            if (!divergencias.get(vaga)) {
+                novasDivergencias.set(vaga);
+            } else if (registradas.get(vaga)) {
+                ocupar(vaga);
+                correcoes++;
+            } else {
+                liberar(vaga);
+                correcoes++;
+            }
+        }
+        divergencias = novasDivergencias;
+        return correcoes;
+    }
+
+    public void ocupar(int vagaId) {
+        validarVaga(vagaId);
+        long mascara = mascara(vagaId);
+        long anterior = vagasOcupadas.getAndUpdate(palavra(vagaId), bits -> bits | mascara);
+        if ((anterior & mascara) == 0)
+            totalOcupadas.incrementAndGet();
+    }
+
+    public boolean reservar(int vagaId) {
+        validarVaga(vagaId);
+        int palavra = palavra(vagaId);
+        long mascara = mascara(vagaId);
+
+        while (true) {
+            long bits = vagasOcupadas.get(palavra);
+            if ((bits & mascara) != 0)
+                return false;
+            if (vagasOcupadas.compareAndSet(palavra, bits, bits | mascara)) {
+                totalOcupadas.incrementAndGet();
+                marcar(reservasPendentes, vagaId);
+                return true;
+            }
+        }
+    }
+
+    public int reservarProximaLivre() {
+        while (true) {
+            int vaga = proximaVagaLivre();
+            if (vaga < 0 || reservar(vaga))
+                return vaga;
+        }
+    }
+
+    public void confirmarReserva(int vagaId) {
+        validarVaga(vagaId);
+        marcar(alteradasDuranteLeitura, vagaId);
+        desmarcar(reservasPendentes, vagaId);
+    }
+
+    public void liberar(int vagaId) {
+        validarVaga(vagaId);
+        marcar(alteradasDuranteLeitura, vagaId);
+        long mascara = mascara(vagaId);
+        long anterior = vagasOcupadas.getAndUpdate(palavra(vagaId), bits -> bits & ~mascara);
+        if ((anterior & mascara) != 0)
+            totalOcupadas.decrementAndGet();
+        desmarcar(reservasPendentes, vagaId);
+    }
+
+    public boolean reservaPendente(int vagaId) {
+        validarVaga(vagaId);
+        return (reservasPendentes.get(palavra(vagaId)) & mascara(vagaId)) != 0;
+    }
+
+    public boolean estaOcupada(int vagaId) {
+        validarVaga(vagaId);
+        return (vagasOcupadas.get(palavra(vagaId)) & mascara(vagaId)) != 0;
+    }
+
+    public int proximaVagaLivre() {
+        for (int i = 0; i < vagasOcupadas.length(); i++) {
+            long livres = ~vagasOcupadas.get(i);
+            if (livres != 0) {
+                int vaga = i * 64 + Long.numberOfTrailingZeros(livres) + 1;
+                return vaga <= capacidade ? vaga : -1;
+            }
+        }
+        return -1;
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    public int getVagasOcupadas() {
+        return totalOcupadas.get();
+    }
+
+    public int getVagasLivres() {
+        return capacidade - totalOcupadas.get();
+    }
+
+    private boolean emTransito(int vagaId) {
+        long mascara = mascara(vagaId);
+        int palavra = palavra(vagaId);
+        return ((reservasPendentes.get(palavra) | alteradasDuranteLeitura.get(palavra)) & mascara) != 0;
+    }
+
+    private static void marcar(AtomicLongArray mapa, int vagaId) {
+        long mascara = mascara(vagaId);
+        mapa.getAndUpdate(palavra(vagaId), bits -> bits | mascara);
+    }
+
+    private static void desmarcar(AtomicLongArray mapa, int vagaId) {
+        long mascara = mascara(vagaId);
+        mapa.getAndUpdate(palavra(vagaId), bits -> bits & ~mascara);
+    }
+
+    private static int palavra(int vagaId) {
+        return (vagaId - 1) >>> 6;
+    }
+
+    private static long mascara(int vagaId) {
+        return 1L << ((vagaId - 1) & 63);
+    }
+
+    private void validarVaga(int vagaId) {
+        if (vagaId < 1 || vagaId > capacidade)
+            throw new IllegalArgumentException("ID da vaga deve estar entre 1 e " + capacidade);
+    }
+}
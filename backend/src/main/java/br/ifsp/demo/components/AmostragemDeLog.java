@@ -0,0 +1,57 @@
+package br.ifsp.demo.components;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+public class AmostragemDeLog {
+
+    private static final long NANOS_POR_SEGUNDO = 1_000_000_000L;
+
+    private final int limitePorSegundo;
+    private final LongSupplier relogio;
+    private final AtomicLong segundoAtual = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicInteger emitidosNoSegundo = new AtomicInteger();
+    private final AtomicLong descartados = new AtomicLong();
+
+    public AmostragemDeLog(int limitePorSegundo) {
+        this(limitePorSegundo, System::nanoTime);
+    }
+
+    AmostragemDeLog(int limitePorSegundo, LongSupplier relogio) {
+        if (limitePorSegundo <= 0)
+            throw new IllegalArgumentException("Limite por segundo deve ser maior que zero");
+
+        this.limitePorSegundo = limitePorSegundo;
+        this.relogio = relogio;
+    }
+
+    public boolean permitir() {
+        long segundo = relogio.getAsLong() / NANOS_POR_SEGUNDO;
+        long anterior = segundoAtual.get();
+        if (segundo != anterior && segundoAtual.compareAndSet(anterior, segundo))
+            emitidosNoSegundo.set(0);
+
+        if (emitidosNoSegundo.incrementAndGet() <= limitePorSegundo)
+            return true;
+
+        descartados.incrementAndGet();
+        return false;
+    }
+
+    public long descartados() {
+        return descartados.get();
+    }
+
+    /** Publica os descartes no contador estacionamento.log.descartados, marcado com o nome do log amostrado. */
+    public AmostragemDeLog medir(MeterRegistry registry, String log) {
+        FunctionCounter.builder("estacionamento.log.descartados", this, AmostragemDeLog::descartados)
+                .description("Linhas de log descartadas pela amostragem")
+                .tag("log", log)
+                .register(registry);
+        return this;
+    }
+}
@@ -1,21 +1,36 @@
 package br.ifsp.demo.components;
 
 import br.ifsp.demo.service.CalculadoraDeTarifa;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
 
 @Component
 public class CalculadoraTempoPermanencia  implements CalculadoraDeTarifa {
 
     private final ValorPermanencia valorPermanencia;
+    private final GradesTarifarias gradesTarifarias;
 
     public CalculadoraTempoPermanencia(ValorPermanencia valorPermanencia) {
+        this(valorPermanencia, new GradesTarifarias());
+    }
+
+    @Autowired
+    public CalculadoraTempoPermanencia(ValorPermanencia valorPermanencia, GradesTarifarias gradesTarifarias) {
         this.valorPermanencia = valorPermanencia;
+        this.gradesTarifarias = gradesTarifarias;
     }
 
     @Override
-    public double calcularValor(LocalDateTime entrada, LocalDateTime saida) {
+    public long calcularCentavos(LocalDateTime entrada, LocalDateTime saida) {
+        return calcularCentavos(entrada, saida, null, null);
+    }
+
+    @Override
+    public long calcularCentavos(LocalDateTime entrada, LocalDateTime saida, String tipoVeiculo, UUID idEstacionamento) {
 
         if(entrada == null || saida == null)
             throw new IllegalArgumentException("horas não podem ser nulas");
@@ -24,40 +39,13 @@ public class CalculadoraTempoPermanencia  implements CalculadoraDeTarifa {
             throw new IllegalArgumentException("Horário de saída não pode ser antes do horário de entrada");
 
 
-        int horasPermanencia = (int) Math.ceil(java.time.Duration.between(entrada, saida).toMinutes() / 60.0);
-
-        return calcularValorDaPermanencia(horasPermanencia);
-    }
+        long minutos = ChronoUnit.MINUTES.between(entrada, saida);
+        int horasPermanencia = (int) Math.min((minutos + 59) / 60, Integer.MAX_VALUE);
 
-    private double calcularValorDaPermanencia(int horas) {
-        if (horas <= 0) {
-            horas = 1;
-        }
-        if (horas == 1) {
-            return valorPermanencia.getValorUmaHora();
-        }
-        if (horas <= 6) {
-            return calcularCustoComLimite(valorPermanencia.getValorUmaHora(), valorPermanencia.getValorSeisHoras(), horas, 1);
-        }
-        if (horas <= 12) {
-            return calcularCustoComLimite(valorPermanencia.getValorSeisHoras(), valorPermanencia.getValorDozeHoras(), horas, 6);
-        }
-
-        if (horas <= 24) {
-            return calcularCustoComLimite(valorPermanencia.getValorDozeHoras(), valorPermanencia.getValorVinteEQuatroHoras(), horas, 12);
-        }
-
-        return calcularCustoComAdicional(valorPermanencia.getValorVinteEQuatroHoras(), horas, 24);
+        TabelaTarifas padrao = valorPermanencia.tabela();
+        GradeTarifaria grade = gradesTarifarias.resolver(idEstacionamento, tipoVeiculo);
+        return grade == null
+                ? padrao.centavos(horasPermanencia)
+                : grade.centavos(entrada, minutos, horasPermanencia, padrao);
     }
-
-    private double calcularCustoComAdicional(double valorBase, int horas, int horasLimite) {
-        return valorBase + (valorPermanencia.getHoraAdicional() * (horas - horasLimite));
-    }
-
-    private double calcularCustoComLimite(double valorBase, double valorLimite, int horas, int horasLimite) {
-        double custo = calcularCustoComAdicional(valorBase, horas, horasLimite);
-        return Math.min(custo, valorLimite);
-    }
-
-
 }
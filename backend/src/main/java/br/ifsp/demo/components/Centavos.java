@@ -0,0 +1,25 @@
+package br.ifsp.demo.components;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Dinheiro circula como {@code long} em centavos (pagamentos, resumos, somas no banco);
+ * a conversão para reais só acontece na borda: DTOs de resposta, CSV e PDF.
+ */
+public final class Centavos {
+
+    private Centavos() {}
+
+    public static double emReais(long centavos) {
+        return centavos / 100.0;
+    }
+
+    /** Mesmo texto de {@code String.format("%.2f", reais)}, mas montado sem passar por ponto flutuante. */
+    public static String formatar(long centavos) {
+        char separador = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT)).getDecimalSeparator();
+        long absoluto = Math.abs(centavos);
+        long fracao = absoluto % 100;
+        return (centavos < 0 ? "-" : "") + absoluto / 100 + separador + (fracao < 10 ? "0" : "") + fracao;
+    }
+}
@@ -0,0 +1,150 @@
+package br.ifsp.demo.components;
+
+import br.ifsp.demo.model.RegistroEntrada;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class EntradasAtivas {
+
+    private final Map<String, RegistroEntrada> entradasPorPlaca = new ConcurrentHashMap<>();
+    // entradas gravadas cuja transação ainda não terminou, ou que uma saída apagou nesse intervalo; só mudam
+    // dentro do compute da placa, o mesmo trecho atômico em que a saída retira a entrada do mapa
+    private final Map<UUID, Situacao> naoPublicadas = new ConcurrentHashMap<>();
+
+    private enum Situacao {
+        /** Gravada, aguardando o fim da transação da entrada. */
+        PENDENTE,
+        /** Apagada por uma saída ainda em andamento antes de ser publicada. */
+        RETIRADA,
+        /** Apagada por uma saída já confirmada; a entrada não deve mais ser publicada. */
+        RETIRADA_CONFIRMADA,
+        /** Entrada confirmada sem publicar, aguardando o fim da saída que a apagou. */
+        SUPRIMIDA
+    }
+
+    public void carregar(Collection<RegistroEntrada> entradas) {
+        if (entradas == null)
+            throw new IllegalArgumentException("Lista de entradas não pode ser nula");
+
+        entradasPorPlaca.clear();
+        entradas.forEach(this::adicionar);
+    }
+
+    public void adicionar(RegistroEntrada entrada) {
+        entradasPorPlaca.put(placaDe(entrada), entrada);
+    }
+
+    /** Marca uma entrada gravada que só entra no mapa quando a sua transação for confirmada. */
+    public void registrarPendente(RegistroEntrada entrada) {
+        UUID id = idDe(entrada);
+        entradasPorPlaca.compute(placaDe(entrada), (placa, atual) -> {
+            naoPublicadas.put(id, Situacao.PENDENTE);
+            return atual;
+        });
+    }
+
+    /** Publica a entrada pendente, a menos que uma saída a tenha apagado antes de a transação terminar. */
+    public void confirmar(RegistroEntrada entrada) {
+        UUID id = idDe(entrada);
+        entradasPorPlaca.compute(placaDe(entrada), (placa, atual) -> {
+            Situacao situacao = naoPublicadas.remove(id);
+            if (situacao == Situacao.RETIRADA)
+                naoPublicadas.put(id, Situacao.SUPRIMIDA);
+            if (situacao == Situacao.RETIRADA || situacao == Situacao.RETIRADA_CONFIRMADA)
+                return atual;
+            return entrada;
+        });
+    }
+
+    /** Esquece a entrada pendente cuja transação foi desfeita. */
+    public void descartar(RegistroEntrada entrada) {
+        UUID id = idDe(entrada);
+        entradasPorPlaca.compute(placaDe(entrada), (placa, atual) -> {
+            naoPublicadas.remove(id);
+            return atual;
+        });
+    }
+
+    /**
+     * Registra que uma saída apagou do banco uma entrada que ela não encontrou no mapa. Se a entrada foi publicada
+     * nesse meio-tempo, ela sai do mapa e o retorno é verdadeiro, como se a saída a tivesse retirado de lá.
+     */
+    public boolean retirarPendente(RegistroEntrada entrada) {
+        UUID id = idDe(entrada);
+        boolean[] publicada = {false};
+        entradasPorPlaca.compute(placaDe(entrada), (placa, atual) -> {
+            if (atual != null && id.equals(atual.getId())) {
+                publicada[0] = true;
+                return null;
+            }
+            naoPublicadas.computeIfPresent(id, (chave, situacao) ->
+                    situacao == Situacao.PENDENTE ? Situacao.RETIRADA : situacao);
+            return atual;
+        });
+        return publicada[0];
+    }
+
+    /** Conclui a saída confirmada de uma entrada retirada por {@link #retirarPendente}. */
+    public void concluirRetirada(RegistroEntrada entrada) {
+        UUID id = idDe(entrada);
+        entradasPorPlaca.compute(placaDe(entrada), (placa, atual) -> {
+            naoPublicadas.computeIfPresent(id, (chave, situacao) -> switch (situacao) {
+                case RETIRADA -> Situacao.RETIRADA_CONFIRMADA;
+                case SUPRIMIDA -> null;
+                default -> situacao;
+            });
+            return atual;
+        });
+    }
+
+    /** Desfaz a retirada de {@link #retirarPendente} quando a transação da saída não é confirmada. */
+    public void desfazerRetirada(RegistroEntrada entrada) {
+        UUID id = idDe(entrada);
+        entradasPorPlaca.compute(placaDe(entrada), (placa, atual) -> {
+            Situacao situacao = naoPublicadas.get(id);
+            if (situacao == Situacao.RETIRADA) {
+                naoPublicadas.put(id, Situacao.PENDENTE);
+            } else if (situacao == Situacao.SUPRIMIDA) {
+                naoPublicadas.remove(id);
+                return atual == null ? entrada : atual;
+            }
+            return atual;
+        });
+    }
+
+    public Optional<RegistroEntrada> buscar(String placa) {
+        return placa == null ? Optional.empty() : Optional.ofNullable(entradasPorPlaca.get(placa));
+    }
+
+    public Optional<RegistroEntrada> retirar(String placa) {
+        return placa == null ? Optional.empty() : Optional.ofNullable(entradasPorPlaca.remove(placa));
+    }
+
+    public void devolver(RegistroEntrada entrada) {
+        entradasPorPlaca.putIfAbsent(placaDe(entrada), entrada);
+    }
+
+    public int quantidade() {
+        return entradasPorPlaca.size();
+    }
+
+    private static UUID idDe(RegistroEntrada entrada) {
+        if (entrada == null || entrada.getId() == null)
+            throw new IllegalArgumentException("Entrada precisa estar gravada");
+
+        return entrada.getId();
+    }
+
+    private String placaDe(RegistroEntrada entrada) {
+        if (entrada == null || entrada.getVeiculo() == null || entrada.getVeiculo().getPlaca() == null)
+            throw new IllegalArgumentException("Entrada precisa ter um veículo com placa");
+
+        return entrada.getVeiculo().getPlaca();
+    }
+}
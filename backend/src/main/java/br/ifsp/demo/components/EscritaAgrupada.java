@@ -0,0 +1,237 @@
+package br.ifsp.demo.components;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Group commit das operações de portaria. Com {@code estacionamento.escrita-agrupada.habilitada=true} cada operação
+ * entra numa fila e uma única thread as executa em ordem dentro de uma transação compartilhada, confirmada a cada
+ * {@code janela-ms} ou {@code lote-maximo} operações; quem chamou só recebe a resposta depois do commit do seu lote.
+ * Uma operação que falha tem o lote desfeito, as anteriores a ela são confirmadas de novo sem ela e a sua exceção vale
+ * como resposta, do mesmo jeito que seria numa transação própria.
+ */
+@Component
+public class EscritaAgrupada {
+
+    private static final Logger log = LoggerFactory.getLogger(EscritaAgrupada.class);
+    private static final long ESPERA_FILA_MS = 100;
+
+    private final TransactionTemplate transacao;
+    private final long janelaNanos;
+    private final int loteMaximo;
+    private final BlockingQueue<Pedido<?>> fila = new LinkedBlockingQueue<>();
+    private final DistributionSummary tamanhoLote;
+    private final Thread gravador;
+    private volatile boolean encerrada;
+
+    @Autowired
+    public EscritaAgrupada(PlatformTransactionManager transacoes, MeterRegistry registry,
+                           @Value("${estacionamento.escrita-agrupada.habilitada:false}") boolean habilitada,
+                           @Value("${estacionamento.escrita-agrupada.janela-ms:2}") long janelaMs,
+                           @Value("${estacionamento.escrita-agrupada.lote-maximo:64}") int loteMaximo) {
+        if (janelaMs < 0)
+            throw new IllegalArgumentException("Janela da escrita agrupada não pode ser negativa");
+        if (loteMaximo <= 0)
+            throw new IllegalArgumentException("Lote máximo da escrita agrupada deve ser maior que zero");
+
+        this.transacao = new TransactionTemplate(transacoes);
+        this.janelaNanos = TimeUnit.MILLISECONDS.toNanos(janelaMs);
+        this.loteMaximo = loteMaximo;
+        this.tamanhoLote = DistributionSummary.builder("estacionamento.escrita.lote")
+                .description("Operações de portaria confirmadas em cada commit")
+                .register(registry);
+        Gauge.builder("estacionamento.escrita.fila", fila, BlockingQueue::size)
+                .description("Operações de portaria aguardando o próximo commit")
+                .register(registry);
+
+        if (habilitada) {
+            gravador = new Thread(this::gravar, "escrita-agrupada");
+            gravador.setDaemon(true);
+            gravador.start();
+        } else {
+            gravador = null;
+        }
+    }
+
+    public <T> T executar(Supplier<T> operacao) {
+        if (gravador == null || encerrada || Thread.currentThread() == gravador
+                || TransactionSynchronizationManager.isActualTransactionActive())
+            return operacao.get();
+
+        Pedido<T> pedido = new Pedido<>(operacao);
+        fila.add(pedido);
+        if (encerrada && fila.remove(pedido))
+            return operacao.get();
+
+        try {
+            return pedido.futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa)
+                throw causa;
+            if (e.getCause() instanceof Error erro)
+                throw erro;
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        encerrada = true;
+        if (gravador == null)
+            return;
+
+        gravador.join(TimeUnit.SECONDS.toMillis(5));
+        Pedido<?> pendente;
+        while ((pendente = fila.poll()) != null)
+            pendente.futuro.completeExceptionally(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Aplicação em encerramento"));
+    }
+
+    int pendentes() {
+        return fila.size();
+    }
+
+    private void gravar() {
+        List<Pedido<?>> lote = new ArrayList<>(loteMaximo);
+        while (!encerrada || !fila.isEmpty()) {
+            try {
+                Pedido<?> primeiro = fila.poll(ESPERA_FILA_MS, TimeUnit.MILLISECONDS);
+                if (primeiro == null)
+                    continue;
+                lote.add(primeiro);
+                completarLote(lote);
+            } catch (InterruptedException e) {
+                encerrada = true;
+            }
+
+            try {
+                confirmar(lote);
+            } catch (RuntimeException | Error e) {
+                log.error("Falha ao confirmar lote de {} operações de portaria", lote.size(), e);
+                lote.forEach(pedido -> pedido.futuro.completeExceptionally(e));
+            }
+            lote.clear();
+        }
+    }
+
+    private void completarLote(List<Pedido<?>> lote) throws InterruptedException {
+        long prazo = System.nanoTime() + janelaNanos;
+        fila.drainTo(lote, loteMaximo - lote.size());
+        while (lote.size() < loteMaximo) {
+            long restante = prazo - System.nanoTime();
+            Pedido<?> proximo = restante > 0 ? fila.poll(restante, TimeUnit.NANOSECONDS) : null;
+            if (proximo == null)
+                return;
+            lote.add(proximo);
+            fila.drainTo(lote, loteMaximo - lote.size());
+        }
+    }
+
+    void confirmar(List<Pedido<?>> lote) {
+        int inicio = 0;
+        boolean individual = false;
+        while (inicio < lote.size()) {
+            int limite = individual ? inicio + 1 : lote.size();
+            int fim = limite;
+            try {
+                int falha = executarEmTransacao(lote, inicio, fim);
+                // a operação que falhou viu o mesmo estado que veria na ordem final: só as anteriores são refeitas
+                while (falha > inicio) {
+                    fim = falha;
+                    falha = executarEmTransacao(lote, inicio, fim);
+                }
+
+                if (falha == inicio) {
+                    lote.get(inicio++).concluir();
+                    continue;
+                }
+                for (int i = inicio; i < fim; i++)
+                    lote.get(i).concluir();
+                if (fim < limite)
+                    lote.get(fim++).concluir();
+                inicio = fim;
+            } catch (RuntimeException e) {
+                // o commit em si falhou e não dá para saber por causa de quem: o resto do lote segue um a um
+                if (fim - inicio > 1) {
+                    individual = true;
+                    continue;
+                }
+                lote.get(inicio++).futuro.completeExceptionally(e);
+            }
+        }
+    }
+
+    private int executarEmTransacao(List<Pedido<?>> lote, int inicio, int fim) {
+        Integer falha = transacao.execute(status -> {
+            for (int i = inicio; i < fim; i++) {
+                if (!lote.get(i).executar()) {
+                    status.setRollbackOnly();
+                    return i;
+                }
+            }
+            return -1;
+        });
+
+        if (falha == null || falha < 0) {
+            tamanhoLote.record(fim - inicio);
+            return -1;
+        }
+        return falha;
+    }
+
+    static final class Pedido<T> {
+
+        private final Supplier<T> operacao;
+        private final CompletableFuture<T> futuro = new CompletableFuture<>();
+        private T resultado;
+        private RuntimeException erro;
+
+        Pedido(Supplier<T> operacao) {
+            this.operacao = operacao;
+        }
+
+        boolean executar() {
+            resultado = null;
+            erro = null;
+            try {
+                resultado = operacao.get();
+                return true;
+            } catch (RuntimeException e) {
+                erro = e;
+                return false;
+            }
+        }
+
+        void concluir() {
+            if (erro != null)
+                futuro.completeExceptionally(erro);
+            else
+                futuro.complete(resultado);
+        }
+
+        CompletableFuture<T> futuro() {
+            return futuro;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package br.ifsp.demo.components;
+
+import br.ifsp.demo.dto.EventoEstacionamentoDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Component
+public class EventosEstacionamento {
+
+    public static final String ENTRADA = "ENTRADA";
+    public static final String SAIDA = "SAIDA";
+    public static final String CANCELAMENTO = "CANCELAMENTO";
+
+    static final int EVENTOS_RETIDOS = 512;
+    private static final long INTERVALO_RECONEXAO_MS = 3000;
+
+    private final OcupacaoVagas ocupacaoVagas;
+    private final Executor envio;
+    private final List<Assinante> assinantes = new CopyOnWriteArrayList<>();
+    private final Deque<EventoEstacionamentoDTO> recentes = new ArrayDeque<>();
+    private long ultimoId;
+
+    @Autowired
+    public EventosEstacionamento(OcupacaoVagas ocupacaoVagas) {
+        this(ocupacaoVagas, Executors.newSingleThreadExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "eventos-estacionamento");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    EventosEstacionamento(OcupacaoVagas ocupacaoVagas, Executor envio) {
+        this.ocupacaoVagas = ocupacaoVagas;
+        this.envio = envio;
+    }
+
+    public SseEmitter assinar(Long ultimoIdRecebido) {
+        SseEmitter emissor = new SseEmitter();
+        assinar(emissor, ultimoIdRecebido);
+        return emissor;
+    }
+
+    void assinar(SseEmitter emissor, Long ultimoIdRecebido) {
+        Assinante assinante = new Assinante(emissor);
+        emissor.onCompletion(() -> assinantes.remove(assinante));
+        emissor.onTimeout(() -> assinantes.remove(assinante));
+        emissor.onError(erro -> assinantes.remove(assinante));
+
+        envio.execute(() -> {
+            if (ultimoIdRecebido != null && !reenviarDesde(assinante, ultimoIdRecebido))
+                return;
+            assinantes.add(assinante);
+        });
+    }
+
+    public EventoEstacionamentoDTO publicar(String tipo, String placa, Integer vagaId, long valorCentavos) {
+        EventoEstacionamentoDTO evento;
+        // ocupação lida, id atribuído e envio enfileirado sob o mesmo lock: um id maior nunca carrega uma
+        // ocupação mais antiga, e os eventos chegam à fila de envio na ordem dos ids
+        synchronized (recentes) {
+            int totalVagas = ocupacaoVagas.capacidadeTotal();
+            int vagasOcupadas = ocupacaoVagas.vagasOcupadas();
+            evento = new EventoEstacionamentoDTO(++ultimoId, tipo, placa, vagaId, Centavos.emReais(valorCentavos),
+                    vagasOcupadas, totalVagas - vagasOcupadas, totalVagas, LocalDateTime.now());
+            recentes.addLast(evento);
+            if (recentes.size() > EVENTOS_RETIDOS)
+                recentes.removeFirst();
+            envio.execute(() -> assinantes.forEach(assinante -> assinante.enviar(evento)));
+        }
+        return evento;
+    }
+
+    @Scheduled(initialDelayString = "${estacionamento.eventos.heartbeat-ms:15000}",
+            fixedDelayString = "${estacionamento.eventos.heartbeat-ms:15000}")
+    public void enviarHeartbeat() {
+        envio.execute(() -> assinantes.forEach(Assinante::enviarHeartbeat));
+    }
+
+    public int quantidadeAssinantes() {
+        return assinantes.size();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (envio instanceof ExecutorService executor)
+            executor.shutdownNow();
+        assinantes.forEach(assinante -> assinante.emissor.complete());
+    }
+
+    private boolean reenviarDesde(Assinante assinante, long ultimoIdRecebido) {
+        List<EventoEstacionamentoDTO> perdidos;
+        boolean lacuna;
+        synchronized (recentes) {
+            perdidos = recentes.stream().filter(evento -> evento.id() > ultimoIdRecebido).toList();
+            lacuna = ultimoIdRecebido > ultimoId
+                    || (!recentes.isEmpty() && recentes.getFirst().id() > ultimoIdRecebido + 1);
+        }
+
+        if (lacuna)
+            return assinante.enviarResincronizacao();
+        for (EventoEstacionamentoDTO evento : perdidos)
+            if (!assinante.enviar(evento))
+                return false;
+        return true;
+    }
+
+    private final class Assinante {
+
+        private final SseEmitter emissor;
+        private long ultimoEnviado;
+
+        private Assinante(SseEmitter emissor) {
+            this.emissor = emissor;
+        }
+
+        private boolean enviar(EventoEstacionamentoDTO evento) {
+            if (evento.id() <= ultimoEnviado)
+                return true;
+            ultimoEnviado = evento.id();
+            return enviar(SseEmitter.event()
+                    .id(String.valueOf(evento.id()))
+                    .reconnectTime(INTERVALO_RECONEXAO_MS)
+                    .data(evento));
+        }
+
+        private boolean enviarResincronizacao() {
+            synchronized (recentes) {
+                ultimoEnviado = ultimoId;
+            }
+            return enviar(SseEmitter.event()
+                    .id(String.valueOf(ultimoEnviado))
+                    .name("resync")
+                    .reconnectTime(INTERVALO_RECONEXAO_MS)
+                    .data(""));
+        }
+
+        private void enviarHeartbeat() {
+            enviar(SseEmitter.event().comment("heartbeat"));
+        }
+
+        private boolean enviar(SseEmitter.SseEventBuilder evento) {
+            try {
+                emissor.send(evento);
+                return true;
+            } catch (Exception e) {
+                assinantes.remove(this);
+                emissor.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package br.ifsp.demo.components;
+
+import br.ifsp.demo.dto.GradeTarifariaDTO;
+import br.ifsp.demo.dto.PeriodoTarifaDTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Grade de um perfil (estacionamento e tipo de veículo): tabela base opcional e períodos da semana
+ * (noturno, fim de semana...) com fator sobre o preço. Os ajustes dos períodos viram uma soma acumulada
+ * por minuto da semana, então o peso de qualquer estadia sai de duas leituras, seja de uma hora ou de um mês.
+ * Períodos sobrepostos somam seus ajustes: noturno 0,80 e fim de semana 0,90 dão 0,70 no sábado à noite.
+ */
+public final class GradeTarifaria {
+
+    static final int MINUTOS_DIA = 24 * 60;
+    static final int MINUTOS_SEMANA = 7 * MINUTOS_DIA;
+    private static final long FATOR_NEUTRO = 10_000;
+    // 1970-01-05 foi segunda-feira: conta os minutos da semana a partir dela
+    private static final long PRIMEIRA_SEGUNDA_EM_MINUTOS = 4L * MINUTOS_DIA;
+
+    private final TabelaTarifas tarifa;
+    private final long[] ajusteAcumulado;
+    private final GradeTarifariaDTO definicao;
+
+    private GradeTarifaria(TabelaTarifas tarifa, long[] ajusteAcumulado, GradeTarifariaDTO definicao) {
+        this.tarifa = tarifa;
+        this.ajusteAcumulado = ajusteAcumulado;
+        this.definicao = definicao;
+    }
+
+    public static GradeTarifaria compilar(GradeTarifariaDTO definicao) {
+        if (definicao == null)
+            throw new IllegalArgumentException("Grade tarifária não pode ser nula");
+
+        List<PeriodoTarifaDTO> periodos = definicao.periodos() == null ? List.of() : List.copyOf(definicao.periodos());
+        if (definicao.tarifa() == null && periodos.isEmpty())
+            throw new IllegalArgumentException("Grade tarifária precisa de tarifa ou de pelo menos um período");
+
+        TabelaTarifas tarifa = definicao.tarifa() == null ? null : TabelaTarifas.compilar(definicao.tarifa());
+        long[] ajusteAcumulado = periodos.isEmpty() ? null : acumularAjustes(periodos);
+
+        return new GradeTarifaria(tarifa, ajusteAcumulado, new GradeTarifariaDTO(definicao.idEstacionamento(),
+                definicao.tipoVeiculo(), tarifa == null ? null : tarifa.definicao(), periodos));
+    }
+
+    private static long[] acumularAjustes(List<PeriodoTarifaDTO> periodos) {
+        long[] ajustePorMinuto = new long[MINUTOS_SEMANA];
+        for (PeriodoTarifaDTO periodo : periodos) {
+            validarPeriodo(periodo);
+            long ajuste = fator(periodo) - FATOR_NEUTRO;
+            int inicio = minutoDoDia(periodo.inicio());
+            int duracao = Math.floorMod(minutoDoDia(periodo.fim()) - inicio - 1, MINUTOS_DIA) + 1;
+
+            for (var dia : periodo.dias()) {
+                int minutoDaSemana = (dia.getValue() - 1) * MINUTOS_DIA + inicio;
+                for (int minuto = 0; minuto < duracao; minuto++)
+                    ajustePorMinuto[(minutoDaSemana + minuto) % MINUTOS_SEMANA] += ajuste;
+            }
+        }
+
+        long[] acumulado = new long[MINUTOS_SEMANA + 1];
+        for (int minuto = 0; minuto < MINUTOS_SEMANA; minuto++)
+            acumulado[minuto + 1] = acumulado[minuto] + ajustePorMinuto[minuto];
+        return acumulado;
+    }
+
+    private static void validarPeriodo(PeriodoTarifaDTO periodo) {
+        if (periodo == null)
+            throw new IllegalArgumentException("Período não pode ser nulo");
+        if (periodo.dias() == null || periodo.dias().isEmpty())
+            throw new IllegalArgumentException("Período " + periodo.nome() + " precisa de pelo menos um dia da semana");
+        if (periodo.inicio() == null || periodo.fim() == null)
+            throw new IllegalArgumentException("Período " + periodo.nome() + " precisa de início e fim");
+    }
+
+    private static long fator(PeriodoTarifaDTO periodo) {
+        BigDecimal fator = periodo.fator();
+        if (fator == null || fator.signum() < 0)
+            throw new IllegalArgumentException("Fator do período " + periodo.nome() + " não pode ser negativo");
+        try {
+            return fator.movePointRight(4).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Fator do período " + periodo.nome() + " deve ter no máximo quatro casas decimais");
+        }
+    }
+
+    private static int minutoDoDia(LocalTime horario) {
+        return horario.getHour() * 60 + horario.getMinute();
+    }
+
+    static long minutoAbsoluto(LocalDateTime momento) {
+        return Math.floorDiv(momento.toEpochSecond(ZoneOffset.UTC), 60) - PRIMEIRA_SEGUNDA_EM_MINUTOS;
+    }
+
+    private long ajusteAte(long minuto) {
+        return Math.floorDiv(minuto, MINUTOS_SEMANA) * ajusteAcumulado[MINUTOS_SEMANA]
+                + ajusteAcumulado[(int) Math.floorMod(minuto, MINUTOS_SEMANA)];
+    }
+
+    public long centavos(LocalDateTime entrada, long minutos, int horas, TabelaTarifas padrao) {
+        long base = (tarifa == null ? padrao : tarifa).centavos(horas);
+        if (ajusteAcumulado == null)
+            return base;
+
+        long duracao = Math.max(minutos, 1);
+        long inicio = minutoAbsoluto(entrada);
+        long ponderado = duracao * FATOR_NEUTRO + ajusteAte(inicio + duracao) - ajusteAte(inicio);
+        if (ponderado <= 0)
+            return 0;
+        long divisor = duracao * FATOR_NEUTRO;
+        try {
+            return (Math.multiplyExact(base, ponderado) + divisor / 2) / divisor;
+        } catch (ArithmeticException e) {
+            return BigDecimal.valueOf(base).multiply(BigDecimal.valueOf(ponderado))
+                    .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP).longValueExact();
+        }
+    }
+
+    public GradeTarifariaDTO definicao() {
+        return definicao;
+    }
+}
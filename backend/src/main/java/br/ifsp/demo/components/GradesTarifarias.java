@@ -0,0 +1,57 @@
+package br.ifsp.demo.components;
+
+import br.ifsp.demo.dto.GradeTarifariaDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Grades tarifárias por estacionamento e tipo de veículo. Ficam só em memória: não são gravadas e a aplicação
+ * sempre começa sem nenhuma, usando a tarifa de {@link ValorPermanencia}.
+ */
+@Component
+public class GradesTarifarias {
+
+    private final Map<Perfil, GradeTarifaria> grades = new ConcurrentHashMap<>();
+
+    public GradeTarifaria resolver(UUID idEstacionamento, String tipoVeiculo) {
+        if (grades.isEmpty())
+            return null;
+
+        String tipo = normalizar(tipoVeiculo);
+        GradeTarifaria grade = null;
+        if (idEstacionamento != null && tipo != null)
+            grade = grades.get(new Perfil(idEstacionamento, tipo));
+        if (grade == null && idEstacionamento != null)
+            grade = grades.get(new Perfil(idEstacionamento, null));
+        if (grade == null && tipo != null)
+            grade = grades.get(new Perfil(null, tipo));
+        return grade != null ? grade : grades.get(new Perfil(null, null));
+    }
+
+    public GradeTarifariaDTO salvar(GradeTarifariaDTO definicao) {
+        GradeTarifaria grade = GradeTarifaria.compilar(definicao);
+        grades.put(new Perfil(definicao.idEstacionamento(), normalizar(definicao.tipoVeiculo())), grade);
+        return grade.definicao();
+    }
+
+    public boolean remover(UUID idEstacionamento, String tipoVeiculo) {
+        return grades.remove(new Perfil(idEstacionamento, normalizar(tipoVeiculo))) != null;
+    }
+
+    public List<GradeTarifariaDTO> listar() {
+        return grades.values().stream()
+                .map(GradeTarifaria::definicao)
+                .toList();
+    }
+
+    private static String normalizar(String tipoVeiculo) {
+        return tipoVeiculo == null || tipoVeiculo.isBlank() ? null : tipoVeiculo.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Perfil(UUID idEstacionamento, String tipoVeiculo) {}
+}
@@ -1,12 +1,16 @@
 package br.ifsp.demo.components;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 @Component
 public class LogSistema {
 
+    private static final Logger log = LoggerFactory.getLogger(LogSistema.class);
+
     public void registrarCancelamento(String placa, String motivoCancelamento) {
-        System.out.println("Cancelamento do check-in do veículo " + placa + " realizado. Motivo: " + motivoCancelamento);
+        log.info("Cancelamento do check-in do veículo {} realizado. Motivo: {}", placa, motivoCancelamento);
     }
 
 }
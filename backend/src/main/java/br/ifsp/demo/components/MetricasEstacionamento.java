@@ -0,0 +1,83 @@
+package br.ifsp.demo.components;
+
+import br.ifsp.demo.model.Estacionamento;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+@Component
+public class MetricasEstacionamento {
+
+    public static final String LOTADO = "lotado";
+    public static final String VAGA_OCUPADA = "vaga_ocupada";
+    public static final String ENTRADA_DUPLICADA = "entrada_duplicada";
+
+    private final OcupacaoVagas ocupacaoVagas;
+    private final Counter rejeicoesLotado;
+    private final Counter rejeicoesVagaOcupada;
+    private final Counter rejeicoesEntradaDuplicada;
+    private final MultiGauge vagasOcupadas;
+    private final MultiGauge capacidade;
+
+    public MetricasEstacionamento(MeterRegistry registry, OcupacaoVagas ocupacaoVagas) {
+        this.ocupacaoVagas = ocupacaoVagas;
+        this.rejeicoesLotado = rejeicoes(registry, LOTADO);
+        this.rejeicoesVagaOcupada = rejeicoes(registry, VAGA_OCUPADA);
+        this.rejeicoesEntradaDuplicada = rejeicoes(registry, ENTRADA_DUPLICADA);
+        this.vagasOcupadas = MultiGauge.builder("estacionamento.vagas.ocupadas")
+                .description("Vagas ocupadas em cada estacionamento")
+                .register(registry);
+        this.capacidade = MultiGauge.builder("estacionamento.vagas.capacidade")
+                .description("Capacidade de cada estacionamento")
+                .register(registry);
+    }
+
+    private static Counter rejeicoes(MeterRegistry registry, String motivo) {
+        return Counter.builder("estacionamento.entradas.rejeitadas")
+                .description("Entradas recusadas por motivo")
+                .tag("motivo", motivo)
+                .register(registry);
+    }
+
+    public void rejeicaoLotado() {
+        rejeicoesLotado.increment();
+    }
+
+    public void rejeicaoVagaOcupada() {
+        rejeicoesVagaOcupada.increment();
+    }
+
+    public void rejeicaoEntradaDuplicada() {
+        rejeicoesEntradaDuplicada.increment();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @Scheduled(initialDelayString = "${estacionamento.ocupacao.reconciliacao-ms:60000}",
+            fixedDelayString = "${estacionamento.ocupacao.reconciliacao-ms:60000}")
+    public void atualizarEstacionamentos() {
+        Collection<Estacionamento> estacionamentos = ocupacaoVagas.estacionamentos();
+        vagasOcupadas.register(estacionamentos.stream()
+                .map(estacionamento -> MultiGauge.Row.of(tags(estacionamento), estacionamento.getId(),
+                        ocupacaoVagas::vagasOcupadas))
+                .toList(), true);
+        capacidade.register(estacionamentos.stream()
+                .map(estacionamento -> MultiGauge.Row.of(tags(estacionamento), estacionamento.getId(),
+                        ocupacaoVagas::capacidade))
+                .toList(), true);
+    }
+
+    private static Tags tags(Estacionamento estacionamento) {
+        return Tags.of("estacionamento", estacionamento.getId().toString(),
+                "nome", estacionamento.getNome() == null ? "" : estacionamento.getNome());
+    }
+}
@@ -0,0 +1,71 @@
+package br.ifsp.demo.components;
+
+import br.ifsp.demo.model.Estacionamento;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class OcupacaoVagas {
+
+    private final Map<UUID, AlocadorDeVagas> alocadores = new ConcurrentHashMap<>();
+    private final Map<UUID, Estacionamento> estacionamentos = new ConcurrentHashMap<>();
+
+    public AlocadorDeVagas registrar(Estacionamento estacionamento, Collection<Integer> vagasOcupadas) {
+        validarEstacionamento(estacionamento);
+
+        AlocadorDeVagas alocador = new AlocadorDeVagas(estacionamento.getCapacidade());
+        alocador.reconstruir(vagasOcupadas);
+        alocadores.put(estacionamento.getId(), alocador);
+        estacionamentos.put(estacionamento.getId(), estacionamento);
+        return alocador;
+    }
+
+    public AlocadorDeVagas doEstacionamento(Estacionamento estacionamento) {
+        validarEstacionamento(estacionamento);
+
+        estacionamentos.putIfAbsent(estacionamento.getId(), estacionamento);
+        return alocadores.computeIfAbsent(estacionamento.getId(),
+                id -> new AlocadorDeVagas(estacionamento.getCapacidade()));
+    }
+
+    public Optional<Estacionamento> estacionamento(UUID id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(estacionamentos.get(id));
+    }
+
+    public Collection<Estacionamento> estacionamentos() {
+        return List.copyOf(estacionamentos.values());
+    }
+
+    public int vagasOcupadas(UUID id) {
+        AlocadorDeVagas alocador = alocadores.get(id);
+        return alocador == null ? 0 : alocador.getVagasOcupadas();
+    }
+
+    public int capacidade(UUID id) {
+        AlocadorDeVagas alocador = alocadores.get(id);
+        return alocador == null ? 0 : alocador.getCapacidade();
+    }
+
+    public int capacidadeTotal() {
+        return alocadores.values().stream()
+                .mapToInt(AlocadorDeVagas::getCapacidade)
+                .sum();
+    }
+
+    public int vagasOcupadas() {
+        return alocadores.values().stream()
+                .mapToInt(AlocadorDeVagas::getVagasOcupadas)
+                .sum();
+    }
+
+    private void validarEstacionamento(Estacionamento estacionamento) {
+        if (estacionamento == null || estacionamento.getId() == null)
+            throw new IllegalArgumentException("Estacionamento precisa estar cadastrado");
+    }
+}
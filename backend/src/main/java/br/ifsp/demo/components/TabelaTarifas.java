@@ -0,0 +1,84 @@
+package br.ifsp.demo.components;
+
+import br.ifsp.demo.dto.FaixaTarifaDTO;
+import br.ifsp.demo.dto.TarifaDTO;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Tarifa compilada em uma tabela de preço por hora, em centavos. Dentro das faixas o preço é lido
+ * direto da tabela; depois da última faixa soma-se a hora adicional, sem alocar nada por consulta.
+ */
+public final class TabelaTarifas {
+
+    /** Maior faixa aceita, um ano bissexto: a tabela tem uma posição por hora até a última faixa. */
+    public static final int HORAS_MAXIMAS = 24 * 366;
+
+    private final long[] centavosPorHora;
+    private final long horaAdicionalCentavos;
+    private final TarifaDTO definicao;
+
+    private TabelaTarifas(long[] centavosPorHora, long horaAdicionalCentavos, TarifaDTO definicao) {
+        this.centavosPorHora = centavosPorHora;
+        this.horaAdicionalCentavos = horaAdicionalCentavos;
+        this.definicao = definicao;
+    }
+
+    public static TabelaTarifas compilar(TarifaDTO definicao) {
+        if (definicao == null || definicao.faixas() == null || definicao.faixas().isEmpty())
+            throw new IllegalArgumentException("Tarifa precisa de pelo menos uma faixa");
+
+        List<FaixaTarifaDTO> faixas = List.copyOf(definicao.faixas());
+        long horaAdicional = centavos(definicao.horaAdicional(), "hora adicional");
+        long[] valores = new long[faixas.size()];
+        for (int i = 0; i < faixas.size(); i++) {
+            FaixaTarifaDTO faixa = faixas.get(i);
+            valores[i] = centavos(faixa.valor(), "faixa de " + faixa.horas() + "h");
+            if (faixa.horas() <= (i == 0 ? 0 : faixas.get(i - 1).horas()))
+                throw new IllegalArgumentException("Horas das faixas devem ser crescentes e maiores que 0");
+            if (faixa.horas() > HORAS_MAXIMAS)
+                throw new IllegalArgumentException("Horas das faixas não podem passar de " + HORAS_MAXIMAS);
+            if (i > 0 && valores[i] < valores[i - 1])
+                throw new IllegalArgumentException("Valor da faixa de " + faixa.horas() + "h não pode ser menor que o da faixa anterior");
+        }
+
+        long[] tabela = new long[faixas.get(faixas.size() - 1).horas() + 1];
+        int horaAnterior = 0;
+        for (int i = 0; i < faixas.size(); i++) {
+            int horasDaFaixa = faixas.get(i).horas();
+            for (int hora = horaAnterior + 1; hora <= horasDaFaixa; hora++)
+                tabela[hora] = i == 0
+                        ? valores[0]
+                        : Math.min(valores[i - 1] + horaAdicional * (hora - horaAnterior), valores[i]);
+            horaAnterior = horasDaFaixa;
+        }
+        tabela[0] = tabela[1];
+
+        return new TabelaTarifas(tabela, horaAdicional,
+                new TarifaDTO(faixas, definicao.horaAdicional()));
+    }
+
+    private static long centavos(BigDecimal valor, String descricao) {
+        if (valor == null)
+            throw new IllegalArgumentException("Valor da " + descricao + " é obrigatório");
+        if (valor.signum() < 0)
+            throw new IllegalArgumentException("Valor da " + descricao + " não pode ser negativo");
+        try {
+            return valor.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor da " + descricao + " deve ter no máximo duas casas decimais");
+        }
+    }
+
+    public long centavos(int horas) {
+        if (horas < centavosPorHora.length)
+            return centavosPorHora[Math.max(horas, 0)];
+        int ultimaHora = centavosPorHora.length - 1;
+        return centavosPorHora[ultimaHora] + horaAdicionalCentavos * (horas - ultimaHora);
+    }
+
+    public TarifaDTO definicao() {
+        return definicao;
+    }
+}
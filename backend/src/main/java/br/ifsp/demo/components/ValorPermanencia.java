@@ -1,27 +1,62 @@
 package br.ifsp.demo.components;
 
+import br.ifsp.demo.dto.FaixaTarifaDTO;
+import br.ifsp.demo.dto.TarifaDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tarifa de permanência lida de {@code estacionamento.tarifa.*}. {@link #recarregar} troca a tabela só em memória:
+ * a alteração não é gravada e, ao reiniciar, volta a valer a tarifa configurada.
+ */
 @Component
 public class ValorPermanencia {
 
-    public double getValorVinteEQuatroHoras() {
-        return 120.0;
+    public static final String FAIXAS_PADRAO = "1=10.00,6=35.00,12=55.00,24=120.00";
+    public static final String HORA_ADICIONAL_PADRAO = "8.00";
+
+    private volatile TabelaTarifas tabela;
+
+    public ValorPermanencia() {
+        this(FAIXAS_PADRAO, new BigDecimal(HORA_ADICIONAL_PADRAO));
     }
 
-    public double getValorDozeHoras() {
-        return 55.0;
+    @Autowired
+    public ValorPermanencia(@Value("${estacionamento.tarifa.faixas:" + FAIXAS_PADRAO + "}") String faixas,
+                            @Value("${estacionamento.tarifa.hora-adicional:" + HORA_ADICIONAL_PADRAO + "}") BigDecimal horaAdicional) {
+        this.tabela = TabelaTarifas.compilar(new TarifaDTO(lerFaixas(faixas), horaAdicional));
     }
 
-    public double getValorSeisHoras() {
-        return 35.0;
+    static List<FaixaTarifaDTO> lerFaixas(String faixas) {
+        if (faixas == null || faixas.isBlank())
+            throw new IllegalArgumentException("Tarifa precisa de pelo menos uma faixa");
+
+        List<FaixaTarifaDTO> lidas = new ArrayList<>();
+        for (String faixa : faixas.split(",")) {
+            String[] partes = faixa.trim().split("=");
+            if (partes.length != 2)
+                throw new IllegalArgumentException("Faixa de tarifa inválida: " + faixa.trim() + " (use horas=valor)");
+            try {
+                lidas.add(new FaixaTarifaDTO(Integer.parseInt(partes[0].trim()), new BigDecimal(partes[1].trim())));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Faixa de tarifa inválida: " + faixa.trim() + " (use horas=valor)");
+            }
+        }
+        return lidas;
     }
 
-    public double getValorUmaHora() {
-        return 10.0;
+    public TabelaTarifas tabela() {
+        return tabela;
     }
 
-    public double getHoraAdicional() {
-        return 8.0;
+    public TarifaDTO recarregar(TarifaDTO definicao) {
+        TabelaTarifas compilada = TabelaTarifas.compilar(definicao);
+        this.tabela = compilada;
+        return compilada.definicao();
     }
-}
\ No newline at end of file
+}
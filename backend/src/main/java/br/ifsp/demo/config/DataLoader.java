@@ -5,11 +5,15 @@ import br.ifsp.demo.repository.EstacionamentoRepository;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @Component
 @RequiredArgsConstructor
 public class DataLoader implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DataLoader.class);
+
     private final EstacionamentoRepository estacionamentoRepository;
 
     @Override
@@ -18,9 +22,9 @@ public class DataLoader implements CommandLineRunner {
             Estacionamento novoEstacionamento = new Estacionamento("Estacionamento Principal Centrar", "Rua Sei Lá", 200);
 
             estacionamentoRepository.save(novoEstacionamento);
-            System.out.println(">>>> DataLoader: Estacionamento padrão 'Estacionamento Principal Central' foi criado!");
+            log.info("Estacionamento padrão 'Estacionamento Principal Central' foi criado!");
         } else {
-            System.out.println(">>>> DataLoader: Pelo menos um estacionamento já existe. Nenhum novo estacionamento padrão foi criado.");
+            log.info("Pelo menos um estacionamento já existe. Nenhum novo estacionamento padrão foi criado.");
         }
     }
 }
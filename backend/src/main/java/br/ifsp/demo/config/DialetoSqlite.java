@@ -0,0 +1,35 @@
+package br.ifsp.demo.config;
+
+import org.hibernate.community.dialect.SQLiteDialect;
+import org.hibernate.dialect.unique.CreateTableUniqueDelegate;
+import org.hibernate.dialect.unique.UniqueDelegate;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.spi.SQLExceptionConversionDelegate;
+import org.hibernate.internal.util.JdbcExceptionHelper;
+
+/**
+ * O dialeto da comunidade descarta as restrições de unicidade de várias colunas, porque o SQLite não aceita
+ * {@code ALTER TABLE ... ADD CONSTRAINT}; aqui elas vão dentro do próprio {@code CREATE TABLE}. Também reconhece
+ * os códigos estendidos de restrição (SQLITE_CONSTRAINT_UNIQUE e afins) como violação de integridade.
+ */
+public class DialetoSqlite extends SQLiteDialect {
+
+    private static final int SQLITE_CONSTRAINT = 19;
+
+    private final UniqueDelegate restricoesUnicas = new CreateTableUniqueDelegate(this);
+
+    @Override
+    public UniqueDelegate getUniqueDelegate() {
+        return restricoesUnicas;
+    }
+
+    @Override
+    public SQLExceptionConversionDelegate buildSQLExceptionConversionDelegate() {
+        SQLExceptionConversionDelegate padrao = super.buildSQLExceptionConversionDelegate();
+        return (excecao, mensagem, sql) -> {
+            if ((JdbcExceptionHelper.extractErrorCode(excecao) & 0xFF) == SQLITE_CONSTRAINT)
+                return new ConstraintViolationException(mensagem, excecao, sql);
+            return padrao.convert(excecao, mensagem, sql);
+        };
+    }
+}
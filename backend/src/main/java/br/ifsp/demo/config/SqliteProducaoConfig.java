@@ -0,0 +1,86 @@
+package br.ifsp.demo.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Perfil de produção do SQLite: arquivo em WAL, uma única conexão de escrita e um pool só de leitura.
+ * No WAL os leitores enxergam o último commit sem bloquear a portaria, e com um escritor só as entradas
+ * esperam na fila do pool em vez de disputar o lock do arquivo e voltar com SQLITE_BUSY.
+ * Transações {@code readOnly} marcam a conexão como somente leitura antes do primeiro comando, e o
+ * {@link LazyConnectionDataSourceProxy} entrega nesse caso uma conexão do pool de leitura.
+ */
+@Configuration
+@Profile("producao")
+public class SqliteProducaoConfig {
+
+    // valores de SQLITE_OPEN_READONLY e de SQLITE_OPEN_READWRITE | SQLITE_OPEN_CREATE
+    private static final String ABRIR_SOMENTE_LEITURA = "1";
+    private static final String ABRIR_LEITURA_ESCRITA = "6";
+
+    private final String url;
+    private final int busyTimeoutMs;
+    private final long mmapBytes;
+    private final String synchronous;
+
+    public SqliteProducaoConfig(@Value("${spring.datasource.url}") String url,
+                                @Value("${estacionamento.sqlite.busy-timeout-ms:5000}") int busyTimeoutMs,
+                                @Value("${estacionamento.sqlite.mmap-bytes:268435456}") long mmapBytes,
+                                @Value("${estacionamento.sqlite.synchronous:NORMAL}") String synchronous) {
+        this.url = url;
+        this.busyTimeoutMs = busyTimeoutMs;
+        this.mmapBytes = mmapBytes;
+        this.synchronous = synchronous;
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource dataSourceEscrita() {
+        HikariConfig config = configuracao("sqlite-escrita", 1);
+        config.addDataSourceProperty("open_mode", ABRIR_LEITURA_ESCRITA);
+        config.addDataSourceProperty("journal_mode", "WAL");
+        config.addDataSourceProperty("transaction_mode", "IMMEDIATE");
+        // abre o pool já aqui: a primeira conexão cria o arquivo e o coloca em WAL antes de existir qualquer leitor
+        return new HikariDataSource(config);
+    }
+
+    @Bean(destroyMethod = "close")
+    @DependsOn("dataSourceEscrita")
+    public HikariDataSource dataSourceLeitura(@Value("${estacionamento.sqlite.leitores:4}") int leitores) {
+        HikariConfig config = configuracao("sqlite-leitura", leitores);
+        config.addDataSourceProperty("open_mode", ABRIR_SOMENTE_LEITURA);
+        config.setReadOnly(true);
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourceEscrita") DataSource dataSourceEscrita,
+                                 @Qualifier("dataSourceLeitura") DataSource dataSourceLeitura) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(dataSourceEscrita);
+        dataSource.setReadOnlyDataSource(dataSourceLeitura);
+        return dataSource;
+    }
+
+    private HikariConfig configuracao(String nome, int conexoes) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(nome);
+        config.setJdbcUrl(url);
+        config.setDriverClassName("org.sqlite.JDBC");
+        config.setMaximumPoolSize(conexoes);
+        config.setMinimumIdle(conexoes);
+        config.addDataSourceProperty("synchronous", synchronous);
+        config.addDataSourceProperty("busy_timeout", String.valueOf(busyTimeoutMs));
+        config.addDataSourceProperty("mmap_size", String.valueOf(mmapBytes));
+        return config;
+    }
+}
@@ -1,9 +1,17 @@
 package br.ifsp.demo.controller;
 
+import br.ifsp.demo.components.Centavos;
+import br.ifsp.demo.components.EscritaAgrupada;
+import br.ifsp.demo.components.EventosEstacionamento;
+import br.ifsp.demo.components.GradesTarifarias;
+import br.ifsp.demo.components.ValorPermanencia;
 import br.ifsp.demo.dto.CriarEstacionamentoDTO;
+import br.ifsp.demo.dto.GradeTarifariaDTO;
 import br.ifsp.demo.dto.HistoricoDTO;
 import br.ifsp.demo.dto.ReciboDTO;
 import br.ifsp.demo.dto.RelatorioDTO;
+import br.ifsp.demo.dto.ResultadoLoteDTO;
+import br.ifsp.demo.dto.TarifaDTO;
 import br.ifsp.demo.dto.VeiculoComVagaDTO;
 import br.ifsp.demo.model.Estacionamento;
 import br.ifsp.demo.model.Pagamento;
@@ -11,6 +19,7 @@ import br.ifsp.demo.model.RegistroEntrada;
 import br.ifsp.demo.model.Veiculo;
 import br.ifsp.demo.service.EstacionamentoService;
 import br.ifsp.demo.service.RelatorioService;
+import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.ByteArrayResource;
@@ -18,18 +27,24 @@ import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 @RestController
+@Validated
 @RequestMapping("/estacionamento")
 @CrossOrigin(origins = "http://localhost:3000")
 @RequiredArgsConstructor
@@ -37,16 +52,15 @@ public class EstacionamentoController {
 
     private final EstacionamentoService estacionamentoService;
     private final RelatorioService relatorioService;
+    private final EventosEstacionamento eventosEstacionamento;
+    private final ValorPermanencia valorPermanencia;
+    private final GradesTarifarias gradesTarifarias;
+    private final EscritaAgrupada escritaAgrupada;
 
     @PostMapping("/registar-entrada")
     public ResponseEntity<RegistroEntrada> registrarEntrada(@Valid @RequestBody VeiculoComVagaDTO request) {
         Estacionamento estacionamento = estacionamentoService.buscarEstacionamentoAtual();
 
-        Integer vagaId = request.vagaId();
-        if (vagaId == null) {
-            vagaId = estacionamentoService.findNextAvailableSpot();
-        }
-
         Veiculo veiculo = new Veiculo(
                 request.placa(),
                 request.tipoVeiculo(),
@@ -54,19 +68,21 @@ public class EstacionamentoController {
                 request.cor()
         );
 
-        RegistroEntrada registro = estacionamentoService.registrarEntrada(veiculo, estacionamento.getId(), vagaId);
+        RegistroEntrada registro = escritaAgrupada.executar(() -> request.vagaId() == null
+                ? estacionamentoService.registrar(veiculo, estacionamento.getId())
+                : estacionamentoService.registrarEntrada(veiculo, estacionamento.getId(), request.vagaId()));
         return ResponseEntity.ok(registro);
     }
 
     @PostMapping("/cancelar-entrada")
     public ResponseEntity<Void> cancelarEntrada(@RequestParam String placa) {
-        estacionamentoService.cancelarEntrada(placa);
+        escritaAgrupada.executar(() -> estacionamentoService.cancelarEntrada(placa));
         return ResponseEntity.ok().build();
     }
 
     @PostMapping("/registrar-saida")
     public ResponseEntity<ReciboDTO> registrarSaida(@RequestParam("placa") String placa) {
-        Pagamento pagamento = estacionamentoService.registrarSaida(placa);
+        Pagamento pagamento = escritaAgrupada.executar(() -> estacionamentoService.registrarSaida(placa));
 
         ReciboDTO recibo = new ReciboDTO(
                 pagamento.getPlaca(),
@@ -78,6 +94,22 @@ public class EstacionamentoController {
         return ResponseEntity.ok(recibo);
     }
 
+    @PostMapping("/lote/entradas")
+    public ResponseEntity<List<ResultadoLoteDTO<RegistroEntrada>>> registrarEntradasEmLote(
+            @Valid @RequestBody List<VeiculoComVagaDTO> entradas) {
+        return ResponseEntity.ok(estacionamentoService.registrarEntradasEmLote(entradas));
+    }
+
+    @PostMapping("/lote/saidas")
+    public ResponseEntity<List<ResultadoLoteDTO<ReciboDTO>>> registrarSaidasEmLote(@Valid @RequestBody List<String> placas) {
+        return ResponseEntity.ok(estacionamentoService.registrarSaidasEmLote(placas));
+    }
+
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter assinarEventos(@RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEventoId) {
+        return eventosEstacionamento.assinar(ultimoEventoId);
+    }
+
     @GetMapping("/buscar-entrada")
     public ResponseEntity<RegistroEntrada> buscarEntrada(@RequestParam("placa") String placa) {
         RegistroEntrada registro = estacionamentoService.buscarEntrada(placa);
@@ -110,6 +142,47 @@ public class EstacionamentoController {
         return ResponseEntity.ok(estacionamento);
     }
 
+    @GetMapping("/tarifas")
+    public ResponseEntity<TarifaDTO> consultarTarifa() {
+        return ResponseEntity.ok(valorPermanencia.tabela().definicao());
+    }
+
+    @Operation(
+            summary = "Altera a tarifa de permanência. Requer ADMIN.",
+            description = "Vale só em memória: a alteração não é gravada e, ao reiniciar, volta a tarifa de estacionamento.tarifa.*."
+    )
+    @PutMapping("/tarifas")
+    public ResponseEntity<TarifaDTO> atualizarTarifa(@Valid @RequestBody TarifaDTO tarifa) {
+        return ResponseEntity.ok(valorPermanencia.recarregar(tarifa));
+    }
+
+    @GetMapping("/tarifas/grades")
+    public ResponseEntity<List<GradeTarifariaDTO>> listarGradesTarifarias() {
+        return ResponseEntity.ok(gradesTarifarias.listar());
+    }
+
+    @Operation(
+            summary = "Cria ou substitui a grade tarifária de um perfil. Requer ADMIN.",
+            description = "Vale só em memória: as grades não são gravadas e a aplicação sempre começa sem nenhuma."
+    )
+    @PutMapping("/tarifas/grades")
+    public ResponseEntity<GradeTarifariaDTO> salvarGradeTarifaria(@Valid @RequestBody GradeTarifariaDTO grade) {
+        return ResponseEntity.ok(gradesTarifarias.salvar(grade));
+    }
+
+    @Operation(
+            summary = "Remove a grade tarifária de um perfil. Requer ADMIN.",
+            description = "Vale só em memória: ao reiniciar nenhuma grade é carregada."
+    )
+    @DeleteMapping("/tarifas/grades")
+    public ResponseEntity<Void> removerGradeTarifaria(
+            @RequestParam(value = "idEstacionamento", required = false) UUID idEstacionamento,
+            @RequestParam(value = "tipoVeiculo", required = false) String tipoVeiculo) {
+        return gradesTarifarias.remover(idEstacionamento, tipoVeiculo)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
     @GetMapping("/vagas-disponiveis")
     public ResponseEntity<Integer> getAvailableSpots() {
         int vagasDisponiveis = relatorioService.vagasDisponiveis();
@@ -130,10 +203,14 @@ public class EstacionamentoController {
     }
 
     @GetMapping("/relatorios/historico/{placa}")
-    public ResponseEntity<List<HistoricoDTO>> getVehicleHistory(@PathVariable String placa) {
-        List<HistoricoDTO> historico = relatorioService.gerarHistorico(placa);
-
-        if (historico.isEmpty()) {
+    public ResponseEntity<List<HistoricoDTO>> getVehicleHistory(
+            @PathVariable String placa,
+            @RequestParam(value = "antes", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime antes,
+            @RequestParam(value = "antesId", required = false) UUID antesId,
+            @RequestParam(value = "limite", defaultValue = "50") int limite) {
+        List<HistoricoDTO> historico = relatorioService.gerarHistorico(placa, antes, antesId, limite);
+
+        if (historico.isEmpty() && antes == null) {
             return ResponseEntity.notFound().build();
         }
 
@@ -146,7 +223,7 @@ public class EstacionamentoController {
 
         estatisticas.put("vagasDisponiveis", relatorioService.vagasDisponiveis());
         estatisticas.put("vagasOcupadas", relatorioService.vagasOcupadas());
-        estatisticas.put("totalVagas", 200);
+        estatisticas.put("totalVagas", relatorioService.totalVagas());
 
         RelatorioDTO relatorioHoje = relatorioService.gerarRelatorioDesempenho(LocalDate.now());
         estatisticas.put("receitaHoje", relatorioHoje.receitaTotal());
@@ -154,7 +231,8 @@ public class EstacionamentoController {
         estatisticas.put("tempoMedioHoje", relatorioHoje.tempoMedioHoras());
         estatisticas.put("ocupacaoMediaHoje", relatorioHoje.ocupacaoMedia());
 
-        double taxaOcupacaoAtual = (double) relatorioService.vagasOcupadas() / 200 * 100;
+        int totalVagas = relatorioService.totalVagas();
+        double taxaOcupacaoAtual = totalVagas > 0 ? (double) relatorioService.vagasOcupadas() / totalVagas * 100 : 0;
         estatisticas.put("taxaOcupacaoAtual", taxaOcupacaoAtual);
 
         return ResponseEntity.ok(estatisticas);
@@ -165,7 +243,7 @@ public class EstacionamentoController {
         Map<String, Object> estatisticas = new HashMap<>();
 
         LocalDate hoje = LocalDate.now();
-        double receitaSemanal = 0;
+        long receitaSemanalCentavos = 0;
         int veiculosSemanal = 0;
         double tempoTotalSemanal = 0;
         int diasComDados = 0;
@@ -174,7 +252,7 @@ public class EstacionamentoController {
             LocalDate data = hoje.minusDays(i);
             RelatorioDTO relatorio = relatorioService.gerarRelatorioDesempenho(data);
 
-            receitaSemanal += relatorio.receitaTotal();
+            receitaSemanalCentavos += relatorio.receitaTotalCentavos();
             veiculosSemanal += relatorio.quantidade();
 
             if (relatorio.quantidade() > 0) {
@@ -183,13 +261,13 @@ public class EstacionamentoController {
             }
         }
 
-        estatisticas.put("receitaSemanal", receitaSemanal);
+        estatisticas.put("receitaSemanal", Centavos.emReais(receitaSemanalCentavos));
         estatisticas.put("veiculosSemanal", veiculosSemanal);
 
         double tempoMedioSemanal = veiculosSemanal > 0 ? tempoTotalSemanal / veiculosSemanal : 0;
         estatisticas.put("tempoMedioSemanal", tempoMedioSemanal);
 
-        estatisticas.put("mediaDiariaReceita", receitaSemanal / 7);
+        estatisticas.put("mediaDiariaReceita", Centavos.emReais(receitaSemanalCentavos) / 7);
         estatisticas.put("mediaDiariaVeiculos", veiculosSemanal / 7.0);
 
         return ResponseEntity.ok(estatisticas);
@@ -220,23 +298,29 @@ public class EstacionamentoController {
         }
     }
 
-    @GetMapping("/relatorios/desempenho/export/pdf")
-    public ResponseEntity<Resource> exportarRelatorioPDF(
-            @RequestParam("data") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data) {
-        try {
-            byte[] pdfContent = relatorioService.gerarRelatorioPDF(data);
+    @GetMapping("/relatorios/pagamentos/export/csv")
+    public ResponseEntity<StreamingResponseBody> exportarPagamentosCSV(
+            @RequestParam("inicio") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam("fim") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        relatorioService.validarPeriodo(inicio, fim);
 
-            ByteArrayResource resource = new ByteArrayResource(pdfContent);
+        StreamingResponseBody corpo = saida -> relatorioService.escreverPagamentosCSV(inicio, fim, saida);
 
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=relatorio-" + data + ".pdf")
-                    .header(HttpHeaders.CONTENT_TYPE, "application/pdf")
-                    .contentLength(resource.contentLength())
-                    .body(resource);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=pagamentos-" + inicio + "-a-" + fim + ".csv")
+                .header(HttpHeaders.CONTENT_TYPE, "text/csv; charset=UTF-8")
+                .body(corpo);
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Erro ao gerar PDF", e);
-        }
+    @GetMapping("/relatorios/desempenho/export/pdf")
+    public ResponseEntity<StreamingResponseBody> exportarRelatorioPDF(
+            @RequestParam("data") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data) {
+        StreamingResponseBody corpo = saida -> relatorioService.escreverRelatorioPDF(data, saida);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=relatorio-" + data + ".pdf")
+                .header(HttpHeaders.CONTENT_TYPE, "application/pdf")
+                .body(corpo);
     }
 
     @GetMapping("/relatorios/mensal")
@@ -249,21 +333,16 @@ public class EstacionamentoController {
     }
 
     @GetMapping("/relatorios/mensal/export/pdf")
-    public ResponseEntity<Resource> exportarRelatorioMensalPDF(
+    public ResponseEntity<StreamingResponseBody> exportarRelatorioMensalPDF(
             @RequestParam("mes") int mes,
             @RequestParam("ano") int ano) {
-        try {
-            byte[] pdfContent = relatorioService.gerarRelatorioMensalPDF(mes, ano);
+        relatorioService.validarMes(mes);
 
-            ByteArrayResource resource = new ByteArrayResource(pdfContent);
+        StreamingResponseBody corpo = saida -> relatorioService.escreverRelatorioMensalPDF(mes, ano, saida);
 
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=relatorio-mensal-" + mes + "-" + ano + ".pdf")
-                    .header(HttpHeaders.CONTENT_TYPE, "application/pdf")
-                    .contentLength(resource.contentLength())
-                    .body(resource);
-        } catch (Exception e) {
-            throw new RuntimeException("Erro ao gerar PDF mensal", e);
-        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=relatorio-mensal-" + mes + "-" + ano + ".pdf")
+                .header(HttpHeaders.CONTENT_TYPE, "application/pdf")
+                .body(corpo);
     }
 }
@@ -0,0 +1,15 @@
+package br.ifsp.demo.dto;
+
+import java.time.LocalDateTime;
+
+public record EventoEstacionamentoDTO(
+        long id,
+        String tipo,
+        String placa,
+        Integer vagaId,
+        double valor,
+        int vagasOcupadas,
+        int vagasDisponiveis,
+        int totalVagas,
+        LocalDateTime momento
+) {}
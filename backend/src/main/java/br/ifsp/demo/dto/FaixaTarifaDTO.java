@@ -0,0 +1,16 @@
+package br.ifsp.demo.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+
+public record FaixaTarifaDTO(
+        @Min(value = 1, message = "Horas da faixa devem ser maiores que 0")
+        int horas,
+
+        @NotNull(message = "Valor da faixa é obrigatório")
+        @PositiveOrZero(message = "Valor da faixa não pode ser negativo")
+        BigDecimal valor
+) {}
@@ -0,0 +1,17 @@
+package br.ifsp.demo.dto;
+
+import jakarta.validation.Valid;
+
+import java.util.List;
+import java.util.UUID;
+
+public record GradeTarifariaDTO(
+        UUID idEstacionamento,
+
+        String tipoVeiculo,
+
+        @Valid
+        TarifaDTO tarifa,
+
+        List<@Valid PeriodoTarifaDTO> periodos
+) {}
@@ -1,8 +1,10 @@
 package br.ifsp.demo.dto;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 public record HistoricoDTO(
+        UUID id,
         String placa,
         LocalDateTime horaEntrada,
         LocalDateTime horaSaida,
@@ -0,0 +1,10 @@
+package br.ifsp.demo.dto;
+
+import java.time.LocalDateTime;
+
+public record PagamentoExportadoDTO(
+        String placa,
+        LocalDateTime horaEntrada,
+        LocalDateTime horaSaida,
+        long valorCentavos
+) {}
@@ -0,0 +1,29 @@
+package br.ifsp.demo.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Set;
+
+public record PeriodoTarifaDTO(
+        @NotBlank(message = "Nome do período não pode ser vazio")
+        String nome,
+
+        @NotEmpty(message = "Período precisa de pelo menos um dia da semana")
+        Set<DayOfWeek> dias,
+
+        @NotNull(message = "Início do período é obrigatório")
+        LocalTime inicio,
+
+        @NotNull(message = "Fim do período é obrigatório")
+        LocalTime fim,
+
+        @NotNull(message = "Fator do período é obrigatório")
+        @PositiveOrZero(message = "Fator do período não pode ser negativo")
+        BigDecimal fator
+) {}
@@ -1,16 +1,25 @@
 package br.ifsp.demo.dto;
 
+import br.ifsp.demo.components.Centavos;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 public record RelatorioDTO(
         int quantidade,
         double tempoMedioHoras,
-        double receitaTotal,
+        long receitaTotalCentavos,
         double ocupacaoMedia
 ) {
     public static RelatorioDTO criarRelatorioDesempenho(
             int quantidadeVeiculos,
             double tempoMedioHoras,
-            double receitaTotal,
+            long receitaTotalCentavos,
             double ocupacaoMedia) {
-        return new RelatorioDTO(quantidadeVeiculos, tempoMedioHoras, receitaTotal, ocupacaoMedia);
+        return new RelatorioDTO(quantidadeVeiculos, tempoMedioHoras, receitaTotalCentavos, ocupacaoMedia);
+    }
+
+    /** Receita em reais, só para exibição; quem soma relatórios deve usar {@link #receitaTotalCentavos()}. */
+    @JsonProperty("receitaTotal")
+    public double receitaTotal() {
+        return Centavos.emReais(receitaTotalCentavos);
     }
 }
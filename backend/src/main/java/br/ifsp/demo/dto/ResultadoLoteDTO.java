@@ -0,0 +1,16 @@
+package br.ifsp.demo.dto;
+
+public record ResultadoLoteDTO<T>(
+        int indice,
+        int status,
+        T resultado,
+        String erro
+) {
+    public static <T> ResultadoLoteDTO<T> sucesso(int indice, T resultado) {
+        return new ResultadoLoteDTO<>(indice, 200, resultado, null);
+    }
+
+    public static <T> ResultadoLoteDTO<T> falha(int indice, int status, String erro) {
+        return new ResultadoLoteDTO<>(indice, status, null, erro);
+    }
+}
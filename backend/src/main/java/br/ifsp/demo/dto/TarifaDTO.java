@@ -0,0 +1,18 @@
+package br.ifsp.demo.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record TarifaDTO(
+        @NotEmpty(message = "Tarifa precisa de pelo menos uma faixa")
+        List<@Valid FaixaTarifaDTO> faixas,
+
+        @NotNull(message = "Valor da hora adicional é obrigatório")
+        @PositiveOrZero(message = "Valor da hora adicional não pode ser negativo")
+        BigDecimal horaAdicional
+) {}
@@ -43,7 +43,7 @@ public class Estacionamento {
         if(ocupacao >= this.capacidade)
             throw new EstacionamentoLotadoException("O estacionamento está lotado");
 
-        return new RegistroEntrada(veiculo);
+        return new RegistroEntrada(veiculo, this, 1);
 
     }
 
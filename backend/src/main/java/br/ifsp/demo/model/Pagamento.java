@@ -1,5 +1,6 @@
 package br.ifsp.demo.model;
 
+import br.ifsp.demo.components.Centavos;
 import br.ifsp.demo.service.CalculadoraDeTarifa;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
@@ -7,6 +8,10 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_pagamento_hora_saida", columnList = "horaSaida"),
+        @Index(name = "idx_pagamento_placa_saida_uuid", columnList = "placa, horaSaida DESC, uuid DESC")
+})
 public class Pagamento {
 
     @Id
@@ -24,7 +29,7 @@ public class Pagamento {
     private LocalDateTime horaSaida;
 
     @Column(nullable = false)
-    private double valor;
+    private long valorCentavos;
 
     protected Pagamento() {}
 
@@ -42,9 +47,9 @@ public class Pagamento {
         this.placa = registroEntrada.getVeiculo().getPlaca();
         this.horaEntrada = registroEntrada.getHoraEntrada();
         this.horaSaida = horaSaida;
-        this.valor = tarifa.calcularValor(this.horaEntrada, this.horaSaida);
+        this.valorCentavos = calcularValor(registroEntrada, tarifa);
 
-        if(this.valor < 0)
+        if(this.valorCentavos < 0)
             throw new IllegalArgumentException("Valor da tarifa não pode ser negativo");
     }
 
@@ -64,12 +69,20 @@ public class Pagamento {
         this.placa = registroEntrada.getVeiculo().getPlaca();
         this.horaEntrada = horaEntrada;
         this.horaSaida = horaSaida;
-        this.valor = tarifa.calcularValor(this.horaEntrada, this.horaSaida);
+        this.valorCentavos = calcularValor(registroEntrada, tarifa);
 
-        if(this.valor < 0)
+        if(this.valorCentavos < 0)
             throw new IllegalArgumentException("Valor da tarifa não pode ser negativo");
     }
 
+    private long calcularValor(RegistroEntrada registroEntrada, CalculadoraDeTarifa tarifa) {
+        Veiculo veiculo = registroEntrada.getVeiculo();
+        Estacionamento estacionamento = registroEntrada.getEstacionamento();
+        return tarifa.calcularCentavos(horaEntrada, horaSaida,
+                veiculo == null ? null : veiculo.getTipoVeiculo(),
+                estacionamento == null ? null : estacionamento.getId());
+    }
+
     public UUID getUuid() {
         return uuid;
     }
@@ -82,8 +95,11 @@ public class Pagamento {
     public LocalDateTime getHoraSaida() {
         return horaSaida;
     }
+    public long getValorCentavos() {
+        return valorCentavos;
+    }
     public double getValor() {
-        return valor;
+        return Centavos.emReais(valorCentavos);
     }
 
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"estacionamento_id", "vaga_id"}))
 public class RegistroEntrada {
 
     @Id
@@ -15,9 +16,14 @@ public class RegistroEntrada {
     private UUID id;
 
     @ManyToOne
-    @JoinColumn(name = "veiculo_id")
+    @JoinColumn(name = "veiculo_id", unique = true)
     private Veiculo veiculo;
 
+    @ManyToOne
+    @JoinColumn(name = "estacionamento_id", nullable = false)
+    @JsonIgnore
+    private Estacionamento estacionamento;
+
     @Column(nullable = false)
     private LocalDateTime horaEntrada;
 
@@ -26,28 +32,21 @@ public class RegistroEntrada {
 
     protected RegistroEntrada() {}
 
-    public RegistroEntrada(Veiculo veiculo, Integer vagaId) {
+    public RegistroEntrada(Veiculo veiculo, Estacionamento estacionamento, Integer vagaId) {
         if(veiculo == null) {
             throw new IllegalArgumentException("Veículo não pode ser nulo");
         }
-        if(vagaId == null || vagaId < 1 || vagaId > 200) {
-            throw new IllegalArgumentException("ID da vaga deve estar entre 1 e 200");
+        if(estacionamento == null) {
+            throw new IllegalArgumentException("Estacionamento não pode ser nulo");
         }
+        validarVaga(vagaId, estacionamento.getCapacidade());
 
         this.veiculo = veiculo;
+        this.estacionamento = estacionamento;
         this.horaEntrada = LocalDateTime.now();
         this.vagaId = vagaId;
     }
 
-    public RegistroEntrada(Veiculo veiculo) {
-        if(veiculo == null) {
-            throw new IllegalArgumentException("Veículo não pode ser nulo");
-        }
-        this.veiculo = veiculo;
-        this.horaEntrada = LocalDateTime.now();
-        this.vagaId = 1;
-    }
-
     public Pagamento finalizarEstadia(LocalDateTime horaSaida, CalculadoraDeTarifa calculadora) {
         return new Pagamento(this, horaSaida, calculadora);
     }
@@ -58,6 +57,9 @@ public class RegistroEntrada {
     public Veiculo getVeiculo() {
         return veiculo;
     }
+    public Estacionamento getEstacionamento() {
+        return estacionamento;
+    }
     public LocalDateTime getHoraEntrada() {
         return horaEntrada;
     }
@@ -66,9 +68,17 @@ public class RegistroEntrada {
         return vagaId;
     }
     public void setVagaId(Integer vagaId) {
-        if(vagaId == null || vagaId < 1 || vagaId > 200) {
-            throw new IllegalArgumentException("ID da vaga deve estar entre 1 e 200");
+        // a capacidade vem do estacionamento: sem ele não há limite para validar a vaga
+        if(estacionamento == null) {
+            throw new IllegalStateException("Registro de entrada sem estacionamento não permite definir vaga");
         }
+        validarVaga(vagaId, estacionamento.getCapacidade());
         this.vagaId = vagaId;
     }
+
+    private static void validarVaga(Integer vagaId, int totalVagas) {
+        if(vagaId == null || vagaId < 1 || vagaId > totalVagas) {
+            throw new IllegalArgumentException("ID da vaga deve estar entre 1 e " + totalVagas);
+        }
+    }
 }
@@ -0,0 +1,108 @@
+package br.ifsp.demo.model;
+
+import br.ifsp.demo.components.Centavos;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(indexes = @Index(name = "idx_resumo_diario_data", columnList = "data"),
+        uniqueConstraints = @UniqueConstraint(columnNames = {"estacionamento_id", "data"}))
+public class ResumoDiario {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @JsonIgnore
+    private UUID id;
+
+    @ManyToOne
+    @JoinColumn(name = "estacionamento_id")
+    @JsonIgnore
+    private Estacionamento estacionamento;
+
+    @Column(nullable = false)
+    private LocalDate data;
+
+    @Column(nullable = false)
+    private int quantidade;
+
+    @Column(nullable = false)
+    private long tempoTotalMinutos;
+
+    @Column(nullable = false)
+    private long receitaCentavos;
+
+    @Column(nullable = false)
+    private long minutosOcupados;
+
+    protected ResumoDiario() {}
+
+    public ResumoDiario(Estacionamento estacionamento, LocalDate data) {
+        if(estacionamento == null)
+            throw new IllegalArgumentException("Estacionamento não pode ser nulo");
+        if(data == null)
+            throw new IllegalArgumentException("Data não pode ser nula");
+
+        this.estacionamento = estacionamento;
+        this.data = data;
+    }
+
+    public void registrarPagamento(Pagamento pagamento) {
+        validarPagamento(pagamento);
+        if(!pagamento.getHoraSaida().toLocalDate().equals(data))
+            throw new IllegalArgumentException("Pagamento não pertence ao dia " + data);
+
+        this.quantidade++;
+        this.tempoTotalMinutos += minutosDePermanencia(pagamento);
+        this.receitaCentavos += pagamento.getValorCentavos();
+        this.minutosOcupados += minutosOcupadosNoDia(pagamento);
+    }
+
+    public static long minutosDePermanencia(Pagamento pagamento) {
+        validarPagamento(pagamento);
+        return Duration.between(pagamento.getHoraEntrada(), pagamento.getHoraSaida()).toMinutes();
+    }
+
+    public static long minutosOcupadosNoDia(Pagamento pagamento) {
+        validarPagamento(pagamento);
+        LocalDateTime inicioDoDia = pagamento.getHoraSaida().toLocalDate().atStartOfDay();
+        LocalDateTime entrada = pagamento.getHoraEntrada().isBefore(inicioDoDia) ? inicioDoDia : pagamento.getHoraEntrada();
+        return Duration.between(entrada, pagamento.getHoraSaida()).toMinutes();
+    }
+
+    private static void validarPagamento(Pagamento pagamento) {
+        if(pagamento == null)
+            throw new IllegalArgumentException("Pagamento não pode ser nulo");
+        if(pagamento.getHoraEntrada() == null || pagamento.getHoraSaida() == null)
+            throw new IllegalArgumentException("Pagamento precisa ter hora de entrada e de saída");
+    }
+
+    public UUID getId() {
+        return id;
+    }
+    public Estacionamento getEstacionamento() {
+        return estacionamento;
+    }
+    public LocalDate getData() {
+        return data;
+    }
+    public int getQuantidade() {
+        return quantidade;
+    }
+    public long getTempoTotalMinutos() {
+        return tempoTotalMinutos;
+    }
+    public long getReceitaCentavos() {
+        return receitaCentavos;
+    }
+    public double getReceita() {
+        return Centavos.emReais(receitaCentavos);
+    }
+    public long getMinutosOcupados() {
+        return minutosOcupados;
+    }
+}
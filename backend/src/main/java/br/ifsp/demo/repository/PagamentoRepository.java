@@ -1,20 +1,42 @@
 package br.ifsp.demo.repository;
+import br.ifsp.demo.dto.PagamentoExportadoDTO;
 import br.ifsp.demo.model.Pagamento;
 
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface PagamentoRepository extends JpaRepository<Pagamento, UUID> {
-    @Query("SELECT SUM(p.valor) FROM Pagamento p WHERE p.horaSaida BETWEEN :inicio AND :fim")
-    Double somarPagamentosPorData(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+    @Query("SELECT SUM(p.valorCentavos) FROM Pagamento p WHERE p.horaSaida BETWEEN :inicio AND :fim")
+    Long somarPagamentosPorData(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
 
     List<Pagamento> findByHoraSaidaBetween(LocalDateTime inicioDoDia, LocalDateTime fimDoDia);
-}
\ No newline at end of file
+
+    Optional<Pagamento> findFirstByPlacaOrderByHoraSaidaDesc(String placa);
+
+    List<Pagamento> findByPlacaOrderByHoraSaidaDescUuidDesc(String placa, Limit limite);
+
+    @Query("SELECT p FROM Pagamento p WHERE p.placa = :placa " +
+            "AND (p.horaSaida < :antes OR (p.horaSaida = :antes AND p.uuid < :antesId)) " +
+            "ORDER BY p.horaSaida DESC, p.uuid DESC")
+    List<Pagamento> buscarHistoricoAntesDe(@Param("placa") String placa, @Param("antes") LocalDateTime antes,
+                                           @Param("antesId") UUID antesId, Limit limite);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new br.ifsp.demo.dto.PagamentoExportadoDTO(p.placa, p.horaEntrada, p.horaSaida, p.valorCentavos) " +
+            "FROM Pagamento p WHERE p.horaSaida >= :inicio AND p.horaSaida < :fim ORDER BY p.horaSaida")
+    Stream<PagamentoExportadoDTO> streamPorPeriodo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+}
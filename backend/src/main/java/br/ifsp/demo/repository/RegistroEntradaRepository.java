@@ -1,9 +1,12 @@
 package br.ifsp.demo.repository;
 
+import br.ifsp.demo.model.Estacionamento;
 import br.ifsp.demo.model.RegistroEntrada;
 import br.ifsp.demo.model.Veiculo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,6 +17,10 @@ public interface RegistroEntradaRepository extends JpaRepository<RegistroEntrada
     Optional<RegistroEntrada> findByVeiculo_Placa(String placa);
     Optional<RegistroEntrada> findByVagaId(Integer vagaId);
 
-    @Query("SELECT r.vagaId FROM RegistroEntrada r ORDER BY r.vagaId")
-    List<Integer> findAllOccupiedSpotIds();
+    @Query("SELECT r.vagaId FROM RegistroEntrada r WHERE r.estacionamento = :estacionamento ORDER BY r.vagaId")
+    List<Integer> findOccupiedSpotIdsByEstacionamento(@Param("estacionamento") Estacionamento estacionamento);
+
+    @Modifying
+    @Query("DELETE FROM RegistroEntrada r WHERE r.id = :id")
+    int deleteEntradaById(@Param("id") UUID id);
 }
@@ -0,0 +1,41 @@
+package br.ifsp.demo.repository;
+
+import br.ifsp.demo.model.Estacionamento;
+import br.ifsp.demo.model.ResumoDiario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ResumoDiarioRepository extends JpaRepository<ResumoDiario, UUID> {
+
+    List<ResumoDiario> findByData(LocalDate data);
+
+    List<ResumoDiario> findByDataBetween(LocalDate inicio, LocalDate fim);
+
+    default int acumularPagamento(Estacionamento estacionamento, LocalDate data, long minutos,
+                                  long valorCentavos, long minutosOcupados) {
+        return inserirOuAcumular(UUID.randomUUID(), estacionamento.getId(), data, minutos, valorCentavos, minutosOcupados);
+    }
+
+    @Modifying
+    @Query(value = "INSERT INTO resumo_diario (id, estacionamento_id, data, quantidade, tempo_total_minutos, " +
+            "receita_centavos, minutos_ocupados) " +
+            "VALUES (:id, :estacionamento, :data, 1, :minutos, :valorCentavos, :minutosOcupados) " +
+            "ON CONFLICT (estacionamento_id, data) DO UPDATE SET quantidade = quantidade + 1, " +
+            "tempo_total_minutos = tempo_total_minutos + excluded.tempo_total_minutos, " +
+            "receita_centavos = receita_centavos + excluded.receita_centavos, " +
+            "minutos_ocupados = minutos_ocupados + excluded.minutos_ocupados", nativeQuery = true)
+    int inserirOuAcumular(@Param("id") UUID id,
+                          @Param("estacionamento") UUID idEstacionamento,
+                          @Param("data") LocalDate data,
+                          @Param("minutos") long minutos,
+                          @Param("valorCentavos") long valorCentavos,
+                          @Param("minutosOcupados") long minutosOcupados);
+}
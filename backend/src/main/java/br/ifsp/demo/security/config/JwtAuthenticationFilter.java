@@ -1,5 +1,8 @@
 package br.ifsp.demo.security.config;
 
+import br.ifsp.demo.components.AmostragemDeLog;
+import br.ifsp.demo.config.RequestLoggingFilter;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.SignatureException;
 import io.jsonwebtoken.ExpiredJwtException;
@@ -10,7 +13,10 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -23,11 +29,21 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final AmostragemDeLog amostragemDebug;
+    private final AmostragemDeLog amostragemRejeicoes;
+
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService, MeterRegistry registry) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.amostragemDebug = new AmostragemDeLog(10).medir(registry, "autenticacao_debug");
+        this.amostragemRejeicoes = new AmostragemDeLog(20).medir(registry, "autenticacao_rejeicoes");
+    }
 
     @Override
     protected void doFilterInternal(
@@ -36,97 +52,72 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain)
             throws ServletException, IOException {
 
-        System.out.println("DEBUG: JwtAuthenticationFilter - Request URI: " + request.getRequestURI());
-
         String authHeader = request.getHeader("Authorization");
-        System.out.println("DEBUG: JwtAuthenticationFilter - Authorization Header: " + authHeader);
 
         final String prefix = "Bearer ";
         if (authHeader == null || !authHeader.startsWith(prefix)) {
-            System.out.println("DEBUG: JwtAuthenticationFilter - No Bearer token found or header is null. Passing to next filter.");
+            if (log.isDebugEnabled() && amostragemDebug.permitir())
+                log.debug("No bearer token uri={}", request.getRequestURI());
             filterChain.doFilter(request, response);
             return;
         }
 
         String jwt = authHeader.substring(prefix.length());
-        System.out.println("DEBUG: JwtAuthenticationFilter - Extracted JWT: " + jwt);
 
         String email = null;
         try {
-            email = jwtService.extractUsername(jwt);
-            System.out.println("DEBUG: JwtAuthenticationFilter - Email extracted from JWT: " + email);
+            Claims claims = jwtService.parseToken(jwt);
+            email = claims.getSubject();
 
             if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                System.out.println("DEBUG: JwtAuthenticationFilter - Attempting to load UserDetails for email: " + email);
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(email);
-
-                if (userDetails != null) {
-                    System.out.println("DEBUG: JwtAuthenticationFilter - UserDetails loaded successfully for: " + userDetails.getUsername());
-                    boolean isTokenValid = jwtService.isTokenValid(jwt, userDetails);
-                    System.out.println("DEBUG: JwtAuthenticationFilter - Is token valid? " + isTokenValid);
-
-                    if (isTokenValid) {
-                        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                        System.out.println("DEBUG: JwtAuthenticationFilter - User authenticated and set in SecurityContext: " + email);
-                    } else {
-                        System.out.println("DEBUG: JwtAuthenticationFilter - Token deemed invalid for user: " + email);
-                    }
-                } else {
-                    System.out.println("DEBUG: JwtAuthenticationFilter - UserDetails NOT found for email: " + email);
+                UserDetails userDetails = jwtService.userFromClaims(claims).orElse(null);
+                if (userDetails == null) {
+                    if (log.isDebugEnabled() && amostragemDebug.permitir())
+                        log.debug("Token without user claims, loading user user={}", email);
+                    userDetails = this.userDetailsService.loadUserByUsername(email);
                 }
-            } else {
-                if (email == null) {
-                    System.out.println("DEBUG: JwtAuthenticationFilter - Email could not be extracted from JWT.");
-                }
-                if (SecurityContextHolder.getContext().getAuthentication() != null) {
-                    System.out.println("DEBUG: JwtAuthenticationFilter - SecurityContextHolder already contains an authentication.");
+
+                if (userDetails != null && jwtService.isTokenValid(claims, userDetails)) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    MDC.put(RequestLoggingFilter.MDC_USER, email);
+                    if (log.isDebugEnabled() && amostragemDebug.permitir())
+                        log.debug("Authenticated uri={}", request.getRequestURI());
+                } else {
+                    rejeicao("Token deemed invalid", email, null);
                 }
             }
         } catch (ExpiredJwtException e) {
-            System.err.println("DEBUG: JwtAuthenticationFilter - JWT Token has expired for email '" + email + "'. Message: " + e.getMessage());
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.setContentType("application/json");
-            response.getWriter().write("{\"error\": \"JWT Token has expired.\", \"detail\": \"" + e.getMessage().replace("\"", "'") + "\"}");
+            rejeicao("JWT Token has expired", email, e);
+            responderNaoAutorizado(response, "JWT Token has expired.", e);
             return;
         } catch (SignatureException e) {
-            System.err.println("DEBUG: JwtAuthenticationFilter - JWT Signature is invalid for email '" + email + "'. Message: " + e.getMessage());
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.setContentType("application/json");
-            response.getWriter().write("{\"error\": \"JWT Signature is invalid.\", \"detail\": \"" + e.getMessage().replace("\"", "'") + "\"}");
+            rejeicao("JWT Signature is invalid", email, e);
+            responderNaoAutorizado(response, "JWT Signature is invalid.", e);
             return;
         } catch (MalformedJwtException e) {
-            System.err.println("DEBUG: JwtAuthenticationFilter - JWT is malformed for email '" + email + "'. Message: " + e.getMessage());
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.setContentType("application/json");
-            response.getWriter().write("{\"error\": \"JWT is malformed.\", \"detail\": \"" + e.getMessage().replace("\"", "'") + "\"}");
+            rejeicao("JWT is malformed", email, e);
+            responderNaoAutorizado(response, "JWT is malformed.", e);
             return;
         } catch (UnsupportedJwtException e) {
-            System.err.println("DEBUG: JwtAuthenticationFilter - JWT is unsupported for email '" + email + "'. Message: " + e.getMessage());
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.setContentType("application/json");
-            response.getWriter().write("{\"error\": \"JWT is unsupported.\", \"detail\": \"" + e.getMessage().replace("\"", "'") + "\"}");
+            rejeicao("JWT is unsupported", email, e);
+            responderNaoAutorizado(response, "JWT is unsupported.", e);
             return;
         } catch (IllegalArgumentException e) {
-            System.err.println("DEBUG: JwtAuthenticationFilter - JWT string is empty or null for email '" + email + "'. Message: " + e.getMessage());
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.setContentType("application/json");
-            response.getWriter().write("{\"error\": \"JWT string is invalid.\", \"detail\": \"" + e.getMessage().replace("\"", "'") + "\"}");
+            rejeicao("JWT string is empty or null", email, e);
+            responderNaoAutorizado(response, "JWT string is invalid.", e);
             return;
         } catch (JwtException e) {
-            System.err.println("DEBUG: JwtAuthenticationFilter - General JWT error for email '" + email + "'. Message: " + e.getMessage());
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.setContentType("application/json");
-            response.getWriter().write("{\"error\": \"JWT is not valid.\", \"detail\": \"" + e.getMessage().replace("\"", "'") + "\"}");
+            rejeicao("General JWT error", email, e);
+            responderNaoAutorizado(response, "JWT is not valid.", e);
             return;
         } catch (Exception e) {
-            System.err.println("DEBUG: JwtAuthenticationFilter - Unexpected error during JWT processing for email '" + email + "'. Message: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Unexpected error during JWT processing user={}", email, e);
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             response.setContentType("application/json");
             response.getWriter().write("{\"error\": \"An unexpected error occurred during authentication processing.\"}");
@@ -135,4 +126,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private void rejeicao(String motivo, String email, Exception e) {
+        if (log.isWarnEnabled() && amostragemRejeicoes.permitir())
+            log.warn("{} user={} detail={}", motivo, email, e == null ? null : e.getMessage());
+    }
+
+    private void responderNaoAutorizado(HttpServletResponse response, String erro, Exception e) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\": \"" + erro + "\", \"detail\": \"" + String.valueOf(e.getMessage()).replace("\"", "'") + "\"}");
+    }
 }
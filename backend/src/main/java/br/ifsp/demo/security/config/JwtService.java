@@ -1,6 +1,9 @@
 package br.ifsp.demo.security.config;
 
+import br.ifsp.demo.security.user.Role;
+import br.ifsp.demo.security.user.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -9,36 +12,90 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
-    @Value("${application.jwt.secretKey}")
-    private String secretKey;
-    @Value("${application.jwt.tokenExpiration}")
-    private long jwtExpiration;
+    static final int MAX_TOKENS_EM_CACHE = 10_000;
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_NAME = "name";
+    static final String CLAIM_LASTNAME = "lastname";
+
+    private final Key signInKey;
+    private final JwtParser parser;
+    private final long jwtExpiration;
+    // indexado pelo SHA-256 do token: o cache não guarda credenciais em claro e toda chave tem o mesmo tamanho
+    private final Map<String, TokenVerificado> tokensVerificados = new ConcurrentHashMap<>();
+
+    public JwtService(@Value("${application.jwt.secretKey}") String secretKey,
+                      @Value("${application.jwt.tokenExpiration}") long jwtExpiration) {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+        this.jwtExpiration = jwtExpiration;
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof User user) {
+            claims.put(CLAIM_USER_ID, user.getId().toString());
+            claims.put(CLAIM_ROLE, user.getRole().name());
+            claims.put(CLAIM_NAME, user.getName());
+            claims.put(CLAIM_LASTNAME, user.getLastname());
+        }
+        return generateToken(claims, userDetails);
+    }
+
+    public Optional<User> userFromClaims(Claims claims) {
+        String id = claims.get(CLAIM_USER_ID, String.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        String name = claims.get(CLAIM_NAME, String.class);
+        String lastname = claims.get(CLAIM_LASTNAME, String.class);
+        if (id == null || role == null || name == null || lastname == null || claims.getSubject() == null)
+            return Optional.empty();
+
+        try {
+            return Optional.of(User.builder()
+                    .id(UUID.fromString(id))
+                    .name(name)
+                    .lastname(lastname)
+                    .email(claims.getSubject())
+                    .password("")
+                    .role(Role.valueOf(role))
+                    .build());
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(parseToken(token), userDetails);
+    }
+
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject() != null
+                && claims.getSubject().equals(userDetails.getUsername())
+                && !isTokenExpired(claims);
     }
 
-    private boolean isTokenExpired(String token) {
-        final Date expiration = extractClaim(token, Claims::getExpiration);
-        return expiration.before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -48,26 +105,53 @@ public class JwtService {
                  .setSubject(userDetails.getUsername())
                  .setIssuedAt(new Date(System.currentTimeMillis()))
                  .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                 .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                 .signWith(signInKey, SignatureAlgorithm.HS256)
                  .compact();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseToken(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public Claims parseToken(String token) {
+        long agora = System.currentTimeMillis();
+        String chave = token == null ? null : chaveDoCache(token);
+        TokenVerificado verificado = chave == null ? null : tokensVerificados.get(chave);
+        if (verificado != null) {
+            if (verificado.expiraEm() > agora)
+                return verificado.claims();
+            tokensVerificados.remove(chave);
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        guardar(chave, claims, agora);
+        return claims;
+    }
+
+    static String chaveDoCache(String token) {
+        try {
+            byte[] resumo = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(resumo);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private void guardar(String chave, Claims claims, long agora) {
+        long expiraEm = claims.getExpiration() == null ? Long.MAX_VALUE : claims.getExpiration().getTime();
+
+        if (tokensVerificados.size() >= MAX_TOKENS_EM_CACHE) {
+            tokensVerificados.values().removeIf(verificado -> verificado.expiraEm() <= agora);
+            if (tokensVerificados.size() >= MAX_TOKENS_EM_CACHE)
+                tokensVerificados.clear();
+        }
+        tokensVerificados.put(chave, new TokenVerificado(claims, expiraEm));
     }
+
+    int tokensEmCache() {
+        return tokensVerificados.size();
+    }
+
+    private record TokenVerificado(Claims claims, long expiraEm) {}
 }
@@ -1,8 +1,11 @@
 package br.ifsp.demo.security.config;
 
+import br.ifsp.demo.security.user.Role;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -27,7 +30,8 @@ public class SecurityConfiguration {
             "/api/v1/openapi/**",
             "/api/v1/swagger-ui/**",
             "/api/estacionamento/entradas",
-            "/estacionamento/registar-entrada"
+            "/estacionamento/registar-entrada",
+            "/actuator/health/**"
     };
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final AuthenticationProvider authenticationProvider;
@@ -39,6 +43,14 @@ public class SecurityConfiguration {
                 .cors(withDefaults())
                 .authorizeHttpRequests(req ->
                         req.requestMatchers(WHITE_LIST_URL)
+                                .permitAll()
+                                .requestMatchers(HttpMethod.PUT, "/estacionamento/tarifas", "/estacionamento/tarifas/grades")
+                                .hasAuthority(Role.ADMIN.name())
+                                .requestMatchers(HttpMethod.DELETE, "/estacionamento/tarifas/grades")
+                                .hasAuthority(Role.ADMIN.name())
+                                .requestMatchers("/actuator/prometheus")
+                                .hasAuthority(Role.ADMIN.name())
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR)
                                 .permitAll()
                                 .anyRequest()
                                 .authenticated()
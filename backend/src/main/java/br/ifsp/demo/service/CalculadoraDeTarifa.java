@@ -1,7 +1,12 @@
 package br.ifsp.demo.service;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 public interface CalculadoraDeTarifa {
-    double calcularValor (LocalDateTime entrada, LocalDateTime saida);
+    long calcularCentavos(LocalDateTime entrada, LocalDateTime saida);
+
+    default long calcularCentavos(LocalDateTime entrada, LocalDateTime saida, String tipoVeiculo, UUID idEstacionamento) {
+        return calcularCentavos(entrada, saida);
+    }
 }
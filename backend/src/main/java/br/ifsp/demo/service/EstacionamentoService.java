@@ -1,25 +1,56 @@
 package br.ifsp.demo.service;
 
+import br.ifsp.demo.components.AlocadorDeVagas;
+import br.ifsp.demo.components.EntradasAtivas;
+import br.ifsp.demo.components.EventosEstacionamento;
+import br.ifsp.demo.components.MetricasEstacionamento;
+import br.ifsp.demo.components.OcupacaoVagas;
 import br.ifsp.demo.dto.CriarEstacionamentoDTO;
+import br.ifsp.demo.dto.ReciboDTO;
+import br.ifsp.demo.dto.ResultadoLoteDTO;
+import br.ifsp.demo.dto.VeiculoComVagaDTO;
 import br.ifsp.demo.model.Estacionamento;
 import br.ifsp.demo.model.RegistroEntrada;
 import br.ifsp.demo.model.Veiculo;
 import br.ifsp.demo.model.Pagamento;
+import br.ifsp.demo.model.ResumoDiario;
 import br.ifsp.demo.repository.EstacionamentoRepository;
 import br.ifsp.demo.repository.PagamentoRepository;
 import br.ifsp.demo.repository.RegistroEntradaRepository;
+import br.ifsp.demo.repository.ResumoDiarioRepository;
 import br.ifsp.demo.repository.VeiculoRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.IllegalFormatWidthException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,22 +60,65 @@ public class EstacionamentoService {
     private final EstacionamentoRepository estacionamentoRepository;
     private final RegistroEntradaRepository registroEntradaRepository;
     private final PagamentoRepository pagamentoRepository;
+    private final ResumoDiarioRepository resumoDiarioRepository;
     private final VeiculoService veiculoService;
     private final CalculadoraDeTarifa calculadoraDeTarifa;
+    private final OcupacaoVagas ocupacaoVagas;
+    private final EntradasAtivas entradasAtivas;
+    private final EventosEstacionamento eventos;
+    private final MetricasEstacionamento metricas;
+    private final TransactionTemplate transacao;
+    public static final int LIMITE_LOTE = 500;
+
+    private final Set<String> placasEmEntrada = ConcurrentHashMap.newKeySet();
+    private volatile Estacionamento estacionamentoAtual;
 
     public EstacionamentoService(EstacionamentoRepository estacionamentoRepository,
                                  RegistroEntradaRepository registroEntradaRepository,
                                  PagamentoRepository pagamentoRepository,
+                                 ResumoDiarioRepository resumoDiarioRepository,
                                  VeiculoService veiculoService,
-                                 CalculadoraDeTarifa calculadoraDeTarifa) {
+                                 CalculadoraDeTarifa calculadoraDeTarifa,
+                                 OcupacaoVagas ocupacaoVagas,
+                                 EntradasAtivas entradasAtivas,
+                                 EventosEstacionamento eventos,
+                                 MetricasEstacionamento metricas,
+                                 PlatformTransactionManager transacoes) {
         this.estacionamentoRepository = estacionamentoRepository;
         this.registroEntradaRepository = registroEntradaRepository;
         this.pagamentoRepository = pagamentoRepository;
+        this.resumoDiarioRepository = resumoDiarioRepository;
         this.veiculoService = veiculoService;
         this.calculadoraDeTarifa = calculadoraDeTarifa;
+        this.ocupacaoVagas = ocupacaoVagas;
+        this.entradasAtivas = entradasAtivas;
+        this.eventos = eventos;
+        this.metricas = metricas;
+        this.transacao = new TransactionTemplate(transacoes);
+    }
+
+    // antes dos demais ouvintes da inicialização, que leem a ocupação já carregada (ex.: gauges de MetricasEstacionamento)
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void carregarOcupacaoVagas() {
+        entradasAtivas.carregar(registroEntradaRepository.findAll());
+        List<Estacionamento> estacionamentos = estacionamentoRepository.findAll();
+        estacionamentos.forEach(estacionamento ->
+                ocupacaoVagas.registrar(estacionamento,
+                        registroEntradaRepository.findOccupiedSpotIdsByEstacionamento(estacionamento)));
+        estacionamentoAtual = estacionamentos.stream().findFirst().orElse(null);
+    }
+
+    @Scheduled(initialDelayString = "${estacionamento.ocupacao.reconciliacao-ms:60000}",
+            fixedDelayString = "${estacionamento.ocupacao.reconciliacao-ms:60000}")
+    public void reconciliarOcupacaoVagas() {
+        estacionamentoRepository.findAll().forEach(estacionamento ->
+                ocupacaoVagas.doEstacionamento(estacionamento)
+                        .reconciliar(() -> registroEntradaRepository.findOccupiedSpotIdsByEstacionamento(estacionamento)));
     }
 
     @Transactional
+    @Timed(value = "estacionamento.operacoes", extraTags = {"operacao", "entrada"}, histogram = true)
     public RegistroEntrada registrarEntrada(Veiculo veiculo, UUID idEstacionamento, Integer vagaId) {
 
         if(veiculo == null)
@@ -59,49 +133,106 @@ public class EstacionamentoService {
         if(vagaId <= 0)
             throw new IllegalArgumentException("Número da vaga deve ser maior que zero");
 
-        Estacionamento estacionamento = estacionamentoRepository.findById(idEstacionamento)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Estacionamento não encontrado"));
+        Estacionamento estacionamento = buscarEstacionamentoRegistrado(idEstacionamento);
 
-        Optional<RegistroEntrada> vagaOcupada = registroEntradaRepository.findByVagaId(vagaId);
+        AlocadorDeVagas alocador = ocupacaoVagas.doEstacionamento(estacionamento);
 
-        if (vagaOcupada.isPresent()) {
+        if (!alocador.reservar(vagaId)) {
+            if (alocador.getVagasLivres() == 0) {
+                metricas.rejeicaoLotado();
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Estacionamento lotado. Capacidade máxima atingida.");
+            }
+
+            metricas.rejeicaoVagaOcupada();
             throw new ResponseStatusException(HttpStatus.CONFLICT,
                     "Vaga " + vagaId + " já está ocupada");
         }
 
-        long veiculosEstacionados = registroEntradaRepository.count();
+        return concluirEntrada(veiculo, estacionamento, alocador, vagaId);
+    }
 
-        if (veiculosEstacionados >= estacionamento.getCapacidade()) {
+    private RegistroEntrada concluirEntrada(Veiculo veiculo, Estacionamento estacionamento,
+                                            AlocadorDeVagas alocador, int vagaId) {
+        String placa = veiculo.getPlaca();
+
+        if (placa != null && !placasEmEntrada.add(placa)) {
+            alocador.liberar(vagaId);
+            metricas.rejeicaoEntradaDuplicada();
             throw new ResponseStatusException(HttpStatus.CONFLICT,
-                    "Estacionamento lotado. Capacidade máxima atingida.");
+                    "Já existe uma entrada em andamento para o veículo " + placa);
         }
 
-        Optional<Veiculo> veiculoExistenteOpt = veiculoService.buscarPorPlaca(veiculo.getPlaca());
-        if (veiculoExistenteOpt.isPresent()) {
-            Optional<RegistroEntrada> entradaExistenteOpt = registroEntradaRepository.findByVeiculo(veiculoExistenteOpt.get());
+        RegistroEntrada registrada = null;
+        try {
+            Optional<RegistroEntrada> entradaExistenteOpt = entradasAtivas.buscar(placa);
             if (entradaExistenteOpt.isPresent()) {
+                metricas.rejeicaoEntradaDuplicada();
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "Veículo já possui uma entrada registrada na vaga " + entradaExistenteOpt.get().getVagaId());
             }
+
+            Veiculo veiculoCadastrado = veiculoService.obterOuCadastrarVeiculo(veiculo);
+            registrada = registroEntradaRepository.save(new RegistroEntrada(veiculoCadastrado, estacionamento, vagaId));
+            publicarAposConclusao(EventosEstacionamento.ENTRADA, placa, vagaId, 0);
+            return registrada;
+        } finally {
+            finalizarReserva(registrada, alocador, vagaId, placa);
         }
+    }
 
-        Veiculo veiculoCadastrado = veiculoService.obterOuCadastrarVeiculo(veiculo);
-        RegistroEntrada registroEntrada = new RegistroEntrada(veiculoCadastrado, vagaId);
-        return registroEntradaRepository.save(registroEntrada);
+    private void finalizarReserva(RegistroEntrada registrada, AlocadorDeVagas alocador, int vagaId, String placa) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (registrada == null) {
+                alocador.liberar(vagaId);
+            } else {
+                entradasAtivas.adicionar(registrada);
+                alocador.confirmarReserva(vagaId);
+            }
+            if (placa != null)
+                placasEmEntrada.remove(placa);
+            return;
+        }
+
+        // até o fim da transação a entrada só existe no banco: uma saída que a encontre por lá, nesta transação ou
+        // logo após o commit, a deixa marcada para que o mapa não receba uma entrada já apagada
+        if (registrada != null)
+            entradasAtivas.registrarPendente(registrada);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (registrada == null) {
+                    alocador.liberar(vagaId);
+                } else if (status != STATUS_COMMITTED) {
+                    entradasAtivas.descartar(registrada);
+                    alocador.liberar(vagaId);
+                } else {
+                    entradasAtivas.confirmar(registrada);
+                    alocador.confirmarReserva(vagaId);
+                }
+                if (placa != null)
+                    placasEmEntrada.remove(placa);
+            }
+        });
     }
 
+    @Timed(value = "estacionamento.operacoes", extraTags = {"operacao", "proxima_vaga"}, histogram = true)
     public Integer findNextAvailableSpot() {
-        List<Integer> vagasOcupadas = registroEntradaRepository.findAllOccupiedSpotIds();
+        return findNextAvailableSpot(buscarEstacionamentoAtual());
+    }
 
-        for (int i = 1; i <= 200; i++) {
-            if (!vagasOcupadas.contains(i)) {
-                return i;
-            }
-        }
-        throw new ResponseStatusException(HttpStatus.CONFLICT, "Todas as vagas estão ocupadas");
+    @Timed(value = "estacionamento.operacoes", extraTags = {"operacao", "proxima_vaga"}, histogram = true)
+    public Integer findNextAvailableSpot(Estacionamento estacionamento) {
+        int vaga = ocupacaoVagas.doEstacionamento(estacionamento).proximaVagaLivre();
+
+        if (vaga < 0)
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Todas as vagas estão ocupadas");
+
+        return vaga;
     }
 
     @Transactional
+    @Timed(value = "estacionamento.operacoes", extraTags = {"operacao", "entrada_automatica"}, histogram = true)
     public RegistroEntrada registrar(Veiculo veiculoDados, UUID idEstacionamento) {
         if(veiculoDados == null)
             throw new IllegalArgumentException("Veiculo para registro não pode ser nulo");
@@ -109,32 +240,175 @@ public class EstacionamentoService {
         if(idEstacionamento == null)
             throw new IllegalArgumentException("ID do estacionamento não pode ser nulo");
 
-        Integer vagaId = findNextAvailableSpot();
-        return registrarEntrada(veiculoDados, idEstacionamento, vagaId);
+        Estacionamento estacionamento = buscarEstacionamentoRegistrado(idEstacionamento);
+
+        AlocadorDeVagas alocador = ocupacaoVagas.doEstacionamento(estacionamento);
+        int vagaId = alocador.reservarProximaLivre();
+
+        if (vagaId < 0) {
+            metricas.rejeicaoLotado();
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Todas as vagas estão ocupadas");
+        }
+
+        return concluirEntrada(veiculoDados, estacionamento, alocador, vagaId);
     }
 
     @Transactional
+    @Timed(value = "estacionamento.operacoes", extraTags = {"operacao", "saida"}, histogram = true)
     public Pagamento registrarSaida(String placa) {
 
         if(placa == null || placa.trim().isEmpty())
             throw new IllegalArgumentException("Placa não pode ser nula ou vazia");
 
-        Estacionamento estacionamento = buscarEstacionamentoAtual();
-
-        Veiculo veiculo = veiculoService.buscarPorPlaca(placa)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Veículo não está registrado"));
+        RegistroEntrada registroEntrada = retirarEntradaAtiva(placa,
+                "Veículo não está registrado", "Nenhum registro de entrada ativo para esse veículo");
 
-        RegistroEntrada registroEntrada = registroEntradaRepository.findByVeiculo(veiculo)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Nenhum registro de entrada ativo para esse veículo"));
+        Estacionamento estacionamento = registroEntrada.getEstacionamento() != null
+                ? registroEntrada.getEstacionamento()
+                : buscarEstacionamentoAtual();
 
         Pagamento pagamento = estacionamento.registroSaida(registroEntrada, LocalDateTime.now(), calculadoraDeTarifa);
 
         pagamentoRepository.save(pagamento);
-        registroEntradaRepository.delete(registroEntrada);
+        acumularResumoDiario(estacionamento, pagamento);
+        publicarAposConclusao(EventosEstacionamento.SAIDA, placa, registroEntrada.getVagaId(), pagamento.getValorCentavos());
 
         return pagamento;
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed(value = "estacionamento.operacoes", extraTags = {"operacao", "entrada_lote"}, histogram = true)
+    public List<ResultadoLoteDTO<RegistroEntrada>> registrarEntradasEmLote(List<VeiculoComVagaDTO> entradas) {
+        validarLote(entradas);
+        Estacionamento estacionamento = buscarEstacionamentoAtual();
+
+        return executarLote(entradas, () -> {
+            Map<String, Integer> vagasDoLote = new HashMap<>();
+            return entrada -> {
+                if (entrada == null)
+                    throw new IllegalArgumentException("Item do lote não pode ser nulo");
+
+                Veiculo veiculo = new Veiculo(entrada.placa(), entrada.tipoVeiculo(), entrada.modelo(), entrada.cor());
+                // repetir a placa no lote responde como repetir a entrada avulsa, que já estaria confirmada
+                Integer vagaAnterior = vagasDoLote.get(veiculo.getPlaca());
+                if (vagaAnterior != null) {
+                    metricas.rejeicaoEntradaDuplicada();
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "Veículo já possui uma entrada registrada na vaga " + vagaAnterior);
+                }
+
+                RegistroEntrada registro = entrada.vagaId() == null
+                        ? registrar(veiculo, estacionamento.getId())
+                        : registrarEntrada(veiculo, estacionamento.getId(), entrada.vagaId());
+                vagasDoLote.put(veiculo.getPlaca(), registro.getVagaId());
+                return registro;
+            };
+        });
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed(value = "estacionamento.operacoes", extraTags = {"operacao", "saida_lote"}, histogram = true)
+    public List<ResultadoLoteDTO<ReciboDTO>> registrarSaidasEmLote(List<String> placas) {
+        validarLote(placas);
+
+        return executarLote(placas, () -> placa -> {
+            Pagamento pagamento = registrarSaida(placa);
+            return new ReciboDTO(
+                    pagamento.getPlaca(),
+                    pagamento.getHoraEntrada(),
+                    pagamento.getHoraSaida(),
+                    pagamento.getValor());
+        });
+    }
+
+    private static void validarLote(List<?> itens) {
+        if (itens == null || itens.isEmpty() || itens.size() > LIMITE_LOTE)
+            throw new IllegalArgumentException("Lote deve ter entre 1 e " + LIMITE_LOTE + " itens");
+    }
+
+    /**
+     * Executa o lote numa única transação, com uma só descarga no commit. Um item que falha condena a rodada: ela é
+     * desfeita e o lote roda de novo sem o item, como o EscritaAgrupada faz com as operações da portaria, para que
+     * nada do que o item gravou antes de falhar fique no banco. Sem descarga por item, um erro do banco pode aparecer
+     * na escrita de outro item ou no commit; nesse caso os itens restantes rodam cada um na sua transação, onde o
+     * erro fica com quem o causou. A operação é criada a cada tentativa para não levar estado de uma rodada desfeita
+     * para a seguinte.
+     */
+    private <T, R> List<ResultadoLoteDTO<R>> executarLote(List<T> itens, Supplier<Function<T, R>> novaOperacao) {
+        Map<Integer, ResultadoLoteDTO<R>> falhas = new HashMap<>();
+        while (true) {
+            List<ResultadoLoteDTO<R>> resultados = new ArrayList<>(itens.size());
+            Function<T, R> operacao = novaOperacao.get();
+            Boolean confirmado;
+            try {
+                confirmado = transacao.execute(status -> {
+                    for (int i = 0; i < itens.size(); i++) {
+                        ResultadoLoteDTO<R> falhaAnterior = falhas.get(i);
+                        if (falhaAnterior != null) {
+                            resultados.add(falhaAnterior);
+                            continue;
+                        }
+
+                        try {
+                            resultados.add(ResultadoLoteDTO.sucesso(i, operacao.apply(itens.get(i))));
+                        } catch (ResponseStatusException | IllegalArgumentException | IllegalStateException e) {
+                            falhas.put(i, falhaDoItem(i, e));
+                            status.setRollbackOnly();
+                            return false;
+                        }
+                    }
+                    return true;
+                });
+            } catch (DataAccessException | TransactionException e) {
+                return executarItemAItem(itens, novaOperacao.get(), falhas);
+            }
+            if (!Boolean.FALSE.equals(confirmado))
+                return resultados;
+        }
+    }
+
+    private <T, R> List<ResultadoLoteDTO<R>> executarItemAItem(List<T> itens, Function<T, R> operacao,
+                                                              Map<Integer, ResultadoLoteDTO<R>> falhas) {
+        List<ResultadoLoteDTO<R>> resultados = new ArrayList<>(itens.size());
+        for (int i = 0; i < itens.size(); i++) {
+            ResultadoLoteDTO<R> falhaAnterior = falhas.get(i);
+            if (falhaAnterior != null) {
+                resultados.add(falhaAnterior);
+                continue;
+            }
+
+            T item = itens.get(i);
+            try {
+                resultados.add(ResultadoLoteDTO.sucesso(i, transacao.execute(status -> operacao.apply(item))));
+            } catch (ResponseStatusException | IllegalArgumentException | IllegalStateException | DataAccessException e) {
+                resultados.add(falhaDoItem(i, e));
+            } catch (TransactionException e) {
+                resultados.add(ResultadoLoteDTO.falha(i, HttpStatus.INTERNAL_SERVER_ERROR.value(), "Falha ao gravar o item no banco"));
+            }
+        }
+        return resultados;
+    }
+
+    private static <T> ResultadoLoteDTO<T> falhaDoItem(int indice, RuntimeException e) {
+        if (e instanceof ResponseStatusException status)
+            return ResultadoLoteDTO.falha(indice, status.getStatusCode().value(), status.getReason());
+        if (e instanceof DataIntegrityViolationException)
+            return ResultadoLoteDTO.falha(indice, HttpStatus.CONFLICT.value(), "Registro conflita com outro já existente");
+        if (e instanceof DataAccessException)
+            return ResultadoLoteDTO.falha(indice, HttpStatus.INTERNAL_SERVER_ERROR.value(), "Falha ao gravar o item no banco");
+        if (e instanceof IllegalStateException)
+            return ResultadoLoteDTO.falha(indice, HttpStatus.FORBIDDEN.value(), e.getMessage());
+        return ResultadoLoteDTO.falha(indice, HttpStatus.BAD_REQUEST.value(), e.getMessage());
+    }
+
+    private void acumularResumoDiario(Estacionamento estacionamento, Pagamento pagamento) {
+        resumoDiarioRepository.acumularPagamento(estacionamento,
+                pagamento.getHoraSaida().toLocalDate(),
+                ResumoDiario.minutosDePermanencia(pagamento),
+                pagamento.getValorCentavos(),
+                ResumoDiario.minutosOcupadosNoDia(pagamento));
+    }
+
     @Transactional
     public Estacionamento criarEstacionamento(CriarEstacionamentoDTO dto) {
         if(dto == null)
@@ -149,6 +423,7 @@ public class EstacionamentoService {
         return estacionamentoRepository.save(estacionamento);
     }
 
+    @Transactional(readOnly = true)
     public Estacionamento buscarEstacionamento(UUID id) {
         if (id == null) {
             throw new IllegalArgumentException("O ID do estacionamento não pode ser nulo.");
@@ -157,39 +432,117 @@ public class EstacionamentoService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Estacionamento não encontrado com o ID: " + id));
     }
 
+    @Transactional(readOnly = true)
     public Estacionamento buscarEstacionamentoAtual() {
-        return estacionamentoRepository.findAll().stream().findFirst()
+        Estacionamento atual = estacionamentoAtual;
+        if (atual != null)
+            return atual;
+
+        atual = estacionamentoRepository.findAll().stream().findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("Nenhum estacionamento encontrado"));
+        estacionamentoAtual = atual;
+        return atual;
     }
 
+    private Estacionamento buscarEstacionamentoRegistrado(UUID id) {
+        return ocupacaoVagas.estacionamento(id)
+                .orElseGet(() -> estacionamentoRepository.findById(id)
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Estacionamento não encontrado")));
+    }
+
+    @Timed(value = "estacionamento.operacoes", extraTags = {"operacao", "cancelamento"}, histogram = true)
     public boolean cancelarEntrada(String placa) {
 
         if(placa == null || placa.trim().isEmpty())
             throw new IllegalArgumentException("Placa não pode ser nula ou vazia");
 
-        Veiculo veiculo = veiculoService.buscarPorPlaca(placa)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Veiculo não encontrado"));
-
-        RegistroEntrada entrada = registroEntradaRepository.findByVeiculo(veiculo)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Veículo não possui entrada registrada para cancelar"));
-
-        registroEntradaRepository.delete(entrada);
+        RegistroEntrada entrada = retirarEntradaAtiva(placa,
+                "Veiculo não encontrado", "Veículo não possui entrada registrada para cancelar");
+        publicarAposConclusao(EventosEstacionamento.CANCELAMENTO, placa, entrada.getVagaId(), 0);
         return true;
     }
 
+    @Transactional(readOnly = true)
     public RegistroEntrada buscarEntrada(String placa) {
 
         if(placa == null || placa.trim().isEmpty())
             throw new IllegalArgumentException("Placa não pode ser nula ou vazia");
 
+        return entradasAtivas.buscar(placa)
+                .orElseGet(() -> buscarEntradaNoBanco(placa,
+                        "Esse veículo não está no estacionamento", "Não existe nenhuma entrada registrada nesse veículo"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<RegistroEntrada> getAllEntradas() {
+        return registroEntradaRepository.findAll();
+    }
+
+    private RegistroEntrada buscarEntradaNoBanco(String placa, String veiculoNaoEncontrado, String entradaNaoEncontrada) {
         Veiculo veiculo = veiculoService.buscarPorPlaca(placa)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Esse veículo não está no estacionamento"));
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, veiculoNaoEncontrado));
 
         return registroEntradaRepository.findByVeiculo(veiculo)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Não existe nenhuma entrada registrada nesse veículo"));
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, entradaNaoEncontrada));
     }
 
-    public List<RegistroEntrada> getAllEntradas() {
-        return registroEntradaRepository.findAll();
+    private RegistroEntrada retirarEntradaAtiva(String placa, String veiculoNaoEncontrado, String entradaNaoEncontrada) {
+        Optional<RegistroEntrada> emMemoria = entradasAtivas.retirar(placa);
+        RegistroEntrada entrada = emMemoria
+                .orElseGet(() -> buscarEntradaNoBanco(placa, veiculoNaoEncontrado, entradaNaoEncontrada));
+
+        if (registroEntradaRepository.deleteEntradaById(entrada.getId()) == 0)
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, entradaNaoEncontrada);
+        // a entrada lida do banco pode ter sido publicada depois da busca no mapa, ou ainda estar à espera disso
+        boolean estavaEmMemoria = emMemoria.isPresent() || entradasAtivas.retirarPendente(entrada);
+
+        liberarVaga(entrada, estavaEmMemoria);
+        return entrada;
+    }
+
+    private void publicarAposConclusao(String tipo, String placa, Integer vagaId, long valorCentavos) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventos.publicar(tipo, placa, vagaId, valorCentavos);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED)
+                    eventos.publicar(tipo, placa, vagaId, valorCentavos);
+            }
+        });
+    }
+
+    private void liberarVaga(RegistroEntrada registroEntrada, boolean estavaEmMemoria) {
+        AlocadorDeVagas alocador = registroEntrada.getEstacionamento() == null
+                ? null
+                : ocupacaoVagas.doEstacionamento(registroEntrada.getEstacionamento());
+        int vagaId = registroEntrada.getVagaId();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (alocador != null)
+                alocador.liberar(vagaId);
+            if (!estavaEmMemoria)
+                entradasAtivas.concluirRetirada(registroEntrada);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    if (alocador != null)
+                        alocador.liberar(vagaId);
+                    if (!estavaEmMemoria)
+                        entradasAtivas.concluirRetirada(registroEntrada);
+                } else if (estavaEmMemoria) {
+                    entradasAtivas.devolver(registroEntrada);
+                } else {
+                    entradasAtivas.desfazerRetirada(registroEntrada);
+                }
+            }
+        });
     }
 }
@@ -51,13 +51,13 @@ public class PagamentoService {
         return pagamentoRepository.findByHoraSaidaBetween(inicio, fim);
     }
 
-    public double calcularTotalArrecadadoPorData(LocalDate data) {
+    public long calcularCentavosArrecadadosPorData(LocalDate data) {
         if(data == null)
             throw new IllegalArgumentException("Data não pode ser nula");
 
         LocalDateTime inicio = data.atStartOfDay();
         LocalDateTime fim = data.atTime(23, 59, 59);
-        Double total = pagamentoRepository.somarPagamentosPorData(inicio, fim);
-        return total != null ? total : 0.0;
+        Long total = pagamentoRepository.somarPagamentosPorData(inicio, fim);
+        return total != null ? total : 0L;
     }
 }
\ No newline at end of file
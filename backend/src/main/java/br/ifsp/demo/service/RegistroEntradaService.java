@@ -1,6 +1,7 @@
 package br.ifsp.demo.service;
 
 import br.ifsp.demo.components.LogSistema;
+import br.ifsp.demo.model.Estacionamento;
 import br.ifsp.demo.model.RegistroEntrada;
 import br.ifsp.demo.model.Veiculo;
 import br.ifsp.demo.repository.RegistroEntradaRepository;
@@ -21,10 +22,10 @@ public class RegistroEntradaService {
         this.logSistema = logSistema;
     }
 
-    public RegistroEntrada registrarEntrada(Veiculo veiculo) {
+    public RegistroEntrada registrarEntrada(Veiculo veiculo, Estacionamento estacionamento, Integer vagaId) {
         verificarSeVeiculoJaRegistrado(veiculo);
 
-        RegistroEntrada registroEntrada = new RegistroEntrada(veiculo);
+        RegistroEntrada registroEntrada = new RegistroEntrada(veiculo, estacionamento, vagaId);
         return registroEntradaRepository.save(registroEntrada);
     }
 
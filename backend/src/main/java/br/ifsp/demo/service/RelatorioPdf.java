@@ -0,0 +1,116 @@
+package br.ifsp.demo.service;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+final class RelatorioPdf implements AutoCloseable {
+
+    private static final FontProgram HELVETICA = carregarFonte(StandardFonts.HELVETICA);
+    private static final FontProgram HELVETICA_NEGRITO = carregarFonte(StandardFonts.HELVETICA_BOLD);
+    private static final float[] COLUNAS_METRICAS = {50, 50};
+    private static final DateTimeFormatter FORMATO_RODAPE = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+    private static final int LINHAS_POR_DESCARGA = 10;
+
+    private final Document document;
+    private final PdfFont fonte;
+    private final PdfFont fonteNegrito;
+
+    RelatorioPdf(OutputStream saida) {
+        PdfWriter writer = new PdfWriter(saida);
+        writer.setCloseStream(false);
+        this.document = new Document(new PdfDocument(writer));
+        this.fonte = PdfFontFactory.createFont(HELVETICA, PdfEncodings.WINANSI);
+        this.fonteNegrito = PdfFontFactory.createFont(HELVETICA_NEGRITO, PdfEncodings.WINANSI);
+    }
+
+    private static FontProgram carregarFonte(String nome) {
+        try {
+            return FontProgramFactory.createFont(nome);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao carregar fonte " + nome, e);
+        }
+    }
+
+    void titulo(String texto) {
+        document.add(new Paragraph(texto)
+                .setFont(fonteNegrito)
+                .setFontSize(18)
+                .setTextAlignment(TextAlignment.CENTER)
+                .setMarginBottom(20));
+    }
+
+    void subtitulo(String texto) {
+        document.add(new Paragraph(texto)
+                .setFont(fonte)
+                .setFontSize(12)
+                .setTextAlignment(TextAlignment.CENTER)
+                .setMarginBottom(20));
+    }
+
+    Table tabelaMetricas() {
+        Table tabela = new Table(UnitValue.createPercentArray(COLUNAS_METRICAS))
+                .setWidth(UnitValue.createPercentValue(100));
+        cabecalho(tabela, "Métrica", "Valor");
+        return tabela;
+    }
+
+    void linha(Table tabela, String... valores) {
+        for (String valor : valores)
+            tabela.addCell(new Cell().add(new Paragraph(valor).setFont(fonte)));
+    }
+
+    void adicionar(Table tabela) {
+        document.add(tabela);
+    }
+
+    Table iniciarTabelaGrande(float[] colunas, String... cabecalhos) {
+        Table tabela = new Table(UnitValue.createPercentArray(colunas), true)
+                .setWidth(UnitValue.createPercentValue(100))
+                .setMarginTop(20);
+        cabecalho(tabela, cabecalhos);
+        document.add(tabela);
+        return tabela;
+    }
+
+    void linhaTabelaGrande(Table tabela, int numeroLinha, String... valores) {
+        linha(tabela, valores);
+        if (numeroLinha % LINHAS_POR_DESCARGA == 0)
+            tabela.flush();
+    }
+
+    void rodape() {
+        document.add(new Paragraph("\nRelatório gerado em: " + LocalDateTime.now().format(FORMATO_RODAPE))
+                .setFont(fonte)
+                .setFontSize(10)
+                .setTextAlignment(TextAlignment.CENTER)
+                .setMarginTop(30));
+    }
+
+    private void cabecalho(Table tabela, String... cabecalhos) {
+        for (String cabecalho : cabecalhos)
+            tabela.addHeaderCell(new Cell().add(new Paragraph(cabecalho).setFont(fonteNegrito)));
+    }
+
+    @Override
+    public void close() {
+        document.close();
+    }
+}
@@ -1,94 +1,123 @@
 package br.ifsp.demo.service;
 
+import br.ifsp.demo.components.Centavos;
+import br.ifsp.demo.components.OcupacaoVagas;
 import br.ifsp.demo.dto.HistoricoDTO;
+import br.ifsp.demo.dto.PagamentoExportadoDTO;
 import br.ifsp.demo.dto.ReciboDTO;
 import br.ifsp.demo.dto.RelatorioDTO;
 import br.ifsp.demo.model.Pagamento;
+import br.ifsp.demo.model.ResumoDiario;
 import br.ifsp.demo.repository.PagamentoRepository;
-import br.ifsp.demo.repository.RegistroEntradaRepository;
+import br.ifsp.demo.repository.ResumoDiarioRepository;
 import br.ifsp.demo.repository.VeiculoRepository;
+import io.micrometer.core.annotation.Timed;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.Paragraph;
+import org.springframework.transaction.annotation.Transactional;
 import com.itextpdf.layout.element.Table;
-import com.itextpdf.layout.element.Cell;
-import com.itextpdf.layout.properties.TextAlignment;
-import com.itextpdf.layout.properties.UnitValue;
-import com.itextpdf.kernel.font.PdfFont;
-import com.itextpdf.kernel.font.PdfFontFactory;
-import com.itextpdf.io.font.constants.StandardFonts;
 import java.util.Map;
 import java.util.HashMap;
-import java.util.Comparator;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 
 @Service
+@Timed(value = "estacionamento.relatorios", histogram = true)
 public class RelatorioService {
 
+    public static final int LIMITE_MAXIMO_HISTORICO = 200;
+
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final float[] COLUNAS_POR_DIA = {20, 40, 40};
+    private static final String[] MESES = {"", "Janeiro", "Fevereiro", "Março", "Abril", "Maio", "Junho",
+            "Julho", "Agosto", "Setembro", "Outubro", "Novembro", "Dezembro"};
+
     private final PagamentoRepository pagamentoRepository;
-    private final RegistroEntradaRepository registroEntradaRepository;
-    private static final int NUMERO_VAGAS = 200;
+    private final ResumoDiarioRepository resumoDiarioRepository;
+    private final OcupacaoVagas ocupacaoVagas;
 
     @Autowired
     public RelatorioService(PagamentoRepository pagamentoRepository,
-                            RegistroEntradaRepository registroEntradaRepository) {
+                            ResumoDiarioRepository resumoDiarioRepository,
+                            OcupacaoVagas ocupacaoVagas) {
         this.pagamentoRepository = pagamentoRepository;
-        this.registroEntradaRepository = registroEntradaRepository;
+        this.resumoDiarioRepository = resumoDiarioRepository;
+        this.ocupacaoVagas = ocupacaoVagas;
     }
 
+    @Transactional(readOnly = true)
     public RelatorioDTO gerarRelatorioDesempenho(LocalDate dataReferencia) {
-        LocalDateTime inicioDoDia = dataReferencia.atStartOfDay();
-        LocalDateTime fimDoDia = dataReferencia.atTime(LocalTime.MAX);
-
-        List<Pagamento> pagamentosDoDia = getPagamentosDoDia(inicioDoDia, fimDoDia);
+        List<ResumoDiario> resumosDoDia = resumoDiarioRepository.findByData(dataReferencia);
+
+        int quantidade = 0;
+        long tempoTotalMinutos = 0;
+        long receitaTotalCentavos = 0;
+        long minutosOcupadosTotal = 0;
+        for (ResumoDiario resumo : resumosDoDia) {
+            quantidade += resumo.getQuantidade();
+            tempoTotalMinutos += resumo.getTempoTotalMinutos();
+            receitaTotalCentavos += resumo.getReceitaCentavos();
+            minutosOcupadosTotal += resumo.getMinutosOcupados();
+        }
 
-        int quantidade = pagamentosDoDia.size();
-        double tempoTotalMinutos = calcularTempoTotal(pagamentosDoDia);
         double tempoMedioHoras = calcularTempoMedioHoras(quantidade, tempoTotalMinutos);
-        double receitaTotal = calcularReceitaTotal(pagamentosDoDia);
-        double minutosOcupadosTotal = calcularMinutosOcupados(pagamentosDoDia, inicioDoDia, fimDoDia);
-
         double ocupacaoMedia = calcularOcupacaoMedia(minutosOcupadosTotal);
 
-        return new RelatorioDTO(quantidade, tempoMedioHoras, receitaTotal, ocupacaoMedia);
+        return new RelatorioDTO(quantidade, tempoMedioHoras, receitaTotalCentavos, ocupacaoMedia);
     }
 
+    @Transactional(readOnly = true)
     public ReciboDTO gerarRecibo(String placa) {
-        return pagamentoRepository.findAll().stream()
-                .filter(p -> placa.equals(p.getPlaca()))
-                .max(Comparator.comparing(Pagamento::getHoraSaida))
+        return pagamentoRepository.findFirstByPlacaOrderByHoraSaidaDesc(placa)
                 .map(p -> new ReciboDTO(p.getPlaca(), p.getHoraEntrada(), p.getHoraSaida(), p.getValor()))
                 .orElse(null);
     }
 
-    public List<HistoricoDTO> gerarHistorico(String placa) {
-        return pagamentoRepository.findAll().stream()
-                .filter(p -> placa.equals(p.getPlaca()))
-                .sorted(Comparator.comparing(Pagamento::getHoraEntrada).reversed())
-                .map(p -> new HistoricoDTO(p.getPlaca(), p.getHoraEntrada(), p.getHoraSaida(), p.getValor()))
+    @Transactional(readOnly = true)
+    public List<HistoricoDTO> gerarHistorico(String placa, LocalDateTime antes, UUID antesId, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO_HISTORICO)
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO_HISTORICO);
+        if ((antes == null) != (antesId == null))
+            throw new IllegalArgumentException("Cursor do histórico exige a hora de saída junto com o id");
+
+        // o cursor é o par (horaSaida, id) do último item recebido: saídas no mesmo instante não somem entre páginas
+        List<Pagamento> pagamentos = antes == null
+                ? pagamentoRepository.findByPlacaOrderByHoraSaidaDescUuidDesc(placa, Limit.of(limite))
+                : pagamentoRepository.buscarHistoricoAntesDe(placa, antes, antesId, Limit.of(limite));
+
+        return pagamentos.stream()
+                .map(p -> new HistoricoDTO(p.getUuid(), p.getPlaca(), p.getHoraEntrada(), p.getHoraSaida(), p.getValor()))
                 .toList();
     }
 
+    public int totalVagas() {
+        return ocupacaoVagas.capacidadeTotal();
+    }
+
     public int vagasDisponiveis() {
-        long vagasOcupadas = registroEntradaRepository.count();
-        return NUMERO_VAGAS - (int) vagasOcupadas;
+        return totalVagas() - vagasOcupadas();
     }
 
     public int vagasOcupadas() {
-        return (int) registroEntradaRepository.count();
+        return ocupacaoVagas.vagasOcupadas();
     }
 
     public String gerarRelatorioCSV(LocalDate data) {
@@ -115,139 +144,128 @@ public class RelatorioService {
         }
     }
 
-    public byte[] gerarRelatorioPDF(LocalDate data) {
-        try {
-            RelatorioDTO relatorio = gerarRelatorioDesempenho(data);
-
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdfDoc = new PdfDocument(writer);
-            Document document = new Document(pdfDoc);
-            PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
-            PdfFont boldFont = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
-
-            Paragraph title = new Paragraph("Relatório Diário de Desempenho")
-                    .setFont(boldFont)
-                    .setFontSize(18)
-                    .setTextAlignment(TextAlignment.CENTER)
-                    .setMarginBottom(20);
-            document.add(title);
-
-            Paragraph dateP = new Paragraph("Data: " + data.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")))
-                    .setFont(font)
-                    .setFontSize(12)
-                    .setTextAlignment(TextAlignment.CENTER)
-                    .setMarginBottom(20);
-            document.add(dateP);
-
-            Table table = new Table(UnitValue.createPercentArray(new float[]{50, 50}))
-                    .setWidth(UnitValue.createPercentValue(100));
-
-            table.addHeaderCell(new Cell().add(new Paragraph("Métrica").setFont(boldFont)));
-            table.addHeaderCell(new Cell().add(new Paragraph("Valor").setFont(boldFont)));
-
-            table.addCell(new Cell().add(new Paragraph("Receita Total").setFont(font)));
-            table.addCell(new Cell().add(new Paragraph("R$ " + String.format("%.2f", relatorio.receitaTotal())).setFont(font)));
+    public void validarPeriodo(LocalDate inicio, LocalDate fim) {
+        if (inicio == null || fim == null)
+            throw new IllegalArgumentException("Datas inicial e final são obrigatórias");
+        if (fim.isBefore(inicio))
+            throw new IllegalArgumentException("Data final não pode ser anterior à data inicial");
+    }
 
-            table.addCell(new Cell().add(new Paragraph("Quantidade de Veículos").setFont(font)));
-            table.addCell(new Cell().add(new Paragraph(String.valueOf(relatorio.quantidade())).setFont(font)));
+    public void validarMes(int mes) {
+        if (mes < 1 || mes > 12)
+            throw new IllegalArgumentException("Mês deve estar entre 1 e 12");
+    }
 
-            table.addCell(new Cell().add(new Paragraph("Tempo Médio (horas)").setFont(font)));
-            table.addCell(new Cell().add(new Paragraph(String.format("%.2f", relatorio.tempoMedioHoras())).setFont(font)));
+    @Transactional(readOnly = true)
+    public long escreverPagamentosCSV(LocalDate inicio, LocalDate fim, OutputStream saida) {
+        validarPeriodo(inicio, fim);
+        DateTimeFormatter formatoDataHora = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+        try (Stream<PagamentoExportadoDTO> pagamentos = pagamentoRepository.streamPorPeriodo(
+                inicio.atStartOfDay(), fim.plusDays(1).atStartOfDay())) {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+            writer.write('\uFEFF');
+
+            CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.builder()
+                    .setHeader("Placa", "Entrada", "Saída", "Valor")
+                    .setRecordSeparator("\n")
+                    .build());
+
+            long linhas = 0;
+            for (PagamentoExportadoDTO pagamento : (Iterable<PagamentoExportadoDTO>) pagamentos::iterator) {
+                csvPrinter.printRecord(
+                        pagamento.placa(),
+                        pagamento.horaEntrada().format(formatoDataHora),
+                        pagamento.horaSaida().format(formatoDataHora),
+                        Centavos.formatar(pagamento.valorCentavos()));
+                linhas++;
+            }
+
+            csvPrinter.flush();
+            return linhas;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao exportar pagamentos em CSV", e);
+        }
+    }
 
-            table.addCell(new Cell().add(new Paragraph("Ocupação Média").setFont(font)));
-            table.addCell(new Cell().add(new Paragraph(String.format("%.2f%%", relatorio.ocupacaoMedia() * 100)).setFont(font)));
+    public byte[] gerarRelatorioPDF(LocalDate data) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        escreverRelatorioPDF(data, baos);
+        return baos.toByteArray();
+    }
 
-            document.add(table);
+    public void escreverRelatorioPDF(LocalDate data, OutputStream saida) {
+        try {
+            RelatorioDTO relatorio = gerarRelatorioDesempenho(data);
 
-            Paragraph footer = new Paragraph("\nRelatório gerado em: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")))
-                    .setFont(font)
-                    .setFontSize(10)
-                    .setTextAlignment(TextAlignment.CENTER)
-                    .setMarginTop(30);
-            document.add(footer);
+            try (RelatorioPdf pdf = new RelatorioPdf(saida)) {
+                pdf.titulo("Relatório Diário de Desempenho");
+                pdf.subtitulo("Data: " + data.format(FORMATO_DATA));
 
-            document.close();
-            return baos.toByteArray();
+                Table table = pdf.tabelaMetricas();
+                pdf.linha(table, "Receita Total", "R$ " + String.format("%.2f", relatorio.receitaTotal()));
+                pdf.linha(table, "Quantidade de Veículos", String.valueOf(relatorio.quantidade()));
+                pdf.linha(table, "Tempo Médio (horas)", String.format("%.2f", relatorio.tempoMedioHoras()));
+                pdf.linha(table, "Ocupação Média", String.format("%.2f%%", relatorio.ocupacaoMedia() * 100));
+                pdf.adicionar(table);
 
+                pdf.rodape();
+            }
         } catch (Exception e) {
             throw new RuntimeException("Erro ao gerar PDF", e);
         }
     }
 
-    private List<Pagamento> getPagamentosDoDia(LocalDateTime inicioDoDia, LocalDateTime fimDoDia) {
-        return pagamentoRepository.findAll().stream()
-                .filter(p -> p.getHoraSaida() != null &&
-                        !p.getHoraSaida().isBefore(inicioDoDia) &&
-                        !p.getHoraSaida().isAfter(fimDoDia))
-                .toList();
-    }
-
-    private double calcularTempoTotal(List<Pagamento> pagamentosDoDia) {
-        return pagamentosDoDia.stream()
-                .filter(p -> p.getHoraEntrada() != null && p.getHoraSaida() != null)
-                .mapToDouble(p -> Duration.between(p.getHoraEntrada(), p.getHoraSaida()).toMinutes())
-                .sum();
-    }
-
     private double calcularTempoMedioHoras(int quantidade, double tempoTotalMinutos) {
         return Math.round((quantidade > 0 ? (tempoTotalMinutos / quantidade) / 60.0 : 0.0) * 100.0) / 100.0;
     }
 
-    private double calcularReceitaTotal(List<Pagamento> pagamentosDoDia) {
-        return pagamentosDoDia.stream()
-                .mapToDouble(Pagamento::getValor)
-                .sum();
-    }
-
-    private double calcularMinutosOcupados(List<Pagamento> pagamentosDoDia, LocalDateTime inicioDoDia, LocalDateTime fimDoDia) {
-        return pagamentosDoDia.stream()
-                .filter(p -> p.getHoraEntrada() != null && p.getHoraSaida() != null)
-                .mapToDouble(p -> {
-                    LocalDateTime entrada = p.getHoraEntrada().isBefore(inicioDoDia) ? inicioDoDia : p.getHoraEntrada();
-                    LocalDateTime saida = p.getHoraSaida().isAfter(fimDoDia) ? fimDoDia : p.getHoraSaida();
-                    return Duration.between(entrada, saida).toMinutes();
-                })
-                .sum();
-    }
-
     private double calcularOcupacaoMedia(double minutosOcupadosTotal) {
         long minutosNoDia = Duration.between(LocalDateTime.now().toLocalDate().atStartOfDay(), LocalDateTime.now()).toMinutes();
-        return (double) Math.round(minutosOcupadosTotal / (minutosNoDia * NUMERO_VAGAS) * 100) / 100;
+        int totalVagas = totalVagas();
+        if (minutosNoDia <= 0 || totalVagas <= 0)
+            return 0.0;
+        return (double) Math.round(minutosOcupadosTotal / (minutosNoDia * totalVagas) * 100) / 100;
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Object> gerarRelatorioMensal(int mes, int ano) {
         LocalDate inicioMes = LocalDate.of(ano, mes, 1);
         LocalDate fimMes = inicioMes.withDayOfMonth(inicioMes.lengthOfMonth());
 
-        double receitaTotal = 0;
+        int diasNoMes = inicioMes.lengthOfMonth();
+        long receitaTotalCentavos = 0;
         int totalVeiculos = 0;
-        double tempoTotalMinutos = 0;
-        Map<Integer, Double> receitaPorDia = new HashMap<>();
+        long tempoTotalMinutos = 0;
+        long[] receitaCentavosPorDia = new long[diasNoMes + 1];
         Map<Integer, Integer> veiculosPorDia = new HashMap<>();
 
-        for (LocalDate data = inicioMes; !data.isAfter(fimMes); data = data.plusDays(1)) {
-            RelatorioDTO relatorioDia = gerarRelatorioDesempenho(data);
+        for (int dia = 1; dia <= diasNoMes; dia++)
+            veiculosPorDia.put(dia, 0);
 
-            int dia = data.getDayOfMonth();
-            receitaPorDia.put(dia, relatorioDia.receitaTotal());
-            veiculosPorDia.put(dia, relatorioDia.quantidade());
+        for (ResumoDiario resumo : resumoDiarioRepository.findByDataBetween(inicioMes, fimMes)) {
+            int dia = resumo.getData().getDayOfMonth();
+            receitaCentavosPorDia[dia] += resumo.getReceitaCentavos();
+            veiculosPorDia.merge(dia, resumo.getQuantidade(), Integer::sum);
 
-            receitaTotal += relatorioDia.receitaTotal();
-            totalVeiculos += relatorioDia.quantidade();
-            tempoTotalMinutos += (relatorioDia.tempoMedioHoras() * relatorioDia.quantidade() * 60);
+            receitaTotalCentavos += resumo.getReceitaCentavos();
+            totalVeiculos += resumo.getQuantidade();
+            tempoTotalMinutos += resumo.getTempoTotalMinutos();
         }
 
-        double tempoMedioHoras = totalVeiculos > 0 ? (tempoTotalMinutos / totalVeiculos) / 60.0 : 0;
-        double receitaMediaDiaria = receitaTotal / inicioMes.lengthOfMonth();
-        double veiculosMediaDiaria = (double) totalVeiculos / inicioMes.lengthOfMonth();
-
-        int melhorDia = receitaPorDia.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse(1);
+        int melhorDia = 1;
+        Map<Integer, Double> receitaPorDia = new HashMap<>();
+        for (int dia = 1; dia <= diasNoMes; dia++) {
+            receitaPorDia.put(dia, Centavos.emReais(receitaCentavosPorDia[dia]));
+            if (receitaCentavosPorDia[dia] > receitaCentavosPorDia[melhorDia])
+                melhorDia = dia;
+        }
 
-        double melhorReceita = receitaPorDia.getOrDefault(melhorDia, 0.0);
+        double tempoMedioHoras = totalVeiculos > 0 ? ((double) tempoTotalMinutos / totalVeiculos) / 60.0 : 0;
+        double receitaTotal = Centavos.emReais(receitaTotalCentavos);
+        double receitaMediaDiaria = receitaTotal / diasNoMes;
+        double veiculosMediaDiaria = (double) totalVeiculos / diasNoMes;
+        double melhorReceita = Centavos.emReais(receitaCentavosPorDia[melhorDia]);
 
         Map<String, Object> resultado = new HashMap<>();
         resultado.put("mes", mes);
@@ -261,65 +279,48 @@ public class RelatorioService {
         resultado.put("melhorReceita", melhorReceita);
         resultado.put("receitaPorDia", receitaPorDia);
         resultado.put("veiculosPorDia", veiculosPorDia);
-        resultado.put("diasNoMes", inicioMes.lengthOfMonth());
+        resultado.put("diasNoMes", diasNoMes);
 
         return resultado;
     }
 
     public byte[] gerarRelatorioMensalPDF(int mes, int ano) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        escreverRelatorioMensalPDF(mes, ano, baos);
+        return baos.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    public void escreverRelatorioMensalPDF(int mes, int ano, OutputStream saida) {
         try {
             Map<String, Object> dados = gerarRelatorioMensal(mes, ano);
 
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdfDoc = new PdfDocument(writer);
-            Document document = new Document(pdfDoc);
-
-            PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
-            PdfFont boldFont = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
-
-            Paragraph title = new Paragraph("Relatório Mensal de Desempenho")
-                    .setFont(boldFont)
-                    .setFontSize(18)
-                    .setTextAlignment(TextAlignment.CENTER)
-                    .setMarginBottom(20);
-            document.add(title);
-
-            String[] meses = {"", "Janeiro", "Fevereiro", "Março", "Abril", "Maio", "Junho",
-                    "Julho", "Agosto", "Setembro", "Outubro", "Novembro", "Dezembro"};
-            Paragraph periodo = new Paragraph("Período: " + meses[mes] + " de " + ano)
-                    .setFont(font)
-                    .setFontSize(12)
-                    .setTextAlignment(TextAlignment.CENTER)
-                    .setMarginBottom(20);
-            document.add(periodo);
-
-            Table resumoTable = new Table(UnitValue.createPercentArray(new float[]{50, 50}))
-                    .setWidth(UnitValue.createPercentValue(100));
-
-            resumoTable.addHeaderCell(new Cell().add(new Paragraph("Métrica").setFont(boldFont)));
-            resumoTable.addHeaderCell(new Cell().add(new Paragraph("Valor").setFont(boldFont)));
-
-            resumoTable.addCell(new Cell().add(new Paragraph("Receita Total").setFont(font)));
-            resumoTable.addCell(new Cell().add(new Paragraph("R$ " + String.format("%.2f", dados.get("receitaTotal"))).setFont(font)));
-
-            resumoTable.addCell(new Cell().add(new Paragraph("Total de Veículos").setFont(font)));
-            resumoTable.addCell(new Cell().add(new Paragraph(dados.get("totalVeiculos").toString()).setFont(font)));
-
-            resumoTable.addCell(new Cell().add(new Paragraph("Tempo Médio (horas)").setFont(font)));
-            resumoTable.addCell(new Cell().add(new Paragraph(String.format("%.2f", dados.get("tempoMedioHoras"))).setFont(font)));
-
-            resumoTable.addCell(new Cell().add(new Paragraph("Receita Média Diária").setFont(font)));
-            resumoTable.addCell(new Cell().add(new Paragraph("R$ " + String.format("%.2f", dados.get("receitaMediaDiaria"))).setFont(font)));
-
-            resumoTable.addCell(new Cell().add(new Paragraph("Melhor Dia").setFont(font)));
-            resumoTable.addCell(new Cell().add(new Paragraph("Dia " + dados.get("melhorDia") + " (R$ " + String.format("%.2f", dados.get("melhorReceita")) + ")").setFont(font)));
-
-            document.add(resumoTable);
-
-            document.close();
-            return baos.toByteArray();
-
+            try (RelatorioPdf pdf = new RelatorioPdf(saida)) {
+                pdf.titulo("Relatório Mensal de Desempenho");
+                pdf.subtitulo("Período: " + MESES[mes] + " de " + ano);
+
+                Table resumoTable = pdf.tabelaMetricas();
+                pdf.linha(resumoTable, "Receita Total", "R$ " + String.format("%.2f", dados.get("receitaTotal")));
+                pdf.linha(resumoTable, "Total de Veículos", dados.get("totalVeiculos").toString());
+                pdf.linha(resumoTable, "Tempo Médio (horas)", String.format("%.2f", dados.get("tempoMedioHoras")));
+                pdf.linha(resumoTable, "Receita Média Diária", "R$ " + String.format("%.2f", dados.get("receitaMediaDiaria")));
+                pdf.linha(resumoTable, "Melhor Dia", "Dia " + dados.get("melhorDia") + " (R$ " + String.format("%.2f", dados.get("melhorReceita")) + ")");
+                pdf.adicionar(resumoTable);
+
+                Map<Integer, Double> receitaPorDia = (Map<Integer, Double>) dados.get("receitaPorDia");
+                Map<Integer, Integer> veiculosPorDia = (Map<Integer, Integer>) dados.get("veiculosPorDia");
+                if (receitaPorDia != null && veiculosPorDia != null) {
+                    Table diasTable = pdf.iniciarTabelaGrande(COLUNAS_POR_DIA, "Dia", "Veículos", "Receita");
+                    int diasNoMes = YearMonth.of(ano, mes).lengthOfMonth();
+                    for (int dia = 1; dia <= diasNoMes; dia++) {
+                        pdf.linhaTabelaGrande(diasTable, dia,
+                                String.valueOf(dia),
+                                String.valueOf(veiculosPorDia.getOrDefault(dia, 0)),
+                                "R$ " + String.format("%.2f", receitaPorDia.getOrDefault(dia, 0.0)));
+                    }
+                    diasTable.complete();
+                }
+            }
         } catch (Exception e) {
             throw new RuntimeException("Erro ao gerar PDF mensal", e);
         }
@@ -41,12 +41,12 @@ public class VeiculoService {
 
     public Veiculo obterOuCadastrarVeiculo(Veiculo veiculoDados) {
         return buscarPorPlaca(veiculoDados.getPlaca())
-                .orElseGet(() -> cadastrarVeiculo(
+                .orElseGet(() -> veiculoRepository.save(new Veiculo(
                         veiculoDados.getPlaca(),
                         veiculoDados.getTipoVeiculo(),
                         veiculoDados.getModelo(),
                         veiculoDados.getCor()
-                ));
+                )));
     }
 
     public Optional<Veiculo> buscarPorPlaca(String placa) {
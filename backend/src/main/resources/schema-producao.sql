@@ -0,0 +1,66 @@
+-- Esquema do perfil de produção. Só cria o que ainda não existe, para que reiniciar a aplicação preserve os dados;
+-- mudanças nas entidades precisam ser refletidas aqui.
+
+CREATE TABLE IF NOT EXISTS app_user (
+    id VARCHAR(36) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    lastname VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(255) CHECK (role IN ('USER', 'ADMIN')),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS estacionamento (
+    capacidade INTEGER NOT NULL,
+    id BLOB NOT NULL,
+    endereco VARCHAR(255),
+    nome VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS pagamento (
+    hora_entrada TIMESTAMP NOT NULL,
+    hora_saida TIMESTAMP NOT NULL,
+    valor_centavos BIGINT NOT NULL,
+    uuid BLOB NOT NULL,
+    placa VARCHAR(255) NOT NULL,
+    PRIMARY KEY (uuid)
+);
+
+CREATE TABLE IF NOT EXISTS registro_entrada (
+    vaga_id INTEGER NOT NULL,
+    hora_entrada TIMESTAMP NOT NULL,
+    veiculo_id BIGINT UNIQUE,
+    estacionamento_id BLOB NOT NULL,
+    id BLOB NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE (estacionamento_id, vaga_id)
+);
+
+CREATE TABLE IF NOT EXISTS resumo_diario (
+    data DATE NOT NULL,
+    quantidade INTEGER NOT NULL,
+    minutos_ocupados BIGINT NOT NULL,
+    receita_centavos BIGINT NOT NULL,
+    tempo_total_minutos BIGINT NOT NULL,
+    estacionamento_id BLOB,
+    id BLOB NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE (estacionamento_id, data)
+);
+
+CREATE TABLE IF NOT EXISTS veiculo (
+    id INTEGER,
+    cor VARCHAR(255) NOT NULL,
+    modelo VARCHAR(255) NOT NULL,
+    placa VARCHAR(255) NOT NULL UNIQUE,
+    tipo_veiculo VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_pagamento_hora_saida ON pagamento (hora_saida);
+-- substituído pelo índice que cobre o cursor (hora_saida, uuid) do histórico
+DROP INDEX IF EXISTS idx_pagamento_placa_hora_saida;
+CREATE INDEX IF NOT EXISTS idx_pagamento_placa_saida_uuid ON pagamento (placa, hora_saida DESC, uuid DESC);
+CREATE INDEX IF NOT EXISTS idx_resumo_diario_data ON resumo_diario (data);
@@ -0,0 +1,66 @@
+package br.ifsp.demo.benchmark;
+
+import br.ifsp.demo.components.EntradasAtivas;
+import br.ifsp.demo.components.EventosEstacionamento;
+import br.ifsp.demo.components.MetricasEstacionamento;
+import br.ifsp.demo.components.OcupacaoVagas;
+import br.ifsp.demo.model.Estacionamento;
+import br.ifsp.demo.repository.EstacionamentoRepository;
+import br.ifsp.demo.repository.PagamentoRepository;
+import br.ifsp.demo.repository.RegistroEntradaRepository;
+import br.ifsp.demo.repository.ResumoDiarioRepository;
+import br.ifsp.demo.service.CalculadoraDeTarifa;
+import br.ifsp.demo.service.EstacionamentoService;
+import br.ifsp.demo.service.VeiculoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AlocacaoVagasBenchmark {
+
+    @Param({"50", "3000"})
+    public int capacidade;
+
+    @Param({"0.5", "0.99"})
+    public double ocupacao;
+
+    private EstacionamentoService estacionamentoService;
+    private Estacionamento estacionamento;
+
+    @Setup
+    public void preencherEstacionamento() {
+        estacionamento = new Estacionamento("Estacionamento Benchmark", "Rua Benchmark", capacidade);
+        ReflectionTestUtils.setField(estacionamento, "id", UUID.randomUUID());
+
+        List<Integer> vagas = new ArrayList<>();
+        for (int vaga = 1; vaga <= capacidade; vaga++)
+            vagas.add(vaga);
+        Collections.shuffle(vagas, new Random(42));
+
+        OcupacaoVagas ocupacaoVagas = new OcupacaoVagas();
+        ocupacaoVagas.registrar(estacionamento, vagas.subList(0, (int) Math.min(capacidade - 1, capacidade * ocupacao)));
+
+        estacionamentoService = new EstacionamentoService(mock(EstacionamentoRepository.class),
+                mock(RegistroEntradaRepository.class), mock(PagamentoRepository.class),
+                mock(ResumoDiarioRepository.class), mock(VeiculoService.class), mock(CalculadoraDeTarifa.class),
+                ocupacaoVagas, new EntradasAtivas(), mock(EventosEstacionamento.class),
+                mock(MetricasEstacionamento.class), mock(PlatformTransactionManager.class));
+    }
+
+    @Benchmark
+    public Integer findNextAvailableSpot() {
+        return estacionamentoService.findNextAvailableSpot(estacionamento);
+    }
+}
@@ -0,0 +1,47 @@
+package br.ifsp.demo.benchmark;
+
+import org.junit.jupiter.api.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("Benchmark")
+class BenchmarksJmhTest {
+
+    // -Djmh.incluir=Tarifa limita a execução; -Djmh.resultado muda o arquivo JSON comparado entre versões
+    private static final String INCLUIR = System.getProperty("jmh.incluir", BenchmarksJmhTest.class.getPackageName() + ".*Benchmark");
+    private static final Path RESULTADO = Path.of(System.getProperty("jmh.resultado", "target/jmh/resultados.json"));
+
+    @Test
+    @DisplayName("Benchmarks JMH de tarifa, alocação, relatórios e serialização devem gerar resultados em JSON")
+    void executarBenchmarks() throws RunnerException, IOException {
+        Files.createDirectories(RESULTADO.toAbsolutePath().getParent());
+        Options opcoes = new OptionsBuilder()
+                .include(INCLUIR)
+                .forks(Integer.getInteger("jmh.forks", 1))
+                .warmupIterations(Integer.getInteger("jmh.aquecimento", 3))
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(Integer.getInteger("jmh.iteracoes", 5))
+                .measurementTime(TimeValue.seconds(1))
+                .jvmArgsAppend("-Xmx2g")
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULTADO.toString())
+                .build();
+
+        Collection<RunResult> resultados = new Runner(opcoes).run();
+
+        assertThat(resultados).isNotEmpty();
+        assertThat(RESULTADO).isNotEmptyFile();
+    }
+}
@@ -0,0 +1,104 @@
+package br.ifsp.demo.benchmark;
+
+import br.ifsp.demo.components.CalculadoraTempoPermanencia;
+import br.ifsp.demo.components.OcupacaoVagas;
+import br.ifsp.demo.components.ValorPermanencia;
+import br.ifsp.demo.dto.RelatorioDTO;
+import br.ifsp.demo.model.Estacionamento;
+import br.ifsp.demo.model.Pagamento;
+import br.ifsp.demo.model.RegistroEntrada;
+import br.ifsp.demo.model.ResumoDiario;
+import br.ifsp.demo.model.Veiculo;
+import br.ifsp.demo.repository.PagamentoRepository;
+import br.ifsp.demo.repository.ResumoDiarioRepository;
+import br.ifsp.demo.service.CalculadoraDeTarifa;
+import br.ifsp.demo.service.RelatorioService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RelatorioBenchmark {
+
+    private static final int DIAS = 30;
+    private static final int PAGAMENTOS_POR_ESTACIONAMENTO = 1_000;
+    private static final LocalDate PRIMEIRO_DIA = LocalDate.of(2024, 6, 1);
+
+    @Param({"10000", "1000000"})
+    public int pagamentos;
+
+    private List<Pagamento> pagamentosDoMes;
+    private Estacionamento[] estacionamentos;
+    private RelatorioService relatorioService;
+
+    @Setup(Level.Trial)
+    public void gerarPagamentos() {
+        CalculadoraDeTarifa calculadora = new CalculadoraTempoPermanencia(new ValorPermanencia());
+        estacionamentos = new Estacionamento[Math.max(1, pagamentos / PAGAMENTOS_POR_ESTACIONAMENTO)];
+        for (int i = 0; i < estacionamentos.length; i++) {
+            estacionamentos[i] = new Estacionamento("Estacionamento " + i, "Rua Benchmark", 3000);
+            ReflectionTestUtils.setField(estacionamentos[i], "id", UUID.randomUUID());
+        }
+
+        Veiculo[] veiculos = new Veiculo[9000];
+        for (int i = 0; i < veiculos.length; i++)
+            veiculos[i] = new Veiculo("BEN" + (i + 1000), "carro", "Gol", "Prata");
+
+        Random random = new Random(42);
+        pagamentosDoMes = new ArrayList<>(pagamentos);
+        for (int i = 0; i < pagamentos; i++) {
+            LocalDateTime saida = PRIMEIRO_DIA.plusDays(i % DIAS).atTime(8 + random.nextInt(14), random.nextInt(60));
+            LocalDateTime entrada = saida.minusMinutes(15 + random.nextInt(600));
+            RegistroEntrada registro = new RegistroEntrada(veiculos[i % veiculos.length],
+                    estacionamentos[i % estacionamentos.length], 1);
+            pagamentosDoMes.add(new Pagamento(registro, entrada, saida, calculadora));
+        }
+
+        List<ResumoDiario> resumos = agregarPagamentos();
+        Map<LocalDate, List<ResumoDiario>> resumosPorDia = new HashMap<>();
+        resumos.forEach(resumo -> resumosPorDia.computeIfAbsent(resumo.getData(), dia -> new ArrayList<>()).add(resumo));
+
+        ResumoDiarioRepository resumoDiarioRepository = mock(ResumoDiarioRepository.class);
+        when(resumoDiarioRepository.findByData(any())).thenAnswer(invocation ->
+                resumosPorDia.getOrDefault(invocation.<LocalDate>getArgument(0), List.of()));
+        when(resumoDiarioRepository.findByDataBetween(any(), any())).thenReturn(resumos);
+
+        OcupacaoVagas ocupacaoVagas = new OcupacaoVagas();
+        for (Estacionamento estacionamento : estacionamentos)
+            ocupacaoVagas.registrar(estacionamento, List.of());
+        relatorioService = new RelatorioService(mock(PagamentoRepository.class), resumoDiarioRepository, ocupacaoVagas);
+    }
+
+    @Benchmark
+    public List<ResumoDiario> agregarPagamentos() {
+        Map<Estacionamento, Map<LocalDate, ResumoDiario>> resumos = new HashMap<>();
+        for (int i = 0; i < pagamentosDoMes.size(); i++) {
+            Pagamento pagamento = pagamentosDoMes.get(i);
+            Estacionamento estacionamento = estacionamentos[i % estacionamentos.length];
+            resumos.computeIfAbsent(estacionamento, e -> new HashMap<>())
+                    .computeIfAbsent(pagamento.getHoraSaida().toLocalDate(), data -> new ResumoDiario(estacionamento, data))
+                    .registrarPagamento(pagamento);
+        }
+        return resumos.values().stream().flatMap(porDia -> porDia.values().stream()).toList();
+    }
+
+    @Benchmark
+    public RelatorioDTO relatorioDiario() {
+        return relatorioService.gerarRelatorioDesempenho(PRIMEIRO_DIA.plusDays(DIAS / 2));
+    }
+
+    @Benchmark
+    public Map<String, Object> relatorioMensal() {
+        return relatorioService.gerarRelatorioMensal(PRIMEIRO_DIA.getMonthValue(), PRIMEIRO_DIA.getYear());
+    }
+}
@@ -0,0 +1,39 @@
+package br.ifsp.demo.benchmark;
+
+import br.ifsp.demo.model.Estacionamento;
+import br.ifsp.demo.model.RegistroEntrada;
+import br.ifsp.demo.model.Veiculo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializacaoEntradasBenchmark {
+
+    @Param({"100", "3000"})
+    public int entradas;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<RegistroEntrada> registros;
+
+    @Setup
+    public void gerarEntradas() {
+        Estacionamento estacionamento = new Estacionamento("Estacionamento Benchmark", "Rua Benchmark", entradas);
+        registros = new ArrayList<>(entradas);
+        for (int vaga = 1; vaga <= entradas; vaga++)
+            registros.add(new RegistroEntrada(
+                    new Veiculo("JSN" + (vaga + 1000), "carro", "Gol", "Prata"), estacionamento, vaga));
+    }
+
+    @Benchmark
+    public byte[] serializarEntradas() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(registros);
+    }
+}
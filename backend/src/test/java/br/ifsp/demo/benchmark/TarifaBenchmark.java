@@ -0,0 +1,84 @@
+package br.ifsp.demo.benchmark;
+
+import br.ifsp.demo.components.CalculadoraTempoPermanencia;
+import br.ifsp.demo.components.GradesTarifarias;
+import br.ifsp.demo.components.ValorPermanencia;
+import br.ifsp.demo.dto.GradeTarifariaDTO;
+import br.ifsp.demo.dto.PeriodoTarifaDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TarifaBenchmark {
+
+    private static final int PERMANENCIAS = 1024;
+
+    private final CalculadoraTempoPermanencia calculadora = new CalculadoraTempoPermanencia(new ValorPermanencia());
+    private final LocalDateTime[] entradas = new LocalDateTime[PERMANENCIAS];
+    private final LocalDateTime[] saidas = new LocalDateTime[PERMANENCIAS];
+    private int indice;
+
+    @Setup
+    public void gerarPermanencias() {
+        Random random = new Random(42);
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < PERMANENCIAS; i++) {
+            entradas[i] = inicio.plusMinutes(random.nextInt(60 * 24 * 30));
+            saidas[i] = entradas[i].plusMinutes(random.nextInt(60 * 48));
+        }
+    }
+
+    @Benchmark
+    public long calcularCentavos() {
+        int i = indice++ & (PERMANENCIAS - 1);
+        return calculadora.calcularCentavos(entradas[i], saidas[i]);
+    }
+
+    @State(Scope.Benchmark)
+    public static class ComGrade {
+
+        @Param({"1", "30"})
+        public int dias;
+
+        private final CalculadoraTempoPermanencia calculadora;
+        private final LocalDateTime[] entradas = new LocalDateTime[PERMANENCIAS];
+        private final LocalDateTime[] saidas = new LocalDateTime[PERMANENCIAS];
+        private int indice;
+
+        public ComGrade() {
+            GradesTarifarias grades = new GradesTarifarias();
+            grades.salvar(new GradeTarifariaDTO(null, "moto", null, List.of(
+                    new PeriodoTarifaDTO("noturno", EnumSet.allOf(DayOfWeek.class),
+                            LocalTime.of(22, 0), LocalTime.of(6, 0), new BigDecimal("0.80")),
+                    new PeriodoTarifaDTO("fim de semana", EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY),
+                            LocalTime.MIDNIGHT, LocalTime.MIDNIGHT, new BigDecimal("0.90")))));
+            calculadora = new CalculadoraTempoPermanencia(new ValorPermanencia(), grades);
+        }
+
+        @Setup
+        public void gerarPermanencias() {
+            Random random = new Random(42);
+            LocalDateTime inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+            for (int i = 0; i < PERMANENCIAS; i++) {
+                entradas[i] = inicio.plusMinutes(random.nextInt(60 * 24 * 30));
+                saidas[i] = entradas[i].plusDays(dias - 1).plusMinutes(random.nextInt(60 * 24));
+            }
+        }
+    }
+
+    @Benchmark
+    public long calcularCentavosComGrade(ComGrade grade) {
+        int i = grade.indice++ & (PERMANENCIAS - 1);
+        return grade.calculadora.calcularCentavos(grade.entradas[i], grade.saidas[i], "moto", null);
+    }
+}
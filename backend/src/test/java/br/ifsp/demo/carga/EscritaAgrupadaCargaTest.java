@@ -0,0 +1,187 @@
+package br.ifsp.demo.carga;
+
+import br.ifsp.demo.components.EscritaAgrupada;
+import br.ifsp.demo.dto.CriarEstacionamentoDTO;
+import br.ifsp.demo.model.Veiculo;
+import br.ifsp.demo.service.EstacionamentoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Portarias registrando entradas e saídas com um commit por operação e depois pela escrita agrupada, no mesmo
+ * banco e com {@code synchronous=FULL}, para que cada commit pague o seu fsync. Uma em cada dez saídas é de um
+ * veículo que não entrou, para exercitar a recusa dentro do lote. Executar com
+ * {@code mvn test -Pcarga -Dtest=EscritaAgrupadaCargaTest}; -Dcarga.portarias, -Dcarga.segundos, -Dcarga.janelaMs e
+ * -Dcarga.loteMaximo ajustam o cenário e as duas medições vão para target/carga/escrita-agrupada.json.
+ */
+@Tag("Carga")
+@ActiveProfiles(resolver = RelatoriosDuranteEntradasCargaTest.PerfilDaCarga.class)
+@SpringBootTest(properties = {
+        "estacionamento.ocupacao.reconciliacao-ms=3600000",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.springframework.jdbc=INFO"
+})
+class EscritaAgrupadaCargaTest {
+
+    private static final int PORTARIAS = Integer.getInteger("carga.portarias", 32);
+    private static final int SEGUNDOS = Integer.getInteger("carga.segundos", 10);
+    private static final long JANELA_MS = Long.getLong("carga.janelaMs", 2);
+    private static final int LOTE_MAXIMO = Integer.getInteger("carga.loteMaximo", 64);
+    private static final double GANHO_MINIMO = Double.parseDouble(System.getProperty("carga.minGanho", "1.0"));
+    private static final Path RESULTADO = Path.of(System.getProperty("carga.resultado",
+            "target/carga/escrita-agrupada.json"));
+
+    private static Path banco;
+
+    @Autowired
+    private EstacionamentoService estacionamentoService;
+
+    @Autowired
+    private PlatformTransactionManager transacoes;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void bancoTemporario(DynamicPropertyRegistry registry) throws IOException {
+        banco = Files.createTempFile("carga-escrita-agrupada", ".db");
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + banco);
+        registry.add("estacionamento.sqlite.synchronous", () -> System.getProperty("carga.synchronous", "FULL"));
+    }
+
+    @AfterAll
+    static void removerBanco() throws IOException {
+        for (String sufixo : new String[]{"", "-wal", "-shm", "-journal"})
+            Files.deleteIfExists(Path.of(banco + sufixo));
+    }
+
+    @Test
+    @DisplayName("Escrita agrupada deve aumentar a vazão da portaria sem perder nenhuma operação confirmada")
+    void escritaAgrupadaDeveAumentarVazao() throws Exception {
+        UUID estacionamento = estacionamentoService.criarEstacionamento(
+                new CriarEstacionamentoDTO("Estacionamento Carga", "Rua do Commit", PORTARIAS * 2)).getId();
+
+        Medicao individual = medir(new EscritaAgrupada(transacoes, new SimpleMeterRegistry(), false, JANELA_MS, LOTE_MAXIMO),
+                "I", estacionamento);
+        SimpleMeterRegistry registryAgrupada = new SimpleMeterRegistry();
+        Medicao agrupada = medir(new EscritaAgrupada(transacoes, registryAgrupada, true, JANELA_MS, LOTE_MAXIMO),
+                "A", estacionamento);
+        double loteMedio = registryAgrupada.get("estacionamento.escrita.lote").summary().mean();
+
+        Files.createDirectories(RESULTADO.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(RESULTADO.toFile(), Map.of(
+                "portarias", PORTARIAS, "segundos", SEGUNDOS, "janelaMs", JANELA_MS, "loteMaximo", LOTE_MAXIMO,
+                "loteMedio", loteMedio, "individual", individual.resumo(), "agrupada", agrupada.resumo()));
+        System.out.printf("%n%-12s %10s %10s %10s %10s %8s%n", "Cenário", "Ops/s", "p50 ms", "p99 ms", "Recusas", "Erros");
+        System.out.println(individual.linha("individual"));
+        System.out.println(agrupada.linha("agrupada"));
+        System.out.printf("Lote médio: %.1f operações por commit%n", loteMedio);
+
+        assertThat(individual.erros.sum()).isZero();
+        assertThat(agrupada.erros.sum()).isZero();
+        assertThat(agrupada.recusas.sum()).isPositive();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pagamento", Long.class))
+                .isEqualTo(individual.saidas.sum() + agrupada.saidas.sum());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM registro_entrada", Long.class)).isZero();
+        assertThat(agrupada.opsPorSegundo()).isGreaterThanOrEqualTo(individual.opsPorSegundo() * GANHO_MINIMO);
+    }
+
+    private Medicao medir(EscritaAgrupada escrita, String cenario, UUID estacionamento) throws InterruptedException {
+        Medicao medicao = new Medicao();
+        AtomicBoolean rodando = new AtomicBoolean(true);
+        ExecutorService threads = Executors.newFixedThreadPool(PORTARIAS);
+        for (int i = 0; i < PORTARIAS; i++) {
+            int portaria = i;
+            threads.submit(() -> operarPortaria(escrita, cenario, portaria, estacionamento, rodando, medicao));
+        }
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(SEGUNDOS));
+        rodando.set(false);
+        threads.shutdown();
+        assertThat(threads.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        escrita.encerrar();
+        return medicao;
+    }
+
+    private void operarPortaria(EscritaAgrupada escrita, String cenario, int portaria, UUID estacionamento,
+                                AtomicBoolean rodando, Medicao medicao) {
+        for (int i = 0; rodando.get(); i++) {
+            String placa = String.format("%s%02d%05d", cenario, portaria, i % 100_000);
+            Veiculo veiculo = new Veiculo(placa, "carro", "Gol", "Prata");
+            executar(medicao, () -> escrita.executar(() -> estacionamentoService.registrar(veiculo, estacionamento)));
+            if (i % 10 == 0)
+                executar(medicao, () -> escrita.executar(() -> estacionamentoService.registrarSaida("X" + placa)));
+            if (executar(medicao, () -> escrita.executar(() -> estacionamentoService.registrarSaida(placa))))
+                medicao.saidas.increment();
+        }
+    }
+
+    private static boolean executar(Medicao medicao, Runnable operacao) {
+        long inicio = System.nanoTime();
+        try {
+            operacao.run();
+            medicao.latencias.add(System.nanoTime() - inicio);
+            return true;
+        } catch (ResponseStatusException e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND)
+                medicao.recusas.increment();
+            else
+                medicao.erros.increment();
+        } catch (RuntimeException e) {
+            medicao.erros.increment();
+        }
+        return false;
+    }
+
+    private static final class Medicao {
+
+        private final Queue<Long> latencias = new ConcurrentLinkedQueue<>();
+        private final LongAdder saidas = new LongAdder();
+        private final LongAdder recusas = new LongAdder();
+        private final LongAdder erros = new LongAdder();
+
+        double opsPorSegundo() {
+            return (double) latencias.size() / SEGUNDOS;
+        }
+
+        double percentil(double percentil) {
+            long[] ordenadas = latencias.stream().mapToLong(Long::longValue).sorted().toArray();
+            if (ordenadas.length == 0)
+                return 0.0;
+            return ordenadas[Math.max((int) Math.ceil(percentil * ordenadas.length) - 1, 0)] / 1_000_000.0;
+        }
+
+        Map<String, Object> resumo() {
+            return Map.of("opsPorSegundo", opsPorSegundo(), "p50Ms", percentil(0.50), "p99Ms", percentil(0.99),
+                    "recusas", recusas.sum(), "erros", erros.sum());
+        }
+
+        String linha(String cenario) {
+            return String.format("%-12s %10.1f %10.2f %10.2f %10d %8d", cenario, opsPorSegundo(),
+                    percentil(0.50), percentil(0.99), recusas.sum(), erros.sum());
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package br.ifsp.demo.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Carga de portaria contra o servidor embutido: cada cliente é uma virtual thread que autentica,
+ * registra entradas, consulta /entradas, dá saída ou cancela e pede relatórios, como um operador de cancela.
+ * Executar com {@code mvn test -Pcarga -Dtest=PortariaCargaTest}; -Dcarga.clientes, -Dcarga.segundos, -Dcarga.aquecimento e
+ * -Dcarga.pausaMs ajustam o cenário e o resultado por endpoint vai para target/carga/resultado.json.
+ */
+@Tag("Carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "estacionamento.ocupacao.reconciliacao-ms=3600000",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.springframework.jdbc=INFO",
+        "logging.level.br.ifsp.demo.acesso=WARN"
+})
+class PortariaCargaTest {
+
+    private static final int CLIENTES = Integer.getInteger("carga.clientes", 200);
+    private static final int SEGUNDOS = Integer.getInteger("carga.segundos", 20);
+    private static final int AQUECIMENTO = Integer.getInteger("carga.aquecimento", 5);
+    private static final int PAUSA_MS = Integer.getInteger("carga.pausaMs", 10);
+    private static final double TAXA_MAXIMA_ERROS = Double.parseDouble(System.getProperty("carga.maxTaxaErros", "0.01"));
+    private static final Path RESULTADO = Path.of(System.getProperty("carga.resultado", "target/carga/resultado.json"));
+    private static final String EMAIL = "operador.carga@estacionamento.com";
+    private static final String SENHA = "carga123";
+
+    private static Path banco;
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<String, Medicao> medicoes = new ConcurrentSkipListMap<>();
+    private final AtomicBoolean medindo = new AtomicBoolean();
+
+    @DynamicPropertySource
+    static void bancoTemporario(DynamicPropertyRegistry registry) throws IOException {
+        banco = Files.createTempFile("carga-portaria", ".db");
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + banco);
+    }
+
+    @AfterAll
+    static void removerBanco() throws IOException {
+        Files.deleteIfExists(banco);
+    }
+
+    @Test
+    @DisplayName("Clientes de portaria simultâneos devem ser atendidos sem erros de servidor")
+    void cargaDePortaria() throws Exception {
+        HttpResponse<String> cadastro = cliente.send(post("/api/v1/register", null,
+                "{\"name\":\"Operador\",\"lastname\":\"Carga\",\"email\":\"" + EMAIL + "\",\"password\":\"" + SENHA + "\"}"),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(cadastro.statusCode()).isEqualTo(201);
+
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(AQUECIMENTO + SEGUNDOS);
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTES; i++) {
+                int numero = i;
+                clientes.submit(() -> operarCancela(numero, fim));
+            }
+            Thread.sleep(TimeUnit.SECONDS.toMillis(AQUECIMENTO));
+            medindo.set(true);
+        }
+
+        List<Map<String, Object>> relatorio = relatorio();
+        Files.createDirectories(RESULTADO.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(RESULTADO.toFile(), Map.of(
+                "clientes", CLIENTES, "segundos", SEGUNDOS, "pausaMs", PAUSA_MS, "endpoints", relatorio));
+
+        long requisicoes = medicoes.values().stream().mapToLong(Medicao::total).sum();
+        long erros = medicoes.values().stream().mapToLong(medicao -> medicao.erros.sum()).sum();
+        assertThat(medicoes).containsKeys("authenticate", "entrada", "saida", "cancelamento", "entradas", "relatorio");
+        assertThat(requisicoes).isPositive();
+        assertThat((double) erros / requisicoes).isLessThanOrEqualTo(TAXA_MAXIMA_ERROS);
+    }
+
+    private void operarCancela(int numero, long fim) {
+        Random random = new Random(numero);
+        String token = null;
+        for (int iteracao = 0; System.nanoTime() < fim; iteracao++) {
+            if (token == null || iteracao % 50 == 0)
+                token = autenticar(token);
+            if (token == null) {
+                pausar(random);
+                continue;
+            }
+
+            String placa = String.format("CG%04d%d", numero, iteracao % 5);
+            HttpResponse<String> entrada = enviar("entrada", post("/estacionamento/registar-entrada", token,
+                    "{\"placa\":\"" + placa + "\",\"tipoVeiculo\":\"carro\",\"modelo\":\"Gol\",\"cor\":\"Prata\"}"));
+            pausar(random);
+
+            if (random.nextInt(4) == 0)
+                enviar("entradas", get("/estacionamento/entradas", token));
+            if (random.nextInt(10) == 0)
+                enviar("relatorio", get("/estacionamento/relatorios/desempenho?data=" + LocalDate.now(), token));
+            if (random.nextInt(50) == 0)
+                enviar("relatorio_mensal", get("/estacionamento/relatorios/mensal?mes="
+                        + LocalDate.now().getMonthValue() + "&ano=" + LocalDate.now().getYear(), token));
+
+            if (entrada != null && entrada.statusCode() == 200) {
+                if (random.nextInt(10) == 0)
+                    enviar("cancelamento", post("/estacionamento/cancelar-entrada?placa=" + placa, token, ""));
+                else
+                    enviar("saida", post("/estacionamento/registrar-saida?placa=" + placa, token, ""));
+            }
+            pausar(random);
+        }
+    }
+
+    private String autenticar(String tokenAtual) {
+        HttpResponse<String> resposta = enviar("authenticate", post("/api/v1/authenticate", null,
+                "{\"username\":\"" + EMAIL + "\",\"password\":\"" + SENHA + "\"}"));
+        if (resposta == null || resposta.statusCode() != 200)
+            return tokenAtual;
+        try {
+            return objectMapper.readTree(resposta.body()).get("token").asText();
+        } catch (IOException e) {
+            return tokenAtual;
+        }
+    }
+
+    private HttpResponse<String> enviar(String endpoint, HttpRequest requisicao) {
+        Medicao medicao = medicoes.computeIfAbsent(endpoint, nome -> new Medicao());
+        long inicio = System.nanoTime();
+        try {
+            HttpResponse<String> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofString());
+            if (medindo.get())
+                medicao.registrar(System.nanoTime() - inicio, resposta.statusCode());
+            return resposta;
+        } catch (IOException e) {
+            if (medindo.get())
+                medicao.registrar(System.nanoTime() - inicio, 0);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private HttpRequest post(String caminho, String token, String corpo) {
+        return requisicao(caminho, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+
+    private HttpRequest get(String caminho, String token) {
+        return requisicao(caminho, token).GET().build();
+    }
+
+    private HttpRequest.Builder requisicao(String caminho, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .timeout(Duration.ofSeconds(30));
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private static void pausar(Random random) {
+        if (PAUSA_MS <= 0)
+            return;
+        try {
+            Thread.sleep(random.nextInt(PAUSA_MS * 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<Map<String, Object>> relatorio() {
+        List<Map<String, Object>> linhas = new ArrayList<>();
+        System.out.printf("%n%-18s %10s %10s %10s %10s %10s %10s  %s%n",
+                "Endpoint", "Req", "Req/s", "p50 ms", "p99 ms", "4xx %", "Erros %", "Status");
+        medicoes.forEach((endpoint, medicao) -> {
+            long[] latencias = medicao.latenciasOrdenadas();
+            long total = latencias.length;
+            Map<String, Object> linha = new LinkedHashMap<>();
+            linha.put("endpoint", endpoint);
+            linha.put("requisicoes", total);
+            linha.put("requisicoesPorSegundo", (double) total / SEGUNDOS);
+            linha.put("p50Ms", percentil(latencias, 0.50));
+            linha.put("p99Ms", percentil(latencias, 0.99));
+            linha.put("taxaRejeicoes", total == 0 ? 0.0 : (double) medicao.rejeicoes.sum() / total);
+            linha.put("taxaErros", total == 0 ? 0.0 : (double) medicao.erros.sum() / total);
+            Map<Integer, Long> porStatus = new TreeMap<>();
+            medicao.porStatus.forEach((status, quantidade) -> porStatus.put(status, quantidade.sum()));
+            linha.put("porStatus", porStatus);
+            linhas.add(linha);
+
+            System.out.printf("%-18s %10d %10.1f %10.2f %10.2f %10.2f %10.2f  %s%n", endpoint, total,
+                    linha.get("requisicoesPorSegundo"), linha.get("p50Ms"), linha.get("p99Ms"),
+                    (double) linha.get("taxaRejeicoes") * 100, (double) linha.get("taxaErros") * 100, porStatus);
+        });
+        return linhas;
+    }
+
+    private static double percentil(long[] latencias, double percentil) {
+        if (latencias.length == 0)
+            return 0.0;
+        int indice = (int) Math.ceil(percentil * latencias.length) - 1;
+        return latencias[Math.max(indice, 0)] / 1_000_000.0;
+    }
+
+    private static final class Medicao {
+
+        private final Queue<Long> latencias = new ConcurrentLinkedQueue<>();
+        private final LongAdder rejeicoes = new LongAdder();
+        private final LongAdder erros = new LongAdder();
+        private final Map<Integer, LongAdder> porStatus = new ConcurrentSkipListMap<>();
+
+        void registrar(long nanos, int status) {
+            latencias.add(nanos);
+            porStatus.computeIfAbsent(status, codigo -> new LongAdder()).increment();
+            if (status == 0 || status >= 500)
+                erros.increment();
+            else if (status >= 400)
+                rejeicoes.increment();
+        }
+
+        long total() {
+            return latencias.size();
+        }
+
+        long[] latenciasOrdenadas() {
+            long[] ordenadas = latencias.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(ordenadas);
+            return ordenadas;
+        }
+    }
+}
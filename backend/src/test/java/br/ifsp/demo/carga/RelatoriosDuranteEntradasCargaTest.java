@@ -0,0 +1,212 @@
+package br.ifsp.demo.carga;
+
+import br.ifsp.demo.dto.CriarEstacionamentoDTO;
+import br.ifsp.demo.model.Veiculo;
+import br.ifsp.demo.service.EstacionamentoService;
+import br.ifsp.demo.service.RelatorioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ActiveProfilesResolver;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Portaria registrando entradas e saídas enquanto relatórios mensais e exportações CSV do mês
+ * leem o banco ao mesmo tempo. Mede a portaria sozinha e depois com os relatórios rodando, e grava as
+ * duas medições em target/carga/relatorios-durante-entradas.json. Executar com
+ * {@code mvn test -Pcarga -Dtest=RelatoriosDuranteEntradasCargaTest}; -Dcarga.perfil=padrao repete a
+ * medição sem o perfil de produção (journal de rollback e pool comum) para comparar.
+ */
+@Tag("Carga")
+@ActiveProfiles(resolver = RelatoriosDuranteEntradasCargaTest.PerfilDaCarga.class)
+@SpringBootTest(properties = {
+        "estacionamento.ocupacao.reconciliacao-ms=3600000",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.springframework.jdbc=INFO"
+})
+class RelatoriosDuranteEntradasCargaTest {
+
+    private static final int PORTARIAS = Integer.getInteger("carga.portarias", 4);
+    private static final int RELATORIOS = Integer.getInteger("carga.relatorios", 2);
+    private static final int SEGUNDOS = Integer.getInteger("carga.segundos", 10);
+    private static final int PAGAMENTOS = Integer.getInteger("carga.pagamentos", 200_000);
+    private static final double RAZAO_MINIMA_VAZAO = Double.parseDouble(System.getProperty("carga.minRazaoVazao", "0.5"));
+    private static final Path RESULTADO = Path.of(System.getProperty("carga.resultado",
+            "target/carga/relatorios-durante-entradas.json"));
+    private static final LocalDate HOJE = LocalDate.now();
+
+    private static Path banco;
+
+    @Autowired
+    private EstacionamentoService estacionamentoService;
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public static class PerfilDaCarga implements ActiveProfilesResolver {
+        @Override
+        public String[] resolve(Class<?> testClass) {
+            String perfil = System.getProperty("carga.perfil", "producao");
+            return "padrao".equals(perfil) ? new String[0] : perfil.split(",");
+        }
+    }
+
+    @DynamicPropertySource
+    static void bancoTemporario(DynamicPropertyRegistry registry) throws IOException {
+        banco = Files.createTempFile("carga-relatorios", ".db");
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + banco);
+    }
+
+    @AfterAll
+    static void removerBanco() throws IOException {
+        for (String sufixo : new String[]{"", "-wal", "-shm", "-journal"})
+            Files.deleteIfExists(Path.of(banco + sufixo));
+    }
+
+    @Test
+    @DisplayName("Entradas devem seguir sem erros enquanto relatórios do mês leem o banco")
+    void entradasDuranteRelatorios() throws Exception {
+        UUID estacionamento = estacionamentoService.criarEstacionamento(
+                new CriarEstacionamentoDTO("Estacionamento Carga", "Rua dos Relatórios", PORTARIAS * 10)).getId();
+        popularPagamentosDoMes();
+
+        Medicao sozinha = medir(estacionamento, 0);
+        Medicao comRelatorios = medir(estacionamento, RELATORIOS);
+
+        Files.createDirectories(RESULTADO.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(RESULTADO.toFile(), Map.of(
+                "perfil", System.getProperty("carga.perfil", "producao"),
+                "portarias", PORTARIAS, "relatorios", RELATORIOS, "segundos", SEGUNDOS, "pagamentos", PAGAMENTOS,
+                "sozinha", sozinha.resumo(), "comRelatorios", comRelatorios.resumo()));
+        System.out.printf("%n%-16s %10s %10s %10s %8s %10s%n", "Cenário", "Ops/s", "p50 ms", "p99 ms", "Erros", "Relatórios");
+        System.out.println(sozinha.linha("sozinha"));
+        System.out.println(comRelatorios.linha("com relatórios"));
+
+        assertThat(comRelatorios.relatorios.sum()).isPositive();
+        assertThat(sozinha.erros.sum()).isZero();
+        assertThat(comRelatorios.erros.sum()).isZero();
+        assertThat(comRelatorios.opsPorSegundo()).isGreaterThanOrEqualTo(sozinha.opsPorSegundo() * RAZAO_MINIMA_VAZAO);
+    }
+
+    private void popularPagamentosDoMes() {
+        Random random = new Random(42);
+        LocalDateTime inicioDoMes = HOJE.withDayOfMonth(1).atStartOfDay();
+        List<Object[]> lote = new ArrayList<>(10_000);
+        for (int i = 0; i < PAGAMENTOS; i++) {
+            LocalDateTime saida = inicioDoMes.plusMinutes(random.nextInt(HOJE.getDayOfMonth() * 24 * 60));
+            lote.add(new Object[]{uuid(), "CAR" + (1000 + i % 9000), Timestamp.valueOf(saida.minusMinutes(30)),
+                    Timestamp.valueOf(saida), 1000L + random.nextInt(5000)});
+            if (lote.size() == 10_000 || i == PAGAMENTOS - 1) {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                        "INSERT INTO pagamento (uuid, placa, hora_entrada, hora_saida, valor_centavos) VALUES (?, ?, ?, ?, ?)",
+                        lote));
+                lote.clear();
+            }
+        }
+    }
+
+    private Medicao medir(UUID estacionamento, int relatorios) throws InterruptedException {
+        Medicao medicao = new Medicao();
+        AtomicBoolean rodando = new AtomicBoolean(true);
+        ExecutorService threads = Executors.newFixedThreadPool(PORTARIAS + relatorios);
+        for (int i = 0; i < PORTARIAS; i++) {
+            int portaria = i;
+            threads.submit(() -> operarPortaria(portaria, relatorios, estacionamento, rodando, medicao));
+        }
+        for (int i = 0; i < relatorios; i++)
+            threads.submit(() -> gerarRelatorios(rodando, medicao));
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(SEGUNDOS));
+        rodando.set(false);
+        threads.shutdown();
+        assertThat(threads.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        return medicao;
+    }
+
+    private void operarPortaria(int portaria, int cenario, UUID estacionamento, AtomicBoolean rodando, Medicao medicao) {
+        for (int i = 0; rodando.get(); i++) {
+            String placa = String.format("P%d%d%05d", cenario, portaria, i % 100_000);
+            long inicio = System.nanoTime();
+            try {
+                estacionamentoService.registrar(new Veiculo(placa, "carro", "Gol", "Prata"), estacionamento);
+                estacionamentoService.registrarSaida(placa);
+                medicao.latencias.add(System.nanoTime() - inicio);
+            } catch (RuntimeException e) {
+                medicao.erros.increment();
+            }
+        }
+    }
+
+    private void gerarRelatorios(AtomicBoolean rodando, Medicao medicao) {
+        while (rodando.get()) {
+            relatorioService.gerarRelatorioMensal(HOJE.getMonthValue(), HOJE.getYear());
+            relatorioService.escreverPagamentosCSV(HOJE.withDayOfMonth(1), HOJE, OutputStream.nullOutputStream());
+            medicao.relatorios.increment();
+        }
+    }
+
+    private static byte[] uuid() {
+        UUID uuid = UUID.randomUUID();
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static final class Medicao {
+
+        private final Queue<Long> latencias = new ConcurrentLinkedQueue<>();
+        private final LongAdder erros = new LongAdder();
+        private final LongAdder relatorios = new LongAdder();
+
+        double opsPorSegundo() {
+            return (double) latencias.size() / SEGUNDOS;
+        }
+
+        double percentil(double percentil) {
+            long[] ordenadas = latencias.stream().mapToLong(Long::longValue).sorted().toArray();
+            if (ordenadas.length == 0)
+                return 0.0;
+            return ordenadas[Math.max((int) Math.ceil(percentil * ordenadas.length) - 1, 0)] / 1_000_000.0;
+        }
+
+        Map<String, Object> resumo() {
+            return Map.of("opsPorSegundo", opsPorSegundo(), "p50Ms", percentil(0.50), "p99Ms", percentil(0.99),
+                    "erros", erros.sum(), "relatorios", relatorios.sum());
+        }
+
+        String linha(String cenario) {
+            return String.format("%-16s %10.1f %10.2f %10.2f %8d %10d", cenario, opsPorSegundo(),
+                    percentil(0.50), percentil(0.99), erros.sum(), relatorios.sum());
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package br.ifsp.demo.components;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlocadorDeVagasTest {
+
+    private AlocadorDeVagas alocador;
+
+    @BeforeEach
+    void setUp() {
+        alocador = new AlocadorDeVagas(200);
+    }
+
+    @Nested
+    @DisplayName("Testes funcionais")
+    class TestesFuncionais {
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Deve retornar a vaga 1 quando nenhuma vaga estiver ocupada")
+        void deveRetornarVagaUmQuandoNenhumaVagaOcupada() {
+            assertThat(alocador.proximaVagaLivre()).isEqualTo(1);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Deve retornar a primeira lacuna entre as vagas ocupadas")
+        void deveRetornarPrimeiraLacunaEntreVagasOcupadas() {
+            alocador.reconstruir(List.of(1, 2, 3, 5));
+
+            assertThat(alocador.proximaVagaLivre()).isEqualTo(4);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Deve liberar a vaga para nova alocação após saída")
+        void deveLiberarVagaParaNovaAlocacao() {
+            alocador.ocupar(1);
+            alocador.ocupar(2);
+
+            alocador.liberar(1);
+
+            assertFalse(alocador.estaOcupada(1));
+            assertTrue(alocador.estaOcupada(2));
+            assertThat(alocador.proximaVagaLivre()).isEqualTo(1);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Deve retornar -1 quando todas as vagas estiverem ocupadas")
+        void deveRetornarMenosUmQuandoTodasVagasOcupadas() {
+            alocador = new AlocadorDeVagas(3);
+            alocador.reconstruir(List.of(1, 2, 3));
+
+            assertThat(alocador.proximaVagaLivre()).isEqualTo(-1);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Deve alocar até a última vaga de um estacionamento grande")
+        void deveAlocarAteUltimaVagaDeEstacionamentoGrande() {
+            alocador = new AlocadorDeVagas(3000);
+            for (int vaga = 1; vaga < 3000; vaga++) {
+                alocador.ocupar(vaga);
+            }
+
+            assertThat(alocador.proximaVagaLivre()).isEqualTo(3000);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Reconstruir deve descartar a ocupação anterior")
+        void reconstruirDeveDescartarOcupacaoAnterior() {
+            alocador.ocupar(1);
+
+            alocador.reconstruir(List.of(2));
+
+            assertFalse(alocador.estaOcupada(1));
+            assertTrue(alocador.estaOcupada(2));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Reservar deve falhar quando a vaga já estiver ocupada")
+        void reservarDeveFalharParaVagaOcupada() {
+            assertTrue(alocador.reservar(65));
+            assertFalse(alocador.reservar(65));
+            assertTrue(alocador.estaOcupada(65));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Reservar a próxima vaga livre deve ocupar a vaga retornada")
+        void reservarProximaLivreDeveOcuparVaga() {
+            alocador.reconstruir(List.of(1, 2));
+
+            assertThat(alocador.reservarProximaLivre()).isEqualTo(3);
+            assertThat(alocador.reservarProximaLivre()).isEqualTo(4);
+            assertTrue(alocador.estaOcupada(3));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Contador de ocupação deve acompanhar entradas e saídas")
+        void contadorDeveAcompanharEntradasESaidas() {
+            alocador.ocupar(1);
+            alocador.ocupar(1);
+            alocador.reservar(2);
+            alocador.reservar(2);
+            alocador.liberar(1);
+            alocador.liberar(1);
+
+            assertThat(alocador.getVagasOcupadas()).isEqualTo(1);
+            assertThat(alocador.getVagasLivres()).isEqualTo(199);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Reconciliar deve ignorar divergências vistas uma única vez")
+        void reconciliarDeveIgnorarDivergenciaTransitoria() {
+            alocador.reservar(5);
+            alocador.confirmarReserva(5);
+
+            assertThat(alocador.reconciliar(List::of)).isZero();
+            assertTrue(alocador.estaOcupada(5));
+
+            assertThat(alocador.reconciliar(() -> List.of(5))).isZero();
+            assertThat(alocador.reconciliar(List::of)).isZero();
+            assertTrue(alocador.estaOcupada(5));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Reconciliar não deve liberar vaga com reserva ainda não confirmada")
+        void reconciliarNaoDeveLiberarReservaPendente() {
+            alocador.reservar(1);
+
+            for (int i = 0; i < 3; i++)
+                assertThat(alocador.reconciliar(List::of)).isZero();
+
+            assertTrue(alocador.estaOcupada(1));
+            assertTrue(alocador.reservaPendente(1));
+            assertFalse(alocador.reservar(1));
+            assertThat(alocador.reservarProximaLivre()).isEqualTo(2);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Reserva confirmada durante a leitura do banco não deve contar como divergência")
+        void reservaConfirmadaDuranteLeituraNaoDeveDivergir() {
+            alocador.reservar(7);
+
+            assertThat(alocador.reconciliar(() -> {
+                alocador.confirmarReserva(7);
+                return List.of();
+            })).isZero();
+            assertThat(alocador.reconciliar(List::of)).isZero();
+
+            assertTrue(alocador.estaOcupada(7));
+            assertFalse(alocador.reservaPendente(7));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Reconciliar deve corrigir divergências persistentes")
+        void reconciliarDeveCorrigirDivergenciaPersistente() {
+            alocador.reconstruir(List.of(1, 2));
+
+            alocador.reconciliar(() -> List.of(2, 3));
+            assertThat(alocador.reconciliar(() -> List.of(2, 3))).isEqualTo(2);
+
+            assertFalse(alocador.estaOcupada(1));
+            assertTrue(alocador.estaOcupada(3));
+            assertThat(alocador.getVagasOcupadas()).isEqualTo(2);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Reservas concorrentes não devem entregar a mesma vaga duas vezes")
+        void reservasConcorrentesNaoDevemRepetirVaga() throws Exception {
+            AlocadorDeVagas grande = new AlocadorDeVagas(3000);
+            ExecutorService executor = Executors.newFixedThreadPool(16);
+            try {
+                List<Future<Integer>> reservas = new ArrayList<>();
+                for (int i = 0; i < 4000; i++) {
+                    reservas.add(executor.submit(grande::reservarProximaLivre));
+                }
+
+                List<Integer> vagas = new ArrayList<>();
+                for (Future<Integer> reserva : reservas) {
+                    vagas.add(reserva.get(30, TimeUnit.SECONDS));
+                }
+
+                assertThat(vagas.stream().filter(vaga -> vaga > 0)).hasSize(3000).doesNotHaveDuplicates();
+                assertThat(vagas.stream().filter(vaga -> vaga < 0)).hasSize(1000);
+                assertThat(grande.proximaVagaLivre()).isEqualTo(-1);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes estruturais")
+    class TestesEstruturais {
+
+        @ParameterizedTest
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @ValueSource(ints = {0, -1, 201})
+        @DisplayName("Deve lançar exceção para número de vaga fora da capacidade")
+        void deveLancarExcecaoParaVagaForaDaCapacidade(int vagaId) {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                    alocador.ocupar(vagaId)
+            );
+
+            assertEquals("ID da vaga deve estar entre 1 e 200", exception.getMessage());
+        }
+
+        @ParameterizedTest
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @ValueSource(ints = {0, -1})
+        @DisplayName("Deve lançar exceção para capacidade inválida")
+        void deveLancarExcecaoParaCapacidadeInvalida(int capacidade) {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                    new AlocadorDeVagas(capacidade)
+            );
+
+            assertEquals("Capacidade do estacionamento precisa ser maior que zero", exception.getMessage());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Deve lançar exceção ao reconstruir com lista nula")
+        void deveLancarExcecaoAoReconstruirComListaNula() {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                    alocador.reconstruir(null)
+            );
+
+            assertEquals("Lista de vagas não pode ser nula", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package br.ifsp.demo.components;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AmostragemDeLogTest {
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Deve permitir até o limite por segundo e liberar novamente no segundo seguinte")
+    void devePermitirAteOLimitePorSegundo() {
+        AtomicLong relogio = new AtomicLong(5_000_000_000L);
+        AmostragemDeLog amostragem = new AmostragemDeLog(3, relogio::get);
+
+        int permitidos = 0;
+        for (int i = 0; i < 10; i++)
+            if (amostragem.permitir())
+                permitidos++;
+
+        assertEquals(3, permitidos);
+        assertEquals(7, amostragem.descartados());
+
+        relogio.addAndGet(1_000_000_000L);
+        assertTrue(amostragem.permitir());
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Descartes devem aparecer no contador de logs descartados")
+    void descartesDevemAparecerNoContador() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AmostragemDeLog amostragem = new AmostragemDeLog(1, () -> 0L).medir(registry, "teste");
+
+        for (int i = 0; i < 4; i++)
+            amostragem.permitir();
+
+        assertEquals(3.0, registry.get("estacionamento.log.descartados").tag("log", "teste").functionCounter().count());
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Deve recusar limite menor ou igual a zero")
+    void deveRecusarLimiteInvalido() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new AmostragemDeLog(0));
+
+        assertThat(exception.getMessage()).isEqualTo("Limite por segundo deve ser maior que zero");
+    }
+}
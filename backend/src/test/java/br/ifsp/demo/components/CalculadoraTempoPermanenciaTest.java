@@ -36,7 +36,7 @@ class CalculadoraTempoPermanenciaTest {
         void calcularOValorDeUmaHoraDePermanencia() {
             LocalDateTime saida = entrada.plusMinutes(50);
 
-            assertEquals(10.0, calculadoraTempoPermanencia.calcularValor(entrada, saida));
+            assertEquals(1000L, calculadoraTempoPermanencia.calcularCentavos(entrada, saida));
 
         }
 
@@ -49,7 +49,7 @@ class CalculadoraTempoPermanenciaTest {
 
             saida = entrada.plusHours(5);
 
-            assertEquals(35.0, calculadoraTempoPermanencia.calcularValor(entrada, saida));
+            assertEquals(3500L, calculadoraTempoPermanencia.calcularCentavos(entrada, saida));
 
         }
 
@@ -62,7 +62,7 @@ class CalculadoraTempoPermanenciaTest {
 
             saida = entrada.plusHours(8);
 
-            assertEquals(51.0, calculadoraTempoPermanencia.calcularValor(entrada, saida));
+            assertEquals(5100L, calculadoraTempoPermanencia.calcularCentavos(entrada, saida));
 
         }
 
@@ -75,7 +75,7 @@ class CalculadoraTempoPermanenciaTest {
 
             saida = entrada.plusHours(19);
 
-            assertEquals(111.0, calculadoraTempoPermanencia.calcularValor(entrada, saida));
+            assertEquals(11100L, calculadoraTempoPermanencia.calcularCentavos(entrada, saida));
 
         }
 
@@ -88,7 +88,7 @@ class CalculadoraTempoPermanenciaTest {
 
             saida = entrada.plusHours(29);
 
-            assertEquals(160.0, calculadoraTempoPermanencia.calcularValor(entrada, saida));
+            assertEquals(16000L, calculadoraTempoPermanencia.calcularCentavos(entrada, saida));
 
         }
     }
@@ -101,22 +101,22 @@ class CalculadoraTempoPermanenciaTest {
         @Tag("Functional")
         @Tag("UnitTest")
         @CsvSource({
-                "1, 10.0",
-                "4, 34.0",
-                "5, 35.0",
-                "6, 35.0",
-                "8, 51.0",
-                "9, 55.0",
-                "12, 55.0",
-                "20, 119.0",
-                "24, 120.0"
+                "1, 1000",
+                "4, 3400",
+                "5, 3500",
+                "6, 3500",
+                "8, 5100",
+                "9, 5500",
+                "12, 5500",
+                "20, 11900",
+                "24, 12000"
         })
         @DisplayName("Testando valores limites")
-        void testandoValoresLimites(int horas, double custo) {
+        void testandoValoresLimites(int horas, long custo) {
 
             saida = entrada.plusHours(horas);
 
-            assertEquals(custo, calculadoraTempoPermanencia.calcularValor(entrada, saida));
+            assertEquals(custo, calculadoraTempoPermanencia.calcularCentavos(entrada, saida));
 
         }
 
@@ -129,7 +129,7 @@ class CalculadoraTempoPermanenciaTest {
             saida = entrada.minusHours(1);
 
             IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
-                calculadoraTempoPermanencia.calcularValor(entrada, saida);
+                calculadoraTempoPermanencia.calcularCentavos(entrada, saida);
             });
 
             assertEquals("Horário de saída não pode ser antes do horário de entrada", ex.getMessage());
@@ -147,9 +147,9 @@ class CalculadoraTempoPermanenciaTest {
         void calcularPermanenciaComDuracaoZero() {
             saida = entrada;
 
-            double resultado = calculadoraTempoPermanencia.calcularValor(entrada, saida);
+            long resultado = calculadoraTempoPermanencia.calcularCentavos(entrada, saida);
 
-            assertEquals(10.0, resultado);
+            assertEquals(1000L, resultado);
         }
 
         @Test
@@ -160,7 +160,7 @@ class CalculadoraTempoPermanenciaTest {
             LocalDateTime saida = LocalDateTime.now().plusHours(1);
 
             IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
-                calculadoraTempoPermanencia.calcularValor(null, saida);
+                calculadoraTempoPermanencia.calcularCentavos(null, saida);
             });
 
             assertEquals("horas não podem ser nulas", ex.getMessage());
@@ -174,7 +174,7 @@ class CalculadoraTempoPermanenciaTest {
             LocalDateTime entrada = LocalDateTime.now();
 
             IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
-                calculadoraTempoPermanencia.calcularValor(entrada, null);
+                calculadoraTempoPermanencia.calcularCentavos(entrada, null);
             });
 
             assertEquals("horas não podem ser nulas", ex.getMessage());
@@ -191,9 +191,9 @@ class CalculadoraTempoPermanenciaTest {
         void deveCalcularValorParaExatasSeisHoras() {
             LocalDateTime saida = entrada.plusHours(5).plusMinutes(1);
 
-            double valorEsperado = 35.0;
+            long valorEsperado = 3500;
 
-            double valorCalculado = calculadoraTempoPermanencia.calcularValor(entrada, saida);
+            long valorCalculado = calculadoraTempoPermanencia.calcularCentavos(entrada, saida);
 
             assertEquals(valorEsperado, valorCalculado);
         }
@@ -203,9 +203,9 @@ class CalculadoraTempoPermanenciaTest {
         void deveCalcularValorParaExatasDozeHoras() {
             LocalDateTime saida = entrada.plusHours(11).plusMinutes(1);
 
-            double valorEsperado = 55.0;
+            long valorEsperado = 5500;
 
-            double valorCalculado = calculadoraTempoPermanencia.calcularValor(entrada, saida);
+            long valorCalculado = calculadoraTempoPermanencia.calcularCentavos(entrada, saida);
 
             assertEquals(valorEsperado, valorCalculado);
         }
@@ -215,9 +215,9 @@ class CalculadoraTempoPermanenciaTest {
         void deveCalcularValorParaExatasVinteEQuatroHoras() {
             LocalDateTime saida = entrada.plusHours(23).plusMinutes(1);
 
-            double valorEsperado = 120.0;
+            long valorEsperado = 12000;
 
-            double valorCalculado = calculadoraTempoPermanencia.calcularValor(entrada, saida);
+            long valorCalculado = calculadoraTempoPermanencia.calcularCentavos(entrada, saida);
 
             assertEquals(valorEsperado, valorCalculado);
 
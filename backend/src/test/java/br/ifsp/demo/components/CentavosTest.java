@@ -0,0 +1,33 @@
+package br.ifsp.demo.components;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CentavosTest {
+
+    @Nested
+    @DisplayName("Conversão na borda")
+    class Conversao {
+
+        @ParameterizedTest
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @ValueSource(longs = {0, 5, 10, 99, 100, 2575, 25075, 1_000_000_001L, -5, -2575})
+        @DisplayName("Formatação deve coincidir com a formatação de duas casas em reais")
+        void formatacaoDeveCoincidirComFormatoDeDuasCasas(long centavos) {
+            assertEquals(String.format("%.2f", centavos / 100.0), Centavos.formatar(centavos));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Deve converter centavos em reais")
+        void deveConverterEmReais() {
+            assertEquals(250.75, Centavos.emReais(25075));
+            assertEquals(0.0, Centavos.emReais(0));
+        }
+    }
+}
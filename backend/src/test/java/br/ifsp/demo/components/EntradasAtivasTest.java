@@ -0,0 +1,222 @@
+package br.ifsp.demo.components;
+
+import br.ifsp.demo.model.Estacionamento;
+import br.ifsp.demo.model.RegistroEntrada;
+import br.ifsp.demo.model.Veiculo;
+import org.junit.jupiter.api.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntradasAtivasTest {
+
+    private static final Estacionamento ESTACIONAMENTO = new Estacionamento("Estacionamento Entradas", "Rua Teste", 10);
+
+    private EntradasAtivas entradasAtivas;
+
+    @BeforeEach
+    void setUp() {
+        entradasAtivas = new EntradasAtivas();
+    }
+
+    private RegistroEntrada criarEntrada(String placa, int vagaId) {
+        return new RegistroEntrada(new Veiculo(placa, "Carro", "Gol", "Branco"), ESTACIONAMENTO, vagaId);
+    }
+
+    private RegistroEntrada criarEntradaGravada(String placa, int vagaId) {
+        RegistroEntrada entrada = criarEntrada(placa, vagaId);
+        ReflectionTestUtils.setField(entrada, "id", UUID.randomUUID());
+        return entrada;
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Confirmar deve publicar a entrada pendente")
+    void confirmarDevePublicarEntradaPendente() {
+        RegistroEntrada entrada = criarEntradaGravada("ABC1234", 3);
+        entradasAtivas.registrarPendente(entrada);
+
+        assertThat(entradasAtivas.buscar("ABC1234")).isEmpty();
+        entradasAtivas.confirmar(entrada);
+
+        assertThat(entradasAtivas.buscar("ABC1234")).containsSame(entrada);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Confirmar não deve publicar entrada pendente já apagada por uma saída")
+    void confirmarNaoDevePublicarEntradaRetirada() {
+        RegistroEntrada entrada = criarEntradaGravada("ABC1234", 3);
+        entradasAtivas.registrarPendente(entrada);
+
+        entradasAtivas.retirarPendente(entrada);
+        entradasAtivas.confirmar(entrada);
+
+        assertThat(entradasAtivas.buscar("ABC1234")).isEmpty();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Retirar entrada pendente já publicada deve removê-la do mapa")
+    void retirarPendenteDeveRemoverEntradaJaPublicada() {
+        RegistroEntrada entrada = criarEntradaGravada("ABC1234", 3);
+        entradasAtivas.registrarPendente(entrada);
+        entradasAtivas.confirmar(entrada);
+
+        assertTrue(entradasAtivas.retirarPendente(entrada));
+        assertThat(entradasAtivas.buscar("ABC1234")).isEmpty();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Saída confirmada antes da entrada não deve deixar a entrada ser publicada")
+    void saidaConfirmadaAntesDaEntradaNaoDevePublicar() {
+        RegistroEntrada entrada = criarEntradaGravada("ABC1234", 3);
+        entradasAtivas.registrarPendente(entrada);
+
+        assertFalse(entradasAtivas.retirarPendente(entrada));
+        entradasAtivas.concluirRetirada(entrada);
+        entradasAtivas.confirmar(entrada);
+
+        assertThat(entradasAtivas.buscar("ABC1234")).isEmpty();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Saída desfeita antes da entrada terminar deve deixar a entrada ser publicada")
+    void saidaDesfeitaAntesDaEntradaDevePublicar() {
+        RegistroEntrada entrada = criarEntradaGravada("ABC1234", 3);
+        entradasAtivas.registrarPendente(entrada);
+
+        entradasAtivas.retirarPendente(entrada);
+        entradasAtivas.desfazerRetirada(entrada);
+        entradasAtivas.confirmar(entrada);
+
+        assertThat(entradasAtivas.buscar("ABC1234")).containsSame(entrada);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Saída desfeita depois da entrada confirmada deve devolver a entrada ao mapa")
+    void saidaDesfeitaDepoisDaEntradaDeveDevolver() {
+        RegistroEntrada entrada = criarEntradaGravada("ABC1234", 3);
+        entradasAtivas.registrarPendente(entrada);
+
+        entradasAtivas.retirarPendente(entrada);
+        entradasAtivas.confirmar(entrada);
+        assertThat(entradasAtivas.buscar("ABC1234")).isEmpty();
+        entradasAtivas.desfazerRetirada(entrada);
+
+        assertThat(entradasAtivas.buscar("ABC1234")).containsSame(entrada);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Saída desfeita junto com a entrada não deve publicar a entrada")
+    void saidaDesfeitaJuntoComEntradaNaoDevePublicar() {
+        RegistroEntrada entrada = criarEntradaGravada("ABC1234", 3);
+        entradasAtivas.registrarPendente(entrada);
+
+        entradasAtivas.retirarPendente(entrada);
+        entradasAtivas.descartar(entrada);
+        entradasAtivas.desfazerRetirada(entrada);
+
+        assertThat(entradasAtivas.buscar("ABC1234")).isEmpty();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Deve lançar exceção ao marcar como pendente uma entrada sem id")
+    void deveLancarExcecaoAoMarcarPendenteSemId() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                entradasAtivas.registrarPendente(criarEntrada("ABC1234", 3))
+        );
+
+        assertEquals("Entrada precisa estar gravada", exception.getMessage());
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Deve encontrar a entrada ativa pela placa")
+    void deveEncontrarEntradaPelaPlaca() {
+        RegistroEntrada entrada = criarEntrada("ABC1234", 3);
+
+        entradasAtivas.adicionar(entrada);
+
+        assertThat(entradasAtivas.buscar("ABC1234")).containsSame(entrada);
+        assertThat(entradasAtivas.buscar("XYZ9876")).isEmpty();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Retirar deve remover a entrada apenas uma vez")
+    void retirarDeveRemoverEntradaApenasUmaVez() {
+        RegistroEntrada entrada = criarEntrada("ABC1234", 3);
+        entradasAtivas.adicionar(entrada);
+
+        assertThat(entradasAtivas.retirar("ABC1234")).containsSame(entrada);
+        assertThat(entradasAtivas.retirar("ABC1234")).isEmpty();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Devolver não deve sobrescrever uma entrada mais recente")
+    void devolverNaoDeveSobrescreverEntradaMaisRecente() {
+        RegistroEntrada antiga = criarEntrada("ABC1234", 3);
+        RegistroEntrada nova = criarEntrada("ABC1234", 4);
+        entradasAtivas.adicionar(nova);
+
+        entradasAtivas.devolver(antiga);
+
+        assertThat(entradasAtivas.buscar("ABC1234")).containsSame(nova);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Carregar deve substituir as entradas anteriores")
+    void carregarDeveSubstituirEntradasAnteriores() {
+        entradasAtivas.adicionar(criarEntrada("ABC1234", 3));
+
+        entradasAtivas.carregar(List.of(criarEntrada("XYZ9876", 1), criarEntrada("DEF5678", 2)));
+
+        assertThat(entradasAtivas.buscar("ABC1234")).isEmpty();
+        assertThat(entradasAtivas.quantidade()).isEqualTo(2);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Deve lançar exceção ao carregar lista nula")
+    void deveLancarExcecaoAoCarregarListaNula() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                entradasAtivas.carregar(null)
+        );
+
+        assertEquals("Lista de entradas não pode ser nula", exception.getMessage());
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Deve retornar vazio para placa nula")
+    void deveRetornarVazioParaPlacaNula() {
+        assertThat(entradasAtivas.buscar(null)).isEmpty();
+        assertThat(entradasAtivas.retirar(null)).isEmpty();
+    }
+}
@@ -0,0 +1,72 @@
+package br.ifsp.demo.components;
+
+import br.ifsp.demo.dto.CriarEstacionamentoDTO;
+import br.ifsp.demo.model.RegistroEntrada;
+import br.ifsp.demo.model.Veiculo;
+import br.ifsp.demo.service.EstacionamentoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+
+@SpringBootTest(properties = "estacionamento.ocupacao.reconciliacao-ms=3600000")
+class EscritaAgrupadaPortariaTest {
+
+    private static Path banco;
+
+    @Autowired
+    private EstacionamentoService estacionamentoService;
+
+    @Autowired
+    private EntradasAtivas entradasAtivas;
+
+    @Autowired
+    private PlatformTransactionManager transacoes;
+
+    @DynamicPropertySource
+    static void bancoTemporario(DynamicPropertyRegistry registry) throws IOException {
+        banco = Files.createTempFile("escrita-agrupada-portaria", ".db");
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + banco);
+    }
+
+    @AfterAll
+    static void removerBanco() throws IOException {
+        for (String sufixo : new String[]{"", "-wal", "-shm"})
+            Files.deleteIfExists(Path.of(banco + sufixo));
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Entrada e saída da mesma placa no mesmo lote não devem deixar entrada ativa apagada")
+    void entradaESaidaNoMesmoLoteNaoDevemDeixarEntradaApagada() {
+        UUID estacionamento = estacionamentoService.criarEstacionamento(
+                new CriarEstacionamentoDTO("Estacionamento Lote Único", "Rua do Commit", 5)).getId();
+        Veiculo veiculo = new Veiculo("GRP1000", "carro", "Gol", "Prata");
+        EscritaAgrupada escrita = new EscritaAgrupada(transacoes, new SimpleMeterRegistry(), false, 2, 64);
+        EscritaAgrupada.Pedido<RegistroEntrada> entrada =
+                new EscritaAgrupada.Pedido<>(() -> estacionamentoService.registrar(veiculo, estacionamento));
+        EscritaAgrupada.Pedido<Boolean> cancelamento =
+                new EscritaAgrupada.Pedido<>(() -> estacionamentoService.cancelarEntrada("GRP1000"));
+
+        escrita.confirmar(List.of(entrada, cancelamento));
+
+        assertThat(entrada.futuro()).isCompleted();
+        assertThat(cancelamento.futuro()).isCompletedWithValue(true);
+        assertThat(entradasAtivas.buscar("GRP1000")).isEmpty();
+        assertDoesNotThrow(() -> estacionamentoService.registrar(veiculo, estacionamento));
+        assertDoesNotThrow(() -> estacionamentoService.registrarSaida("GRP1000"));
+    }
+}
@@ -0,0 +1,267 @@
+package br.ifsp.demo.components;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EscritaAgrupadaTest {
+
+    private TransacoesFalsas transacoes;
+    private SimpleMeterRegistry registry;
+    private Map<String, String> desfechos;
+    private EscritaAgrupada escrita;
+
+    @BeforeEach
+    void setUp() {
+        transacoes = new TransacoesFalsas();
+        registry = new SimpleMeterRegistry();
+        desfechos = new ConcurrentHashMap<>();
+    }
+
+    @AfterEach
+    void encerrar() throws InterruptedException {
+        if (escrita != null)
+            escrita.encerrar();
+    }
+
+    // operação que anota como a transação em que rodou terminou
+    private Supplier<String> operacao(String nome) {
+        return () -> {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    desfechos.put(nome, status == STATUS_COMMITTED ? "commit" : "rollback");
+                }
+            });
+            return nome;
+        };
+    }
+
+    private Supplier<String> recusada(String nome, AtomicInteger execucoes) {
+        return () -> {
+            execucoes.incrementAndGet();
+            operacao(nome).get();
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Vaga já está ocupada");
+        };
+    }
+
+    private static List<EscritaAgrupada.Pedido<?>> pedidos(List<Supplier<String>> operacoes) {
+        List<EscritaAgrupada.Pedido<?>> pedidos = new ArrayList<>();
+        operacoes.forEach(operacao -> pedidos.add(new EscritaAgrupada.Pedido<>(operacao)));
+        return pedidos;
+    }
+
+    @Nested
+    @DisplayName("Confirmação do lote")
+    class Confirmacao {
+
+        @BeforeEach
+        void criar() {
+            escrita = new EscritaAgrupada(transacoes, registry, false, 2, 64);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Lote sem falhas deve ser confirmado num único commit")
+        void loteSemFalhasDeveTerUmCommit() {
+            List<EscritaAgrupada.Pedido<?>> lote = pedidos(List.of(operacao("a"), operacao("b"), operacao("c")));
+
+            escrita.confirmar(lote);
+
+            assertEquals(1, transacoes.commits.get());
+            assertEquals(0, transacoes.rollbacks.get());
+            assertEquals(List.of("a", "b", "c"), lote.stream().map(pedido -> pedido.futuro().join()).toList());
+            assertEquals(Map.of("a", "commit", "b", "commit", "c", "commit"), desfechos);
+            assertEquals(3.0, registry.get("estacionamento.escrita.lote").summary().totalAmount());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Operação recusada no meio do lote não deve desfazer as demais")
+        void operacaoRecusadaNaoDeveDesfazerAsDemais() {
+            AtomicInteger execucoes = new AtomicInteger();
+            List<EscritaAgrupada.Pedido<?>> lote = pedidos(List.of(
+                    operacao("a"), operacao("b"), recusada("x", execucoes), operacao("c")));
+
+            escrita.confirmar(lote);
+
+            assertEquals("a", lote.get(0).futuro().join());
+            assertEquals("b", lote.get(1).futuro().join());
+            assertEquals("c", lote.get(3).futuro().join());
+            CompletionException falha = assertThrows(CompletionException.class, () -> lote.get(2).futuro().join());
+            assertThat(falha.getCause()).isInstanceOf(ResponseStatusException.class);
+            assertEquals(1, execucoes.get());
+            assertEquals(Map.of("a", "commit", "b", "commit", "c", "commit", "x", "rollback"), desfechos);
+            assertEquals(2, transacoes.commits.get());
+            assertEquals(1, transacoes.rollbacks.get());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Recusa na primeira operação não deve repetir nenhuma outra")
+        void recusaNaPrimeiraOperacaoNaoDeveRepetirOutras() {
+            AtomicInteger execucoes = new AtomicInteger();
+            List<EscritaAgrupada.Pedido<?>> lote = pedidos(List.of(recusada("x", execucoes), operacao("a")));
+
+            escrita.confirmar(lote);
+
+            assertTrue(lote.get(0).futuro().isCompletedExceptionally());
+            assertEquals("a", lote.get(1).futuro().join());
+            assertEquals(1, execucoes.get());
+            assertEquals(1, transacoes.commits.get());
+            assertEquals(1, transacoes.rollbacks.get());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Falha no commit do lote deve confirmar o restante uma operação por vez")
+        void falhaNoCommitDeveSeguirUmaOperacaoPorVez() {
+            Supplier<String> envenenada = () -> {
+                transacoes.falharCommit = true;
+                return "x";
+            };
+            List<EscritaAgrupada.Pedido<?>> lote = pedidos(List.of(operacao("a"), envenenada, operacao("b")));
+
+            escrita.confirmar(lote);
+
+            assertEquals("a", lote.get(0).futuro().join());
+            assertEquals("b", lote.get(2).futuro().join());
+            CompletionException falha = assertThrows(CompletionException.class, () -> lote.get(1).futuro().join());
+            assertThat(falha.getCause()).isInstanceOf(TransactionSystemException.class);
+            assertEquals(Map.of("a", "commit", "b", "commit"), desfechos);
+            assertEquals(2, transacoes.commits.get());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Desabilitada deve executar a operação na própria thread, sem fila")
+        void desabilitadaDeveExecutarDireto() {
+            Thread chamador = Thread.currentThread();
+
+            Thread executora = escrita.executar(Thread::currentThread);
+
+            assertSame(chamador, executora);
+            assertEquals(0, transacoes.commits.get());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Deve recusar configuração inválida")
+        void deveRecusarConfiguracaoInvalida() {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> new EscritaAgrupada(transacoes, registry, false, 2, 0));
+
+            assertThat(exception.getMessage()).isEqualTo("Lote máximo da escrita agrupada deve ser maior que zero");
+        }
+    }
+
+    @Nested
+    @DisplayName("Fila de escrita")
+    class Fila {
+
+        private static final int CHAMADORES = 16;
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Chamadas simultâneas devem ser agrupadas e só responder depois do commit")
+        void chamadasSimultaneasDevemSerAgrupadas() throws Exception {
+            escrita = new EscritaAgrupada(transacoes, registry, true, 1000, CHAMADORES);
+
+            List<Future<String>> respostas = new ArrayList<>();
+            try (ExecutorService chamadores = Executors.newFixedThreadPool(CHAMADORES)) {
+                for (int i = 0; i < CHAMADORES; i++) {
+                    String nome = "op" + i;
+                    respostas.add(chamadores.submit(() -> {
+                        escrita.executar(operacao(nome));
+                        return desfechos.get(nome);
+                    }));
+                }
+                for (Future<String> resposta : respostas)
+                    assertEquals("commit", resposta.get(10, TimeUnit.SECONDS));
+            }
+
+            assertEquals(1, transacoes.commits.get());
+            assertEquals(0, escrita.pendentes());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Chamador deve receber a própria exceção da operação recusada")
+        void chamadorDeveReceberPropriaExcecao() {
+            escrita = new EscritaAgrupada(transacoes, registry, true, 0, 64);
+
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                    () -> escrita.executar(recusada("x", new AtomicInteger())));
+
+            assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+            assertEquals("rollback", desfechos.get("x"));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Depois de encerrada deve executar a operação na própria thread")
+        void encerradaDeveExecutarDireto() throws InterruptedException {
+            escrita = new EscritaAgrupada(transacoes, registry, true, 0, 64);
+            escrita.encerrar();
+
+            assertSame(Thread.currentThread(), escrita.executar(Thread::currentThread));
+        }
+    }
+
+    private static class TransacoesFalsas extends AbstractPlatformTransactionManager {
+
+        private final AtomicInteger commits = new AtomicInteger();
+        private final AtomicInteger rollbacks = new AtomicInteger();
+        private volatile boolean falharCommit;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            if (falharCommit) {
+                falharCommit = false;
+                throw new TransactionSystemException("Disco indisponível");
+            }
+            commits.incrementAndGet();
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            falharCommit = false;
+            rollbacks.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package br.ifsp.demo.components;
+
+import br.ifsp.demo.dto.EventoEstacionamentoDTO;
+import br.ifsp.demo.model.Estacionamento;
+import org.junit.jupiter.api.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventosEstacionamentoTest {
+
+    private OcupacaoVagas ocupacaoVagas;
+    private EventosEstacionamento eventos;
+
+    @BeforeEach
+    void setUp() {
+        Estacionamento estacionamento = new Estacionamento("Estacionamento Eventos", "Rua Eventos", 10);
+        ReflectionTestUtils.setField(estacionamento, "id", UUID.randomUUID());
+        ocupacaoVagas = new OcupacaoVagas();
+        ocupacaoVagas.registrar(estacionamento, Set.of(1, 2));
+        eventos = new EventosEstacionamento(ocupacaoVagas, Runnable::run);
+    }
+
+    private static class EmissorGravador extends SseEmitter {
+        private final List<String> enviados = new ArrayList<>();
+        private boolean falhar;
+
+        @Override
+        public void send(SseEventBuilder evento) throws IOException {
+            if (falhar)
+                throw new IOException("Cliente desconectado");
+            enviados.add(evento.build().stream()
+                    .map(parte -> String.valueOf(parte.getData()))
+                    .collect(Collectors.joining()));
+        }
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Deve enviar eventos com identificador sequencial e ocupação atual aos assinantes")
+    void deveEnviarEventosAosAssinantes() {
+        EmissorGravador emissor = new EmissorGravador();
+        eventos.assinar(emissor, null);
+
+        EventoEstacionamentoDTO entrada = eventos.publicar(EventosEstacionamento.ENTRADA, "ABC1234", 3, 0);
+        EventoEstacionamentoDTO saida = eventos.publicar(EventosEstacionamento.SAIDA, "ABC1234", 3, 1250);
+
+        assertEquals(1, entrada.id());
+        assertEquals(2, saida.id());
+        assertEquals(2, saida.vagasOcupadas());
+        assertEquals(8, saida.vagasDisponiveis());
+        assertEquals(10, saida.totalVagas());
+        assertThat(emissor.enviados).hasSize(2);
+        assertThat(emissor.enviados.get(0)).startsWith("id:1\n").contains("tipo=ENTRADA");
+        assertThat(emissor.enviados.get(1)).startsWith("id:2\n").contains("tipo=SAIDA", "valor=12.5");
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Deve reenviar apenas os eventos posteriores ao Last-Event-ID na reconexão")
+    void deveReenviarEventosPerdidosNaReconexao() {
+        eventos.publicar(EventosEstacionamento.ENTRADA, "AAA1111", 3, 0);
+        eventos.publicar(EventosEstacionamento.ENTRADA, "BBB2222", 4, 0);
+        eventos.publicar(EventosEstacionamento.CANCELAMENTO, "AAA1111", 3, 0);
+
+        EmissorGravador emissor = new EmissorGravador();
+        eventos.assinar(emissor, 1L);
+
+        assertThat(emissor.enviados).hasSize(2);
+        assertThat(emissor.enviados.get(0)).startsWith("id:2\n").contains("placa=BBB2222");
+        assertThat(emissor.enviados.get(1)).startsWith("id:3\n").contains("tipo=CANCELAMENTO");
+        assertEquals(1, eventos.quantidadeAssinantes());
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Deve pedir ressincronização quando o Last-Event-ID já saiu da janela retida")
+    void devePedirRessincronizacaoQuandoEventosForamDescartados() {
+        for (int i = 0; i < EventosEstacionamento.EVENTOS_RETIDOS + 5; i++)
+            eventos.publicar(EventosEstacionamento.ENTRADA, "P" + i, 1, 0);
+
+        EmissorGravador emissor = new EmissorGravador();
+        eventos.assinar(emissor, 2L);
+        eventos.publicar(EventosEstacionamento.SAIDA, "P0", 1, 500);
+
+        assertThat(emissor.enviados).hasSize(2);
+        assertThat(emissor.enviados.get(0)).contains("event:resync\n");
+        assertThat(emissor.enviados.get(1)).contains("tipo=SAIDA");
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Deve remover o assinante cuja conexão falhou e manter os demais")
+    void deveRemoverAssinanteDesconectado() {
+        EmissorGravador desconectado = new EmissorGravador();
+        EmissorGravador ativo = new EmissorGravador();
+        eventos.assinar(desconectado, null);
+        eventos.assinar(ativo, null);
+        desconectado.falhar = true;
+
+        eventos.publicar(EventosEstacionamento.ENTRADA, "ABC1234", 3, 0);
+        eventos.enviarHeartbeat();
+
+        assertEquals(1, eventos.quantidadeAssinantes());
+        assertThat(ativo.enviados).hasSize(2);
+        assertThat(ativo.enviados.get(1)).isEqualTo(":heartbeat\n\n");
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Eventos publicados em paralelo devem sair em ordem de id e com ocupação que nunca retrocede")
+    void publicacoesParalelasDevemManterOrdemEOcupacao() throws Exception {
+        AtomicInteger ocupadas = new AtomicInteger();
+        OcupacaoVagas ocupacaoCrescente = new OcupacaoVagas() {
+            @Override
+            public int capacidadeTotal() {
+                return 10_000;
+            }
+
+            @Override
+            public int vagasOcupadas() {
+                return ocupadas.incrementAndGet();
+            }
+        };
+        ExecutorService envio = Executors.newSingleThreadExecutor();
+        EventosEstacionamento eventosParalelos = new EventosEstacionamento(ocupacaoCrescente, envio);
+        EmissorGravador emissor = new EmissorGravador();
+        eventosParalelos.assinar(emissor, null);
+
+        List<EventoEstacionamentoDTO> publicados = new CopyOnWriteArrayList<>();
+        try (ExecutorService portarias = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 2000; i++)
+                portarias.execute(() -> publicados.add(eventosParalelos.publicar(EventosEstacionamento.ENTRADA, "PAR1000", 1, 0)));
+        }
+        envio.shutdown();
+        assertTrue(envio.awaitTermination(10, TimeUnit.SECONDS));
+
+        List<EventoEstacionamentoDTO> porId = publicados.stream()
+                .sorted(Comparator.comparingLong(EventoEstacionamentoDTO::id)).toList();
+        assertThat(porId).extracting(EventoEstacionamentoDTO::vagasOcupadas).isSorted();
+        assertThat(emissor.enviados).extracting(enviado -> Long.parseLong(enviado.substring(3, enviado.indexOf('\n'))))
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, 2000).boxed().toList());
+    }
+}
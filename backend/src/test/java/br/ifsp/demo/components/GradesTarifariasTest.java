@@ -0,0 +1,211 @@
+package br.ifsp.demo.components;
+
+import br.ifsp.demo.dto.FaixaTarifaDTO;
+import br.ifsp.demo.dto.GradeTarifariaDTO;
+import br.ifsp.demo.dto.PeriodoTarifaDTO;
+import br.ifsp.demo.dto.TarifaDTO;
+import org.junit.jupiter.api.*;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradesTarifariasTest {
+
+    // 2024-06-03 é segunda-feira
+    private static final LocalDateTime SEGUNDA_AS_OITO = LocalDateTime.of(2024, 6, 3, 8, 0);
+    private static final Set<DayOfWeek> TODOS_OS_DIAS = EnumSet.allOf(DayOfWeek.class);
+
+    private GradesTarifarias grades;
+    private CalculadoraTempoPermanencia calculadora;
+
+    @BeforeEach
+    void setUp() {
+        grades = new GradesTarifarias();
+        calculadora = new CalculadoraTempoPermanencia(new ValorPermanencia(), grades);
+    }
+
+    private static PeriodoTarifaDTO periodo(String nome, Set<DayOfWeek> dias, String inicio, String fim, String fator) {
+        return new PeriodoTarifaDTO(nome, dias, LocalTime.parse(inicio), LocalTime.parse(fim), new BigDecimal(fator));
+    }
+
+    private static TarifaDTO tarifaMoto() {
+        return new TarifaDTO(List.of(new FaixaTarifaDTO(1, new BigDecimal("5.00")), new FaixaTarifaDTO(6, new BigDecimal("15.00"))),
+                new BigDecimal("2.00"));
+    }
+
+    // referência minuto a minuto, só para conferir a aritmética de intervalos
+    private static long valorMinutoAMinuto(LocalDateTime entrada, LocalDateTime saida, long base,
+                                             List<PeriodoTarifaDTO> periodos) {
+        long minutos = Math.max(ChronoUnit.MINUTES.between(entrada, saida), 1);
+        double soma = 0;
+        for (long i = 0; i < minutos; i++) {
+            LocalDateTime minuto = entrada.plusMinutes(i);
+            double fator = 1;
+            for (PeriodoTarifaDTO periodo : periodos)
+                if (cobre(periodo, minuto))
+                    fator += periodo.fator().doubleValue() - 1;
+            soma += Math.max(fator, 0);
+        }
+        return Math.round(base * soma / minutos);
+    }
+
+    private static boolean cobre(PeriodoTarifaDTO periodo, LocalDateTime minuto) {
+        LocalTime hora = minuto.toLocalTime();
+        if (periodo.inicio().isBefore(periodo.fim()))
+            return periodo.dias().contains(minuto.getDayOfWeek())
+                    && !hora.isBefore(periodo.inicio()) && hora.isBefore(periodo.fim());
+        return periodo.dias().contains(minuto.getDayOfWeek()) && !hora.isBefore(periodo.inicio())
+                || periodo.dias().contains(minuto.getDayOfWeek().minus(1)) && hora.isBefore(periodo.fim());
+    }
+
+    @Nested
+    @DisplayName("Seleção da grade por perfil")
+    class Selecao {
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Moto deve usar a tabela do próprio tipo de veículo")
+        void motoDeveUsarTabelaPropria() {
+            grades.salvar(new GradeTarifariaDTO(null, "moto", tarifaMoto(), List.of()));
+
+            assertEquals(1300, calculadora.calcularCentavos(SEGUNDA_AS_OITO, SEGUNDA_AS_OITO.plusHours(5), "Moto", null));
+            assertEquals(3500, calculadora.calcularCentavos(SEGUNDA_AS_OITO, SEGUNDA_AS_OITO.plusHours(5), "carro", null));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Grade do estacionamento e tipo deve prevalecer sobre as mais genéricas")
+        void gradeMaisEspecificaDevePrevalecer() {
+            UUID centro = UUID.randomUUID();
+            grades.salvar(new GradeTarifariaDTO(null, "moto", tarifaMoto(), List.of()));
+            grades.salvar(new GradeTarifariaDTO(centro, null, null,
+                    List.of(periodo("centro", TODOS_OS_DIAS, "00:00", "00:00", "2.0"))));
+            grades.salvar(new GradeTarifariaDTO(centro, "moto", null,
+                    List.of(periodo("centro moto", TODOS_OS_DIAS, "00:00", "00:00", "0.5"))));
+
+            LocalDateTime saida = SEGUNDA_AS_OITO.plusHours(1);
+            assertEquals(500, calculadora.calcularCentavos(SEGUNDA_AS_OITO, saida, "moto", null));
+            assertEquals(2000, calculadora.calcularCentavos(SEGUNDA_AS_OITO, saida, "carro", centro));
+            assertEquals(500, calculadora.calcularCentavos(SEGUNDA_AS_OITO, saida, "moto", centro));
+            assertEquals(1000, calculadora.calcularCentavos(SEGUNDA_AS_OITO, saida, "carro", UUID.randomUUID()));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Remover a grade deve voltar para a tarifa padrão")
+        void removerGradeDeveVoltarParaPadrao() {
+            grades.salvar(new GradeTarifariaDTO(null, "moto", tarifaMoto(), List.of()));
+
+            assertTrue(grades.remover(null, " MOTO "));
+            assertFalse(grades.remover(null, "moto"));
+            assertEquals(1000, calculadora.calcularCentavos(SEGUNDA_AS_OITO, SEGUNDA_AS_OITO.plusHours(1), "moto", null));
+            assertThat(grades.listar()).isEmpty();
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Grades devem valer só em memória: ao reiniciar nenhuma é carregada")
+        void gradesDevemValerSoEmMemoria() {
+            grades.salvar(new GradeTarifariaDTO(null, "moto", tarifaMoto(), List.of()));
+
+            GradesTarifarias reiniciadas = new GradesTarifarias();
+
+            assertThat(reiniciadas.listar()).isEmpty();
+            assertNull(reiniciadas.resolver(null, "moto"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Períodos do calendário")
+    class Periodos {
+
+        private final List<PeriodoTarifaDTO> noturnoEFimDeSemana = List.of(
+                periodo("noturno", TODOS_OS_DIAS, "22:00", "06:00", "0.80"),
+                periodo("fim de semana", EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), "00:00", "00:00", "0.90"));
+
+        @BeforeEach
+        void salvarGrade() {
+            grades.salvar(new GradeTarifariaDTO(null, null, null, noturnoEFimDeSemana));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Estadia diurna em dia útil deve custar o preço base")
+        void estadiaDiurnaDeveCustarPrecoBase() {
+            assertEquals(3500, calculadora.calcularCentavos(SEGUNDA_AS_OITO, SEGUNDA_AS_OITO.plusHours(5), "carro", null));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Estadia toda no período noturno deve receber o desconto noturno")
+        void estadiaNoturnaDeveTerDesconto() {
+            LocalDateTime entrada = LocalDateTime.of(2024, 6, 3, 23, 0);
+
+            assertEquals(2800, calculadora.calcularCentavos(entrada, entrada.plusHours(5), "carro", null));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Períodos sobrepostos devem somar seus ajustes")
+        void periodosSobrepostosDevemSomarAjustes() {
+            LocalDateTime sabadoAsVinteETres = LocalDateTime.of(2024, 6, 8, 23, 0);
+
+            assertEquals(700, calculadora.calcularCentavos(sabadoAsVinteETres, sabadoAsVinteETres.plusMinutes(30), "carro", null));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Estadias de vários dias devem bater com a conta minuto a minuto")
+        void estadiasLongasDevemBaterComContaMinutoAMinuto() {
+            CalculadoraTempoPermanencia semGrade = new CalculadoraTempoPermanencia(new ValorPermanencia());
+            LocalDateTime entrada = LocalDateTime.of(2024, 6, 5, 17, 37);
+            for (int horas : new int[]{3, 30, 100, 24 * 9 + 5, 24 * 30}) {
+                LocalDateTime saida = entrada.plusHours(horas).plusMinutes(11);
+                long base = semGrade.calcularCentavos(entrada, saida);
+                long esperado = valorMinutoAMinuto(entrada, saida, base, noturnoEFimDeSemana);
+
+                assertEquals(esperado, calculadora.calcularCentavos(entrada, saida, "carro", null), 1, "horas = " + horas);
+            }
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Deve recusar grade sem tarifa e sem períodos")
+        void deveRecusarGradeVazia() {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> grades.salvar(new GradeTarifariaDTO(null, "moto", null, List.of())));
+
+            assertThat(exception.getMessage()).isEqualTo("Grade tarifária precisa de tarifa ou de pelo menos um período");
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Deve recusar fator com mais de quatro casas decimais")
+        void deveRecusarFatorImpreciso() {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> grades.salvar(
+                    new GradeTarifariaDTO(null, null, null, List.of(periodo("x", TODOS_OS_DIAS, "01:00", "02:00", "0.123456")))));
+
+            assertThat(exception.getMessage()).isEqualTo("Fator do período x deve ter no máximo quatro casas decimais");
+        }
+    }
+}
@@ -1,21 +1,23 @@
 package br.ifsp.demo.components;
 
-import br.ifsp.demo.components.LogSistema;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
 import org.junit.jupiter.api.*;
-
-import java.io.ByteArrayOutputStream;
-import java.io.PrintStream;
+import org.slf4j.LoggerFactory;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 class LogSistemaTest {
 
-    private final PrintStream standardOut = System.out;
-    private final ByteArrayOutputStream outputStreamCaptor = new ByteArrayOutputStream();
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LogSistema.class);
+    private final ListAppender<ILoggingEvent> logCapturado = new ListAppender<>();
 
     @BeforeEach
     public void setUp() {
-        System.setOut(new PrintStream(outputStreamCaptor));
+        logCapturado.start();
+        logger.addAppender(logCapturado);
     }
 
     @Test
@@ -31,13 +33,16 @@ class LogSistemaTest {
         logSistema.registrarCancelamento(placa, motivo);
 
 
-        assertThat(outputStreamCaptor.toString().trim()).isEqualTo(mensagemEsperada);
+        assertThat(logCapturado.list).hasSize(1);
+        assertThat(logCapturado.list.getFirst().getLevel()).isEqualTo(Level.INFO);
+        assertThat(logCapturado.list.getFirst().getFormattedMessage()).isEqualTo(mensagemEsperada);
     }
 
     @AfterEach
     public void tearDown() {
-        System.setOut(standardOut);
+        logger.detachAppender(logCapturado);
+        logCapturado.stop();
     }
 
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,85 @@
+package br.ifsp.demo.components;
+
+import br.ifsp.demo.model.Estacionamento;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricasEstacionamentoTest {
+
+    private MeterRegistry registry;
+    private OcupacaoVagas ocupacaoVagas;
+    private MetricasEstacionamento metricas;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        ocupacaoVagas = new OcupacaoVagas();
+        metricas = new MetricasEstacionamento(registry, ocupacaoVagas);
+    }
+
+    private Estacionamento estacionamento(String nome, int capacidade) {
+        Estacionamento estacionamento = new Estacionamento(nome, "Rua das Métricas", capacidade);
+        ReflectionTestUtils.setField(estacionamento, "id", UUID.randomUUID());
+        return estacionamento;
+    }
+
+    private double rejeicoes(String motivo) {
+        return registry.get("estacionamento.entradas.rejeitadas").tag("motivo", motivo).counter().count();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Deve contar rejeições separadamente por motivo")
+    void deveContarRejeicoesPorMotivo() {
+        metricas.rejeicaoLotado();
+        metricas.rejeicaoLotado();
+        metricas.rejeicaoVagaOcupada();
+
+        assertEquals(2.0, rejeicoes(MetricasEstacionamento.LOTADO));
+        assertEquals(1.0, rejeicoes(MetricasEstacionamento.VAGA_OCUPADA));
+        assertEquals(0.0, rejeicoes(MetricasEstacionamento.ENTRADA_DUPLICADA));
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Deve expor ocupação e capacidade de cada estacionamento acompanhando as reservas")
+    void deveExporOcupacaoPorEstacionamento() {
+        Estacionamento centro = estacionamento("Centro", 10);
+        Estacionamento norte = estacionamento("Norte", 4);
+        ocupacaoVagas.registrar(centro, List.of(1, 2, 3));
+        ocupacaoVagas.registrar(norte, List.of());
+
+        metricas.atualizarEstacionamentos();
+        ocupacaoVagas.doEstacionamento(norte).reservar(2);
+
+        String idCentro = centro.getId().toString();
+        String idNorte = norte.getId().toString();
+        assertEquals(3.0, registry.get("estacionamento.vagas.ocupadas").tag("estacionamento", idCentro).gauge().value());
+        assertEquals(1.0, registry.get("estacionamento.vagas.ocupadas").tag("estacionamento", idNorte).gauge().value());
+        assertEquals(10.0, registry.get("estacionamento.vagas.capacidade").tag("nome", "Centro").gauge().value());
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Gauges devem seguir o alocador recarregado depois de uma nova carga")
+    void gaugesDevemSeguirAlocadorRecarregado() {
+        Estacionamento centro = estacionamento("Centro", 10);
+        ocupacaoVagas.registrar(centro, List.of(1));
+        metricas.atualizarEstacionamentos();
+
+        ocupacaoVagas.registrar(centro, List.of(1, 2, 3, 4));
+
+        assertEquals(4.0, registry.get("estacionamento.vagas.ocupadas")
+                .tag("estacionamento", centro.getId().toString()).gauge().value());
+    }
+}
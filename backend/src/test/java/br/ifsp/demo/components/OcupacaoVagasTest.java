@@ -0,0 +1,77 @@
+package br.ifsp.demo.components;
+
+import br.ifsp.demo.model.Estacionamento;
+import org.junit.jupiter.api.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OcupacaoVagasTest {
+
+    private OcupacaoVagas ocupacaoVagas;
+
+    @BeforeEach
+    void setUp() {
+        ocupacaoVagas = new OcupacaoVagas();
+    }
+
+    private Estacionamento criarEstacionamento(int capacidade) {
+        Estacionamento estacionamento = new Estacionamento("Estacionamento Teste", "Rua Teste", capacidade);
+        ReflectionTestUtils.setField(estacionamento, "id", UUID.randomUUID());
+        return estacionamento;
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Deve manter um alocador independente por estacionamento")
+    void deveManterAlocadorIndependentePorEstacionamento() {
+        Estacionamento centro = criarEstacionamento(10);
+        Estacionamento shopping = criarEstacionamento(3000);
+
+        ocupacaoVagas.registrar(centro, List.of(1, 2));
+
+        assertThat(ocupacaoVagas.doEstacionamento(centro).proximaVagaLivre()).isEqualTo(3);
+        assertThat(ocupacaoVagas.doEstacionamento(shopping).proximaVagaLivre()).isEqualTo(1);
+        assertThat(ocupacaoVagas.doEstacionamento(shopping).getCapacidade()).isEqualTo(3000);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Deve retornar sempre o mesmo alocador para o estacionamento")
+    void deveRetornarMesmoAlocadorParaEstacionamento() {
+        Estacionamento estacionamento = criarEstacionamento(10);
+
+        assertSame(ocupacaoVagas.doEstacionamento(estacionamento), ocupacaoVagas.doEstacionamento(estacionamento));
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Deve somar a capacidade de todos os estacionamentos registrados")
+    void deveSomarCapacidadeDosEstacionamentos() {
+        ocupacaoVagas.registrar(criarEstacionamento(200), List.of());
+        ocupacaoVagas.registrar(criarEstacionamento(3000), List.of());
+
+        assertThat(ocupacaoVagas.capacidadeTotal()).isEqualTo(3200);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Deve lançar exceção para estacionamento não cadastrado")
+    void deveLancarExcecaoParaEstacionamentoNaoCadastrado() {
+        Estacionamento naoCadastrado = new Estacionamento("Estacionamento Teste", "Rua Teste", 10);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                ocupacaoVagas.doEstacionamento(naoCadastrado)
+        );
+
+        assertEquals("Estacionamento precisa estar cadastrado", exception.getMessage());
+    }
+}
@@ -0,0 +1,192 @@
+package br.ifsp.demo.components;
+
+import br.ifsp.demo.dto.FaixaTarifaDTO;
+import br.ifsp.demo.dto.TarifaDTO;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TabelaTarifasTest {
+
+    private static FaixaTarifaDTO faixa(int horas, String valor) {
+        return new FaixaTarifaDTO(horas, new BigDecimal(valor));
+    }
+
+    private static TarifaDTO tarifaPadrao() {
+        return new TarifaDTO(List.of(faixa(1, "10.00"), faixa(6, "35.00"), faixa(12, "55.00"), faixa(24, "120.00")),
+                new BigDecimal("8.00"));
+    }
+
+    // regra original: teto por faixa e hora adicional depois de 24h
+    private static long centavosDaRegraOriginal(int horas) {
+        if (horas <= 1) return 1000;
+        if (horas <= 6) return Math.min(1000 + 800L * (horas - 1), 3500);
+        if (horas <= 12) return Math.min(3500 + 800L * (horas - 6), 5500);
+        if (horas <= 24) return Math.min(5500 + 800L * (horas - 12), 12000);
+        return 12000 + 800L * (horas - 24);
+    }
+
+    @Nested
+    @DisplayName("Compilação da tabela")
+    class Compilacao {
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Tabela compilada deve reproduzir a regra original de faixas e tetos")
+        void tabelaDeveReproduzirRegraOriginal() {
+            TabelaTarifas tabela = TabelaTarifas.compilar(tarifaPadrao());
+
+            for (int horas = 0; horas <= 100; horas++)
+                assertEquals(centavosDaRegraOriginal(horas), tabela.centavos(horas), "horas = " + horas);
+        }
+
+        @ParameterizedTest
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @CsvSource({"1,500", "2,800", "3,1100", "4,1200", "5,1500", "10,3000"})
+        @DisplayName("Deve aceitar qualquer conjunto de faixas e cobrar a hora adicional depois da última")
+        void deveAceitarFaixasPersonalizadas(int horas, long centavosEsperados) {
+            TabelaTarifas tabela = TabelaTarifas.compilar(new TarifaDTO(
+                    List.of(faixa(1, "5.00"), faixa(4, "12.00")), new BigDecimal("3.00")));
+
+            assertEquals(centavosEsperados, tabela.centavos(horas));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Deve recusar faixas fora de ordem")
+        void deveRecusarFaixasForaDeOrdem() {
+            TarifaDTO tarifa = new TarifaDTO(List.of(faixa(6, "35.00"), faixa(1, "10.00")), BigDecimal.ONE);
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> TabelaTarifas.compilar(tarifa));
+
+            assertThat(exception.getMessage()).isEqualTo("Horas das faixas devem ser crescentes e maiores que 0");
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Deve recusar faixa acima do limite de horas da tabela")
+        void deveRecusarFaixaAcimaDoLimite() {
+            TarifaDTO tarifa = new TarifaDTO(
+                    List.of(faixa(1, "10.00"), faixa(Integer.MAX_VALUE, "20.00")), BigDecimal.ONE);
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> TabelaTarifas.compilar(tarifa));
+
+            assertThat(exception.getMessage()).isEqualTo("Horas das faixas não podem passar de 8784");
+            assertEquals(2000, TabelaTarifas.compilar(new TarifaDTO(
+                    List.of(faixa(1, "10.00"), faixa(TabelaTarifas.HORAS_MAXIMAS, "20.00")), BigDecimal.ONE))
+                    .centavos(TabelaTarifas.HORAS_MAXIMAS));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Deve recusar faixa mais barata que a anterior")
+        void deveRecusarFaixaMaisBarata() {
+            TarifaDTO tarifa = new TarifaDTO(List.of(faixa(1, "10.00"), faixa(6, "9.00")), BigDecimal.ONE);
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> TabelaTarifas.compilar(tarifa));
+
+            assertThat(exception.getMessage()).isEqualTo("Valor da faixa de 6h não pode ser menor que o da faixa anterior");
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Deve recusar valores com frações de centavo")
+        void deveRecusarFracaoDeCentavo() {
+            TarifaDTO tarifa = new TarifaDTO(List.of(faixa(1, "10.005")), BigDecimal.ONE);
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> TabelaTarifas.compilar(tarifa));
+
+            assertThat(exception.getMessage()).isEqualTo("Valor da faixa de 1h deve ter no máximo duas casas decimais");
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Deve recusar tarifa sem faixas")
+        void deveRecusarTarifaSemFaixas() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> TabelaTarifas.compilar(new TarifaDTO(List.of(), BigDecimal.ONE)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Recarga em tempo de execução")
+    class Recarga {
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Calculadora deve usar a nova tarifa logo depois da recarga")
+        void calculadoraDeveUsarNovaTarifa() {
+            ValorPermanencia valorPermanencia = new ValorPermanencia();
+            CalculadoraTempoPermanencia calculadora = new CalculadoraTempoPermanencia(valorPermanencia);
+            LocalDateTime entrada = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+            assertEquals(3500, calculadora.calcularCentavos(entrada, entrada.plusHours(5)));
+
+            valorPermanencia.recarregar(new TarifaDTO(List.of(faixa(1, "12.50"), faixa(6, "40.00")), new BigDecimal("9.00")));
+
+            assertEquals(1250, calculadora.calcularCentavos(entrada, entrada.plusMinutes(30)));
+            assertEquals(4000, calculadora.calcularCentavos(entrada, entrada.plusHours(5)));
+            assertEquals(4900, calculadora.calcularCentavos(entrada, entrada.plusHours(7)));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Recarga inválida deve manter a tarifa anterior")
+        void recargaInvalidaDeveManterTarifaAnterior() {
+            ValorPermanencia valorPermanencia = new ValorPermanencia();
+            TabelaTarifas anterior = valorPermanencia.tabela();
+
+            assertThrows(IllegalArgumentException.class, () -> valorPermanencia.recarregar(
+                    new TarifaDTO(List.of(faixa(1, "-1.00")), BigDecimal.ONE)));
+
+            assertSame(anterior, valorPermanencia.tabela());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Recarga deve valer só em memória: ao reiniciar volta a tarifa configurada")
+        void recargaDeveValerSoEmMemoria() {
+            ValorPermanencia antesDeReiniciar = new ValorPermanencia("1=7.50, 3=15.00", new BigDecimal("2.00"));
+            antesDeReiniciar.recarregar(new TarifaDTO(List.of(faixa(1, "12.50")), new BigDecimal("9.00")));
+
+            ValorPermanencia reiniciado = new ValorPermanencia("1=7.50, 3=15.00", new BigDecimal("2.00"));
+
+            assertEquals(1250, antesDeReiniciar.tabela().centavos(1));
+            assertEquals(750, reiniciado.tabela().centavos(1));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Deve ler as faixas configuradas no formato horas=valor")
+        void deveLerFaixasDaConfiguracao() {
+            ValorPermanencia valorPermanencia = new ValorPermanencia("1=7.50, 3=15.00", new BigDecimal("2.00"));
+
+            assertEquals(750, valorPermanencia.tabela().centavos(1));
+            assertEquals(1150, valorPermanencia.tabela().centavos(3));
+            assertEquals(1550, valorPermanencia.tabela().centavos(5));
+            assertThrows(IllegalArgumentException.class, () -> new ValorPermanencia("1:7.50", BigDecimal.ONE));
+        }
+    }
+}
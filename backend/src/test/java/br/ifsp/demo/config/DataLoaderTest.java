@@ -8,8 +8,10 @@ import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
-import java.io.ByteArrayOutputStream;
-import java.io.PrintStream;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.slf4j.LoggerFactory;
 
 @SpringBootTest
 class DataLoaderTest {
@@ -20,6 +22,18 @@ class DataLoaderTest {
     @Autowired
     private DataLoader dataLoader;
 
+    private ListAppender<ILoggingEvent> capturarLog() {
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        ((Logger) LoggerFactory.getLogger(DataLoader.class)).addAppender(appender);
+        return appender;
+    }
+
+    private void pararCaptura(ListAppender<ILoggingEvent> appender) {
+        ((Logger) LoggerFactory.getLogger(DataLoader.class)).detachAppender(appender);
+        appender.stop();
+    }
+
     @Nested
     @DisplayName("Teste de mutante")
     class TesteDeMutantes {
@@ -31,17 +45,15 @@ class DataLoaderTest {
         void quandoBancoDeDadosVazio_entaoDataLoaderCriaEstacionamentoPadrao() {
 
             estacionamentoRepository.deleteAll();
-            String mensagemEsperada = ">>>> DataLoader: Estacionamento padrão 'Estacionamento Principal Central' foi criado!";
+            String mensagemEsperada = "Estacionamento padrão 'Estacionamento Principal Central' foi criado!";
 
-            ByteArrayOutputStream outputStreamCaptor = new ByteArrayOutputStream();
-            PrintStream standardOut = System.out;
-            System.setOut(new PrintStream(outputStreamCaptor));
+            ListAppender<ILoggingEvent> logCapturado = capturarLog();
 
             try {
                 dataLoader.run(null);
             } catch (Exception ignored) {
             } finally {
-                System.setOut(standardOut);
+                pararCaptura(logCapturado);
             }
 
             long total = estacionamentoRepository.count();
@@ -49,7 +61,7 @@ class DataLoaderTest {
 
             Estacionamento estacionamentoCarregado = estacionamentoRepository.findAll().getFirst();
             assertThat(estacionamentoCarregado.getNome()).isEqualTo("Estacionamento Principal Centrar");
-            assertThat(outputStreamCaptor.toString()).contains(mensagemEsperada);
+            assertThat(logCapturado.list).extracting(ILoggingEvent::getFormattedMessage).contains(mensagemEsperada);
         }
 
         @Test
@@ -60,22 +72,20 @@ class DataLoaderTest {
 
             estacionamentoRepository.deleteAll();
             estacionamentoRepository.save(new Estacionamento("Estacionamento Existente", "Rua Teste", 50));
-            String mensagemEsperada = ">>>> DataLoader: Pelo menos um estacionamento já existe. Nenhum novo estacionamento padrão foi criado.";
+            String mensagemEsperada = "Pelo menos um estacionamento já existe. Nenhum novo estacionamento padrão foi criado.";
 
-            ByteArrayOutputStream outputStreamCaptor = new ByteArrayOutputStream();
-            PrintStream standardOut = System.out;
-            System.setOut(new PrintStream(outputStreamCaptor));
+            ListAppender<ILoggingEvent> logCapturado = capturarLog();
 
             try {
                 dataLoader.run(null);
             } catch (Exception ignored) {
             } finally {
-                System.setOut(standardOut);
+                pararCaptura(logCapturado);
             }
 
             long total = estacionamentoRepository.count();
             assertThat(total).isEqualTo(1);
-            assertThat(outputStreamCaptor.toString()).contains(mensagemEsperada);
+            assertThat(logCapturado.list).extracting(ILoggingEvent::getFormattedMessage).contains(mensagemEsperada);
         }
 
     }
@@ -0,0 +1,75 @@
+package br.ifsp.demo.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.*;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLoggingFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger("br.ifsp.demo.acesso");
+    private final ListAppender<ILoggingEvent> logCapturado = new ListAppender<>();
+    private final RequestLoggingFilter filtro = new RequestLoggingFilter();
+
+    @BeforeEach
+    void setUp() {
+        logCapturado.start();
+        logger.addAppender(logCapturado);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(logCapturado);
+        logCapturado.stop();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Deve propagar o request id recebido e registrar método, uri, status e latência")
+    void devePropagarRequestIdERegistrarAcesso() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/estacionamento/registrar-saida");
+        request.addHeader(RequestLoggingFilter.HEADER_REQUEST_ID, "cancela-norte-42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> requestIdNaCadeia = new AtomicReference<>();
+
+        filtro.doFilter(request, response, (req, res) -> {
+            requestIdNaCadeia.set(MDC.get(RequestLoggingFilter.MDC_REQUEST_ID));
+            MDC.put(RequestLoggingFilter.MDC_USER, "gate@estacionamento.com");
+            ((MockHttpServletResponse) res).setStatus(201);
+        });
+
+        assertEquals("cancela-norte-42", requestIdNaCadeia.get());
+        assertEquals("cancela-norte-42", response.getHeader(RequestLoggingFilter.HEADER_REQUEST_ID));
+        assertThat(logCapturado.list).hasSize(1);
+        ILoggingEvent acesso = logCapturado.list.getFirst();
+        assertThat(acesso.getFormattedMessage())
+                .startsWith("method=POST uri=/estacionamento/registrar-saida status=201 latencyMs=");
+        assertEquals("gate@estacionamento.com", acesso.getMDCPropertyMap().get(RequestLoggingFilter.MDC_USER));
+        assertNull(MDC.get(RequestLoggingFilter.MDC_REQUEST_ID));
+        assertNull(MDC.get(RequestLoggingFilter.MDC_USER));
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Deve gerar um novo request id quando o recebido for inválido")
+    void deveGerarRequestIdQuandoRecebidoForInvalido() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/estacionamento/entradas");
+        request.addHeader(RequestLoggingFilter.HEADER_REQUEST_ID, "id com espaço\ne quebra de linha");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro.doFilter(request, response, (req, res) -> {});
+
+        assertThat(response.getHeader(RequestLoggingFilter.HEADER_REQUEST_ID)).matches("[0-9a-f-]{36}");
+    }
+}
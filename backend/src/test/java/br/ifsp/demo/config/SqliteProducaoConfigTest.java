@@ -0,0 +1,223 @@
+package br.ifsp.demo.config;
+
+import br.ifsp.demo.dto.CriarEstacionamentoDTO;
+import br.ifsp.demo.model.Estacionamento;
+import br.ifsp.demo.service.EstacionamentoService;
+import br.ifsp.demo.service.RelatorioService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@ActiveProfiles("producao")
+@SpringBootTest(properties = "estacionamento.ocupacao.reconciliacao-ms=3600000")
+class SqliteProducaoConfigTest {
+
+    private static Path banco;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("dataSourceEscrita")
+    private HikariDataSource dataSourceEscrita;
+
+    @Autowired
+    @Qualifier("dataSourceLeitura")
+    private HikariDataSource dataSourceLeitura;
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    @Autowired
+    private EstacionamentoService estacionamentoService;
+
+    @Autowired
+    private Environment environment;
+
+    @DynamicPropertySource
+    static void bancoTemporario(DynamicPropertyRegistry registry) throws IOException {
+        banco = Files.createTempFile("sqlite-producao", ".db");
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + banco);
+    }
+
+    @AfterAll
+    static void removerBanco() throws IOException {
+        for (String sufixo : new String[]{"", "-wal", "-shm"})
+            Files.deleteIfExists(Path.of(banco + sufixo));
+    }
+
+    private TransactionTemplate transacao(boolean somenteLeitura) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(somenteLeitura);
+        return template;
+    }
+
+    private int conexoesAtivasDeLeitura() {
+        return dataSourceLeitura.getHikariPoolMXBean().getActiveConnections();
+    }
+
+    @Nested
+    @DisplayName("Pragmas do arquivo")
+    class Pragmas {
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Conexões devem usar WAL, synchronous NORMAL, busy_timeout e mmap configurados")
+        void conexoesDevemUsarPragmasDeProducao() {
+            transacao(false).executeWithoutResult(status -> {
+                assertThat(jdbcTemplate.queryForObject("PRAGMA journal_mode", String.class)).isEqualToIgnoringCase("wal");
+                assertThat(jdbcTemplate.queryForObject("PRAGMA synchronous", Integer.class)).isEqualTo(1);
+                assertThat(jdbcTemplate.queryForObject("PRAGMA busy_timeout", Integer.class)).isEqualTo(5000);
+                assertThat(jdbcTemplate.queryForObject("PRAGMA mmap_size", Long.class)).isEqualTo(268435456L);
+            });
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Escrita deve ter uma única conexão")
+        void escritaDeveTerUmaUnicaConexao() {
+            assertThat(dataSourceEscrita.getMaximumPoolSize()).isEqualTo(1);
+            assertThat(dataSourceLeitura.getMaximumPoolSize()).isEqualTo(4);
+        }
+    }
+
+    @Nested
+    @DisplayName("Roteamento de conexões")
+    class Roteamento {
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Transação somente leitura deve usar o pool de leitura, que recusa escritas")
+        void transacaoSomenteLeituraDeveUsarPoolDeLeitura() {
+            transacao(true).executeWithoutResult(status -> {
+                assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pagamento", Long.class)).isNotNull();
+                assertThat(conexoesAtivasDeLeitura()).isEqualTo(1);
+                assertThrows(DataAccessException.class, () -> jdbcTemplate.update("DELETE FROM pagamento"));
+            });
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Transação de escrita deve usar a conexão de escrita")
+        void transacaoDeEscritaDeveUsarConexaoDeEscrita() {
+            transacao(false).executeWithoutResult(status -> {
+                assertThat(jdbcTemplate.update("DELETE FROM pagamento WHERE placa = 'NAO-EXISTE'")).isZero();
+                assertThat(conexoesAtivasDeLeitura()).isZero();
+            });
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Relatórios devem rodar em transação somente leitura")
+        void relatoriosDevemRodarSomenteLeitura() {
+            LocalDate hoje = LocalDate.now();
+
+            assertThat(relatorioService.gerarRelatorioDesempenho(hoje).quantidade()).isZero();
+            assertThat(relatorioService.gerarRelatorioMensal(hoje.getMonthValue(), hoje.getYear()))
+                    .containsEntry("totalVeiculos", 0);
+            assertThat(dataSourceLeitura.getHikariPoolMXBean().getTotalConnections()).isPositive();
+        }
+    }
+
+    @Nested
+    @DisplayName("Consultas do estacionamento")
+    class Consultas {
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Consultas devem responder pelo pool de leitura enquanto a conexão de escrita está ocupada")
+        void consultasNaoDevemUsarConexaoDeEscrita() throws Exception {
+            Estacionamento estacionamento = estacionamentoService.criarEstacionamento(
+                    new CriarEstacionamentoDTO("Estacionamento Leitura", "Rua do Leitor", 10));
+            CountDownLatch escritaOcupada = new CountDownLatch(1);
+            CountDownLatch liberarEscrita = new CountDownLatch(1);
+            CompletableFuture<Void> escrita = CompletableFuture.runAsync(() -> transacao(false).executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM pagamento WHERE placa = 'NAO-EXISTE'");
+                escritaOcupada.countDown();
+                try {
+                    liberarEscrita.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+
+            try {
+                assertThat(escritaOcupada.await(10, TimeUnit.SECONDS)).isTrue();
+                assertThat(dataSourceEscrita.getHikariPoolMXBean().getIdleConnections()).isZero();
+
+                assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                    assertThat(estacionamentoService.getAllEntradas()).isNotNull();
+                    assertThat(estacionamentoService.buscarEstacionamento(estacionamento.getId()).getNome())
+                            .isEqualTo("Estacionamento Leitura");
+                    assertThat(estacionamentoService.buscarEstacionamentoAtual()).isNotNull();
+                    assertThrows(ResponseStatusException.class, () -> estacionamentoService.buscarEntrada("LEI1234"));
+                });
+            } finally {
+                liberarEscrita.countDown();
+                escrita.get(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Esquema do banco")
+    class Esquema {
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Hibernate não deve recriar o esquema em produção")
+        void hibernateNaoDeveRecriarEsquema() {
+            assertThat(environment.getProperty("spring.jpa.hibernate.ddl-auto")).isEqualTo("none");
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Script do esquema deve poder rodar de novo sem apagar os dados")
+        void scriptDoEsquemaDevePreservarDados() {
+            jdbcTemplate.update("INSERT INTO estacionamento (id, nome, endereco, capacidade) VALUES (randomblob(16), ?, ?, ?)",
+                    "Estacionamento Reinício", "Rua do Esquema", 10);
+
+            new ResourceDatabasePopulator(new ClassPathResource("schema-producao.sql")).execute(dataSourceEscrita);
+
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM estacionamento WHERE nome = 'Estacionamento Reinício'", Long.class)).isPositive();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package br.ifsp.demo.controller;
+
+import br.ifsp.demo.components.EntradasAtivas;
+import br.ifsp.demo.dto.RelatorioDTO;
+import br.ifsp.demo.service.RelatorioService;
+import br.ifsp.demo.security.config.JwtService;
+import br.ifsp.demo.security.user.Role;
+import br.ifsp.demo.security.user.User;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "estacionamento.ocupacao.reconciliacao-ms=3600000")
+@AutoConfigureMockMvc
+class EstacionamentoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntradasAtivas entradasAtivas;
+
+    private String token() {
+        return "Bearer " + jwtService.generateToken(User.builder()
+                .id(UUID.randomUUID())
+                .name("Operador")
+                .lastname("Portaria")
+                .email("portaria@estacionamento.com")
+                .password("hash")
+                .role(Role.USER)
+                .build());
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Lote de entradas com item inválido deve ser recusado antes de registrar qualquer entrada")
+    void loteComItemInvalidoDeveSerRecusado() throws Exception {
+        mockMvc.perform(post("/estacionamento/lote/entradas")
+                        .header(HttpHeaders.AUTHORIZATION, token())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"placa": "VAL1001", "tipoVeiculo": "carro", "modelo": "Gol", "cor": "Prata", "vagaId": 1},
+                                 {"placa": "", "tipoVeiculo": "carro", "modelo": "Gol", "cor": "Prata", "vagaId": 0}]
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("ID da vaga deve ser maior que 0; Placa não pode ser vazia"));
+        assertThat(entradasAtivas.buscar("VAL1001")).isEmpty();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Receita semanal deve somar os centavos de cada dia")
+    void receitaSemanalDeveSomarCentavos() {
+        RelatorioService relatorioService = mock(RelatorioService.class);
+        when(relatorioService.gerarRelatorioDesempenho(any(LocalDate.class)))
+                .thenReturn(new RelatorioDTO(3, 1.5, 1999L, 0.2));
+        EstacionamentoController controller = new EstacionamentoController(null, relatorioService, null, null, null, null);
+
+        Map<String, Object> estatisticas = controller.getEstatisticasSemanais().getBody();
+
+        assertThat(estatisticas).containsEntry("receitaSemanal", 139.93).containsEntry("veiculosSemanal", 21);
+    }
+}
@@ -16,13 +16,13 @@ public class RelatorioDTOTest {
     public void deveCriarRelatorioComValoresCorretos() {
         int quantidade = 50;
         double tempoMedio = 3.5;
-        double receitaTotal = 750.25;
+        long receitaTotalCentavos = 75025;
         double ocupacaoMedia = 0.85;
 
         RelatorioDTO relatorio = RelatorioDTO.criarRelatorioDesempenho(
                 quantidade,
                 tempoMedio,
-                receitaTotal,
+                receitaTotalCentavos,
                 ocupacaoMedia
         );
 
@@ -30,7 +30,8 @@ public class RelatorioDTOTest {
 
         assertThat(relatorio.quantidade()).isEqualTo(quantidade);
         assertThat(relatorio.tempoMedioHoras()).isEqualTo(tempoMedio);
-        assertThat(relatorio.receitaTotal()).isEqualTo(receitaTotal);
+        assertThat(relatorio.receitaTotalCentavos()).isEqualTo(receitaTotalCentavos);
+        assertThat(relatorio.receitaTotal()).isEqualTo(750.25);
         assertThat(relatorio.ocupacaoMedia()).isEqualTo(ocupacaoMedia);
     }
 }
\ No newline at end of file
@@ -234,6 +234,7 @@ class EstacionamentoTest {
 
                 assertThat(registro).isNotNull();
                 assertThat(registro.getVeiculo()).isEqualTo(veiculo);
+                assertThat(registro.getEstacionamento()).isSameAs(estacionamento);
             }
 
             @ParameterizedTest
@@ -29,10 +29,10 @@ class PagamentoTest {
         veiculo = new Veiculo("123456", "carro", "escort", "prata");
         entrada = LocalDateTime.now();
         saida = entrada.plusHours(1);
-        registroEntrada = new RegistroEntrada(veiculo, 1);
+        registroEntrada = new RegistroEntrada(veiculo, new Estacionamento("Estacionamento Teste", "Rua Teste", 10), 1);
 
         calculadoraDeTarifa = mock(CalculadoraDeTarifa.class);
-        when(calculadoraDeTarifa.calcularValor(any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(25.0);
+        when(calculadoraDeTarifa.calcularCentavos(any(LocalDateTime.class), any(LocalDateTime.class), any(), any())).thenReturn(2500L);
     }
 
     @Nested
@@ -49,7 +49,7 @@ class PagamentoTest {
 
             when(mockRegistroEntrada.getVeiculo()).thenReturn(mockVeiculo);
             when(mockRegistroEntrada.getHoraEntrada()).thenReturn(agora);
-            when(mockCalculadora.calcularValor(any(), any())).thenReturn(50.0);
+            when(mockCalculadora.calcularCentavos(any(), any(), any(), any())).thenReturn(5000L);
 
             Pagamento pagamento = new Pagamento(mockRegistroEntrada, agora.plusHours(2), mockCalculadora);
 
@@ -127,8 +127,8 @@ class PagamentoTest {
             @DisplayName("Deve lançar exceção quando o valor da tarifa for negativo")
             void deveLancarExcecaoQuandoValorForNegativo() {
                 String mensagemEsperada = "Valor da tarifa não pode ser negativo";
-                when(calculadoraDeTarifa.calcularValor(any(LocalDateTime.class), any(LocalDateTime.class)))
-                        .thenReturn(-10.0);
+                when(calculadoraDeTarifa.calcularCentavos(any(LocalDateTime.class), any(LocalDateTime.class), any(), any()))
+                        .thenReturn(-1000L);
 
                 IllegalArgumentException excecao = assertThrows(IllegalArgumentException.class, () -> {
                     new Pagamento(registroEntrada, saida, calculadoraDeTarifa);
@@ -146,8 +146,8 @@ class PagamentoTest {
                 LocalDateTime horaSaida = registroEntrada.getHoraEntrada().plusHours(2);
 
 
-                when(calculadoraDeTarifa.calcularValor(any(LocalDateTime.class), any(LocalDateTime.class)))
-                        .thenReturn(0.0);
+                when(calculadoraDeTarifa.calcularCentavos(any(LocalDateTime.class), any(LocalDateTime.class), any(), any()))
+                        .thenReturn(0L);
 
                 assertDoesNotThrow(() -> {
                     estacionamento.registroSaida(registroEntrada, horaSaida, calculadoraDeTarifa);
@@ -231,8 +231,8 @@ class PagamentoTest {
             @Tag("Mutation")
             @DisplayName("Deve lançar exceção quando o valor da tarifa for negativo")
             void deveLancarExcecaoQuandoValorForNegativo() {
-                when(calculadoraDeTarifa.calcularValor(any(LocalDateTime.class), any(LocalDateTime.class)))
-                        .thenReturn(-10.0);
+                when(calculadoraDeTarifa.calcularCentavos(any(LocalDateTime.class), any(LocalDateTime.class), any(), any()))
+                        .thenReturn(-1000L);
 
                 IllegalArgumentException excecao = assertThrows(IllegalArgumentException.class, () -> {
                     new Pagamento(registroEntrada, entrada, saida, calculadoraDeTarifa);
@@ -246,8 +246,8 @@ class PagamentoTest {
             @Tag("Mutation")
             @DisplayName("Deve criar Pagamento com valor zero sem lançar exceção")
             void deveCriarPagamentoComValorZeroSemLancarExcecao() {
-                when(calculadoraDeTarifa.calcularValor(any(LocalDateTime.class), any(LocalDateTime.class)))
-                        .thenReturn(0.0);
+                when(calculadoraDeTarifa.calcularCentavos(any(LocalDateTime.class), any(LocalDateTime.class), any(), any()))
+                        .thenReturn(0L);
 
                 Pagamento pagamento = assertDoesNotThrow(() ->
                         new Pagamento(registroEntrada, entrada, saida, calculadoraDeTarifa)
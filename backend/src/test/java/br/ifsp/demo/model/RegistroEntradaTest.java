@@ -14,12 +14,14 @@ import static org.mockito.Mockito.when;
 class RegistroEntradaTest {
 
     private Veiculo veiculo;
+    private Estacionamento estacionamento;
     RegistroEntrada registroEntrada;
 
     @BeforeEach
     void setUp() {
         veiculo = new Veiculo("123456", "carro", "escort", "prata");
-        registroEntrada = new RegistroEntrada(veiculo);
+        estacionamento = new Estacionamento("Centro", "Rua Teste", 10);
+        registroEntrada = new RegistroEntrada(veiculo, estacionamento, 1);
     }
 
     @Nested
@@ -30,21 +32,6 @@ class RegistroEntradaTest {
         @DisplayName("Testes do construtor")
         class TestesDoConstrutor {
 
-            @ParameterizedTest
-            @Tag("UnitTest")
-            @Tag("Mutation")
-            @ValueSource(ints = { 0, 201})
-            @DisplayName("Deve lançar excecao quando ID da vaga for invalido")
-            void deveLancarExcecaoQuandoIdDaVagaForInvalido(int id) {
-
-                IllegalArgumentException excecao = assertThrows(IllegalArgumentException.class, () -> {
-                    RegistroEntrada registroEntrada = new RegistroEntrada(veiculo, id);
-                });
-
-                assertThat(excecao.getMessage()).isEqualTo("ID da vaga deve estar entre 1 e 200");
-
-            }
-
             @Test
             @Tag("UnitTest")
             @Tag("Mutation")
@@ -52,10 +39,10 @@ class RegistroEntradaTest {
             void deveLancarExcecaoQuandoIdDaVagaForNulo() {
 
                 IllegalArgumentException excecao = assertThrows(IllegalArgumentException.class, () -> {
-                    RegistroEntrada registroEntrada = new RegistroEntrada(veiculo, null);
+                    RegistroEntrada registroEntrada = new RegistroEntrada(veiculo, estacionamento, null);
                 });
 
-                assertThat(excecao.getMessage()).isEqualTo("ID da vaga deve estar entre 1 e 200");
+                assertThat(excecao.getMessage()).isEqualTo("ID da vaga deve estar entre 1 e 10");
 
             }
 
@@ -66,7 +53,7 @@ class RegistroEntradaTest {
             void deveLancarExcecaoQuandoVeiculoForNulo() {
 
                 IllegalArgumentException excecao = assertThrows(IllegalArgumentException.class, () -> {
-                    RegistroEntrada registroEntrada = new RegistroEntrada(null, 1);
+                    RegistroEntrada registroEntrada = new RegistroEntrada(null, estacionamento, 1);
                 });
 
                 assertThat(excecao.getMessage()).isEqualTo("Veículo não pode ser nulo");
@@ -74,33 +61,59 @@ class RegistroEntradaTest {
             }
 
             @Test
-            @Tag("UnitTest")
-            @Tag("Mutation")
-            @DisplayName("Deve lançar excecao quando veiculo for nulo - construtor2")
-            void deveLancarExcecaoQuandoVeiculoForNulo_construtor2() {
+            @DisplayName("NÃO deve lançar exceção quando vagaId for 1")
+            void naoDeveLancarExcecaoQuandoVagaIdForUm() {
+                assertDoesNotThrow(() -> {
+                    new RegistroEntrada(veiculo, estacionamento, 1);
+                });
+            }
 
-                IllegalArgumentException excecao = assertThrows(IllegalArgumentException.class, () -> {
-                    RegistroEntrada registroEntrada = new RegistroEntrada(null);
+            @Test
+            @DisplayName("NÃO deve lançar exceção quando vagaId for a última vaga do estacionamento")
+            void naoDeveLancarExcecaoQuandoVagaIdForAUltima() {
+                assertDoesNotThrow(() -> {
+                    new RegistroEntrada(veiculo, estacionamento, 10);
                 });
+            }
 
-                assertThat(excecao.getMessage()).isEqualTo("Veículo não pode ser nulo");
+            @Test
+            @Tag("UnitTest")
+            @Tag("Mutation")
+            @DisplayName("Deve aceitar vaga até a capacidade do estacionamento")
+            void deveAceitarVagaAteCapacidadeDoEstacionamento() {
+                Estacionamento estacionamento = new Estacionamento("Shopping", "Rua Teste", 3000);
+
+                RegistroEntrada registro = new RegistroEntrada(veiculo, estacionamento, 3000);
 
+                assertThat(registro.getVagaId()).isEqualTo(3000);
+                assertThat(registro.getEstacionamento()).isSameAs(estacionamento);
             }
 
-            @Test
-            @DisplayName("NÃO deve lançar exceção quando vagaId for 1")
-            void naoDeveLancarExcecaoQuandoVagaIdForUm() {
-                assertDoesNotThrow(() -> {
-                    new RegistroEntrada(veiculo, 1);
+            @ParameterizedTest
+            @Tag("UnitTest")
+            @Tag("Mutation")
+            @ValueSource(ints = { 0, 11})
+            @DisplayName("Deve lançar excecao quando vaga estiver fora da capacidade do estacionamento")
+            void deveLancarExcecaoQuandoVagaForaDaCapacidadeDoEstacionamento(int id) {
+                Estacionamento estacionamento = new Estacionamento("Centro", "Rua Teste", 10);
+
+                IllegalArgumentException excecao = assertThrows(IllegalArgumentException.class, () -> {
+                    new RegistroEntrada(veiculo, estacionamento, id);
                 });
+
+                assertThat(excecao.getMessage()).isEqualTo("ID da vaga deve estar entre 1 e 10");
             }
 
             @Test
-            @DisplayName("NÃO deve lançar exceção quando vagaId for 200")
-            void naoDeveLancarExcecaoQuandoVagaIdForDuzentos() {
-                assertDoesNotThrow(() -> {
-                    new RegistroEntrada(veiculo, 200);
+            @Tag("UnitTest")
+            @Tag("Mutation")
+            @DisplayName("Deve lançar excecao quando estacionamento for nulo")
+            void deveLancarExcecaoQuandoEstacionamentoForNulo() {
+                IllegalArgumentException excecao = assertThrows(IllegalArgumentException.class, () -> {
+                    new RegistroEntrada(veiculo, null, 1);
                 });
+
+                assertThat(excecao.getMessage()).isEqualTo("Estacionamento não pode ser nulo");
             }
 
 
@@ -113,14 +126,14 @@ class RegistroEntradaTest {
             @ParameterizedTest
             @Tag("UnitTest")
             @Tag("Mutation")
-            @ValueSource(ints = { 0, 201})
+            @ValueSource(ints = { 0, 11})
             @DisplayName("Deve lançar excecao quando setar id invalido")
             void deveLancarExcecaoQuandoSetarIdInvalido(int id) {
 
                 IllegalArgumentException excecao = assertThrows(IllegalArgumentException.class, () -> {
                     registroEntrada.setVagaId(id);
                 });
-                assertThat(excecao.getMessage()).isEqualTo("ID da vaga deve estar entre 1 e 200");
+                assertThat(excecao.getMessage()).isEqualTo("ID da vaga deve estar entre 1 e 10");
             }
 
             @Test
@@ -129,7 +142,7 @@ class RegistroEntradaTest {
                 IllegalArgumentException excecao = assertThrows(IllegalArgumentException.class, () -> {
                     registroEntrada.setVagaId(null);
                 });
-                assertThat(excecao.getMessage()).isEqualTo("ID da vaga deve estar entre 1 e 200");
+                assertThat(excecao.getMessage()).isEqualTo("ID da vaga deve estar entre 1 e 10");
             }
 
             @Test
@@ -141,11 +154,24 @@ class RegistroEntradaTest {
             }
 
             @Test
-            @DisplayName("NÃO deve lançar exceção quando vagaId for 200")
-            void naoDeveLancarExcecaoQuandoVagaIdForDuzentos() {
+            @DisplayName("NÃO deve lançar exceção quando vagaId for a última vaga do estacionamento")
+            void naoDeveLancarExcecaoQuandoVagaIdForAUltima() {
                 assertDoesNotThrow(() -> {
-                    registroEntrada.setVagaId(200);
+                    registroEntrada.setVagaId(10);
+                });
+            }
+
+            @Test
+            @Tag("UnitTest")
+            @Tag("Structural")
+            @DisplayName("Deve recusar troca de vaga em registro sem estacionamento")
+            void deveRecusarTrocaDeVagaSemEstacionamento() {
+                RegistroEntrada semEstacionamento = new RegistroEntrada();
+
+                IllegalStateException excecao = assertThrows(IllegalStateException.class, () -> {
+                    semEstacionamento.setVagaId(1);
                 });
+                assertThat(excecao.getMessage()).isEqualTo("Registro de entrada sem estacionamento não permite definir vaga");
             }
 
             @Test
@@ -164,7 +190,7 @@ class RegistroEntradaTest {
             @Tag("Mutation")
             @DisplayName("Deve retornar o id corretamente via getter")
             void deveRetornarIdCorretamenteViaGetter() throws Exception {
-                RegistroEntrada registro = new RegistroEntrada(veiculo);
+                RegistroEntrada registro = new RegistroEntrada(veiculo, estacionamento, 1);
                 UUID uuid = UUID.randomUUID();
 
                 Field field = RegistroEntrada.class.getDeclaredField("id");
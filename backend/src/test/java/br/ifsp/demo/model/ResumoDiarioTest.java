@@ -0,0 +1,163 @@
+package br.ifsp.demo.model;
+
+import br.ifsp.demo.components.CalculadoraTempoPermanencia;
+import br.ifsp.demo.components.ValorPermanencia;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResumoDiarioTest {
+
+    private static final LocalDate DATA = LocalDate.of(2025, 6, 1);
+
+    private Estacionamento estacionamento;
+    private ResumoDiario resumo;
+
+    @BeforeEach
+    void setUp() {
+        estacionamento = new Estacionamento("Estacionamento Teste", "Rua Teste", 10);
+        resumo = new ResumoDiario(estacionamento, DATA);
+    }
+
+    private Pagamento pagamento(String placa, LocalDateTime entrada, LocalDateTime saida) {
+        return new Pagamento(new RegistroEntrada(new Veiculo(placa, "carro", "modelo", "cor"), estacionamento, 1),
+                entrada, saida, new CalculadoraTempoPermanencia(new ValorPermanencia()));
+    }
+
+    @Nested
+    @DisplayName("Testes Funcionais")
+    class TestesFuncionais {
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Deve acumular quantidade, tempo, receita e minutos ocupados dos pagamentos do dia")
+        void deveAcumularPagamentosDoDia() {
+            Pagamento p1 = pagamento("A", DATA.atTime(1, 0), DATA.atTime(3, 0));
+            Pagamento p2 = pagamento("B", DATA.atTime(10, 0), DATA.atTime(10, 30));
+
+            resumo.registrarPagamento(p1);
+            resumo.registrarPagamento(p2);
+
+            assertEquals(2, resumo.getQuantidade());
+            assertEquals(150, resumo.getTempoTotalMinutos());
+            assertEquals(150, resumo.getMinutosOcupados());
+            assertEquals(p1.getValorCentavos() + p2.getValorCentavos(), resumo.getReceitaCentavos());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Receita acumulada em centavos não deve perder centavos com muitos pagamentos")
+        void receitaEmCentavosDeveSerExata() {
+            CalculadoraTempoPermanencia dezCentavos = mock(CalculadoraTempoPermanencia.class);
+            when(dezCentavos.calcularCentavos(any(), any(), any(), any())).thenReturn(10L);
+            Pagamento pagamento = new Pagamento(new RegistroEntrada(new Veiculo("D", "carro", "modelo", "cor"), estacionamento, 1),
+                    DATA.atTime(8, 0), DATA.atTime(9, 0), dezCentavos);
+
+            for (int i = 0; i < 1_000_000; i++)
+                resumo.registrarPagamento(pagamento);
+
+            assertEquals(10_000_000L, resumo.getReceitaCentavos());
+            assertEquals(100_000.0, resumo.getReceita());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Deve contar apenas a parte do dia como minutos ocupados quando a entrada foi no dia anterior")
+        void deveRecortarMinutosOcupadosAoInicioDoDia() {
+            Pagamento pernoite = pagamento("C", DATA.atStartOfDay().minusHours(2), DATA.atStartOfDay().plusHours(2));
+
+            resumo.registrarPagamento(pernoite);
+
+            assertEquals(240, resumo.getTempoTotalMinutos());
+            assertEquals(120, resumo.getMinutosOcupados());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Deve calcular minutos de permanência e minutos ocupados de cada pagamento")
+        void deveCalcularMinutosDoPagamento() {
+            LocalDateTime inicioDoDia = DATA.atStartOfDay();
+
+            Pagamento dentroDoDia = pagamento("A", inicioDoDia.plusHours(1), inicioDoDia.plusHours(3));
+            Pagamento pernoite = pagamento("B", inicioDoDia.minusHours(2), inicioDoDia.plusHours(2));
+
+            assertEquals(120, ResumoDiario.minutosDePermanencia(dentroDoDia));
+            assertEquals(120, ResumoDiario.minutosOcupadosNoDia(dentroDoDia));
+            assertEquals(240, ResumoDiario.minutosDePermanencia(pernoite));
+            assertEquals(120, ResumoDiario.minutosOcupadosNoDia(pernoite));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes Estruturais")
+    class TestesEstruturais {
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Deve lançar exceção quando o estacionamento for nulo")
+        void deveLancarExcecaoQuandoEstacionamentoForNulo() {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> new ResumoDiario(null, DATA));
+
+            assertThat(exception.getMessage()).isEqualTo("Estacionamento não pode ser nulo");
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Deve lançar exceção quando a data for nula")
+        void deveLancarExcecaoQuandoDataForNula() {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> new ResumoDiario(estacionamento, null));
+
+            assertThat(exception.getMessage()).isEqualTo("Data não pode ser nula");
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Deve recusar pagamento sem hora de entrada ou de saída sem alterar o resumo")
+        void deveRecusarPagamentoIncompleto() {
+            Pagamento semEntrada = mock(Pagamento.class);
+            when(semEntrada.getHoraEntrada()).thenReturn(null);
+
+            Pagamento semSaida = mock(Pagamento.class);
+            when(semSaida.getHoraEntrada()).thenReturn(DATA.atTime(10, 0));
+            when(semSaida.getHoraSaida()).thenReturn(null);
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> resumo.registrarPagamento(semEntrada));
+            assertThat(exception.getMessage()).isEqualTo("Pagamento precisa ter hora de entrada e de saída");
+            assertThrows(IllegalArgumentException.class, () -> resumo.registrarPagamento(semSaida));
+            assertThrows(IllegalArgumentException.class, () -> resumo.registrarPagamento(null));
+
+            assertEquals(0, resumo.getQuantidade());
+            assertEquals(0.0, resumo.getReceita());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Deve recusar pagamento com saída em outro dia")
+        void deveRecusarPagamentoDeOutroDia() {
+            Pagamento outroDia = pagamento("A", DATA.atTime(10, 0).minusDays(1), DATA.atTime(12, 0).minusDays(1));
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> resumo.registrarPagamento(outroDia));
+
+            assertThat(exception.getMessage()).isEqualTo("Pagamento não pertence ao dia " + DATA);
+        }
+    }
+}
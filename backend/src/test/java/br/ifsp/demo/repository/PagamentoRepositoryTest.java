@@ -0,0 +1,80 @@
+package br.ifsp.demo.repository;
+
+import br.ifsp.demo.components.CalculadoraTempoPermanencia;
+import br.ifsp.demo.components.ValorPermanencia;
+import br.ifsp.demo.model.Estacionamento;
+import br.ifsp.demo.model.Pagamento;
+import br.ifsp.demo.model.RegistroEntrada;
+import br.ifsp.demo.model.Veiculo;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "estacionamento.ocupacao.reconciliacao-ms=3600000")
+class PagamentoRepositoryTest {
+
+    private static Path banco;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @DynamicPropertySource
+    static void bancoTemporario(DynamicPropertyRegistry registry) throws IOException {
+        banco = Files.createTempFile("pagamento", ".db");
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + banco);
+    }
+
+    @AfterAll
+    static void removerBanco() throws IOException {
+        for (String sufixo : new String[]{"", "-wal", "-shm"})
+            Files.deleteIfExists(Path.of(banco + sufixo));
+    }
+
+    private Pagamento pagamento(String placa, LocalDateTime horaSaida) {
+        RegistroEntrada entrada = new RegistroEntrada(new Veiculo(placa, "carro", "Gol", "Prata"),
+                new Estacionamento("Estacionamento Histórico", "Rua do Cursor", 10), 1);
+        return new Pagamento(entrada, horaSaida.minusHours(2), horaSaida,
+                new CalculadoraTempoPermanencia(new ValorPermanencia()));
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Paginar pelo par hora de saída e id não deve pular saídas no mesmo instante")
+    void paginacaoNaoDevePularSaidasEmpatadas() {
+        LocalDateTime empate = LocalDateTime.of(2025, 5, 4, 11, 30);
+        List<Pagamento> salvos = pagamentoRepository.saveAllAndFlush(List.of(
+                pagamento("HIS1000", empate.plusHours(1)),
+                pagamento("HIS1000", empate),
+                pagamento("HIS1000", empate),
+                pagamento("HIS1000", empate),
+                pagamento("HIS1000", empate.minusHours(1))));
+
+        List<Pagamento> lidos = new ArrayList<>(pagamentoRepository.findByPlacaOrderByHoraSaidaDescUuidDesc("HIS1000", Limit.of(2)));
+        while (true) {
+            Pagamento ultimo = lidos.getLast();
+            List<Pagamento> pagina = pagamentoRepository.buscarHistoricoAntesDe(
+                    "HIS1000", ultimo.getHoraSaida(), ultimo.getUuid(), Limit.of(2));
+            if (pagina.isEmpty())
+                break;
+            lidos.addAll(pagina);
+        }
+
+        assertThat(lidos).extracting(Pagamento::getUuid)
+                .doesNotHaveDuplicates()
+                .containsExactlyInAnyOrderElementsOf(salvos.stream().map(Pagamento::getUuid).toList());
+        assertThat(lidos).extracting(Pagamento::getHoraSaida).isSortedAccordingTo((a, b) -> b.compareTo(a));
+    }
+}
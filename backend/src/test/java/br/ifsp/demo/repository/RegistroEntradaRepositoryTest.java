@@ -0,0 +1,78 @@
+package br.ifsp.demo.repository;
+
+import br.ifsp.demo.model.Estacionamento;
+import br.ifsp.demo.model.RegistroEntrada;
+import br.ifsp.demo.model.Veiculo;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "estacionamento.ocupacao.reconciliacao-ms=3600000")
+class RegistroEntradaRepositoryTest {
+
+    private static Path banco;
+
+    @Autowired
+    private RegistroEntradaRepository registroEntradaRepository;
+
+    @Autowired
+    private EstacionamentoRepository estacionamentoRepository;
+
+    @Autowired
+    private VeiculoRepository veiculoRepository;
+
+    @DynamicPropertySource
+    static void bancoTemporario(DynamicPropertyRegistry registry) throws IOException {
+        banco = Files.createTempFile("registro-entrada", ".db");
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + banco);
+    }
+
+    @AfterAll
+    static void removerBanco() throws IOException {
+        for (String sufixo : new String[]{"", "-wal", "-shm"})
+            Files.deleteIfExists(Path.of(banco + sufixo));
+    }
+
+    private Veiculo veiculo() {
+        String placa = "V" + UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+        return veiculoRepository.saveAndFlush(new Veiculo(placa, "carro", "Gol", "Prata"));
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Banco deve recusar duas entradas na mesma vaga do mesmo estacionamento")
+    void bancoDeveRecusarVagaRepetida() {
+        Estacionamento estacionamento = estacionamentoRepository.saveAndFlush(
+                new Estacionamento("Estacionamento Vaga Única", "Rua da Restrição", 10));
+        registroEntradaRepository.saveAndFlush(new RegistroEntrada(veiculo(), estacionamento, 3));
+        RegistroEntrada repetida = new RegistroEntrada(veiculo(), estacionamento, 3);
+
+        assertThrows(DataIntegrityViolationException.class, () -> registroEntradaRepository.saveAndFlush(repetida));
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Mesma vaga pode ser ocupada em estacionamentos diferentes")
+    void mesmaVagaEmEstacionamentosDiferentes() {
+        Estacionamento primeiro = estacionamentoRepository.saveAndFlush(
+                new Estacionamento("Estacionamento Norte", "Rua A", 10));
+        Estacionamento segundo = estacionamentoRepository.saveAndFlush(
+                new Estacionamento("Estacionamento Sul", "Rua B", 10));
+        registroEntradaRepository.saveAndFlush(new RegistroEntrada(veiculo(), primeiro, 3));
+
+        assertDoesNotThrow(() -> registroEntradaRepository.saveAndFlush(new RegistroEntrada(veiculo(), segundo, 3)));
+    }
+}
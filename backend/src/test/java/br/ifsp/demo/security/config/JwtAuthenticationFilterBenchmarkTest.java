@@ -0,0 +1,90 @@
+package br.ifsp.demo.security.config;
+
+import br.ifsp.demo.security.user.Role;
+import br.ifsp.demo.security.user.User;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("Benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/benchmark-jwt.db",
+        "spring.jpa.show-sql=false",
+        "estacionamento.ocupacao.reconciliacao-ms=3600000"
+})
+class JwtAuthenticationFilterBenchmarkTest {
+
+    private static final int THREADS = 8;
+    private static final long AQUECIMENTO_MS = 3_000;
+    private static final long MEDICAO_MS = 10_000;
+
+    @Autowired
+    private JwtAuthenticationFilter filtro;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private long executar(String token, long duracaoMs) throws Exception {
+        FilterChain cadeia = (request, response) -> {};
+        AtomicLong requisicoes = new AtomicLong();
+        long fim = System.currentTimeMillis() + duracaoMs;
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++)
+                tarefas.add(executor.submit(() -> {
+                    long feitas = 0;
+                    while (System.currentTimeMillis() < fim) {
+                        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/estacionamento/registrar-saida");
+                        request.addHeader("Authorization", "Bearer " + token);
+                        filtro.doFilter(request, new MockHttpServletResponse(), cadeia);
+                        SecurityContextHolder.clearContext();
+                        feitas++;
+                    }
+                    requisicoes.addAndGet(feitas);
+                    return null;
+                }));
+            for (Future<?> tarefa : tarefas)
+                tarefa.get();
+        } finally {
+            executor.shutdown();
+        }
+        return requisicoes.get();
+    }
+
+    @Test
+    @DisplayName("Filtro JWT deve autenticar dezenas de milhares de requisições por segundo")
+    void vazaoDoFiltroJwt() throws Exception {
+        User usuario = User.builder()
+                .id(UUID.randomUUID())
+                .name("Cancela")
+                .lastname("Norte")
+                .email("cancela@estacionamento.com")
+                .password("hash")
+                .role(Role.USER)
+                .build();
+        String token = jwtService.generateToken(usuario);
+
+        executar(token, AQUECIMENTO_MS);
+        long requisicoes = executar(token, MEDICAO_MS);
+        double porSegundo = requisicoes * 1000.0 / MEDICAO_MS;
+
+        System.err.printf("Filtro JWT: %d threads, %.0f req/s%n", THREADS, porSegundo);
+        assertThat(porSegundo).isGreaterThan(50_000.0);
+    }
+}
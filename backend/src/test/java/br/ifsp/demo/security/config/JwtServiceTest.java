@@ -0,0 +1,135 @@
+package br.ifsp.demo.security.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.*;
+import br.ifsp.demo.security.user.Role;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final String OUTRO_SECRET = "5A7134743777217A25432A462D4A614E645267556B58703273357638792F423F";
+
+    private JwtService jwtService;
+    private UserDetails usuario;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 60_000);
+        usuario = User.withUsername("gate@estacionamento.com").password("senha").roles("USER").build();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Deve verificar o token uma vez e reutilizar as claims nas chamadas seguintes")
+    void deveReutilizarClaimsDoTokenVerificado() {
+        String token = jwtService.generateToken(Map.of("papel", "USER"), usuario);
+
+        Claims primeira = jwtService.parseToken(token);
+        Claims segunda = jwtService.parseToken(token);
+
+        assertSame(primeira, segunda);
+        assertEquals("gate@estacionamento.com", jwtService.extractUsername(token));
+        assertEquals("USER", primeira.get("papel"));
+        assertTrue(jwtService.isTokenValid(primeira, usuario));
+        assertTrue(jwtService.isTokenValid(token, usuario));
+        assertEquals(1, jwtService.tokensEmCache());
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Cache deve guardar o resumo SHA-256 do token, e não o token em claro")
+    @SuppressWarnings("unchecked")
+    void cacheDeveGuardarResumoDoToken() {
+        String token = jwtService.generateToken(usuario);
+
+        jwtService.parseToken(token);
+
+        Map<String, ?> cache = (Map<String, ?>) ReflectionTestUtils.getField(jwtService, "tokensVerificados");
+        assertThat(cache.keySet()).containsExactly(JwtService.chaveDoCache(token));
+        assertThat(JwtService.chaveDoCache(token)).hasSize(64).isNotEqualTo(token);
+        assertNotEquals(JwtService.chaveDoCache(token), JwtService.chaveDoCache(jwtService.generateToken(Map.of("n", 1), usuario)));
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Deve reconstruir o usuário autenticado a partir das claims do token")
+    void deveReconstruirUsuarioAPartirDasClaims() {
+        br.ifsp.demo.security.user.User cadastrado = br.ifsp.demo.security.user.User.builder()
+                .id(UUID.randomUUID())
+                .name("Maria")
+                .lastname("Silva")
+                .email("maria@estacionamento.com")
+                .password("hash")
+                .role(Role.ADMIN)
+                .build();
+
+        Claims claims = jwtService.parseToken(jwtService.generateToken(cadastrado));
+        br.ifsp.demo.security.user.User reconstruido = jwtService.userFromClaims(claims).orElseThrow();
+
+        assertEquals(cadastrado.getId(), reconstruido.getId());
+        assertEquals("maria@estacionamento.com", reconstruido.getUsername());
+        assertEquals("Maria", reconstruido.getName());
+        assertEquals(Role.ADMIN, reconstruido.getRole());
+        assertThat(reconstruido.getAuthorities()).extracting(Object::toString).containsExactly("ADMIN");
+        assertTrue(jwtService.isTokenValid(claims, reconstruido));
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Token sem as claims do usuário não deve reconstruir o usuário")
+    void tokenSemClaimsDoUsuarioNaoDeveReconstruirUsuario() {
+        Claims claims = jwtService.parseToken(jwtService.generateToken(usuario));
+
+        assertTrue(jwtService.userFromClaims(claims).isEmpty());
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Token de outro usuário não deve ser válido para o usuário informado")
+    void tokenDeOutroUsuarioNaoDeveSerValido() {
+        UserDetails outro = User.withUsername("outro@estacionamento.com").password("senha").roles("USER").build();
+        String token = jwtService.generateToken(usuario);
+
+        assertFalse(jwtService.isTokenValid(token, outro));
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Token expirado ou com assinatura inválida deve ser rejeitado e não entrar no cache")
+    void deveRejeitarTokenExpiradoOuComAssinaturaInvalida() {
+        String expirado = new JwtService(SECRET, -1_000).generateToken(usuario);
+        String assinadoComOutraChave = new JwtService(OUTRO_SECRET, 60_000).generateToken(usuario);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.parseToken(expirado));
+        assertThrows(SignatureException.class, () -> jwtService.parseToken(assinadoComOutraChave));
+        assertEquals(0, jwtService.tokensEmCache());
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Cache de tokens verificados não deve passar do limite")
+    void cacheDeTokensDeveSerLimitado() {
+        for (int i = 0; i <= JwtService.MAX_TOKENS_EM_CACHE; i++)
+            jwtService.parseToken(jwtService.generateToken(Map.of("n", i), usuario));
+
+        assertThat(jwtService.tokensEmCache()).isBetween(1, JwtService.MAX_TOKENS_EM_CACHE);
+    }
+}
@@ -0,0 +1,172 @@
+package br.ifsp.demo.security.config;
+
+import br.ifsp.demo.components.GradesTarifarias;
+import br.ifsp.demo.components.ValorPermanencia;
+import br.ifsp.demo.dto.TarifaDTO;
+import br.ifsp.demo.security.user.Role;
+import br.ifsp.demo.security.user.User;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "estacionamento.ocupacao.reconciliacao-ms=3600000")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class SecurityConfigurationTest {
+
+    private static final String TARIFA = """
+            {"faixas": [{"horas": 1, "valor": 12.50}, {"horas": 6, "valor": 40.00}], "horaAdicional": 9.00}
+            """;
+    private static final String GRADE = """
+            {"tipoVeiculo": "caminhao-teste", "tarifa": {"faixas": [{"horas": 1, "valor": 30.00}], "horaAdicional": 10.00}}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ValorPermanencia valorPermanencia;
+
+    @Autowired
+    private GradesTarifarias gradesTarifarias;
+
+    private TarifaDTO tarifaOriginal;
+
+    @BeforeEach
+    void guardarTarifa() {
+        tarifaOriginal = valorPermanencia.tabela().definicao();
+    }
+
+    @AfterEach
+    void restaurarTarifas() {
+        valorPermanencia.recarregar(tarifaOriginal);
+        gradesTarifarias.remover(null, "caminhao-teste");
+    }
+
+    private MockHttpServletRequestBuilder comPapel(MockHttpServletRequestBuilder requisicao, Role papel) {
+        User usuario = User.builder()
+                .id(UUID.randomUUID())
+                .name("Operador")
+                .lastname("Portaria")
+                .email(papel.name().toLowerCase() + "@estacionamento.com")
+                .password("hash")
+                .role(papel)
+                .build();
+        return requisicao.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(usuario));
+    }
+
+    @Nested
+    @DisplayName("Alteração de tarifas")
+    class Tarifas {
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Administrador deve poder alterar a tarifa")
+        void administradorDeveAlterarTarifa() throws Exception {
+            mockMvc.perform(comPapel(put("/estacionamento/tarifas"), Role.ADMIN)
+                            .contentType(MediaType.APPLICATION_JSON).content(TARIFA))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.faixas[0].valor").value(12.50));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Usuário comum não deve alterar a tarifa")
+        void usuarioComumNaoDeveAlterarTarifa() throws Exception {
+            mockMvc.perform(comPapel(put("/estacionamento/tarifas"), Role.USER)
+                            .contentType(MediaType.APPLICATION_JSON).content(TARIFA))
+                    .andExpect(status().isForbidden());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Alteração de tarifa sem token deve ser recusada")
+        void alteracaoSemTokenDeveSerRecusada() throws Exception {
+            mockMvc.perform(put("/estacionamento/tarifas").contentType(MediaType.APPLICATION_JSON).content(TARIFA))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+
+    @Nested
+    @DisplayName("Alteração de grades tarifárias")
+    class Grades {
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Administrador deve poder salvar e remover grades")
+        void administradorDeveSalvarERemoverGrades() throws Exception {
+            mockMvc.perform(comPapel(put("/estacionamento/tarifas/grades"), Role.ADMIN)
+                            .contentType(MediaType.APPLICATION_JSON).content(GRADE))
+                    .andExpect(status().isOk());
+            assertThat(gradesTarifarias.resolver(null, "caminhao-teste")).isNotNull();
+
+            mockMvc.perform(comPapel(delete("/estacionamento/tarifas/grades"), Role.ADMIN)
+                            .param("tipoVeiculo", "caminhao-teste"))
+                    .andExpect(status().isNoContent());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Usuário comum não deve salvar nem remover grades")
+        void usuarioComumNaoDeveAlterarGrades() throws Exception {
+            mockMvc.perform(comPapel(put("/estacionamento/tarifas/grades"), Role.USER)
+                            .contentType(MediaType.APPLICATION_JSON).content(GRADE))
+                    .andExpect(status().isForbidden());
+            mockMvc.perform(comPapel(delete("/estacionamento/tarifas/grades"), Role.USER)
+                            .param("tipoVeiculo", "caminhao-teste"))
+                    .andExpect(status().isForbidden());
+
+            assertThat(gradesTarifarias.resolver(null, "caminhao-teste")).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Endpoints do actuator")
+    class Actuator {
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Health deve continuar público")
+        void healthDeveSerPublico() throws Exception {
+            mockMvc.perform(get("/actuator/health/liveness"))
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Prometheus deve exigir token de administrador")
+        void prometheusDeveExigirAdministrador() throws Exception {
+            mockMvc.perform(get("/actuator/prometheus"))
+                    .andExpect(status().isUnauthorized());
+            mockMvc.perform(comPapel(get("/actuator/prometheus"), Role.USER))
+                    .andExpect(status().isForbidden());
+            mockMvc.perform(comPapel(get("/actuator/prometheus"), Role.ADMIN))
+                    .andExpect(status().isOk());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.components.AlocadorDeVagas;
+import br.ifsp.demo.components.EntradasAtivas;
+import br.ifsp.demo.components.EventosEstacionamento;
+import br.ifsp.demo.components.MetricasEstacionamento;
+import br.ifsp.demo.components.OcupacaoVagas;
+import br.ifsp.demo.model.Estacionamento;
+import br.ifsp.demo.model.RegistroEntrada;
+import br.ifsp.demo.model.Veiculo;
+import br.ifsp.demo.repository.EstacionamentoRepository;
+import br.ifsp.demo.repository.PagamentoRepository;
+import br.ifsp.demo.repository.RegistroEntradaRepository;
+import br.ifsp.demo.repository.ResumoDiarioRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EstacionamentoServiceConcorrenciaTest {
+
+    private static final int CAPACIDADE = 3000;
+    private static final int TENTATIVAS = 4000;
+
+    private final Map<String, RegistroEntrada> entradasPorPlaca = new ConcurrentHashMap<>();
+    private final Map<Integer, RegistroEntrada> entradasPorVaga = new ConcurrentHashMap<>();
+    private final Queue<String> violacoes = new ConcurrentLinkedQueue<>();
+
+    private Estacionamento estacionamento;
+    private OcupacaoVagas ocupacaoVagas;
+    private EstacionamentoService estacionamentoService;
+
+    @BeforeEach
+    void setUp() {
+        estacionamento = new Estacionamento("Estacionamento Shopping", "Av. Central", CAPACIDADE);
+        ReflectionTestUtils.setField(estacionamento, "id", UUID.randomUUID());
+
+        EstacionamentoRepository estacionamentoRepository = mock(EstacionamentoRepository.class);
+        RegistroEntradaRepository registroEntradaRepository = mock(RegistroEntradaRepository.class);
+        VeiculoService veiculoService = mock(VeiculoService.class);
+        ocupacaoVagas = new OcupacaoVagas();
+
+        when(estacionamentoRepository.findById(estacionamento.getId())).thenReturn(Optional.of(estacionamento));
+        when(veiculoService.obterOuCadastrarVeiculo(any(Veiculo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(registroEntradaRepository.save(any(RegistroEntrada.class))).thenAnswer(invocation -> {
+            RegistroEntrada entrada = invocation.getArgument(0);
+            if (entradasPorVaga.putIfAbsent(entrada.getVagaId(), entrada) != null)
+                violacoes.add("Vaga " + entrada.getVagaId() + " registrada duas vezes");
+            if (entradasPorPlaca.putIfAbsent(entrada.getVeiculo().getPlaca(), entrada) != null)
+                violacoes.add("Placa " + entrada.getVeiculo().getPlaca() + " registrada duas vezes");
+            return entrada;
+        });
+
+        estacionamentoService = new EstacionamentoService(estacionamentoRepository, registroEntradaRepository,
+                mock(PagamentoRepository.class), mock(ResumoDiarioRepository.class), veiculoService, mock(CalculadoraDeTarifa.class), ocupacaoVagas, new EntradasAtivas(),
+                mock(EventosEstacionamento.class), mock(MetricasEstacionamento.class), mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Entradas simultâneas não devem ocupar a mesma vaga nem repetir a placa")
+    void entradasSimultaneasNaoDevemConflitar() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<HttpStatusCode>> resultados = IntStream.range(0, TENTATIVAS)
+                    .mapToObj(i -> executor.submit(() -> {
+                        largada.await();
+                        return registrar(i);
+                    }))
+                    .toList();
+
+            largada.countDown();
+
+            Map<HttpStatusCode, Integer> porStatus = new HashMap<>();
+            for (Future<HttpStatusCode> resultado : resultados) {
+                porStatus.merge(resultado.get(60, TimeUnit.SECONDS), 1, Integer::sum);
+            }
+
+            assertThat(violacoes).isEmpty();
+            assertThat(porStatus.keySet()).isSubsetOf(HttpStatus.OK, HttpStatus.CONFLICT, HttpStatus.BAD_REQUEST);
+            assertThat(porStatus.getOrDefault(HttpStatus.OK, 0)).isEqualTo(entradasPorVaga.size());
+            assertThat(entradasPorVaga.size()).isLessThanOrEqualTo(CAPACIDADE);
+
+            AlocadorDeVagas alocador = ocupacaoVagas.doEstacionamento(estacionamento);
+            long vagasReservadas = IntStream.rangeClosed(1, CAPACIDADE).filter(alocador::estaOcupada).count();
+            assertThat(vagasReservadas).isEqualTo(entradasPorVaga.size());
+            assertThat(alocador.getVagasOcupadas()).isEqualTo(entradasPorVaga.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private HttpStatusCode registrar(int tentativa) {
+        Veiculo veiculo = new Veiculo("CNC-" + (tentativa % 3500), "Carro", "Gol", "Branco");
+        try {
+            if (tentativa % 2 == 0)
+                estacionamentoService.registrarEntrada(veiculo, estacionamento.getId(), tentativa % 1500 + 1);
+            else
+                estacionamentoService.registrar(veiculo, estacionamento.getId());
+            return HttpStatus.OK;
+        } catch (ResponseStatusException e) {
+            return e.getStatusCode();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.dto.CriarEstacionamentoDTO;
+import br.ifsp.demo.model.Estacionamento;
+import br.ifsp.demo.model.Veiculo;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "estacionamento.ocupacao.reconciliacao-ms=3600000"
+})
+class EstacionamentoServiceConsultasTest {
+
+    private static final long ORCAMENTO_VEICULO_CONHECIDO = 2;
+    // insert do veículo + select last_insert_rowid() exigido pela chave IDENTITY no SQLite
+    private static final long ORCAMENTO_VEICULO_NOVO = 4;
+
+    @Autowired
+    private EstacionamentoService estacionamentoService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+    private Estacionamento estacionamento;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estacionamento = estacionamentoService.criarEstacionamento(
+                new CriarEstacionamentoDTO("Estacionamento Orçamento", "Rua das Consultas", 50));
+        estacionamentoService.findNextAvailableSpot(estacionamento);
+    }
+
+    private Veiculo novoVeiculo() {
+        String placa = "SQL" + UUID.randomUUID().toString().substring(0, 4).toUpperCase();
+        return new Veiculo(placa, "Carro", "Gol", "Prata");
+    }
+
+    private long contarConsultas(Runnable operacao) {
+        estatisticas.clear();
+        operacao.run();
+        return estatisticas.getPrepareStatementCount();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Entrada de veículo já cadastrado deve caber no orçamento de consultas")
+    void entradaDeVeiculoConhecidoDeveCaberNoOrcamento() {
+        Veiculo veiculo = novoVeiculo();
+        estacionamentoService.registrarEntrada(veiculo, estacionamento.getId(), 1);
+        estacionamentoService.cancelarEntrada(veiculo.getPlaca());
+
+        long consultas = contarConsultas(() ->
+                estacionamentoService.registrarEntrada(veiculo, estacionamento.getId(), 2));
+
+        assertThat(consultas).isLessThanOrEqualTo(ORCAMENTO_VEICULO_CONHECIDO);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Entrada de veículo novo deve caber no orçamento de consultas")
+    void entradaDeVeiculoNovoDeveCaberNoOrcamento() {
+        long consultas = contarConsultas(() ->
+                estacionamentoService.registrar(novoVeiculo(), estacionamento.getId()));
+
+        assertThat(consultas).isLessThanOrEqualTo(ORCAMENTO_VEICULO_NOVO);
+    }
+}
@@ -0,0 +1,107 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.dto.ReciboDTO;
+import br.ifsp.demo.dto.ResultadoLoteDTO;
+import br.ifsp.demo.dto.VeiculoComVagaDTO;
+import br.ifsp.demo.model.Estacionamento;
+import br.ifsp.demo.model.RegistroEntrada;
+import br.ifsp.demo.model.Veiculo;
+import br.ifsp.demo.repository.PagamentoRepository;
+import br.ifsp.demo.repository.RegistroEntradaRepository;
+import br.ifsp.demo.repository.VeiculoRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "estacionamento.ocupacao.reconciliacao-ms=3600000")
+class EstacionamentoServiceLoteTest {
+
+    // a classe pode rodar mais de uma vez no mesmo contexto: cada rodada usa vagas e placas próprias
+    private static final AtomicInteger RODADA = new AtomicInteger();
+
+    @Autowired
+    private EstacionamentoService estacionamentoService;
+
+    @Autowired
+    private RegistroEntradaRepository registroEntradaRepository;
+
+    @Autowired
+    private VeiculoRepository veiculoRepository;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    // o arquivo só é apagado no fim da JVM porque a suíte de serviços reaproveita este contexto
+    @DynamicPropertySource
+    static void bancoTemporario(DynamicPropertyRegistry registry) throws IOException {
+        Path banco = Files.createTempFile("entradas-lote", ".db");
+        banco.toFile().deleteOnExit();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + banco);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Item recusado pelo banco não deve derrubar os demais itens do lote")
+    void itemRecusadoPeloBancoNaoDeveDerrubarOLote() {
+        int rodada = RODADA.incrementAndGet();
+        int vaga = 10 * rodada;
+        Estacionamento estacionamento = estacionamentoService.buscarEstacionamentoAtual();
+        // entrada gravada por fora do serviço: o alocador não a conhece e só o banco recusa a vaga
+        Veiculo antigo = veiculoRepository.saveAndFlush(new Veiculo("LOT" + rodada + "000", "carro", "Gol", "Prata"));
+        registroEntradaRepository.saveAndFlush(new RegistroEntrada(antigo, estacionamento, vaga + 1));
+
+        List<ResultadoLoteDTO<RegistroEntrada>> resultados = estacionamentoService.registrarEntradasEmLote(List.of(
+                new VeiculoComVagaDTO("LOT" + rodada + "001", "carro", "Gol", "Prata", vaga),
+                new VeiculoComVagaDTO("LOT" + rodada + "002", "carro", "Gol", "Prata", vaga + 1),
+                new VeiculoComVagaDTO("LOT" + rodada + "003", "carro", "Gol", "Prata", vaga + 2)));
+
+        assertThat(resultados).extracting(ResultadoLoteDTO::status).containsExactly(200, 409, 200);
+        assertEquals("Registro conflita com outro já existente", resultados.get(1).erro());
+        assertThat(registroEntradaRepository.findOccupiedSpotIdsByEstacionamento(estacionamento))
+                .contains(vaga, vaga + 1, vaga + 2);
+        assertEquals(vaga, estacionamentoService.buscarEntrada("LOT" + rodada + "001").getVagaId());
+        assertEquals(vaga + 2, estacionamentoService.buscarEntrada("LOT" + rodada + "003").getVagaId());
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Item que falha depois de escrever não deve deixar gravação parcial no banco")
+    void itemComFalhaNaoDeveDeixarGravacaoParcial() {
+        int rodada = RODADA.incrementAndGet();
+        Estacionamento estacionamento = estacionamentoService.buscarEstacionamentoAtual();
+        List<ResultadoLoteDTO<RegistroEntrada>> entradas = estacionamentoService.registrarEntradasEmLote(List.of(
+                new VeiculoComVagaDTO("SAI" + rodada + "001", "carro", "Gol", "Prata", null)));
+        assertThat(entradas).extracting(ResultadoLoteDTO::status).containsExactly(200);
+        // a saída apaga esta entrada antes de o pagamento recusar a hora de entrada no futuro
+        Veiculo adiantado = veiculoRepository.saveAndFlush(new Veiculo("SAI" + rodada + "002", "carro", "Gol", "Prata"));
+        RegistroEntrada futura = new RegistroEntrada(adiantado, estacionamento, 10 * rodada + 5);
+        ReflectionTestUtils.setField(futura, "horaEntrada", LocalDateTime.now().plusHours(1));
+        registroEntradaRepository.saveAndFlush(futura);
+        long pagamentosAntes = pagamentoRepository.count();
+
+        List<ResultadoLoteDTO<ReciboDTO>> resultados = estacionamentoService.registrarSaidasEmLote(List.of(
+                "SAI" + rodada + "002", "SAI" + rodada + "001"));
+
+        assertThat(resultados).extracting(ResultadoLoteDTO::status).containsExactly(400, 200);
+        assertEquals("Hora de saída não pode ser antes da hora de entrada", resultados.get(0).erro());
+        assertThat(registroEntradaRepository.findById(futura.getId())).isPresent();
+        assertThat(registroEntradaRepository.findByVeiculo(veiculoRepository.findByPlaca("SAI" + rodada + "001").orElseThrow()))
+                .isEmpty();
+        assertEquals(pagamentosAntes + 1, pagamentoRepository.count());
+    }
+}
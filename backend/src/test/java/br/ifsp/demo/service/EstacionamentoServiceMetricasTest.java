@@ -0,0 +1,123 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.dto.CriarEstacionamentoDTO;
+import br.ifsp.demo.model.Estacionamento;
+import br.ifsp.demo.model.Veiculo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(properties = "estacionamento.ocupacao.reconciliacao-ms=3600000")
+class EstacionamentoServiceMetricasTest {
+
+    @Autowired
+    private EstacionamentoService estacionamentoService;
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private PrometheusMeterRegistry prometheus;
+
+    private Estacionamento estacionamento;
+
+    @BeforeEach
+    void setUp() {
+        estacionamento = estacionamentoService.criarEstacionamento(
+                new CriarEstacionamentoDTO("Estacionamento Métricas", "Rua dos Timers", 2));
+    }
+
+    private Timer operacao(String nome) {
+        return registry.get("estacionamento.operacoes").tag("operacao", nome).tag("exception", "none").timer();
+    }
+
+    private Veiculo novoVeiculo() {
+        String placa = "MET" + UUID.randomUUID().toString().substring(0, 4).toUpperCase();
+        return new Veiculo(placa, "Carro", "Gol", "Prata");
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Operações de entrada, saída e cancelamento devem ser cronometradas")
+    void operacoesDevemSerCronometradas() {
+        Timer entradas = registry.find("estacionamento.operacoes").tag("operacao", "entrada")
+                .tag("exception", "none").timer();
+        long entradasAntes = entradas == null ? 0 : entradas.count();
+        Veiculo saindo = novoVeiculo();
+        Veiculo cancelado = novoVeiculo();
+
+        estacionamentoService.registrarEntrada(saindo, estacionamento.getId(), 1);
+        estacionamentoService.registrarEntrada(cancelado, estacionamento.getId(), 2);
+        estacionamentoService.registrarSaida(saindo.getPlaca());
+        estacionamentoService.cancelarEntrada(cancelado.getPlaca());
+        estacionamentoService.findNextAvailableSpot(estacionamento);
+
+        assertThat(operacao("entrada").count()).isEqualTo(entradasAntes + 2);
+        assertThat(operacao("saida").count()).isPositive();
+        assertThat(operacao("cancelamento").count()).isPositive();
+        assertThat(operacao("proxima_vaga").count()).isPositive();
+        assertThat(prometheus.scrape())
+                .contains("estacionamento_operacoes_seconds_bucket{")
+                .contains("operacao=\"saida\"");
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Entrada recusada por lotação deve incrementar o contador e o timer com a exceção")
+    void entradaRecusadaDeveSerContada() {
+        double antes = registry.get("estacionamento.entradas.rejeitadas").tag("motivo", "lotado").counter().count();
+        estacionamentoService.registrarEntrada(novoVeiculo(), estacionamento.getId(), 1);
+        estacionamentoService.registrarEntrada(novoVeiculo(), estacionamento.getId(), 2);
+
+        assertThrows(ResponseStatusException.class, () ->
+                estacionamentoService.registrarEntrada(novoVeiculo(), estacionamento.getId(), 1));
+
+        assertThat(registry.get("estacionamento.entradas.rejeitadas").tag("motivo", "lotado").counter().count())
+                .isEqualTo(antes + 1);
+        assertThat(registry.get("estacionamento.operacoes").tag("operacao", "entrada")
+                .tag("exception", "ResponseStatusException").timer().count()).isPositive();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Cada método do serviço de relatórios deve ter o próprio timer")
+    void relatoriosDevemSerCronometrados() {
+        relatorioService.gerarRelatorioDesempenho(LocalDate.now());
+        relatorioService.gerarRelatorioMensal(LocalDate.now().getMonthValue(), LocalDate.now().getYear());
+
+        assertThat(registry.get("estacionamento.relatorios").tag("method", "gerarRelatorioDesempenho").timer().count())
+                .isPositive();
+        assertThat(registry.get("estacionamento.relatorios").tag("method", "gerarRelatorioMensal").timer().count())
+                .isPositive();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Gauges de ocupação devem nascer com os estacionamentos carregados na inicialização")
+    void gaugesDevemNascerComEstacionamentosCarregados() {
+        assertThat(registry.find("estacionamento.vagas.capacidade")
+                .tag("nome", "Estacionamento Principal Centrar").gauge())
+                .isNotNull()
+                .extracting(gauge -> gauge.value())
+                .isEqualTo(200.0);
+    }
+}
@@ -1,21 +1,37 @@
 package br.ifsp.demo.service;
 
+import br.ifsp.demo.components.EntradasAtivas;
+import br.ifsp.demo.components.EventosEstacionamento;
+import br.ifsp.demo.components.MetricasEstacionamento;
+import br.ifsp.demo.components.OcupacaoVagas;
 import br.ifsp.demo.dto.CriarEstacionamentoDTO;
+import br.ifsp.demo.dto.ReciboDTO;
+import br.ifsp.demo.dto.ResultadoLoteDTO;
+import br.ifsp.demo.dto.VeiculoComVagaDTO;
 import br.ifsp.demo.model.Estacionamento;
 import br.ifsp.demo.model.Pagamento;
 import br.ifsp.demo.model.RegistroEntrada;
+import br.ifsp.demo.model.ResumoDiario;
 import br.ifsp.demo.model.Veiculo;
 import br.ifsp.demo.repository.EstacionamentoRepository;
 import br.ifsp.demo.repository.PagamentoRepository;
 import br.ifsp.demo.repository.RegistroEntradaRepository;
+import br.ifsp.demo.repository.ResumoDiarioRepository;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
 import org.springframework.web.server.ResponseStatusException;
 import java.time.LocalDateTime;
 
@@ -40,12 +56,31 @@ public class EstacionamentoServiceTest {
     @Mock
     private PagamentoRepository pagamentoRepository;
 
+    @Mock
+    private ResumoDiarioRepository resumoDiarioRepository;
+
     @Mock
     private VeiculoService veiculoService;
 
     @Mock
     private CalculadoraDeTarifa calculadoraDeTarifa;
 
+    @Spy
+    private OcupacaoVagas ocupacaoVagas = new OcupacaoVagas();
+
+    @Spy
+    private EntradasAtivas entradasAtivas = new EntradasAtivas();
+
+    @Mock
+    private EventosEstacionamento eventos;
+
+    @Mock
+    private MetricasEstacionamento metricas;
+
+    // sem banco, mas com os ganchos de conclusão: a rodada desfeita de um lote devolve as reservas que fez
+    @Spy
+    private PlatformTransactionManager transacoes = new TransacoesSemBanco();
+
     @InjectMocks
     private EstacionamentoService estacionamentoService;
 
@@ -57,13 +92,34 @@ public class EstacionamentoServiceTest {
     private final String PLACA = "BQF-1993";
     private final static int CAPACIDADE = 50;
 
+    static class TransacoesSemBanco extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transacao, TransactionDefinition definicao) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
     @BeforeEach
     void setup() {
         veiculo = new Veiculo(PLACA, "Carro", "Escort", "Prata");
         String NOME_ESTACIONAMENTO = "Estacionamento Carros Velozes";
         String ENDERECO_ESTACIONAMENTO = "Rua Muito Longe";
         estacionamento = new Estacionamento(NOME_ESTACIONAMENTO, ENDERECO_ESTACIONAMENTO, CAPACIDADE);
-        registroEntrada = new RegistroEntrada(veiculo, vagaIdValida);
+        ReflectionTestUtils.setField(estacionamento, "id", UUID.randomUUID());
+        registroEntrada = new RegistroEntrada(veiculo, estacionamento, vagaIdValida);
+        ReflectionTestUtils.setField(registroEntrada, "id", UUID.randomUUID());
     }
 
     @Nested
@@ -80,10 +136,7 @@ public class EstacionamentoServiceTest {
             when(estacionamentoRepository.findById(estacionamentoId))
                     .thenReturn(Optional.of(estacionamento));
 
-            when(veiculoService.buscarPorPlaca(PLACA)).thenReturn(Optional.empty());
             when(veiculoService.obterOuCadastrarVeiculo(veiculo)).thenReturn(veiculo);
-            when(registroEntradaRepository.count()).thenReturn(0L);
-            when(registroEntradaRepository.findAllOccupiedSpotIds()).thenReturn(Collections.emptyList());
 
             when(registroEntradaRepository.save(any(RegistroEntrada.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -94,8 +147,11 @@ public class EstacionamentoServiceTest {
             assertEquals(vagaIdValida, resultado.getVagaId());
             verify(estacionamentoRepository).findById(estacionamentoId);
             verify(veiculoService).obterOuCadastrarVeiculo(veiculo);
-            verify(registroEntradaRepository).count();
+            verify(registroEntradaRepository, never()).count();
             verify(registroEntradaRepository, times(1)).save(any(RegistroEntrada.class));
+            assertEquals(estacionamento, resultado.getEstacionamento());
+            assertTrue(ocupacaoVagas.doEstacionamento(estacionamento).estaOcupada(vagaIdValida));
+            assertThat(entradasAtivas.buscar(PLACA)).contains(resultado);
         }
     }
 
@@ -114,10 +170,34 @@ public class EstacionamentoServiceTest {
             when(registroEntradaRepository.findByVeiculo(veiculo))
                     .thenReturn(Optional.of(registroEntrada));
 
+            when(registroEntradaRepository.deleteEntradaById(registroEntrada.getId())).thenReturn(1);
+
+            ocupacaoVagas.doEstacionamento(estacionamento).ocupar(vagaIdValida);
+
             boolean sucesso = estacionamentoService.cancelarEntrada(PLACA);
 
             assertTrue(sucesso);
-            verify(registroEntradaRepository, times(1)).delete(registroEntrada);
+            verify(registroEntradaRepository, times(1)).deleteEntradaById(registroEntrada.getId());
+            assertFalse(ocupacaoVagas.doEstacionamento(estacionamento).estaOcupada(vagaIdValida));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Cancelar entrada publicada durante o cancelamento não deve deixá-la no mapa de entradas ativas")
+        void cancelarEntrada_publicadaDuranteCancelamento() {
+            entradasAtivas.registrarPendente(registroEntrada);
+            when(veiculoService.buscarPorPlaca(PLACA)).thenReturn(Optional.of(veiculo));
+            when(registroEntradaRepository.findByVeiculo(veiculo)).thenReturn(Optional.of(registroEntrada));
+            // o commit da entrada termina depois de o cancelamento não a achar no mapa
+            when(registroEntradaRepository.deleteEntradaById(registroEntrada.getId())).thenAnswer(invocation -> {
+                entradasAtivas.confirmar(registroEntrada);
+                return 1;
+            });
+
+            assertTrue(estacionamentoService.cancelarEntrada(PLACA));
+
+            assertThat(entradasAtivas.buscar(PLACA)).isEmpty();
         }
 
         @Test
@@ -135,7 +215,7 @@ public class EstacionamentoServiceTest {
 
             assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
             assertEquals("Veículo não possui entrada registrada para cancelar", exception.getReason());
-            verify(registroEntradaRepository, never()).delete(any(RegistroEntrada.class));
+            verify(registroEntradaRepository, never()).deleteEntradaById(any());
         }
     }
 
@@ -150,10 +230,10 @@ public class EstacionamentoServiceTest {
         void registrarSaida_comSucesso_salvaPagamentoERemoveEntrada() {
 
             LocalDateTime horaEntrada = registroEntrada.getHoraEntrada();
-            double valorCalculadoEsperado = 20.0;
+            long valorCalculadoEsperado = 2000;
 
-            when(calculadoraDeTarifa.calcularValor(eq(horaEntrada), any(LocalDateTime.class))).thenReturn(valorCalculadoEsperado);
-            when(estacionamentoRepository.findAll()).thenReturn(List.of(estacionamento));
+            when(calculadoraDeTarifa.calcularCentavos(eq(horaEntrada), any(LocalDateTime.class), any(), any())).thenReturn(valorCalculadoEsperado);
+            when(registroEntradaRepository.deleteEntradaById(registroEntrada.getId())).thenReturn(1);
 
             when(pagamentoRepository.save(any(Pagamento.class))).thenAnswer(invocation -> invocation.getArgument(0));
             when(veiculoService.buscarPorPlaca(PLACA)).thenReturn(Optional.of(veiculo));
@@ -165,10 +245,12 @@ public class EstacionamentoServiceTest {
             assertEquals(PLACA, pagamentoResultado.getPlaca());
             assertEquals(horaEntrada, pagamentoResultado.getHoraEntrada());
             assertNotNull(pagamentoResultado.getHoraSaida());
-            assertEquals(valorCalculadoEsperado, pagamentoResultado.getValor());
+            assertEquals(valorCalculadoEsperado, pagamentoResultado.getValorCentavos());
+            assertEquals(20.0, pagamentoResultado.getValor());
 
-            verify(registroEntradaRepository, times(1)).delete(registroEntrada);
+            verify(registroEntradaRepository, times(1)).deleteEntradaById(registroEntrada.getId());
             verify(pagamentoRepository, times(1)).save(any(Pagamento.class));
+            assertFalse(ocupacaoVagas.doEstacionamento(estacionamento).estaOcupada(vagaIdValida));
 
         }
 
@@ -177,8 +259,6 @@ public class EstacionamentoServiceTest {
         @Tag("Functional")
         @DisplayName("Deve lançar ResponseStatusException NOT_FOUND quando não houver registro de entrada ao registrar saída")
         void registrarSaida_lancaExcecao_quandoSemRegistroEntrada() {
-            when(estacionamentoRepository.findAll()).thenReturn(List.of(estacionamento));
-
             when(veiculoService.buscarPorPlaca(PLACA)).thenReturn(Optional.of(veiculo));
 
             when(registroEntradaRepository.findByVeiculo(veiculo)).thenReturn(Optional.empty());
@@ -190,7 +270,72 @@ public class EstacionamentoServiceTest {
             assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
             assertEquals("Nenhum registro de entrada ativo para esse veículo", exception.getReason());
 
-            verify(registroEntradaRepository, never()).delete(any());
+            verify(registroEntradaRepository, never()).deleteEntradaById(any());
+            verify(pagamentoRepository, never()).save(any());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Registrar saída de entrada em memória não deve consultar veículo nem entrada no banco")
+        void registrarSaida_entradaEmMemoria_naoConsultaBanco() {
+            entradasAtivas.adicionar(registroEntrada);
+            ocupacaoVagas.doEstacionamento(estacionamento).ocupar(vagaIdValida);
+            when(registroEntradaRepository.deleteEntradaById(registroEntrada.getId())).thenReturn(1);
+
+            Pagamento pagamento = estacionamentoService.registrarSaida(PLACA);
+
+            assertEquals(PLACA, pagamento.getPlaca());
+            assertTrue(entradasAtivas.buscar(PLACA).isEmpty());
+            assertFalse(ocupacaoVagas.doEstacionamento(estacionamento).estaOcupada(vagaIdValida));
+            verifyNoInteractions(veiculoService, estacionamentoRepository);
+            verify(registroEntradaRepository, never()).findByVeiculo(any());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Registrar saída deve publicar o evento de saída com o valor pago")
+        void registrarSaida_publicaEventoDeSaida() {
+            entradasAtivas.adicionar(registroEntrada);
+            when(registroEntradaRepository.deleteEntradaById(registroEntrada.getId())).thenReturn(1);
+            when(calculadoraDeTarifa.calcularCentavos(any(), any(), any(), any())).thenReturn(1800L);
+
+            estacionamentoService.registrarSaida(PLACA);
+
+            verify(eventos).publicar(EventosEstacionamento.SAIDA, PLACA, vagaIdValida, 1800L);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Registrar saída deve acumular o pagamento no resumo diário com upsert, sem salvar resumo à parte")
+        void registrarSaida_acumulaResumoComUpsert() {
+            entradasAtivas.adicionar(registroEntrada);
+            when(registroEntradaRepository.deleteEntradaById(registroEntrada.getId())).thenReturn(1);
+            when(calculadoraDeTarifa.calcularCentavos(any(), any(), any(), any())).thenReturn(1500L);
+
+            Pagamento pagamento = estacionamentoService.registrarSaida(PLACA);
+
+            verify(resumoDiarioRepository).acumularPagamento(estacionamento, pagamento.getHoraSaida().toLocalDate(),
+                    ResumoDiario.minutosDePermanencia(pagamento), 1500L, ResumoDiario.minutosOcupadosNoDia(pagamento));
+            verify(resumoDiarioRepository, never()).save(any());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Registrar saída deve falhar quando a entrada em memória já não existir no banco")
+        void registrarSaida_entradaEmMemoriaRemovidaDoBanco_lancaExcecao() {
+            entradasAtivas.adicionar(registroEntrada);
+            when(registroEntradaRepository.deleteEntradaById(registroEntrada.getId())).thenReturn(0);
+
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                    estacionamentoService.registrarSaida(PLACA)
+            );
+
+            assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+            assertTrue(entradasAtivas.buscar(PLACA).isEmpty());
             verify(pagamentoRepository, never()).save(any());
         }
     }
@@ -216,6 +361,19 @@ public class EstacionamentoServiceTest {
             assertEquals(PLACA, resultado.getVeiculo().getPlaca());
         }
 
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Deve retornar a entrada em memória sem consultar o banco")
+        void buscarEntrada_emMemoria_naoConsultaBanco() {
+            entradasAtivas.adicionar(registroEntrada);
+
+            RegistroEntrada resultado = estacionamentoService.buscarEntrada(PLACA);
+
+            assertSame(registroEntrada, resultado);
+            verifyNoInteractions(veiculoService, registroEntradaRepository);
+        }
+
         @Test
         @Tag("UnitTest")
         @Tag("Functional")
@@ -385,8 +543,8 @@ public class EstacionamentoServiceTest {
 
                 Veiculo veiculo2 = new Veiculo("XYZ5678", "Moto", "Bis", "Vermelha");
 
-                RegistroEntrada registro1 = new RegistroEntrada(veiculo, 1);
-                RegistroEntrada registro2 = new RegistroEntrada(veiculo2, 2);
+                RegistroEntrada registro1 = new RegistroEntrada(veiculo, estacionamento, 1);
+                RegistroEntrada registro2 = new RegistroEntrada(veiculo2, estacionamento, 2);
 
                 List<RegistroEntrada> listaDeEntradasMock = List.of(registro1, registro2);
 
@@ -430,7 +588,7 @@ public class EstacionamentoServiceTest {
             Integer vagaId = 5;
 
             when(estacionamentoRepository.findById(estacionamentoId)).thenReturn(Optional.of(estacionamento));
-            when(registroEntradaRepository.findByVagaId(vagaId)).thenReturn(Optional.of(new RegistroEntrada(veiculo, vagaId)));
+            ocupacaoVagas.doEstacionamento(estacionamento).ocupar(vagaId);
 
             ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
                     estacionamentoService.registrarEntrada(veiculo, estacionamentoId, vagaId)
@@ -438,6 +596,8 @@ public class EstacionamentoServiceTest {
 
             assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
             assertTrue(Objects.requireNonNull(exception.getReason()).contains("Vaga " + vagaId + " já está ocupada"));
+            verifyNoInteractions(registroEntradaRepository, veiculoService);
+            verify(metricas).rejeicaoVagaOcupada();
         }
 
         @Test
@@ -448,9 +608,8 @@ public class EstacionamentoServiceTest {
             UUID estacionamentoId = UUID.randomUUID();
 
             estacionamento = new Estacionamento("Teste", "Endereco", 2); // capacidade 2
-            when(estacionamentoRepository.findById(estacionamentoId)).thenReturn(Optional.of(estacionamento));
-            when(registroEntradaRepository.findByVagaId(anyInt())).thenReturn(Optional.empty());
-            when(registroEntradaRepository.count()).thenReturn(2L); // capacidade atingida
+            ReflectionTestUtils.setField(estacionamento, "id", estacionamentoId);
+            ocupacaoVagas.registrar(estacionamento, List.of(1, 2)); // capacidade atingida
 
             ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
                     estacionamentoService.registrarEntrada(veiculo, estacionamentoId, 1)
@@ -458,6 +617,9 @@ public class EstacionamentoServiceTest {
 
             assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
             assertEquals("Estacionamento lotado. Capacidade máxima atingida.", exception.getReason());
+            assertEquals(2, ocupacaoVagas.doEstacionamento(estacionamento).getVagasOcupadas());
+            verifyNoInteractions(registroEntradaRepository, estacionamentoRepository);
+            verify(metricas).rejeicaoLotado();
         }
 
         @Test
@@ -468,13 +630,10 @@ public class EstacionamentoServiceTest {
             UUID estacionamentoId = UUID.randomUUID();
             Integer vagaId = 10;
 
-            RegistroEntrada entradaExistente = new RegistroEntrada(veiculo, vagaId);
+            RegistroEntrada entradaExistente = new RegistroEntrada(veiculo, estacionamento, vagaId);
 
             when(estacionamentoRepository.findById(estacionamentoId)).thenReturn(Optional.of(estacionamento));
-            when(registroEntradaRepository.findByVagaId(anyInt())).thenReturn(Optional.empty());
-            when(registroEntradaRepository.count()).thenReturn(0L);
-            when(veiculoService.buscarPorPlaca(veiculo.getPlaca())).thenReturn(Optional.of(veiculo));
-            when(registroEntradaRepository.findByVeiculo(veiculo)).thenReturn(Optional.of(entradaExistente));
+            entradasAtivas.adicionar(entradaExistente);
 
             ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
                     estacionamentoService.registrarEntrada(veiculo, estacionamentoId, vagaId)
@@ -482,6 +641,8 @@ public class EstacionamentoServiceTest {
 
             assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
             assertTrue(Objects.requireNonNull(exception.getReason()).contains("Veículo já possui uma entrada registrada na vaga " + vagaId));
+            assertFalse(ocupacaoVagas.doEstacionamento(estacionamento).estaOcupada(vagaId));
+            verifyNoInteractions(veiculoService);
         }
 
         @Test
@@ -490,14 +651,14 @@ public class EstacionamentoServiceTest {
         @DisplayName("Deve lançar exceção quando todas as vagas estiverem ocupadas")
         void findNextAvailableSpot_todasVagasOcupadas_lancaExcecao() {
             List<Integer> todasVagas = new java.util.ArrayList<>();
-            for (int i = 1; i <= 200; i++) {
+            for (int i = 1; i <= CAPACIDADE; i++) {
                 todasVagas.add(i);
             }
 
-            when(registroEntradaRepository.findAllOccupiedSpotIds()).thenReturn(todasVagas);
+            ocupacaoVagas.registrar(estacionamento, todasVagas);
 
             ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                    estacionamentoService.findNextAvailableSpot()
+                    estacionamentoService.findNextAvailableSpot(estacionamento)
             );
 
             assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
@@ -535,11 +696,6 @@ public class EstacionamentoServiceTest {
             Integer vagaId = 7;
 
             when(estacionamentoRepository.findById(estacionamentoId)).thenReturn(Optional.of(estacionamento));
-            when(registroEntradaRepository.findByVagaId(vagaId)).thenReturn(Optional.empty());
-            when(registroEntradaRepository.count()).thenReturn(0L);
-
-            when(veiculoService.buscarPorPlaca(veiculo.getPlaca())).thenReturn(Optional.of(veiculo));
-            when(registroEntradaRepository.findByVeiculo(veiculo)).thenReturn(Optional.empty());
 
             when(veiculoService.obterOuCadastrarVeiculo(veiculo)).thenReturn(veiculo);
             when(registroEntradaRepository.save(any(RegistroEntrada.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -550,6 +706,132 @@ public class EstacionamentoServiceTest {
             assertEquals(veiculo.getPlaca(), resultado.getVeiculo().getPlaca());
             assertEquals(vagaId, resultado.getVagaId());
             verify(registroEntradaRepository).save(any(RegistroEntrada.class));
+            verify(registroEntradaRepository, never()).findByVeiculo(any());
+        }
+
+        @Test
+        @Tag("Structural")
+        @Tag("UnitTest")
+        @DisplayName("Registrar entrada em estacionamento já carregado não deve consultar o repositório de estacionamentos")
+        void registrarEntrada_estacionamentoCarregado_naoConsultaRepositorio() {
+            ocupacaoVagas.registrar(estacionamento, List.of());
+            when(veiculoService.obterOuCadastrarVeiculo(veiculo)).thenReturn(veiculo);
+            when(registroEntradaRepository.save(any(RegistroEntrada.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            RegistroEntrada resultado = estacionamentoService.registrarEntrada(veiculo, estacionamento.getId(), 3);
+
+            assertEquals(3, resultado.getVagaId());
+            verifyNoInteractions(estacionamentoRepository);
+        }
+
+        @Test
+        @Tag("Structural")
+        @Tag("UnitTest")
+        @DisplayName("Deve reaproveitar o estacionamento atual depois da primeira busca")
+        void buscarEstacionamentoAtual_reaproveitaPrimeiraBusca() {
+            when(estacionamentoRepository.findAll()).thenReturn(List.of(estacionamento));
+
+            estacionamentoService.buscarEstacionamentoAtual();
+            Estacionamento atual = estacionamentoService.buscarEstacionamentoAtual();
+
+            assertSame(estacionamento, atual);
+            verify(estacionamentoRepository, times(1)).findAll();
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de Registro em Lote")
+    class TestesDeRegistroEmLote {
+
+        private RegistroEntrada gravarEntrada(InvocationOnMock invocation) {
+            RegistroEntrada entrada = invocation.getArgument(0);
+            ReflectionTestUtils.setField(entrada, "id", UUID.randomUUID());
+            return entrada;
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Lote de entradas deve registrar itens válidos e devolver o erro de cada item inválido")
+        void registrarEntradasEmLote_resultadoPorItem() {
+            ocupacaoVagas.registrar(estacionamento, Set.of());
+            when(estacionamentoRepository.findAll()).thenReturn(List.of(estacionamento));
+            when(veiculoService.obterOuCadastrarVeiculo(any(Veiculo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(registroEntradaRepository.save(any(RegistroEntrada.class))).thenAnswer(this::gravarEntrada);
+
+            List<ResultadoLoteDTO<RegistroEntrada>> resultados = estacionamentoService.registrarEntradasEmLote(List.of(
+                    new VeiculoComVagaDTO(PLACA, "Carro", "Escort", "Prata", 3),
+                    new VeiculoComVagaDTO("ABC-1234", "Carro", "Gol", "123", null),
+                    new VeiculoComVagaDTO("XYZ-9876", "Moto", "CG", "Preto", 3),
+                    new VeiculoComVagaDTO("XYZ-9876", "Moto", "CG", "Preto", null)));
+
+            assertThat(resultados).extracting(ResultadoLoteDTO::indice).containsExactly(0, 1, 2, 3);
+            assertThat(resultados).extracting(ResultadoLoteDTO::status).containsExactly(200, 400, 409, 200);
+            assertEquals(3, resultados.get(0).resultado().getVagaId());
+            assertEquals("Vaga 3 já está ocupada", resultados.get(2).erro());
+            assertNull(resultados.get(1).resultado());
+            assertEquals("XYZ-9876", resultados.get(3).resultado().getVeiculo().getPlaca());
+            assertThat(entradasAtivas.buscar(PLACA)).isPresent();
+            assertThat(entradasAtivas.buscar("XYZ-9876")).isPresent();
+            assertThat(entradasAtivas.quantidade()).isEqualTo(2);
+            assertEquals(2, ocupacaoVagas.doEstacionamento(estacionamento).getVagasOcupadas());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Placa repetida no lote deve ser recusada como na entrada avulsa")
+        void registrarEntradasEmLote_placaRepetida() {
+            ocupacaoVagas.registrar(estacionamento, Set.of());
+            when(estacionamentoRepository.findAll()).thenReturn(List.of(estacionamento));
+            when(veiculoService.obterOuCadastrarVeiculo(any(Veiculo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(registroEntradaRepository.save(any(RegistroEntrada.class))).thenAnswer(this::gravarEntrada);
+
+            List<ResultadoLoteDTO<RegistroEntrada>> resultados = estacionamentoService.registrarEntradasEmLote(List.of(
+                    new VeiculoComVagaDTO(PLACA, "Carro", "Escort", "Prata", 3),
+                    new VeiculoComVagaDTO(PLACA, "Carro", "Escort", "Prata", 4)));
+
+            assertThat(resultados).extracting(ResultadoLoteDTO::status).containsExactly(200, 400);
+            assertEquals("Veículo já possui uma entrada registrada na vaga 3", resultados.get(1).erro());
+            assertFalse(ocupacaoVagas.doEstacionamento(estacionamento).estaOcupada(4));
+            verify(metricas).rejeicaoEntradaDuplicada();
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Lote de saídas deve devolver recibo dos veículos registrados e NOT_FOUND dos demais")
+        void registrarSaidasEmLote_resultadoPorItem() {
+            entradasAtivas.adicionar(registroEntrada);
+            when(registroEntradaRepository.deleteEntradaById(registroEntrada.getId())).thenReturn(1);
+            when(calculadoraDeTarifa.calcularCentavos(any(), any(), any(), any())).thenReturn(1200L);
+            when(veiculoService.buscarPorPlaca("NAO-0000")).thenReturn(Optional.empty());
+
+            List<ResultadoLoteDTO<ReciboDTO>> resultados = estacionamentoService.registrarSaidasEmLote(
+                    Arrays.asList(PLACA, "NAO-0000", ""));
+
+            assertThat(resultados).extracting(ResultadoLoteDTO::status).containsExactly(200, 404, 400);
+            assertEquals(PLACA, resultados.get(0).resultado().placa());
+            assertEquals(12.0, resultados.get(0).resultado().valorTotal());
+            assertEquals("Veículo não está registrado", resultados.get(1).erro());
+            assertEquals("Placa não pode ser nula ou vazia", resultados.get(2).erro());
+            assertThat(entradasAtivas.buscar(PLACA)).isEmpty();
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Deve recusar lote vazio, nulo ou acima do limite")
+        void deveRecusarLoteInvalido() {
+            List<String> grande = Collections.nCopies(EstacionamentoService.LIMITE_LOTE + 1, PLACA);
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> estacionamentoService.registrarSaidasEmLote(grande));
+
+            assertEquals("Lote deve ter entre 1 e 500 itens", exception.getMessage());
+            assertThrows(IllegalArgumentException.class, () -> estacionamentoService.registrarSaidasEmLote(List.of()));
+            assertThrows(IllegalArgumentException.class, () -> estacionamentoService.registrarEntradasEmLote(null));
+            verifyNoInteractions(registroEntradaRepository, pagamentoRepository);
         }
     }
 
@@ -726,13 +1008,69 @@ public class EstacionamentoServiceTest {
                     .boxed()
                     .collect(Collectors.toList());
 
-            when(registroEntradaRepository.findAllOccupiedSpotIds()).thenReturn(vagasOcupadas);
+            Estacionamento estacionamentoDuzentasVagas = new Estacionamento("Teste", "Endereco", 200);
+            ReflectionTestUtils.setField(estacionamentoDuzentasVagas, "id", UUID.randomUUID());
+            ocupacaoVagas.registrar(estacionamentoDuzentasVagas, vagasOcupadas);
 
-            Integer vagaEncontrada = estacionamentoService.findNextAvailableSpot();
+            Integer vagaEncontrada = estacionamentoService.findNextAvailableSpot(estacionamentoDuzentasVagas);
 
             assertThat(vagaEncontrada).isEqualTo(200);
         }
 
+        @Test
+        @Tag("UnitTest")
+        @Tag("Mutation")
+        @DisplayName("Deve respeitar a capacidade do estacionamento ao procurar vaga")
+        void findNextAvailableSpot_deveRespeitarCapacidadeDoEstacionamento() {
+            Estacionamento estacionamentoGrande = new Estacionamento("Grande", "Endereco", 3000);
+            ReflectionTestUtils.setField(estacionamentoGrande, "id", UUID.randomUUID());
+            ocupacaoVagas.registrar(estacionamentoGrande, IntStream.rangeClosed(1, 2999).boxed().toList());
+
+            assertThat(estacionamentoService.findNextAvailableSpot(estacionamentoGrande)).isEqualTo(3000);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Mutation")
+        @DisplayName("Sem estacionamento informado deve procurar vaga no estacionamento atual")
+        void findNextAvailableSpot_semEstacionamento_usaEstacionamentoAtual() {
+            when(estacionamentoRepository.findAll()).thenReturn(List.of(estacionamento));
+            ocupacaoVagas.registrar(estacionamento, List.of(1));
+
+            assertThat(estacionamentoService.findNextAvailableSpot()).isEqualTo(2);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Mutation")
+        @DisplayName("Deve reconstruir a ocupação das vagas a partir do repositório")
+        void carregarOcupacaoVagas_reconstroiAPartirDoRepositorio() {
+            when(estacionamentoRepository.findAll()).thenReturn(List.of(estacionamento));
+            when(registroEntradaRepository.findOccupiedSpotIdsByEstacionamento(estacionamento)).thenReturn(List.of(1, 2, 4));
+
+            estacionamentoService.carregarOcupacaoVagas();
+
+            assertThat(estacionamentoService.findNextAvailableSpot(estacionamento)).isEqualTo(3);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Reconciliação deve corrigir a ocupação divergente do banco em duas passagens")
+        void reconciliarOcupacaoVagas_corrigeDivergenciaPersistente() {
+            when(estacionamentoRepository.findAll()).thenReturn(List.of(estacionamento));
+            when(registroEntradaRepository.findOccupiedSpotIdsByEstacionamento(estacionamento)).thenReturn(List.of(1, 2));
+            ocupacaoVagas.registrar(estacionamento, List.of(1, 3));
+
+            estacionamentoService.reconciliarOcupacaoVagas();
+            assertTrue(ocupacaoVagas.doEstacionamento(estacionamento).estaOcupada(3));
+
+            estacionamentoService.reconciliarOcupacaoVagas();
+            assertTrue(ocupacaoVagas.doEstacionamento(estacionamento).estaOcupada(2));
+            assertFalse(ocupacaoVagas.doEstacionamento(estacionamento).estaOcupada(3));
+            assertEquals(2, ocupacaoVagas.vagasOcupadas());
+        }
+
 
         @Test
         @Tag("UnitTest")
@@ -740,9 +1078,6 @@ public class EstacionamentoServiceTest {
         @DisplayName("Retorna Not found quando nao encontra veiculo registrado")
         void retornaNotFoundQuandoNaoEncontraVeiculoRegistrado() {
 
-            Estacionamento estacionamentoMock = mock(Estacionamento.class);
-            when(estacionamentoRepository.findAll()).thenReturn(List.of(estacionamentoMock));
-
             when(veiculoService.buscarPorPlaca("aaaaaa")).thenReturn(Optional.empty());
 
             ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -3,6 +3,7 @@ package br.ifsp.demo.service;
 import br.ifsp.demo.components.ValorPermanencia;
 import br.ifsp.demo.exception.PagamentoNaoEncontradoException;
 import br.ifsp.demo.exception.VeiculoNaoEncontradoException;
+import br.ifsp.demo.model.Estacionamento;
 import br.ifsp.demo.model.Pagamento;
 import br.ifsp.demo.components.CalculadoraTempoPermanencia;
 import br.ifsp.demo.model.RegistroEntrada;
@@ -55,12 +56,12 @@ class PagamentoServiceTest {
                 "Escort",
                 "prata");
 
-        registroEntrada = new RegistroEntrada(veiculo, 1);
+        registroEntrada = new RegistroEntrada(veiculo, new Estacionamento("Estacionamento Teste", "Rua Teste", 10), 1);
 
         LocalDateTime entrada = LocalDateTime.now();
         LocalDateTime saida = entrada.plusHours(3);
         CalculadoraDeTarifa calculadoraDeTarifa = new CalculadoraTempoPermanencia(new ValorPermanencia());
-        double valorCaculado = calculadoraDeTarifa.calcularValor(entrada, saida);
+        long valorCaculado = calculadoraDeTarifa.calcularCentavos(entrada, saida);
 
         RegistroEntrada mockRegistroEntrada = mock(RegistroEntrada.class);
         when(mockRegistroEntrada.getVeiculo()).thenReturn(veiculo);
@@ -212,11 +213,11 @@ class PagamentoServiceTest {
             LocalDateTime inicio = data.atStartOfDay();
             LocalDateTime fim = data.atTime(23, 59, 59);
 
-            when(pagamentoRepository.somarPagamentosPorData(inicio, fim)).thenReturn(100.0);
+            when(pagamentoRepository.somarPagamentosPorData(inicio, fim)).thenReturn(10000L);
 
-            double total = pagamentoService.calcularTotalArrecadadoPorData(data);
+            long total = pagamentoService.calcularCentavosArrecadadosPorData(data);
 
-            assertEquals(100.0, total);
+            assertEquals(10000L, total);
         }
 
         @Test
@@ -231,9 +232,9 @@ class PagamentoServiceTest {
 
             when(pagamentoRepository.somarPagamentosPorData(inicio, fim)).thenReturn(null);
 
-            double total = pagamentoService.calcularTotalArrecadadoPorData(data);
+            long total = pagamentoService.calcularCentavosArrecadadosPorData(data);
 
-            assertEquals(0.0, total);
+            assertEquals(0L, total);
         }
 
     }
@@ -333,7 +334,7 @@ class PagamentoServiceTest {
         void testaMensagemDeErroParaDataNulaEmCalcularTotalPorData() {
 
             IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                    pagamentoService.calcularTotalArrecadadoPorData(null));
+                    pagamentoService.calcularCentavosArrecadadosPorData(null));
 
             assertEquals("Data não pode ser nula", exception.getMessage());
 
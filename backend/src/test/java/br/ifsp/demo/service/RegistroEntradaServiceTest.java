@@ -1,6 +1,7 @@
 package br.ifsp.demo.service;
 
 import br.ifsp.demo.components.LogSistema;
+import br.ifsp.demo.model.Estacionamento;
 import br.ifsp.demo.model.RegistroEntrada;
 import br.ifsp.demo.model.Veiculo;
 import br.ifsp.demo.repository.RegistroEntradaRepository;
@@ -37,12 +38,14 @@ public class RegistroEntradaServiceTest {
     private RegistroEntradaService registroEntradaService;
 
     private Veiculo veiculo;
+    private Estacionamento estacionamento;
     private RegistroEntrada registroEntrada;
 
     @BeforeEach
     void setup() {
         veiculo = new Veiculo(PLACA_VEICULO, "Carro", "Fusca", "Azul");
-        registroEntrada = new RegistroEntrada(veiculo);
+        estacionamento = new Estacionamento("Estacionamento Teste", "Rua Teste", 10);
+        registroEntrada = new RegistroEntrada(veiculo, estacionamento, 1);
     }
 
 
@@ -61,12 +64,13 @@ public class RegistroEntradaServiceTest {
             when(registroEntradaRepository.save(any(RegistroEntrada.class)))
                     .thenAnswer(invocation -> invocation.getArgument(0));
 
-            RegistroEntrada resultado = registroEntradaService.registrarEntrada(veiculo);
+            RegistroEntrada resultado = registroEntradaService.registrarEntrada(veiculo, estacionamento, 1);
 
             assertNotNull(resultado);
             assertEquals(veiculo, resultado.getVeiculo());
             assertNotNull(resultado.getHoraEntrada());
             assertNotNull(resultado.getVagaId());
+            assertEquals(estacionamento, resultado.getEstacionamento());
 
             verify(registroEntradaRepository, times(1)).findByVeiculo(veiculo);
             verify(registroEntradaRepository, times(1)).save(any(RegistroEntrada.class));
@@ -81,7 +85,7 @@ public class RegistroEntradaServiceTest {
             when(registroEntradaRepository.findByVeiculo(veiculo)).thenReturn(Optional.of(registroEntrada));
 
             IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
-                    () -> registroEntradaService.registrarEntrada(veiculo));
+                    () -> registroEntradaService.registrarEntrada(veiculo, estacionamento, 1));
 
             assertEquals(MENSAGEM_VEICULO_JA_REGISTRADO, ex.getMessage());
             verify(registroEntradaRepository, times(0)).save(any());
@@ -98,7 +102,7 @@ public class RegistroEntradaServiceTest {
                     .thenAnswer(invocation -> invocation.getArgument(0));
 
             LocalDateTime antesDaChamada = LocalDateTime.now();
-            RegistroEntrada resultado = registroEntradaService.registrarEntrada(veiculo);
+            RegistroEntrada resultado = registroEntradaService.registrarEntrada(veiculo, estacionamento, 1);
             LocalDateTime depoisDaChamada = LocalDateTime.now();
 
             assertNotNull(resultado);
@@ -0,0 +1,214 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.components.CalculadoraTempoPermanencia;
+import br.ifsp.demo.components.ValorPermanencia;
+import br.ifsp.demo.dto.RelatorioDTO;
+import br.ifsp.demo.model.Estacionamento;
+import br.ifsp.demo.model.Pagamento;
+import br.ifsp.demo.model.RegistroEntrada;
+import br.ifsp.demo.model.ResumoDiario;
+import br.ifsp.demo.model.Veiculo;
+import br.ifsp.demo.repository.EstacionamentoRepository;
+import br.ifsp.demo.repository.PagamentoRepository;
+import br.ifsp.demo.repository.ResumoDiarioRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("Benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/benchmark.db",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.springframework.jdbc=INFO",
+        "estacionamento.ocupacao.reconciliacao-ms=3600000"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RelatorioServiceBenchmarkTest {
+
+    private static final int TOTAL_PAGAMENTOS = 1_000_000;
+    private static final int DIAS = 365;
+    private static final int LOTE = 10_000;
+    private static final int REPETICOES = 50;
+    private static final LocalDate PRIMEIRO_DIA = LocalDate.of(2024, 1, 1);
+    private static final LocalDate DIA_MEDIDO = PRIMEIRO_DIA.plusDays(DIAS / 2);
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private ResumoDiarioRepository resumoDiarioRepository;
+
+    @Autowired
+    private EstacionamentoRepository estacionamentoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private long pagamentosNoDiaMedido;
+
+    @BeforeAll
+    void popularBanco() {
+        Estacionamento estacionamento = estacionamentoRepository.save(
+                new Estacionamento("Estacionamento Benchmark", "Rua Benchmark", 3000));
+        CalculadoraDeTarifa calculadora = new CalculadoraTempoPermanencia(new ValorPermanencia());
+        Map<LocalDate, ResumoDiario> resumos = new HashMap<>();
+        Random random = new Random(42);
+
+        List<Object[]> lote = new ArrayList<>(LOTE);
+        for (int i = 0; i < TOTAL_PAGAMENTOS; i++) {
+            LocalDateTime saida = PRIMEIRO_DIA.plusDays(i % DIAS).atTime(8 + random.nextInt(14), random.nextInt(60));
+            LocalDateTime entrada = saida.minusMinutes(15 + random.nextInt(600));
+            Pagamento pagamento = new Pagamento(
+                    new RegistroEntrada(new Veiculo("BEN" + (i % 9000 + 1000), "carro", "Gol", "Prata"), estacionamento, 1),
+                    entrada, saida, calculadora);
+
+            resumos.computeIfAbsent(saida.toLocalDate(), data -> new ResumoDiario(estacionamento, data))
+                    .registrarPagamento(pagamento);
+            if (saida.toLocalDate().equals(DIA_MEDIDO))
+                pagamentosNoDiaMedido++;
+
+            lote.add(new Object[]{uuid(), pagamento.getPlaca(), Timestamp.valueOf(entrada),
+                    Timestamp.valueOf(saida), pagamento.getValorCentavos()});
+            if (lote.size() == LOTE) {
+                inserir(lote);
+                lote.clear();
+            }
+        }
+        inserir(lote);
+        resumoDiarioRepository.saveAll(resumos.values());
+    }
+
+    private void inserir(List<Object[]> lote) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                "INSERT INTO pagamento (uuid, placa, hora_entrada, hora_saida, valor_centavos) VALUES (?, ?, ?, ?, ?)", lote));
+    }
+
+    private static byte[] uuid() {
+        UUID uuid = UUID.randomUUID();
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static double mediaEmMilissegundos(Runnable operacao) {
+        for (int i = 0; i < 5; i++)
+            operacao.run();
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < REPETICOES; i++)
+            operacao.run();
+        return (System.nanoTime() - inicio) / 1_000_000.0 / REPETICOES;
+    }
+
+    @Test
+    @DisplayName("Consulta por hora de saída deve usar o índice de pagamento")
+    void consultaPorHoraDeSaidaDeveUsarIndice() {
+        List<String> plano = jdbcTemplate.query(
+                "EXPLAIN QUERY PLAN SELECT * FROM pagamento WHERE hora_saida BETWEEN ? AND ?",
+                (rs, i) -> rs.getString("detail"),
+                Timestamp.valueOf(DIA_MEDIDO.atStartOfDay()), Timestamp.valueOf(DIA_MEDIDO.atTime(23, 59, 59)));
+
+        assertThat(plano).anyMatch(linha -> linha.contains("idx_pagamento_hora_saida"));
+    }
+
+    @Test
+    @DisplayName("Histórico por placa deve usar o índice composto de placa, hora de saída e id")
+    void historicoPorPlacaDeveUsarIndiceComposto() {
+        Timestamp antes = Timestamp.valueOf(DIA_MEDIDO.atStartOfDay());
+        List<String> plano = jdbcTemplate.query(
+                "EXPLAIN QUERY PLAN SELECT * FROM pagamento WHERE placa = ? " +
+                        "AND (hora_saida < ? OR (hora_saida = ? AND uuid < ?)) ORDER BY hora_saida DESC, uuid DESC LIMIT 50",
+                (rs, i) -> rs.getString("detail"),
+                "BEN1000", antes, antes, uuid());
+
+        assertThat(plano).anyMatch(linha -> linha.contains("idx_pagamento_placa_saida_uuid"));
+        assertThat(plano).noneMatch(linha -> linha.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    @DisplayName("Exportação CSV de um ano inteiro deve escrever todas as linhas sem crescer o heap")
+    void exportacaoCsvDeUmAnoEmMemoriaConstante() {
+        AtomicLong bytes = new AtomicLong();
+        OutputStream descarte = new OutputStream() {
+            @Override
+            public void write(int b) {
+                bytes.incrementAndGet();
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                bytes.addAndGet(len);
+            }
+        };
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapAntes = runtime.totalMemory() - runtime.freeMemory();
+        AtomicLong picoHeap = new AtomicLong(heapAntes);
+
+        long inicio = System.nanoTime();
+        long linhas = relatorioService.escreverPagamentosCSV(PRIMEIRO_DIA, PRIMEIRO_DIA.plusDays(DIAS - 1), new FilterOutputStream(descarte) {
+            private long escritos;
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                if ((escritos += len) % (1 << 20) < len)
+                    picoHeap.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
+            }
+        });
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+
+        System.out.printf("Exportação CSV: %d linhas, %d MB em %.2f s, pico de heap +%d MB%n",
+                linhas, bytes.get() >> 20, segundos, (picoHeap.get() - heapAntes) >> 20);
+
+        assertThat(linhas).isEqualTo(TOTAL_PAGAMENTOS);
+        assertThat(picoHeap.get() - heapAntes).isLessThan(256L << 20);
+    }
+
+    @Test
+    @DisplayName("Relatório diário deve responder em poucos milissegundos com um milhão de pagamentos")
+    void relatorioDiarioComUmMilhaoDePagamentos() {
+        RelatorioDTO relatorio = relatorioService.gerarRelatorioDesempenho(DIA_MEDIDO);
+        assertThat((long) relatorio.quantidade()).isEqualTo(pagamentosNoDiaMedido);
+        assertThat(pagamentoRepository.findByHoraSaidaBetween(DIA_MEDIDO.atStartOfDay(), DIA_MEDIDO.atTime(23, 59, 59)))
+                .hasSize((int) pagamentosNoDiaMedido);
+
+        double relatorioDiario = mediaEmMilissegundos(() -> relatorioService.gerarRelatorioDesempenho(DIA_MEDIDO));
+        double relatorioMensal = mediaEmMilissegundos(() ->
+                relatorioService.gerarRelatorioMensal(DIA_MEDIDO.getMonthValue(), DIA_MEDIDO.getYear()));
+        double pagamentosDoDia = mediaEmMilissegundos(() -> pagamentoRepository.findByHoraSaidaBetween(
+                DIA_MEDIDO.atStartOfDay(), DIA_MEDIDO.atTime(23, 59, 59)));
+        double paginaHistorico = mediaEmMilissegundos(() ->
+                relatorioService.gerarHistorico("BEN1000", DIA_MEDIDO.atStartOfDay(), new UUID(-1L, -1L), 50));
+
+        System.out.printf("Pagamentos armazenados: %d%n", pagamentoRepository.count());
+        System.out.printf("Relatório diário: %.3f ms%n", relatorioDiario);
+        System.out.printf("Relatório mensal: %.3f ms%n", relatorioMensal);
+        System.out.printf("Pagamentos do dia (%d linhas): %.3f ms%n", pagamentosNoDiaMedido, pagamentosDoDia);
+        System.out.printf("Página de histórico da placa: %.3f ms%n", paginaHistorico);
+
+        assertThat(relatorioDiario).isLessThan(50.0);
+        assertThat(relatorioMensal).isLessThan(100.0);
+    }
+}
@@ -1,15 +1,19 @@
 package br.ifsp.demo.service;
 
 import br.ifsp.demo.components.CalculadoraTempoPermanencia;
+import br.ifsp.demo.components.OcupacaoVagas;
 import br.ifsp.demo.components.ValorPermanencia;
 import br.ifsp.demo.dto.HistoricoDTO;
+import br.ifsp.demo.dto.PagamentoExportadoDTO;
 import br.ifsp.demo.dto.ReciboDTO;
 import br.ifsp.demo.dto.RelatorioDTO;
+import br.ifsp.demo.model.Estacionamento;
 import br.ifsp.demo.model.Pagamento;
 import br.ifsp.demo.model.RegistroEntrada;
+import br.ifsp.demo.model.ResumoDiario;
 import br.ifsp.demo.model.Veiculo;
 import br.ifsp.demo.repository.PagamentoRepository;
-import br.ifsp.demo.repository.RegistroEntradaRepository;
+import br.ifsp.demo.repository.ResumoDiarioRepository;
 import br.ifsp.demo.repository.VeiculoRepository;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
@@ -18,8 +22,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayOutputStream;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
@@ -30,6 +38,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -37,23 +49,61 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class RelatorioServiceTest {
 
+    private static final Estacionamento ESTACIONAMENTO = new Estacionamento("Estacionamento Relatórios", "Rua Teste", 10);
+
     @Mock
     private PagamentoRepository pagamentoRepository;
 
     @Mock
-    private RegistroEntradaRepository registroEntradaRepository;
+    private ResumoDiarioRepository resumoDiarioRepository;
+
+    @Spy
+    private OcupacaoVagas ocupacaoVagas = new OcupacaoVagas();
 
     @InjectMocks
     private RelatorioService relatorioService;
 
     private RelatorioService relatorioServiceSpy;
 
+    private Estacionamento estacionamento;
+
     @BeforeEach
     void setUp() {
-        RelatorioService realService = new RelatorioService(pagamentoRepository, registroEntradaRepository);
+        estacionamento = new Estacionamento("Estacionamento Teste", "Rua Teste", 200);
+        ReflectionTestUtils.setField(estacionamento, "id", UUID.randomUUID());
+        ocupacaoVagas.registrar(estacionamento, Collections.emptyList());
+
+        RelatorioService realService = new RelatorioService(pagamentoRepository, resumoDiarioRepository, ocupacaoVagas);
         relatorioServiceSpy = Mockito.spy(realService);
     }
 
+    private void simularResumos(List<Pagamento> pagamentos) {
+        Map<LocalDate, ResumoDiario> resumos = new HashMap<>();
+        for (Pagamento pagamento : pagamentos) {
+            resumos.computeIfAbsent(pagamento.getHoraSaida().toLocalDate(), data -> new ResumoDiario(estacionamento, data))
+                    .registrarPagamento(pagamento);
+        }
+        lenient().when(resumoDiarioRepository.findByData(any(LocalDate.class))).thenAnswer(invocation ->
+                resumos.containsKey(invocation.<LocalDate>getArgument(0))
+                        ? List.of(resumos.get(invocation.<LocalDate>getArgument(0)))
+                        : Collections.emptyList());
+        lenient().when(resumoDiarioRepository.findByDataBetween(any(LocalDate.class), any(LocalDate.class))).thenAnswer(invocation -> {
+            LocalDate inicio = invocation.getArgument(0);
+            LocalDate fim = invocation.getArgument(1);
+            return resumos.values().stream()
+                    .filter(r -> !r.getData().isBefore(inicio) && !r.getData().isAfter(fim))
+                    .toList();
+        });
+    }
+
+    private ResumoDiario resumo(LocalDate data, int quantidade, long tempoTotalMinutos, double receita) {
+        ResumoDiario resumo = new ResumoDiario(estacionamento, data);
+        ReflectionTestUtils.setField(resumo, "quantidade", quantidade);
+        ReflectionTestUtils.setField(resumo, "tempoTotalMinutos", tempoTotalMinutos);
+        ReflectionTestUtils.setField(resumo, "receitaCentavos", Math.round(receita * 100));
+        return resumo;
+    }
+
     @Nested
     @DisplayName("TDD Tests")
     class TddTests {
@@ -83,7 +133,7 @@ class RelatorioServiceTest {
 
             List<Pagamento> pagamentosDeTeste = List.of(p1, p2);
 
-            when(pagamentoRepository.findAll()).thenReturn(pagamentosDeTeste);
+            simularResumos(pagamentosDeTeste);
 
             double minutosOcupadosP1 = Duration.between(p1.getHoraEntrada(), p1.getHoraSaida()).toMinutes();
             double minutosOcupadosP2 = Duration.between(p2.getHoraEntrada(), p2.getHoraSaida()).toMinutes();
@@ -114,14 +164,13 @@ class RelatorioServiceTest {
 
             Pagamento pagamento = new Pagamento(
                     new RegistroEntrada(
-                            new Veiculo(placa, "carro", "carroA", "branco")),
+                            new Veiculo(placa, "carro", "carroA", "branco"), ESTACIONAMENTO, 1),
                     LocalDateTime.of(2025, 5, 3, 9, 0),
                     LocalDateTime.of(2025, 5, 3, 11, 30),
                     new CalculadoraTempoPermanencia(
                             new ValorPermanencia()));
-            List<Pagamento> pagamentoList = List.of(pagamento);
 
-            when(pagamentoRepository.findAll()).thenReturn(pagamentoList);
+            when(pagamentoRepository.findFirstByPlacaOrderByHoraSaidaDesc(placa)).thenReturn(Optional.of(pagamento));
 
             var recibo = relatorioService.gerarRecibo(placa);
 
@@ -140,32 +189,23 @@ class RelatorioServiceTest {
             Veiculo veiculo69 = new Veiculo("ABC6969", "carro", "carroA", "branco");
 
             Pagamento pagamento1 = new Pagamento(
-                    new RegistroEntrada(veiculo69),
+                    new RegistroEntrada(veiculo69, ESTACIONAMENTO, 1),
                     LocalDateTime.of(2025, 5, 3, 8, 0),
                     LocalDateTime.of(2025, 5, 3, 10, 0),
                     new CalculadoraTempoPermanencia(
                             new ValorPermanencia()));
 
             Pagamento pagamento2 = new Pagamento(
-                    new RegistroEntrada(veiculo69),
+                    new RegistroEntrada(veiculo69, ESTACIONAMENTO, 1),
                     LocalDateTime.of(2025, 5, 4, 9, 0),
                     LocalDateTime.of(2025, 5, 4, 11, 30),
                     new CalculadoraTempoPermanencia(
                             new ValorPermanencia()));
 
-            Pagamento pagamento3 = new Pagamento(
-                    new RegistroEntrada(
-                            new Veiculo("XYZ6969", "carro", "carroB", "preto")),
-                    LocalDateTime.of(2025, 5, 4, 12, 0),
-                    LocalDateTime.of(2025, 5, 4, 14, 0),
-                    new CalculadoraTempoPermanencia(
-                            new ValorPermanencia()));
-
-            List<Pagamento> pagamentoList = List.of(pagamento1, pagamento2, pagamento3);
-
-            when(pagamentoRepository.findAll()).thenReturn(pagamentoList);
+            when(pagamentoRepository.findByPlacaOrderByHoraSaidaDescUuidDesc("ABC6969", Limit.of(50)))
+                    .thenReturn(List.of(pagamento2, pagamento1));
 
-            List<HistoricoDTO> historico = relatorioService.gerarHistorico(veiculo69.getPlaca());
+            List<HistoricoDTO> historico = relatorioService.gerarHistorico(veiculo69.getPlaca(), null, null, 50);
 
             assertNotNull(historico);
             assertEquals(2, historico.size());
@@ -181,26 +221,104 @@ class RelatorioServiceTest {
             assertEquals(26.0, historico.getFirst().valor(), 0.01);
         }
 
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Deve continuar o histórico pelo par hora de saída e id do último item recebido")
+        void deveContinuarHistoricoPeloParHoraDeSaidaEId() {
+            LocalDateTime antes = LocalDateTime.of(2025, 5, 4, 11, 30);
+            UUID antesId = UUID.randomUUID();
+            Pagamento empatado = new Pagamento(
+                    new RegistroEntrada(new Veiculo("ABC6969", "carro", "carroA", "branco"), ESTACIONAMENTO, 1),
+                    LocalDateTime.of(2025, 5, 4, 9, 0),
+                    antes,
+                    new CalculadoraTempoPermanencia(new ValorPermanencia()));
+
+            when(pagamentoRepository.buscarHistoricoAntesDe("ABC6969", antes, antesId, Limit.of(1)))
+                    .thenReturn(List.of(empatado));
+
+            List<HistoricoDTO> historico = relatorioService.gerarHistorico("ABC6969", antes, antesId, 1);
+
+            assertEquals(antes, historico.getFirst().horaSaida());
+            verify(pagamentoRepository, never()).findByPlacaOrderByHoraSaidaDescUuidDesc(any(), any());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Deve recusar id de cursor sem a hora de saída")
+        void deveRecusarIdDeCursorSemHoraDeSaida() {
+            IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+                    () -> relatorioService.gerarHistorico("ABC6969", null, UUID.randomUUID(), 10));
+
+            assertEquals("Cursor do histórico exige a hora de saída junto com o id", erro.getMessage());
+            verifyNoInteractions(pagamentoRepository);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Deve recusar hora de saída de cursor sem o id")
+        void deveRecusarHoraDeSaidaDeCursorSemId() {
+            IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+                    () -> relatorioService.gerarHistorico("ABC6969", LocalDateTime.of(2025, 5, 4, 11, 30), null, 10));
+
+            assertEquals("Cursor do histórico exige a hora de saída junto com o id", erro.getMessage());
+            verifyNoInteractions(pagamentoRepository);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Deve recusar limite de histórico fora do intervalo permitido")
+        void deveRecusarLimiteDeHistoricoForaDoIntervalo() {
+            IllegalArgumentException zero = assertThrows(IllegalArgumentException.class,
+                    () -> relatorioService.gerarHistorico("ABC6969", null, null, 0));
+            assertThrows(IllegalArgumentException.class,
+                    () -> relatorioService.gerarHistorico("ABC6969", null, null, RelatorioService.LIMITE_MAXIMO_HISTORICO + 1));
+
+            assertEquals("Limite deve estar entre 1 e " + RelatorioService.LIMITE_MAXIMO_HISTORICO, zero.getMessage());
+            verifyNoInteractions(pagamentoRepository);
+        }
+
         @Test
         @Tag("TDD")
         @Tag("UnitTest")
         @Tag("Functional")
         @DisplayName("Deve retornar corretamente o número de vagas disponíveis")
         void deveRetornarCorretamenteONumeroDeVagasDisponiveis() {
-            when(registroEntradaRepository.count()).thenReturn(2L);
+            ocupacaoVagas.doEstacionamento(estacionamento).ocupar(1);
+            ocupacaoVagas.doEstacionamento(estacionamento).ocupar(2);
 
             int vagasDisponiveis = relatorioService.vagasDisponiveis();
 
             assertEquals(198, vagasDisponiveis);
         }
 
+        @Test
+        @Tag("TDD")
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Deve calcular vagas disponíveis a partir da capacidade dos estacionamentos")
+        void deveCalcularVagasDisponiveisAPartirDaCapacidade() {
+            Estacionamento shopping = new Estacionamento("Shopping", "Rua Teste", 3000);
+            ReflectionTestUtils.setField(shopping, "id", UUID.randomUUID());
+            ocupacaoVagas.registrar(shopping, Collections.emptyList());
+            ocupacaoVagas.doEstacionamento(estacionamento).ocupar(1);
+            ocupacaoVagas.doEstacionamento(estacionamento).ocupar(2);
+
+            assertEquals(3200, relatorioService.totalVagas());
+            assertEquals(3198, relatorioService.vagasDisponiveis());
+        }
+
         @Test
         @Tag("TDD")
         @Tag("UnitTest")
         @Tag("Functional")
         @DisplayName("Deve retornar corretamente o número de vagas ocupadas")
         void deveRetornarCorretamenteONumeroDeVagasOcupadas() {
-            when(registroEntradaRepository.count()).thenReturn(2L);
+            ocupacaoVagas.doEstacionamento(estacionamento).ocupar(1);
+            ocupacaoVagas.doEstacionamento(estacionamento).ocupar(2);
 
             int vagasOcupadas = relatorioService.vagasOcupadas();
 
@@ -224,7 +342,7 @@ class RelatorioServiceTest {
                 RelatorioDTO mockRelatorioDto = new RelatorioDTO(
                         10,
                         2.5,
-                        250.75,
+                        25075L,
                         0.65
                 );
 
@@ -272,6 +390,61 @@ class RelatorioServiceTest {
             }
         }
 
+        @Nested
+        @DisplayName("Exportação de pagamentos em CSV")
+        class ExportacaoPagamentosCSVTestes {
+            @Test
+            @Tag("UnitTest")
+            @Tag("Functional")
+            @DisplayName("Deve escrever BOM, cabeçalho e uma linha por pagamento do período")
+            void escreverPagamentosCSV_comPagamentos_escreveTodasAsLinhas() {
+                LocalDate inicio = LocalDate.of(2025, 5, 1);
+                LocalDate fim = LocalDate.of(2025, 5, 31);
+                when(pagamentoRepository.streamPorPeriodo(inicio.atStartOfDay(), LocalDate.of(2025, 6, 1).atStartOfDay()))
+                        .thenReturn(Stream.of(
+                                new PagamentoExportadoDTO("ABC1234", LocalDateTime.of(2025, 5, 3, 9, 0), LocalDateTime.of(2025, 5, 3, 11, 30), 2600),
+                                new PagamentoExportadoDTO("XYZ9876", LocalDateTime.of(2025, 5, 31, 22, 0), LocalDateTime.of(2025, 5, 31, 23, 59, 59), 1050)));
+                ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+                long linhas = relatorioService.escreverPagamentosCSV(inicio, fim, saida);
+
+                assertEquals(2, linhas);
+                assertEquals("\uFEFFPlaca,Entrada,Saída,Valor\n" +
+                                "ABC1234,03/05/2025 09:00:00,03/05/2025 11:30:00," + String.format("%.2f", 26.0) + "\n" +
+                                "XYZ9876,31/05/2025 22:00:00,31/05/2025 23:59:59," + String.format("%.2f", 10.5) + "\n",
+                        saida.toString(StandardCharsets.UTF_8));
+            }
+
+            @Test
+            @Tag("UnitTest")
+            @Tag("Structural")
+            @DisplayName("Deve fechar o stream de pagamentos ao terminar a exportação")
+            void escreverPagamentosCSV_fechaStreamDoRepositorio() {
+                LocalDate data = LocalDate.of(2025, 5, 1);
+                AtomicBoolean fechado = new AtomicBoolean(false);
+                when(pagamentoRepository.streamPorPeriodo(any(), any()))
+                        .thenReturn(Stream.<PagamentoExportadoDTO>empty().onClose(() -> fechado.set(true)));
+
+                long linhas = relatorioService.escreverPagamentosCSV(data, data, new ByteArrayOutputStream());
+
+                assertEquals(0, linhas);
+                assertTrue(fechado.get());
+            }
+
+            @Test
+            @Tag("UnitTest")
+            @Tag("Structural")
+            @DisplayName("Deve recusar período com data final anterior à inicial")
+            void escreverPagamentosCSV_periodoInvertido_lancaExcecao() {
+                IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                        relatorioService.escreverPagamentosCSV(LocalDate.of(2025, 5, 2), LocalDate.of(2025, 5, 1),
+                                new ByteArrayOutputStream()));
+
+                assertEquals("Data final não pode ser anterior à data inicial", exception.getMessage());
+                verifyNoInteractions(pagamentoRepository);
+            }
+        }
+
         @Nested
         @DisplayName("PDF Testes")
         class PDFTestes {
@@ -284,7 +457,7 @@ class RelatorioServiceTest {
                 RelatorioDTO mockRelatorioDto = new RelatorioDTO(
                         15,
                         3.1,
-                        350.50,
+                        35050L,
                         0.75
                 );
 
@@ -347,7 +520,7 @@ class RelatorioServiceTest {
         void gerarRelatorioDesempenho_semPagamentosNoDia_retornaRelatorioZerado() {
             LocalDate dataTeste = LocalDate.of(2025, 5, 4);
 
-            when(pagamentoRepository.findAll()).thenReturn(Collections.emptyList());
+            when(resumoDiarioRepository.findByData(dataTeste)).thenReturn(Collections.emptyList());
 
             RelatorioDTO relatorio = relatorioServiceSpy.gerarRelatorioDesempenho(dataTeste);
 
@@ -373,20 +546,11 @@ class RelatorioServiceTest {
                 LocalDate dia1 = LocalDate.of(ano, mes, 1);
                 LocalDate dia2 = LocalDate.of(ano, mes, 2);
 
-                RelatorioDTO relatorioDia1 = new RelatorioDTO(2, 2.0, 100.0, 0.1);
-                RelatorioDTO relatorioDia2 = new RelatorioDTO(3, 1.0, 150.0, 0.15);
-                RelatorioDTO relatorioDiaZero = new RelatorioDTO(0, 0.0, 0.0, 0.0);
-
-                doReturn(relatorioDia1).when(relatorioServiceSpy).gerarRelatorioDesempenho(dia1);
-                doReturn(relatorioDia2).when(relatorioServiceSpy).gerarRelatorioDesempenho(dia2);
-
                 LocalDate inicioMes = LocalDate.of(ano, mes, 1);
                 LocalDate fimMes = inicioMes.withDayOfMonth(inicioMes.lengthOfMonth());
-                for (LocalDate data = inicioMes; !data.isAfter(fimMes); data = data.plusDays(1)) {
-                    if (!data.equals(dia1) && !data.equals(dia2)) {
-                        doReturn(relatorioDiaZero).when(relatorioServiceSpy).gerarRelatorioDesempenho(data);
-                    }
-                }
+                when(resumoDiarioRepository.findByDataBetween(inicioMes, fimMes)).thenReturn(List.of(
+                        resumo(dia1, 2, 240, 100.0),
+                        resumo(dia2, 3, 180, 150.0)));
 
                 Map<String, Object> resultado = relatorioServiceSpy.gerarRelatorioMensal(mes, ano);
 
@@ -412,6 +576,31 @@ class RelatorioServiceTest {
                 assertEquals(2, veiculosPorDia.get(1));
                 assertEquals(3, veiculosPorDia.get(2));
                 assertEquals(0, veiculosPorDia.get(3));
+
+                verify(resumoDiarioRepository, times(1)).findByDataBetween(inicioMes, fimMes);
+                verify(relatorioServiceSpy, never()).gerarRelatorioDesempenho(any());
+            }
+
+            @Test
+            @Tag("Structural")
+            @Tag("UnitTest")
+            @DisplayName("Deve somar no mesmo dia os resumos de estacionamentos diferentes")
+            void gerarRelatorioMensal_resumosDoMesmoDia_saoSomados() {
+                LocalDate dia = LocalDate.of(2025, 3, 10);
+                when(resumoDiarioRepository.findByDataBetween(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31)))
+                        .thenReturn(List.of(resumo(dia, 1, 60, 20.0), resumo(dia, 2, 60, 30.0)));
+
+                Map<String, Object> resultado = relatorioService.gerarRelatorioMensal(3, 2025);
+
+                @SuppressWarnings("unchecked")
+                Map<Integer, Double> receitaPorDia = (Map<Integer, Double>) resultado.get("receitaPorDia");
+                @SuppressWarnings("unchecked")
+                Map<Integer, Integer> veiculosPorDia = (Map<Integer, Integer>) resultado.get("veiculosPorDia");
+                assertEquals(31, receitaPorDia.size());
+                assertEquals(50.0, receitaPorDia.get(10), 0.01);
+                assertEquals(3, veiculosPorDia.get(10));
+                assertEquals(10, resultado.get("melhorDia"));
+                assertEquals(0.67, (Double) resultado.get("tempoMedioHoras"), 0.01);
             }
 
             @Test
@@ -421,13 +610,9 @@ class RelatorioServiceTest {
             void gerarRelatorioMensal_semAtividade_retornaValoresZerados() {
                 int ano = 2025;
                 int mes = 2;
-                RelatorioDTO relatorioDiaZero = new RelatorioDTO(0, 0.0, 0.0, 0.0);
-
                 LocalDate inicioMes = LocalDate.of(ano, mes, 1);
                 LocalDate fimMes = inicioMes.withDayOfMonth(inicioMes.lengthOfMonth());
-                for (LocalDate data = inicioMes; !data.isAfter(fimMes); data = data.plusDays(1)) {
-                    doReturn(relatorioDiaZero).when(relatorioServiceSpy).gerarRelatorioDesempenho(data);
-                }
+                when(resumoDiarioRepository.findByDataBetween(inicioMes, fimMes)).thenReturn(Collections.emptyList());
 
                 Map<String, Object> resultado = relatorioServiceSpy.gerarRelatorioMensal(mes, ano);
 
@@ -510,6 +695,55 @@ class RelatorioServiceTest {
                 verify(relatorioServiceSpy).gerarRelatorioMensal(mesTeste, anoTeste);
             }
 
+            @Test
+            @Tag("Structural")
+            @Tag("UnitTest")
+            @DisplayName("Deve incluir a tabela por dia no PDF mensal quando houver dados diários")
+            void escreverRelatorioMensalPDF_comDadosDiarios_incluiTabelaPorDia() throws Exception {
+                Map<String, Object> mockDadosMensais = new HashMap<>();
+                mockDadosMensais.put("receitaTotal", 300.0);
+                mockDadosMensais.put("totalVeiculos", 7);
+                mockDadosMensais.put("tempoMedioHoras", 1.5);
+                mockDadosMensais.put("receitaMediaDiaria", 10.0);
+                mockDadosMensais.put("melhorDia", 2);
+                mockDadosMensais.put("melhorReceita", 123.45);
+                mockDadosMensais.put("receitaPorDia", Map.of(2, 123.45));
+                mockDadosMensais.put("veiculosPorDia", Map.of(2, 7));
+                doReturn(mockDadosMensais).when(relatorioServiceSpy).gerarRelatorioMensal(2, 2025);
+
+                ByteArrayOutputStream saida = new ByteArrayOutputStream();
+                relatorioServiceSpy.escreverRelatorioMensalPDF(2, 2025, saida);
+
+                try (PDDocument document = PDDocument.load(saida.toByteArray())) {
+                    String texto = new PDFTextStripper().getText(document);
+
+                    assertTrue(texto.contains("Período: Fevereiro de 2025"), "O PDF deve conter o período do relatório");
+                    assertTrue(texto.contains("Dia Veículos Receita"), "O PDF deve conter o cabeçalho da tabela por dia");
+                    assertTrue(texto.contains("28 0 R$ 0"), "O PDF deve listar todos os dias do mês");
+                }
+            }
+
+            @Test
+            @Tag("Structural")
+            @Tag("UnitTest")
+            @DisplayName("Deve escrever o PDF diário no stream recebido sem fechá-lo")
+            void escreverRelatorioPDF_escreveNoStreamSemFechar() {
+                LocalDate dataTeste = LocalDate.of(2025, 6, 1);
+                doReturn(new RelatorioDTO(3, 1.0, 3000L, 0.1)).when(relatorioServiceSpy).gerarRelatorioDesempenho(dataTeste);
+                AtomicBoolean fechado = new AtomicBoolean();
+                ByteArrayOutputStream saida = new ByteArrayOutputStream() {
+                    @Override
+                    public void close() {
+                        fechado.set(true);
+                    }
+                };
+
+                relatorioServiceSpy.escreverRelatorioPDF(dataTeste, saida);
+
+                assertEquals("%PDF", new String(saida.toByteArray(), 0, 4));
+                assertFalse(fechado.get(), "O stream da resposta não deve ser fechado pelo gerador de PDF");
+            }
+
         }
 
 
@@ -531,18 +765,18 @@ class RelatorioServiceTest {
             LocalDateTime dataForaDoPeriodo = LocalDate.of(2025, 5, 31).atTime(10, 0);
 
             Pagamento pagamentoDentro = new Pagamento(
-                    new RegistroEntrada(new Veiculo("ABC1234", "carro", "civic", "branco")),
+                    new RegistroEntrada(new Veiculo("ABC1234", "carro", "civic", "branco"), ESTACIONAMENTO, 1),
                     dataTeste.atTime(10, 0),
                     dataTeste.atTime(12, 0),
                     new CalculadoraTempoPermanencia(new ValorPermanencia()));
 
             Pagamento pagamentoFora = new Pagamento(
-                    new RegistroEntrada(new Veiculo("XYZ9999", "carro", "corolla", "preto")),
+                    new RegistroEntrada(new Veiculo("XYZ9999", "carro", "corolla", "preto"), ESTACIONAMENTO, 1),
                     dataForaDoPeriodo,
                     dataForaDoPeriodo.plusHours(2),
                     new CalculadoraTempoPermanencia(new ValorPermanencia()));
 
-            when(pagamentoRepository.findAll()).thenReturn(List.of(pagamentoDentro, pagamentoFora));
+            simularResumos(List.of(pagamentoDentro, pagamentoFora));
 
             RelatorioDTO resultado = relatorioService.gerarRelatorioDesempenho(dataTeste);
 
@@ -569,7 +803,7 @@ class RelatorioServiceTest {
         @DisplayName("Deve verificar que CSV é finalizado corretamente")
         void deveVerificarQueCSVEhFinalizadoCorretamente() throws Exception {
             LocalDate dataTeste = LocalDate.of(2025, 6, 1);
-            RelatorioDTO mockRelatorioDto = new RelatorioDTO(5, 2.0, 100.0, 0.5);
+            RelatorioDTO mockRelatorioDto = new RelatorioDTO(5, 2.0, 10000L, 0.5);
 
             doReturn(mockRelatorioDto).when(relatorioServiceSpy).gerarRelatorioDesempenho(dataTeste);
 
@@ -595,20 +829,20 @@ class RelatorioServiceTest {
         void deveValidarCalculosCriticosContraMutantesMatematicos() {
             LocalDate dataTeste = LocalDate.of(2025, 9, 1);
             Pagamento pagamento1 = new Pagamento(
-                    new RegistroEntrada(new Veiculo("ABC1234", "carro", "civic", "branco")),
+                    new RegistroEntrada(new Veiculo("ABC1234", "carro", "civic", "branco"), ESTACIONAMENTO, 1),
                     LocalDateTime.of(2025, 9, 1, 10, 0),
                     LocalDateTime.of(2025, 9, 1, 12, 30),
                     new CalculadoraTempoPermanencia(new ValorPermanencia())
             );
 
             Pagamento pagamento2 = new Pagamento(
-                    new RegistroEntrada(new Veiculo("DEF5678", "carro", "corolla", "preto")),
+                    new RegistroEntrada(new Veiculo("DEF5678", "carro", "corolla", "preto"), ESTACIONAMENTO, 1),
                     LocalDateTime.of(2025, 9, 1, 14, 0),
                     LocalDateTime.of(2025, 9, 1, 15, 30),
                     new CalculadoraTempoPermanencia(new ValorPermanencia())
             );
 
-            when(pagamentoRepository.findAll()).thenReturn(List.of(pagamento1, pagamento2));
+            simularResumos(List.of(pagamento1, pagamento2));
 
             RelatorioDTO relatorio = relatorioServiceSpy.gerarRelatorioDesempenho(dataTeste);
 
@@ -631,7 +865,7 @@ class RelatorioServiceTest {
         void shouldFlushAndCloseCSVPrinter() throws Exception {
 
             LocalDate dataTeste = LocalDate.of(2025, 6, 1);
-            RelatorioDTO mockRelatorioDto = new RelatorioDTO(5, 2.0, 100.0, 0.5);
+            RelatorioDTO mockRelatorioDto = new RelatorioDTO(5, 2.0, 10000L, 0.5);
 
             doReturn(mockRelatorioDto).when(relatorioServiceSpy).gerarRelatorioDesempenho(dataTeste);
             relatorioServiceSpy.gerarRelatorioCSV(dataTeste);
@@ -644,68 +878,32 @@ class RelatorioServiceTest {
         @DisplayName("Deve retornar null quando placa não for encontrada no recibo")
         void deveRetornarNullQuandoPlacaNaoForEncontradaNoRecibo() {
             String placaInexistente = "XYZ9999";
-            Pagamento pagamento1 = new Pagamento(
-                    new RegistroEntrada(
-                            new Veiculo("ABC1234", "carro", "carroA", "branco")),
-                    LocalDateTime.of(2025, 5, 3, 9, 0),
-                    LocalDateTime.of(2025, 5, 3, 11, 30),
-                    new CalculadoraTempoPermanencia(
-                            new ValorPermanencia()));
-
-            Pagamento pagamento2 = new Pagamento(
-                    new RegistroEntrada(
-                            new Veiculo("DEF5678", "carro", "carroB", "preto")),
-                    LocalDateTime.of(2025, 5, 3, 10, 0),
-                    LocalDateTime.of(2025, 5, 3, 12, 0),
-                    new CalculadoraTempoPermanencia(
-                            new ValorPermanencia()));
+            when(pagamentoRepository.findFirstByPlacaOrderByHoraSaidaDesc(placaInexistente)).thenReturn(Optional.empty());
 
-            List<Pagamento> pagamentoList = List.of(pagamento1, pagamento2);
-            when(pagamentoRepository.findAll()).thenReturn(pagamentoList);
             ReciboDTO recibo = relatorioService.gerarRecibo(placaInexistente);
 
             assertNull(recibo, "Deve retornar null quando a placa não for encontrada");
 
-            verify(pagamentoRepository).findAll();
+            verify(pagamentoRepository).findFirstByPlacaOrderByHoraSaidaDesc(placaInexistente);
+            verify(pagamentoRepository, never()).findAll();
         }
 
         @Test
         @Tag("UnitTest")
         @Tag("Mutation")
-        @DisplayName("Deve filtrar corretamente apenas a placa específica")
-        void deveFiltrarCorretamenteApenasAPlacaEspecifica() {
+        @DisplayName("Deve montar o recibo a partir do último pagamento da placa")
+        void deveMontarReciboAPartirDoUltimoPagamentoDaPlaca() {
             String placaProcurada = "ABC1234";
 
             Pagamento pagamentoCorreto = new Pagamento(
                     new RegistroEntrada(
-                            new Veiculo(placaProcurada, "carro", "carroA", "branco")),
+                            new Veiculo(placaProcurada, "carro", "carroA", "branco"), ESTACIONAMENTO, 1),
                     LocalDateTime.of(2025, 5, 3, 14, 0),
                     LocalDateTime.of(2025, 5, 3, 16, 30),
                     new CalculadoraTempoPermanencia(
                             new ValorPermanencia()));
 
-            Pagamento pagamentoIncorreto1 = new Pagamento(
-                    new RegistroEntrada(
-                            new Veiculo("XYZ9999", "carro", "carroB", "preto")),
-                    LocalDateTime.of(2025, 5, 3, 10, 0),
-                    LocalDateTime.of(2025, 5, 3, 12, 0),
-                    new CalculadoraTempoPermanencia(
-                            new ValorPermanencia()));
-
-            Pagamento pagamentoIncorreto2 = new Pagamento(
-                    new RegistroEntrada(
-                            new Veiculo("DEF5678", "carro", "carroC", "azul")),
-                    LocalDateTime.of(2025, 5, 3, 8, 0),
-                    LocalDateTime.of(2025, 5, 3, 10, 0),
-                    new CalculadoraTempoPermanencia(
-                            new ValorPermanencia()));
-
-            List<Pagamento> pagamentoList = List.of(
-                    pagamentoIncorreto1,
-                    pagamentoCorreto,
-                    pagamentoIncorreto2
-            );
-            when(pagamentoRepository.findAll()).thenReturn(pagamentoList);
+            when(pagamentoRepository.findFirstByPlacaOrderByHoraSaidaDesc(placaProcurada)).thenReturn(Optional.of(pagamentoCorreto));
 
             ReciboDTO recibo = relatorioService.gerarRecibo(placaProcurada);
 
@@ -715,22 +913,22 @@ class RelatorioServiceTest {
             assertEquals(LocalDateTime.of(2025, 5, 3, 16, 30), recibo.saida());
             assertEquals(pagamentoCorreto.getValor(), recibo.valorTotal());
 
-            verify(pagamentoRepository).findAll();
+            verify(pagamentoRepository).findFirstByPlacaOrderByHoraSaidaDesc(placaProcurada);
         }
 
         @Test
         @Tag("UnitTest")
         @Tag("Mutation")
-        @DisplayName("Deve retornar null quando lista de pagamentos estiver vazia")
+        @DisplayName("Deve retornar null quando não houver pagamentos")
         void deveRetornarNullQuandoListaDePagamentosEstiverVazia() {
             String qualquerPlaca = "ABC1234";
 
-            when(pagamentoRepository.findAll()).thenReturn(Collections.emptyList());
+            when(pagamentoRepository.findFirstByPlacaOrderByHoraSaidaDesc(qualquerPlaca)).thenReturn(Optional.empty());
 
             ReciboDTO recibo = relatorioService.gerarRecibo(qualquerPlaca);
 
             assertNull(recibo, "Deve retornar null quando não há pagamentos");
-            verify(pagamentoRepository).findAll();
+            verify(pagamentoRepository).findFirstByPlacaOrderByHoraSaidaDesc(qualquerPlaca);
         }
 
         @Test
@@ -742,13 +940,13 @@ class RelatorioServiceTest {
             LocalDate dataFevereiro = LocalDate.of(2025, 2, 15);
 
             Pagamento pagamentoAbril = new Pagamento(
-                    new RegistroEntrada(new Veiculo("ABC1234", "carro", "civic", "branco")),
+                    new RegistroEntrada(new Veiculo("ABC1234", "carro", "civic", "branco"), ESTACIONAMENTO, 1),
                     dataAbril.atTime(10, 0),
                     dataAbril.atTime(12, 0),
                     new CalculadoraTempoPermanencia(new ValorPermanencia())
             );
 
-            when(pagamentoRepository.findAll()).thenReturn(List.of(pagamentoAbril));
+            simularResumos(List.of(pagamentoAbril));
 
             Map<String, Object> resultadoAbril = relatorioService.gerarRelatorioMensal(4, 2025);
 
@@ -833,12 +1031,12 @@ class RelatorioServiceTest {
             LocalDate data = LocalDate.of(2025, 6, 1);
 
             Pagamento pagamento = new Pagamento(
-                    new RegistroEntrada(new Veiculo("ABC1234", "carro", "civic", "branco")),
+                    new RegistroEntrada(new Veiculo("ABC1234", "carro", "civic", "branco"), ESTACIONAMENTO, 1),
                     data.atTime(10, 0),
                     data.atTime(12, 0),
                     new CalculadoraTempoPermanencia(new ValorPermanencia())
             );
-            when(pagamentoRepository.findAll()).thenReturn(List.of(pagamento));
+            simularResumos(List.of(pagamento));
 
             byte[] pdfBytes = relatorioService.gerarRelatorioPDF(data);
 
@@ -867,7 +1065,7 @@ class RelatorioServiceTest {
             LocalDate data = LocalDate.of(2025, 6, 1);
 
             double ocupacaoMedia = 0.75;
-            RelatorioDTO relatorioDTO = new RelatorioDTO(10, 2.0, 100.0, ocupacaoMedia);
+            RelatorioDTO relatorioDTO = new RelatorioDTO(10, 2.0, 10000L, ocupacaoMedia);
 
             doReturn(relatorioDTO).when(relatorioServiceSpy).gerarRelatorioDesempenho(data);
 
@@ -914,35 +1112,35 @@ class RelatorioServiceTest {
         @Test
         @Tag("UnitTest")
         @Tag("Mutation")
-        @DisplayName("Deve matar mutante de filtro sempre verdadeiro em calcularMinutosOcupados")
-        void deveMatarMutanteFiltroSempreVerdadeiro() {
+        @DisplayName("Deve somar os resumos diários de todos os estacionamentos da data")
+        void deveSomarResumosDeTodosOsEstacionamentos() {
             LocalDate data = LocalDate.of(2025, 6, 1);
-            LocalDateTime inicioDoDia = data.atStartOfDay();
+            Estacionamento outroEstacionamento = new Estacionamento("Outro", "Rua Dois", 100);
 
             Pagamento p1 = new Pagamento(
-                    new RegistroEntrada(new Veiculo("A", "carro", "modelo", "cor")),
-                    inicioDoDia,
-                    inicioDoDia.plusMinutes(1500),
+                    new RegistroEntrada(new Veiculo("A", "carro", "modelo", "cor"), ESTACIONAMENTO, 1),
+                    data.atTime(8, 0),
+                    data.atTime(10, 0),
                     new CalculadoraTempoPermanencia(new ValorPermanencia())
             );
-            Pagamento pInvalido = mock(Pagamento.class);
-            when(pInvalido.getHoraEntrada()).thenReturn(null);
-            when(pInvalido.getHoraSaida()).thenReturn(inicioDoDia.plusMinutes(10));
-
-            when(pagamentoRepository.findAll()).thenReturn(List.of(p1, pInvalido));
-            RelatorioDTO resultado = relatorioService.gerarRelatorioDesempenho(data);
-
             Pagamento p2 = new Pagamento(
-                    new RegistroEntrada(new Veiculo("B", "carro", "modelo", "cor")),
-                    inicioDoDia,
-                    inicioDoDia.plusMinutes(1500),
+                    new RegistroEntrada(new Veiculo("B", "carro", "modelo", "cor"), ESTACIONAMENTO, 1),
+                    data.atTime(9, 0),
+                    data.atTime(13, 0),
                     new CalculadoraTempoPermanencia(new ValorPermanencia())
             );
-            when(pagamentoRepository.findAll()).thenReturn(List.of(p1, p2));
-            RelatorioDTO resultado2 = relatorioService.gerarRelatorioDesempenho(data);
+            ResumoDiario resumo1 = new ResumoDiario(estacionamento, data);
+            resumo1.registrarPagamento(p1);
+            ResumoDiario resumo2 = new ResumoDiario(outroEstacionamento, data);
+            resumo2.registrarPagamento(p2);
+            when(resumoDiarioRepository.findByData(data)).thenReturn(List.of(resumo1, resumo2));
+
+            RelatorioDTO relatorio = relatorioService.gerarRelatorioDesempenho(data);
 
-            assertEquals(resultado2.ocupacaoMedia(), resultado.ocupacaoMedia(), 0.001,
-                    "Pagamentos inválidos não devem influenciar o resultado");
+            assertEquals(2, relatorio.quantidade());
+            assertEquals(3.0, relatorio.tempoMedioHoras(), 0.001);
+            assertEquals(p1.getValor() + p2.getValor(), relatorio.receitaTotal(), 0.001);
+            verifyNoInteractions(pagamentoRepository);
         }
 
         @Test
@@ -984,145 +1182,5 @@ class RelatorioServiceTest {
             assertEquals(esperadoMeio, resultadoMeio, 0.001, "Resultado real deve ser igual ao esperado");
             assertNotEquals(0.0, resultadoMeio, "Mutante 5 não pode sobreviver com ocupação alta");
         }
-
-        @Test
-        @Tag("UnitTest")
-        @Tag("Mutation")
-        @DisplayName("Deve matar mutantes de soma e filtro em calcularMinutosOcupados")
-        void deveMatarMutantesCalcularMinutosOcupados() throws Exception {
-            Method method = RelatorioService.class.getDeclaredMethod(
-                    "calcularMinutosOcupados",
-                    List.class, LocalDateTime.class, LocalDateTime.class
-            );
-            method.setAccessible(true);
-
-            LocalDate data = LocalDate.of(2025, 6, 1);
-            LocalDateTime inicioDoDia = data.atStartOfDay();
-            LocalDateTime fimDoDia = data.atTime(23, 59, 59);
-
-            Pagamento p1 = new Pagamento(
-                    new RegistroEntrada(new Veiculo("A", "carro", "modelo", "cor")),
-                    inicioDoDia.plusHours(1),
-                    inicioDoDia.plusHours(3),
-                    new CalculadoraTempoPermanencia(new ValorPermanencia())
-            );
-
-            Pagamento p2 = new Pagamento(
-                    new RegistroEntrada(new Veiculo("B", "carro", "modelo", "cor")),
-                    inicioDoDia.minusHours(2),
-                    inicioDoDia.plusHours(2),
-                    new CalculadoraTempoPermanencia(new ValorPermanencia())
-            );
-
-            Pagamento p3 = new Pagamento(
-                    new RegistroEntrada(new Veiculo("C", "carro", "modelo", "cor")),
-                    fimDoDia.minusHours(1),
-                    fimDoDia.plusHours(2),
-                    new CalculadoraTempoPermanencia(new ValorPermanencia())
-            );
-
-            Pagamento pInvalido = mock(Pagamento.class, withSettings().lenient());
-            lenient().when(pInvalido.getHoraEntrada()).thenReturn(null);
-            lenient().when(pInvalido.getHoraSaida()).thenReturn(fimDoDia);
-
-            List<Pagamento> pagamentos = List.of(p1, p2, p3, pInvalido);
-
-            double resultado = (double) method.invoke(relatorioService, pagamentos, inicioDoDia, fimDoDia);
-
-            assertEquals(300.0, resultado, 0.001, "Deve somar apenas pagamentos válidos");
-
-            assertNotEquals(0.0, resultado, "Não pode retornar zero com pagamentos válidos");
-
-            List<Pagamento> apenasInvalido = List.of(pInvalido);
-            double resultadoInvalido = (double) method.invoke(relatorioService, apenasInvalido, inicioDoDia, fimDoDia);
-            assertEquals(0.0, resultadoInvalido, 0.001, "Pagamentos inválidos devem ser ignorados");
-
-            List<Pagamento> todosValidosEInvalidos = List.of(p1, p2, p3, pInvalido);
-            double resultadoComInvalidos = (double) method.invoke(relatorioService, todosValidosEInvalidos, inicioDoDia, fimDoDia);
-            assertEquals(300.0, resultadoComInvalidos, 0.001, "Pagamentos inválidos não devem ser somados");
-        }
-
-        @Test
-        @Tag("Structural")
-        @Tag("UnitTest")
-        @DisplayName("Deve cobrir todos os branches do filtro de horaEntrada/horaSaida")
-        void deveCobrirBranchesFiltroHoraEntradaHoraSaida() throws Exception {
-            Method method = RelatorioService.class.getDeclaredMethod(
-                    "calcularMinutosOcupados",
-                    List.class, LocalDateTime.class, LocalDateTime.class
-            );
-            method.setAccessible(true);
-
-            LocalDate data = LocalDate.of(2025, 6, 1);
-            LocalDateTime inicioDoDia = data.atStartOfDay();
-            LocalDateTime fimDoDia = data.atTime(23, 59, 59);
-
-            Pagamento p1 = new Pagamento(
-                    new RegistroEntrada(new Veiculo("A", "carro", "modelo", "cor")),
-                    inicioDoDia.plusHours(8),
-                    inicioDoDia.plusHours(10),
-                    new CalculadoraTempoPermanencia(new ValorPermanencia())
-            );
-
-            Pagamento p2 = mock(Pagamento.class);
-            lenient().when(p2.getHoraEntrada()).thenReturn(null);
-            lenient().when(p2.getHoraSaida()).thenReturn(inicioDoDia.plusHours(12));
-
-            Pagamento p3 = mock(Pagamento.class);
-            lenient().when(p3.getHoraEntrada()).thenReturn(inicioDoDia.plusHours(14));
-            lenient().when(p3.getHoraSaida()).thenReturn(null);
-
-            Pagamento p4 = mock(Pagamento.class);
-            lenient().when(p4.getHoraEntrada()).thenReturn(null);
-            lenient().when(p4.getHoraSaida()).thenReturn(null);
-
-            List<Pagamento> pagamentos = List.of(p1, p2, p3, p4);
-
-            double minutos = (double) method.invoke(relatorioService, pagamentos, inicioDoDia, fimDoDia);
-
-            assertEquals(120.0, minutos, 0.001, "Apenas pagamentos válidos devem ser somados");
-        }
-
-        @Test
-        @Tag("Structural")
-        @Tag("UnitTest")
-        @DisplayName("Deve cobrir todos os branches do filtro de horaSaida em getPagamentosDoDia")
-        void deveCobrirBranchesFiltroHoraSaidaGetPagamentosDoDia() throws Exception {
-            PagamentoRepository pagamentoRepository = mock(PagamentoRepository.class);
-            RegistroEntradaRepository registroEntradaRepository = mock(RegistroEntradaRepository.class);
-            RelatorioService relatorioService = new RelatorioService(pagamentoRepository, registroEntradaRepository);
-
-            Method method = RelatorioService.class.getDeclaredMethod(
-                    "getPagamentosDoDia", LocalDateTime.class, LocalDateTime.class
-            );
-            method.setAccessible(true);
-
-            LocalDate data = LocalDate.of(2025, 6, 1);
-            LocalDateTime inicioDoDia = data.atStartOfDay();
-            LocalDateTime fimDoDia = data.atTime(23, 59, 59);
-
-            Pagamento p1 = mock(Pagamento.class);
-            lenient().when(p1.getHoraSaida()).thenReturn(null);
-
-            Pagamento p2 = mock(Pagamento.class);
-            LocalDateTime before = inicioDoDia.minusMinutes(1);
-            lenient().when(p2.getHoraSaida()).thenReturn(before);
-
-            Pagamento p3 = mock(Pagamento.class);
-            LocalDateTime after = fimDoDia.plusMinutes(1);
-            lenient().when(p3.getHoraSaida()).thenReturn(after);
-
-            Pagamento p4 = mock(Pagamento.class);
-            LocalDateTime dentro = inicioDoDia.plusHours(12);
-            lenient().when(p4.getHoraSaida()).thenReturn(dentro);
-
-            when(pagamentoRepository.findAll()).thenReturn(List.of(p1, p2, p3, p4));
-
-            @SuppressWarnings("unchecked")
-            List<Pagamento> resultado = (List<Pagamento>) method.invoke(relatorioService, inicioDoDia, fimDoDia);
-
-            assertEquals(1, resultado.size());
-            assertSame(p4, resultado.getFirst());
-        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.dto.CriarEstacionamentoDTO;
+import br.ifsp.demo.model.Estacionamento;
+import br.ifsp.demo.model.Pagamento;
+import br.ifsp.demo.model.ResumoDiario;
+import br.ifsp.demo.model.Veiculo;
+import br.ifsp.demo.repository.ResumoDiarioRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ActiveProfiles("producao")
+@SpringBootTest(properties = "estacionamento.ocupacao.reconciliacao-ms=3600000")
+class ResumoDiarioConcorrenciaTest {
+
+    private static final int SAIDAS = 16;
+
+    private static Path banco;
+
+    @Autowired
+    private EstacionamentoService estacionamentoService;
+
+    @Autowired
+    private ResumoDiarioRepository resumoDiarioRepository;
+
+    @DynamicPropertySource
+    static void bancoTemporario(DynamicPropertyRegistry registry) throws IOException {
+        banco = Files.createTempFile("resumo-diario", ".db");
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + banco);
+    }
+
+    @AfterAll
+    static void removerBanco() throws IOException {
+        for (String sufixo : new String[]{"", "-wal", "-shm"})
+            Files.deleteIfExists(Path.of(banco + sufixo));
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Primeiras saídas simultâneas do dia devem gerar um único resumo com todos os pagamentos")
+    void primeirasSaidasSimultaneasDevemGerarUmResumo() throws Exception {
+        Estacionamento estacionamento = estacionamentoService.criarEstacionamento(
+                new CriarEstacionamentoDTO("Estacionamento Resumo", "Rua do Upsert", SAIDAS));
+        for (int i = 0; i < SAIDAS; i++)
+            estacionamentoService.registrar(new Veiculo("RSM" + (1000 + i), "carro", "Gol", "Prata"), estacionamento.getId());
+
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Pagamento>> saidas = new ArrayList<>();
+        try (ExecutorService portarias = Executors.newFixedThreadPool(SAIDAS)) {
+            for (int i = 0; i < SAIDAS; i++) {
+                String placa = "RSM" + (1000 + i);
+                saidas.add(portarias.submit(() -> {
+                    largada.await();
+                    return estacionamentoService.registrarSaida(placa);
+                }));
+            }
+            largada.countDown();
+        }
+
+        long receitaEsperada = 0;
+        for (Future<Pagamento> saida : saidas)
+            receitaEsperada += saida.get().getValorCentavos();
+        List<ResumoDiario> resumos = resumoDiarioRepository.findByData(LocalDate.now()).stream()
+                .filter(resumo -> resumo.getEstacionamento().getId().equals(estacionamento.getId()))
+                .toList();
+        assertThat(resumos).hasSize(1);
+        assertEquals(SAIDAS, resumos.get(0).getQuantidade());
+        assertEquals(receitaEsperada, resumos.get(0).getReceitaCentavos());
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Banco deve recusar um segundo resumo para o mesmo estacionamento e dia")
+    void bancoDeveRecusarResumoDuplicado() {
+        Estacionamento estacionamento = estacionamentoService.criarEstacionamento(
+                new CriarEstacionamentoDTO("Estacionamento Duplicado", "Rua da Restrição", 10));
+        LocalDate data = LocalDate.of(2024, 1, 15);
+        resumoDiarioRepository.saveAndFlush(new ResumoDiario(estacionamento, data));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> resumoDiarioRepository.saveAndFlush(new ResumoDiario(estacionamento, data)));
+    }
+}
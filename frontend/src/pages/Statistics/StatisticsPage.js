@@ -1,12 +1,12 @@
 import React, { useState, useEffect } from 'react';
 import { toast } from 'react-toastify';
-import { getEstatisticasTempoReal, getEstatisticasSemanais } from '../../services/api/reportsApi';
+import { getEstatisticasTempoReal, getEstatisticasSemanais, subscribeParkingEvents } from '../../services/api/reportsApi';
 
 function StatisticsPage() {
   const [estatisticas, setEstatisticas] = useState({
     vagasDisponiveis: 0,
     vagasOcupadas: 0,
-    totalVagas: 200,
+    totalVagas: 0,
     receitaHoje: 0,
     veiculosAtendidosHoje: 0,
     tempoMedioHoje: 0,
@@ -44,11 +44,25 @@ function StatisticsPage() {
     }
   };
 
+  const aplicarEvento = (evento) => {
+    setEstatisticas((atual) => {
+      const saida = evento.tipo === 'SAIDA';
+      return {
+        ...atual,
+        vagasOcupadas: evento.vagasOcupadas,
+        vagasDisponiveis: evento.vagasDisponiveis,
+        totalVagas: evento.totalVagas,
+        taxaOcupacaoAtual: evento.totalVagas > 0 ? evento.vagasOcupadas / evento.totalVagas * 100 : 0,
+        receitaHoje: saida ? atual.receitaHoje + evento.valor : atual.receitaHoje,
+        veiculosAtendidosHoje: saida ? atual.veiculosAtendidosHoje + 1 : atual.veiculosAtendidosHoje
+      };
+    });
+  };
+
   useEffect(() => {
     loadEstatisticas();
 
-    const interval = setInterval(loadEstatisticas, 30000);
-    return () => clearInterval(interval);
+    return subscribeParkingEvents(aplicarEvento, loadEstatisticas);
   }, []);
 
   const formatCurrency = (value) => {
@@ -1,6 +1,6 @@
 import React, { useState } from 'react';
 import { toast } from 'react-toastify';
-import { getVehicleHistory } from '../../services/api/reportsApi';
+import { getVehicleHistory, HISTORICO_LIMITE } from '../../services/api/reportsApi';
 
 function VehicleHistoryPage() {
   const [placa, setPlaca] = useState('');
@@ -9,6 +9,8 @@ function VehicleHistoryPage() {
   const [error, setError] = useState(null);
   const [searched, setSearched] = useState(false);
   const [placaError, setPlacaError] = useState(''); 
+  const [temMais, setTemMais] = useState(false);
+  const [carregandoMais, setCarregandoMais] = useState(false);
 
   const validarPlaca = (placa) => {
     const placaLimpa = placa.trim();
@@ -71,16 +73,34 @@ function VehicleHistoryPage() {
     try {
       const data = await getVehicleHistory(placa.trim());
       setHistorico(data);
+      setTemMais(data.length === HISTORICO_LIMITE);
       toast.success(`✅ Histórico encontrado para ${placa}`);
     } catch (err) {
       setError(err.message);
       setHistorico([]);
+      setTemMais(false);
       toast.error(`❌ Erro ao buscar histórico: ${err.message}`);
     } finally {
       setLoading(false);
     }
   };
 
+  const handleCarregarMais = async () => {
+    const ultimo = historico[historico.length - 1];
+    if (!ultimo) return;
+
+    setCarregandoMais(true);
+    try {
+      const data = await getVehicleHistory(placa.trim(), ultimo.horaSaida, ultimo.id);
+      setHistorico((anteriores) => [...anteriores, ...data]);
+      setTemMais(data.length === HISTORICO_LIMITE);
+    } catch (err) {
+      toast.error(`❌ Erro ao carregar mais registros: ${err.message}`);
+    } finally {
+      setCarregandoMais(false);
+    }
+  };
+
   const formatDateTime = (dateString) => {
     return new Date(dateString).toLocaleString('pt-BR');
   };
@@ -161,14 +181,14 @@ function VehicleHistoryPage() {
         <div className="history-results">
           <div className="results-header">
             <h2>📋 Histórico da Placa: <span className="plate-highlight">{placa}</span></h2>
-            <p className="results-count">📊 {historico.length} registro(s) encontrado(s)</p>
+            <p className="results-count">📊 {historico.length} registro(s) {temMais ? 'carregado(s)' : 'encontrado(s)'}</p>
           </div>
           
           <div className="history-grid">
             {historico.map((registro, index) => (
               <div key={index} className="history-card">
                 <div className="card-header">
-                  <span className="entry-number">#{historico.length - index}</span>
+                  <span className="entry-number">#{index + 1}</span>
                   <span className={`status-badge ${registro.horaSaida ? 'completed' : 'active'}`}>
                     {registro.horaSaida ? '✅ Finalizado' : '🔄 Em andamento'}
                   </span>
@@ -204,6 +224,17 @@ function VehicleHistoryPage() {
               </div>
             ))}
           </div>
+
+          {temMais && (
+            <button
+              type="button"
+              onClick={handleCarregarMais}
+              disabled={carregandoMais}
+              className="search-button load-more-button"
+            >
+              {carregandoMais ? '🔄 Carregando...' : '⬇️ Carregar mais'}
+            </button>
+          )}
         </div>
       )}
     </div>
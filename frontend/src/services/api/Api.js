@@ -30,22 +30,35 @@ const getToken = () => localStorage.getItem('jwtToken');
 export const fetchSpotsFromAPI = async () => {
   const token = getToken();
   try {
-    const responseEntradas = await fetch(`${API_BASE_URL}/estacionamento/entradas`, {
-      headers: {
-        'Authorization': `Bearer ${token}`,
-      },
-    });
+    const [responseEntradas, responseEstacionamento] = await Promise.all([
+      fetch(`${API_BASE_URL}/estacionamento/entradas`, {
+        headers: {
+          'Authorization': `Bearer ${token}`,
+        },
+      }),
+      fetch(`${API_BASE_URL}/estacionamento/buscar-atual-estacionamento`, {
+        headers: {
+          'Authorization': `Bearer ${token}`,
+        },
+      })
+    ]);
     if (!responseEntradas.ok) {
       if (responseEntradas.status === 401) throw new Error('Não autorizado. Faça login novamente.');
       const errorData = await responseEntradas.json().catch(() => ({ message: 'Erro ao buscar vagas da API' }));
       throw new Error(errorData.message || 'Erro ao buscar vagas da API');
     }
+    if (!responseEstacionamento.ok) {
+      if (responseEstacionamento.status === 401) throw new Error('Não autorizado. Faça login novamente.');
+      const errorData = await responseEstacionamento.json().catch(() => ({ message: 'Erro ao buscar estacionamento da API' }));
+      throw new Error(errorData.message || 'Erro ao buscar estacionamento da API');
+    }
     const registrosEntrada = await responseEntradas.json();
-  
-    const NUMERO_TOTAL_VAGAS_DO_BACKEND = 200;
+    const estacionamento = await responseEstacionamento.json();
+
+    const numeroTotalVagas = estacionamento.capacidade;
     const allSpots = [];
 
-    for (let i = 0; i < NUMERO_TOTAL_VAGAS_DO_BACKEND; i++) {
+    for (let i = 0; i < numeroTotalVagas; i++) {
       const vagaNumero = i + 1; 
       const spotIdVisual = `Vaga ${String(vagaNumero).padStart(2, '0')}`;
       allSpots.push({ 
@@ -100,10 +100,17 @@ export const getAvailableSpots = async () => {
   }
 };
 
-export const getVehicleHistory = async (placa) => {
+export const HISTORICO_LIMITE = 50;
+
+export const getVehicleHistory = async (placa, antes = null, antesId = null, limite = HISTORICO_LIMITE) => {
   const token = getToken();
   try {
-    const response = await fetch(`${API_BASE_URL}/estacionamento/relatorios/historico/${placa}`, {
+    const params = new URLSearchParams({ limite });
+    if (antes && antesId) {
+      params.append('antes', antes);
+      params.append('antesId', antesId);
+    }
+    const response = await fetch(`${API_BASE_URL}/estacionamento/relatorios/historico/${placa}?${params}`, {
       headers: {
         'Authorization': `Bearer ${token}`,
       },
@@ -168,3 +175,64 @@ export const getEstatisticasSemanais = async () => {
     throw error;
   }
 };
+
+const EVENTOS_RECONEXAO_MS = 3000;
+
+const lerEventoSSE = (bloco) => {
+  const evento = { id: null, tipo: 'message', dados: '' };
+  bloco.split('\n').forEach((linha) => {
+    if (!linha || linha.startsWith(':')) return;
+    const separador = linha.indexOf(':');
+    const campo = separador < 0 ? linha : linha.slice(0, separador);
+    const valor = separador < 0 ? '' : linha.slice(separador + 1).replace(/^ /, '');
+    if (campo === 'id') evento.id = valor;
+    else if (campo === 'event') evento.tipo = valor;
+    else if (campo === 'data') evento.dados += (evento.dados ? '\n' : '') + valor;
+  });
+  return evento;
+};
+
+export const subscribeParkingEvents = (onEvento, onResync) => {
+  const controller = new AbortController();
+  let ultimoId = null;
+
+  const conectar = async () => {
+    while (!controller.signal.aborted) {
+      try {
+        const headers = { 'Authorization': `Bearer ${getToken()}` };
+        if (ultimoId) headers['Last-Event-ID'] = ultimoId;
+
+        const response = await fetch(`${API_BASE_URL}/estacionamento/eventos`, {
+          headers,
+          signal: controller.signal,
+        });
+        if (!response.ok) throw new Error(`Erro ao assinar eventos (${response.status})`);
+
+        const reader = response.body.getReader();
+        const decoder = new TextDecoder();
+        let buffer = '';
+        for (;;) {
+          const { value, done } = await reader.read();
+          if (done) break;
+          buffer += decoder.decode(value, { stream: true }).replace(/\r\n?/g, '\n');
+
+          let fim;
+          while ((fim = buffer.indexOf('\n\n')) >= 0) {
+            const evento = lerEventoSSE(buffer.slice(0, fim));
+            buffer = buffer.slice(fim + 2);
+            if (evento.id) ultimoId = evento.id;
+            if (evento.tipo === 'resync') onResync?.();
+            else if (evento.dados) onEvento(JSON.parse(evento.dados));
+          }
+        }
+      } catch (error) {
+        if (controller.signal.aborted) return;
+        console.error("Erro em subscribeParkingEvents:", error);
+      }
+      await new Promise((resolve) => setTimeout(resolve, EVENTOS_RECONEXAO_MS));
+    }
+  };
+
+  conectar();
+  return () => controller.abort();
+};